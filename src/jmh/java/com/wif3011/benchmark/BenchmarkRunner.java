@@ -0,0 +1,109 @@
+package com.wif3011.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs {@link MultiplierBenchmark} with the GC profiler on, then reports GFLOP/s next to the raw times.
+ * <p>
+ * Accepts the usual JMH command-line options (e.g. {@code -p size=2048 -p threads=1,4,8}). Besides the console
+ * table it writes the raw JMH results to {@code jmh-result.json} and a flat summary to {@code jmh-result.csv}.
+ */
+public class BenchmarkRunner {
+    private static final Path JSON_RESULT = Path.of("jmh-result.json");
+    private static final Path CSV_RESULT = Path.of("jmh-result.csv");
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        final CommandLineOptions commandLine = new CommandLineOptions(args);
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+            .parent(commandLine)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(JSON_RESULT.toString());
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(MultiplierBenchmark.class.getSimpleName());
+        }
+
+        final Collection<RunResult> results = new Runner(options.build()).run();
+
+        final List<String> rows = new ArrayList<>();
+        rows.add("implementation,size,aspect,threads,time_ms,error_ms,gflops,alloc_bytes_per_op");
+        System.out.println();
+        System.out.printf("| %-16s | %-6s | %-6s | %-7s | %-12s | %-10s | %-16s |%n",
+            "Implementation", "Size", "Aspect", "Threads", "Time(ms)", "GFLOP/s", "Alloc(B/op)");
+        for (RunResult result : results) {
+            final BenchmarkParams params = result.getParams();
+            final String implementation = params.getParam("implementation");
+            final int size = Integer.parseInt(params.getParam("size"));
+            final String aspect = params.getParam("aspect");
+            final String threads = params.getParam("threads");
+
+            final Result<?> primary = result.getPrimaryResult();
+            final double timeMs = toMillis(primary.getScore(), primary.getScoreUnit());
+            final double errorMs = toMillis(primary.getScoreError(), primary.getScoreUnit());
+            // flops / (ms * 1e-3) / 1e9
+            final double gflops = MultiplierBenchmark.flops(size, aspect) / (timeMs * 1e6);
+            final double allocated = secondary(result, "gc.alloc.rate.norm");
+
+            System.out.printf(Locale.ROOT, "| %-16s | %-6d | %-6s | %-7s | %-12.3f | %-10.3f | %-16.0f |%n",
+                implementation, size, aspect, threads, timeMs, gflops, allocated);
+            rows.add(String.format(Locale.ROOT, "%s,%d,%s,%s,%.6f,%.6f,%.6f,%.0f",
+                implementation, size, aspect, threads, timeMs, errorMs, gflops, allocated));
+        }
+
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(CSV_RESULT))) {
+            rows.forEach(writer::println);
+        }
+        System.out.println("Results written to " + JSON_RESULT + " and " + CSV_RESULT);
+    }
+
+    /**
+     * Converts an average-time score such as "us/op" to milliseconds per operation.
+     */
+    private static double toMillis(double score, String unit) {
+        final String timeUnit = unit.substring(0, unit.indexOf('/'));
+        switch (timeUnit) {
+            case "ns":
+                return score / 1e6;
+            case "us":
+                return score / 1e3;
+            case "ms":
+                return score;
+            case "s":
+                return score * 1e3;
+            default:
+                throw new IllegalArgumentException("Unsupported score unit " + unit + ", run in average-time mode");
+        }
+    }
+
+    /**
+     * Score of the profiler result whose label ends with {@code suffix}, or NaN if the profiler did not report it.
+     */
+    private static double secondary(RunResult result, String suffix) {
+        for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+            if (entry.getKey().endsWith(suffix)) {
+                return entry.getValue().getScore();
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,102 @@
+package com.wif3011.benchmark;
+
+import com.wif3011.framework.MatrixMultiplier;
+import com.wif3011.framework.Multipliers;
+import com.wif3011.framework.TileConfig;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.util.MatrixUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times one multiplication per invocation for every implementation, size, aspect ratio and thread count.
+ * <p>
+ * Every aspect ratio does the same 2·size³ multiply-adds, so scores are comparable across shapes:
+ * {@code tall} is 4s×s/2 · s/2×s/2, {@code wide} is s/2×s/2 · s/2×4s and {@code deep} is s/2×4s · 4s×s/2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class MultiplierBenchmark {
+
+    @Param({
+        "seq", "par", "forkjoin", "exec", "thread",
+        "packed-par", "packed-forkjoin", "packed-exec", "packed-thread",
+        "vector-forkjoin", "strassen"
+    })
+    public String implementation;
+
+    @Param({"256", "512", "1024"})
+    public int size;
+
+    @Param({"square", "tall", "wide", "deep"})
+    public String aspect;
+
+    /** Worker threads for the tiled engines; 0 means one per available processor. */
+    @Param({"1", "2", "4", "0"})
+    public int threads;
+
+    private MatrixMultiplier multiplier;
+    private IntMatrix left;
+    private IntMatrix right;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final int[] shape = shape(size, aspect);
+        left = MatrixUtil.generateMatrix(shape[0], shape[1], 0, 10);
+        right = MatrixUtil.generateMatrix(shape[1], shape[2], 0, 10);
+
+        final var factory = Multipliers.factory(implementation);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+        multiplier = factory.apply(TileConfig.DEFAULT.withThreadCount(threads));
+    }
+
+    @Benchmark
+    public IntMatrix multiply() {
+        return multiplier.multiply(left, right);
+    }
+
+    /**
+     * {rows of A, shared dimension, columns of B} for a size and aspect ratio.
+     */
+    static int[] shape(int size, String aspect) {
+        final int half = Math.max(1, size / 2);
+        switch (aspect) {
+            case "square":
+                return new int[] {size, size, size};
+            case "tall":
+                return new int[] {4 * size, half, half};
+            case "wide":
+                return new int[] {half, half, 4 * size};
+            case "deep":
+                return new int[] {half, 4 * size, half};
+            default:
+                throw new IllegalArgumentException("Unknown aspect ratio: " + aspect);
+        }
+    }
+
+    /**
+     * Floating-point-equivalent operations of one multiplication: a multiply and an add per inner step.
+     */
+    static double flops(int size, String aspect) {
+        final int[] shape = shape(size, aspect);
+        return 2.0 * shape[0] * shape[1] * shape[2];
+    }
+}
@@ -0,0 +1,43 @@
+package com.wif3011;
+
+import com.wif3011.distributed.DistributedMatrixMultiplier;
+import com.wif3011.distributed.WorkerLauncher;
+import com.wif3011.framework.MatrixMultiplier;
+import com.wif3011.framework.PackedTileKernel;
+import com.wif3011.framework.TileConfig;
+import com.wif3011.framework.TiledForkJoinMatrixMultiplier;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.util.MatrixUtil;
+
+public class DistributedMain {
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: java DistributedMain <matrix-size> [grid-size] [--threads]");
+            return;
+        }
+
+        int size = Integer.parseInt(args[0]);
+        int gridSize = args.length > 1 && !args[1].startsWith("--")
+                ? Integer.parseInt(args[1])
+                : DistributedMatrixMultiplier.DEFAULT_GRID_SIZE;
+        boolean threads = args[args.length - 1].equals("--threads");
+
+        final IntMatrix matrixA = MatrixUtil.generateMatrix(size, size, 0, 10);
+        final IntMatrix matrixB = MatrixUtil.generateMatrix(size, size, 0, 10);
+
+        MatrixMultiplier distributed = new DistributedMatrixMultiplier(gridSize,
+                threads ? WorkerLauncher.threads() : WorkerLauncher.processes());
+        System.out.println("Running on a " + gridSize + "x" + gridSize + " grid of "
+                + (threads ? "worker threads" : "worker JVMs") + ", size " + size + "x" + size);
+
+        long start = System.currentTimeMillis();
+        IntMatrix result = distributed.multiply(matrixA, matrixB);
+        System.out.println("Distributed multiplication completed in " + (System.currentTimeMillis() - start) + "ms");
+
+        start = System.currentTimeMillis();
+        MatrixMultiplier local = new TiledForkJoinMatrixMultiplier(TileConfig.DEFAULT, new PackedTileKernel());
+        IntMatrix expected = local.multiply(matrixA, matrixB);
+        System.out.println("Local multiplication completed in " + (System.currentTimeMillis() - start) + "ms");
+        System.out.println("Result verification: " + (expected.equals(result) ? "Passed" : "Failed"));
+    }
+}
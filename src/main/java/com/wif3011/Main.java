@@ -1,15 +1,15 @@
 package com.wif3011;
 
+import com.wif3011.framework.FreivaldsVerifier;
 import com.wif3011.framework.MatrixMultiplier;
 import com.wif3011.framework.SequentialMatrixMultiplier;
 import com.wif3011.framework.TiledExecServiceMatrixMultiplier;
 import com.wif3011.framework.TiledForkJoinMatrixMultiplier;
 import com.wif3011.framework.TiledParallelMatrixMultiplier;
 import com.wif3011.framework.TiledThreadMatrixMultiplier;
+import com.wif3011.matrix.IntMatrix;
 import com.wif3011.util.MatrixUtil;
 
-import java.util.Arrays;
-
 public class Main {
     public static void main(String[] args) {
         long start = System.currentTimeMillis();
@@ -17,19 +17,11 @@ public class Main {
         final int[][] matrixB = MatrixUtil.generate(1_000, 1_500, 0, 10);
         System.out.println("Matrices generated in " + (System.currentTimeMillis() - start) + "ms");
 
-        start = System.currentTimeMillis();
-        int[][] matrixC = new int[matrixA.length][matrixB[0].length];
-        for (int row = 0; row < matrixA.length; row++) {
-            for (int col = 0; col < matrixC[row].length; col++) {
-                int sum = 0;
-                for (int k = 0; k < matrixB.length; k++) {
-                    sum += matrixA[row][k] * matrixB[k][col];
-                }
-                matrixC[row][col] = sum;
-            }
-        }
+        // Results are checked with Freivalds' algorithm, which costs O(n²) rather than a reference O(n³) multiply
+        final FreivaldsVerifier verifier = new FreivaldsVerifier();
 
-        System.out.println("Multiplication C completed in " + (System.currentTimeMillis() - start) + "ms");
+        final IntMatrix flatA = IntMatrix.of(matrixA);
+        final IntMatrix flatB = IntMatrix.of(matrixB);
 
         MatrixMultiplier[] calculators = {
                 new SequentialMatrixMultiplier(),
@@ -48,8 +40,14 @@ public class Main {
             int[][] matrix = calculator.multiply(matrixA, matrixB);
             System.out.println("Multiplication " + calculator.getClass().getSimpleName() + " completed in "
                     + (System.currentTimeMillis() - start) + "ms");
-            // Verify the result using Arrays.deepEquals
-            System.out.println("Result verification: " + (Arrays.deepEquals(matrixC, matrix) ? "Passed" : "Failed"));
+            System.out.println("Result verification: " + (verifier.verify(matrixA, matrixB, matrix) ? "Passed" : "Failed"));
+
+            // Same multiplication on the contiguous layout, skipping the int[][] adapters
+            start = System.currentTimeMillis();
+            IntMatrix flatMatrix = calculator.multiply(flatA, flatB);
+            System.out.println("Flat multiplication " + calculator.getClass().getSimpleName() + " completed in "
+                    + (System.currentTimeMillis() - start) + "ms");
+            System.out.println("Result verification: " + (verifier.verify(flatA, flatB, flatMatrix) ? "Passed" : "Failed"));
         }
     }
 }
\ No newline at end of file
@@ -1,80 +1,102 @@
 package com.wif3011;
 
+import com.wif3011.framework.FreivaldsVerifier;
 import com.wif3011.framework.MatrixMultiplier;
-import com.wif3011.framework.SequentialMatrixMultiplier;
-import com.wif3011.framework.TiledExecServiceMatrixMultiplier;
-import com.wif3011.framework.TiledForkJoinMatrixMultiplier;
-import com.wif3011.framework.TiledParallelMatrixMultiplier;
-import com.wif3011.framework.TiledThreadMatrixMultiplier;
+import com.wif3011.framework.Multipliers;
+import com.wif3011.framework.TileConfig;
+import com.wif3011.framework.VectorTileKernel;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.metrics.MetricsSnapshot;
+import com.wif3011.metrics.TileMetrics;
+import com.wif3011.tuning.TileAutotuner;
+import com.wif3011.tuning.TuningProfile;
 import com.wif3011.util.MatrixUtil;
 
 import java.io.IOException;
-import java.util.Arrays;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Function;
 
 public class MatrixBenchmark {
     public static void main(String[] args) {
         if (args.length < 2) {
-            System.out.println("Usage: java MatrixBenchmark <impl-name> <matrix-size>");
+            System.out.println("Usage: java MatrixBenchmark <impl-name> <matrix-size> [--tune] [--inputs <dir>] [--metrics]"
+                + " [--wait]");
             return;
         }
 
         String impl = args[0];
         int size = Integer.parseInt(args[1]);
+        boolean tune = false;
+        Path inputDir = null;
+        boolean metrics = false;
+        boolean wait = false;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--tune")) {
+                tune = true;
+            } else if (args[i].equals("--inputs") && i + 1 < args.length) {
+                inputDir = Paths.get(args[++i]);
+            } else if (args[i].equals("--metrics")) {
+                metrics = true;
+            } else if (args[i].equals("--wait")) {
+                wait = true;
+            }
+        }
 
-        MatrixMultiplier calculator;
-
-        switch (impl.toLowerCase()) {
-            case "seq":
-                calculator = new SequentialMatrixMultiplier();
-                break;
-            case "par":
-                calculator = new TiledParallelMatrixMultiplier();
-                break;
-            case "forkjoin":
-                calculator = new TiledForkJoinMatrixMultiplier();
-                break;
-            case "exec":
-                calculator = new TiledExecServiceMatrixMultiplier();
-                break;
-            case "thread":
-                calculator = new TiledThreadMatrixMultiplier();
-                break;
-            default:
-                System.out.println("Unknown implementation.");
-                return;
+        Function<TileConfig, MatrixMultiplier> factory = Multipliers.factory(impl.toLowerCase());
+        if (factory == null) {
+            System.out.println("Unknown implementation.");
+            return;
         }
-        System.out.println("Attach VisualVM now, then press Enter to start matrix multiplication...");
-        try {
-            System.in.read(); // Waits for Enter key
-        } catch (IOException e) {
-            e.printStackTrace();
+        if (impl.toLowerCase().startsWith("vector") && !VectorTileKernel.isVectorApiAvailable()) {
+            System.out.println("jdk.incubator.vector not enabled, falling back to the scalar kernel.");
+        }
+
+        // Use the tile configuration tuned for this machine, calibrating it first if asked to
+        TuningProfile profile = TuningProfile.loadDefault();
+        TileConfig config;
+        if (tune) {
+            System.out.println("Calibrating tile configuration for " + impl + "...");
+            config = new TileAutotuner().tune(profile, impl, factory, size, size, size);
+            try {
+                profile.save(TuningProfile.DEFAULT_PATH);
+            } catch (IOException e) {
+                System.out.println("Could not save tuning profile: " + e.getMessage());
+            }
+        } else {
+            config = profile.configFor(impl, size, size, size);
+        }
+        System.out.println("Using " + config);
+
+        MatrixMultiplier calculator = factory.apply(config);
+
+        if (wait) {
+            System.out.println("Attach VisualVM now, then press Enter to start matrix multiplication...");
+            try {
+                System.in.read(); // Waits for Enter key
+            } catch (IOException e) {
+                System.err.println("Could not wait for Enter, starting now: " + e.getMessage());
+            }
         }
 
         System.out.println("Running " + calculator.getClass().getSimpleName() + " on size " + size + "x" + size);
         Runtime runtime = Runtime.getRuntime();
         long start = System.currentTimeMillis();
-        final int[][] matrixA = MatrixUtil.generate(size, size, 0, 10);
-        final int[][] matrixB = MatrixUtil.generate(size, size, 0, 10);
+        final int[][] matrixA = input(inputDir, "a", size);
+        final int[][] matrixB = input(inputDir, "b", size);
         System.out.println(
-                "Matrices of size " + size + " generated in " + (System.currentTimeMillis() - start) + "ms");
-
-        start = System.currentTimeMillis();
-        int[][] matrixC = new int[matrixA.length][matrixB[0].length];
-        for (int row = 0; row < matrixA.length; row++) {
-            for (int col = 0; col < matrixC[row].length; col++) {
-                int sum = 0;
-                for (int k = 0; k < matrixB.length; k++) {
-                    sum += matrixA[row][k] * matrixB[k][col];
-                }
-                matrixC[row][col] = sum;
-            }
-        }
+                "Matrices of size " + size + " ready in " + (System.currentTimeMillis() - start) + "ms");
 
-        System.out.println("Multiplication C completed in " + (System.currentTimeMillis() - start) + "ms");
         for (int i = 0; i < 10; i++) {
             calculator.multiply(matrixA, matrixB);
         }
 
+        if (metrics) {
+            // Only the measured run is recorded; tiled implementations report per-tile and per-worker figures
+            TileMetrics.enable();
+        }
+
         System.gc(); // Suggest GC before measuring
         long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
         start = System.currentTimeMillis();
@@ -85,7 +107,10 @@ public class MatrixBenchmark {
         long memoryAfter = runtime.totalMemory() - runtime.freeMemory();
 
         long memoryUsedKb = (memoryAfter - memoryBefore) / 1024;
-        boolean correct = Arrays.deepEquals(matrixC, result);
+        // Freivalds' check is O(n²), so it no longer costs more than the multiplication being measured
+        start = System.currentTimeMillis();
+        boolean correct = new FreivaldsVerifier().verify(matrixA, matrixB, result);
+        System.out.println("Result verified in " + (System.currentTimeMillis() - start) + "ms");
         System.out.println("====================================================================================");
         System.out.printf("| %-35s | %-10s | %-10s | %-15s | %-8s |\n",
                 "Implementation", "MatrixSize", "Time(ms)", "MemoryUsed(KB)", "Correct");
@@ -97,5 +122,33 @@ public class MatrixBenchmark {
                 memoryUsedKb,
                 correct ? "Passed" : "Failed");
 
+        if (metrics) {
+            TileMetrics.disable();
+            MetricsSnapshot snapshot = TileMetrics.last();
+            System.out.println(snapshot != null ? snapshot : calculator.getClass().getSimpleName() + " is not instrumented.");
+        }
+
+    }
+
+    /**
+     * Generates a random input matrix, or with an input directory reuses the one saved by an earlier run.
+     */
+    private static int[][] input(Path inputDir, String name, int size) {
+        if (inputDir == null) {
+            return MatrixUtil.generate(size, size, 0, 10);
+        }
+        Path file = inputDir.resolve(name + "-" + size + ".mat");
+        try {
+            if (Files.exists(file)) {
+                return MatrixUtil.load(file).toArray();
+            }
+            Files.createDirectories(inputDir);
+            int[][] matrix = MatrixUtil.generate(size, size, 0, 10);
+            MatrixUtil.save(IntMatrix.of(matrix), file);
+            return matrix;
+        } catch (IOException e) {
+            System.out.println("Could not use " + file + ", generating instead: " + e.getMessage());
+            return MatrixUtil.generate(size, size, 0, 10);
+        }
     }
 }
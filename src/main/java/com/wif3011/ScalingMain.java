@@ -0,0 +1,92 @@
+package com.wif3011;
+
+import com.wif3011.framework.Multipliers;
+import com.wif3011.tuning.ScalingResult;
+import com.wif3011.tuning.ScalingStudy;
+import com.wif3011.tuning.TuningProfile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ScalingMain {
+    public static void main(String[] args) throws IOException {
+        List<String> implementations = Multipliers.NAMES;
+        int[] sizes = ScalingStudy.DEFAULT_SIZES;
+        int[] workerCounts = ScalingStudy.defaultWorkerCounts();
+        Set<ScalingStudy.Mode> modes = EnumSet.of(ScalingStudy.Mode.STRONG);
+        int runs = 3;
+        Path out = Paths.get("scaling.csv");
+        Path baselinePath = null;
+        double tolerance = ScalingStudy.DEFAULT_TOLERANCE;
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                usage();
+                return;
+            }
+            switch (args[i]) {
+                case "--impls" -> implementations = List.of(args[++i].toLowerCase().split(","));
+                case "--sizes" -> sizes = parseInts(args[++i]);
+                case "--workers" -> workerCounts = parseInts(args[++i]);
+                case "--modes" -> {
+                    modes = EnumSet.noneOf(ScalingStudy.Mode.class);
+                    for (String mode : args[++i].split(",")) {
+                        modes.add(ScalingStudy.Mode.valueOf(mode.toUpperCase()));
+                    }
+                }
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--out" -> out = Paths.get(args[++i]);
+                case "--baseline" -> baselinePath = Paths.get(args[++i]);
+                case "--tolerance" -> tolerance = Double.parseDouble(args[++i]);
+                default -> {
+                    usage();
+                    return;
+                }
+            }
+        }
+
+        // Read the baseline first, since it may be the file this run is about to overwrite
+        Map<String, Long> baseline = Map.of();
+        if (baselinePath != null) {
+            if (!Files.exists(baselinePath)) {
+                System.out.println("No baseline at " + baselinePath + ", nothing to compare against.");
+            } else {
+                baseline = ScalingStudy.readBaseline(baselinePath);
+                if (baseline.isEmpty()) {
+                    System.out.println("Baseline " + baselinePath + " is from another machine, ignoring it.");
+                }
+            }
+        }
+
+        System.out.println("Scaling " + implementations + " over sizes " + Arrays.toString(sizes) + " and workers "
+            + Arrays.toString(workerCounts) + ", " + modes);
+        ScalingStudy study = new ScalingStudy(implementations, sizes, workerCounts, modes, runs,
+            TuningProfile.loadDefault());
+        List<ScalingResult> results = ScalingStudy.compare(study.run(System.out::println), baseline, tolerance);
+        ScalingStudy.writeCsv(results, out);
+        System.out.println("Wrote " + results.size() + " points to " + out);
+
+        List<ScalingResult> regressions = results.stream().filter(ScalingResult::regression).toList();
+        if (!regressions.isEmpty()) {
+            System.out.println(regressions.size() + " points are more than " + Math.round(tolerance * 100)
+                + "% slower than the baseline:");
+            regressions.forEach(System.out::println);
+            System.exit(1);
+        }
+    }
+
+    private static int[] parseInts(String list) {
+        return Arrays.stream(list.split(",")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static void usage() {
+        System.out.println("Usage: java ScalingMain [--impls <name>,...] [--sizes <n>,...] [--workers <n>,...]"
+            + " [--modes strong,weak] [--runs <n>] [--out <csv>] [--baseline <csv>] [--tolerance <fraction>]");
+    }
+}
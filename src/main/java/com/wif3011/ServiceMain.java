@@ -0,0 +1,112 @@
+package com.wif3011;
+
+import com.wif3011.framework.MatrixMultiplier;
+import com.wif3011.framework.Multipliers;
+import com.wif3011.framework.TileConfig;
+import com.wif3011.service.LoadGenerator;
+import com.wif3011.service.MatrixService;
+import com.wif3011.service.ServiceStats;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.function.Function;
+
+public class ServiceMain {
+    /** How often a running service prints its stats. */
+    private static final long STATS_INTERVAL_MILLIS = 10_000;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length >= 1 && args[0].equals("serve")) {
+            serve(args);
+        } else if (args.length >= 5 && args[0].equals("load")) {
+            load(args);
+        } else {
+            System.out.println("Usage: java ServiceMain serve [port] [impl-name] [--queue <jobs>] [--batch <jobs>]"
+                + " [--window-us <micros>] [--max-job-mb <mb>] [--max-queued-mb <mb>]");
+            System.out.println("       java ServiceMain load <port> <clients> <requests-per-client> <size>[,<size>...]"
+                + " [--timeout <ms>] [--rate <jobs-per-second>]");
+        }
+    }
+
+    private static void serve(String[] args) throws IOException, InterruptedException {
+        int port = 0;
+        String impl = "packed-forkjoin";
+        int queueCapacity = MatrixService.DEFAULT_QUEUE_CAPACITY;
+        int maxBatch = MatrixService.DEFAULT_MAX_BATCH;
+        long batchWindowNanos = MatrixService.DEFAULT_BATCH_WINDOW_NANOS;
+        long maxJobBytes = MatrixService.DEFAULT_MAX_JOB_BYTES;
+        long maxQueuedBytes = MatrixService.DEFAULT_MAX_QUEUED_BYTES;
+        int positional = 0;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--queue") && i + 1 < args.length) {
+                queueCapacity = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--batch") && i + 1 < args.length) {
+                maxBatch = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--window-us") && i + 1 < args.length) {
+                batchWindowNanos = Long.parseLong(args[++i]) * 1000;
+            } else if (args[i].equals("--max-job-mb") && i + 1 < args.length) {
+                maxJobBytes = Long.parseLong(args[++i]) << 20;
+            } else if (args[i].equals("--max-queued-mb") && i + 1 < args.length) {
+                maxQueuedBytes = Long.parseLong(args[++i]) << 20;
+            } else if (positional++ == 0) {
+                port = Integer.parseInt(args[i]);
+            } else {
+                impl = args[i];
+            }
+        }
+
+        Function<TileConfig, MatrixMultiplier> factory = Multipliers.factory(impl.toLowerCase());
+        if (factory == null) {
+            System.out.println("Unknown implementation.");
+            return;
+        }
+        MatrixMultiplier multiplier = factory.apply(TileConfig.DEFAULT);
+        multiplier.getEngine().warmUp();
+
+        try (MatrixService service = new MatrixService(multiplier, queueCapacity, maxBatch, batchWindowNanos,
+            maxJobBytes, maxQueuedBytes)) {
+            service.start(port);
+            System.out.println("Serving " + multiplier.getClass().getSimpleName() + " on "
+                + InetAddress.getLoopbackAddress().getHostAddress() + ":" + service.port()
+                + " (queue " + queueCapacity + " jobs or " + (maxQueuedBytes >> 20) + " MB, batches of up to "
+                + maxBatch + ")");
+            long lastCompleted = -1;
+            while (true) {
+                Thread.sleep(STATS_INTERVAL_MILLIS);
+                ServiceStats stats = service.stats();
+                if (stats.completed() != lastCompleted || stats.queueDepth() > 0) {
+                    System.out.println(stats);
+                    lastCompleted = stats.completed();
+                }
+            }
+        }
+    }
+
+    private static void load(String[] args) throws IOException {
+        int port = Integer.parseInt(args[1]);
+        int clients = Integer.parseInt(args[2]);
+        int requests = Integer.parseInt(args[3]);
+        int[] sizes = Arrays.stream(args[4].split(",")).mapToInt(Integer::parseInt).toArray();
+        int timeoutMillis = 0;
+        double rate = 0;
+        for (int i = 5; i < args.length; i++) {
+            if (args[i].equals("--timeout") && i + 1 < args.length) {
+                timeoutMillis = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--rate") && i + 1 < args.length) {
+                rate = Double.parseDouble(args[++i]);
+            }
+        }
+
+        LoadGenerator generator = new LoadGenerator(InetAddress.getLoopbackAddress().getHostAddress(), port);
+        if (rate > 0) {
+            System.out.println("Sending " + requests + " jobs on each of " + clients + " connections at " + rate
+                + " jobs/s in total, sizes " + Arrays.toString(sizes));
+            System.out.println(generator.runOpenLoop(clients, rate, clients * requests, sizes, timeoutMillis));
+        } else {
+            System.out.println("Sending " + requests + " jobs from each of " + clients + " clients, sizes "
+                + Arrays.toString(sizes));
+            System.out.println(generator.run(clients, requests, sizes, timeoutMillis));
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.wif3011.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-lived worker pool that all parallel multipliers run their tasks on.
+ * <p>
+ * Creating and tearing down threads on every multiplication dominates the cost of mid-size products,
+ * so multipliers borrow an engine instead of owning threads. By default they share {@link #shared()},
+ * which wraps the JVM's common ForkJoin pool; start the JVM with {@code -Dwif3011.engine.isolated=true}
+ * (optionally with {@code -Dwif3011.engine.parallelism=N}) to give it its own pool instead, or inject an
+ * {@link #isolated(int)} engine to keep one workload away from everything else.
+ * <p>
+ * Engines returned by {@link #shared()} and {@link #shared(int)} live for the whole process and ignore
+ * {@link #close()}; isolated engines are shut down by it.
+ */
+public final class ExecutionEngine implements AutoCloseable {
+    /** Idle workers of an isolated pool stay alive this long before they are retired. */
+    private static final long KEEP_ALIVE_MINUTES = 10;
+
+    private static final AtomicInteger ENGINE_IDS = new AtomicInteger();
+
+    /** One process-wide engine per explicitly requested parallelism, see {@link #shared(int)}. */
+    private static final Map<Integer, ExecutionEngine> SHARED_BY_PARALLELISM = new ConcurrentHashMap<>();
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final boolean closeable;
+
+    private ExecutionEngine(ForkJoinPool pool, boolean ownsPool, boolean closeable) {
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.closeable = closeable;
+    }
+
+    /**
+     * The default process-wide engine.
+     */
+    public static ExecutionEngine shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * A process-wide engine with exactly {@code parallelism} workers, created on first request and reused after.
+     */
+    public static ExecutionEngine shared(int parallelism) {
+        if (parallelism == shared().parallelism()) {
+            return shared();
+        }
+        return SHARED_BY_PARALLELISM.computeIfAbsent(parallelism,
+            key -> new ExecutionEngine(newPool(key), true, false));
+    }
+
+    /**
+     * An engine backed by the JVM's common ForkJoin pool. Closing it has no effect.
+     */
+    public static ExecutionEngine commonPool() {
+        return new ExecutionEngine(ForkJoinPool.commonPool(), false, false);
+    }
+
+    /**
+     * An engine with its own pool of {@code parallelism} workers, isolated from the common pool.
+     * The caller owns it and should {@link #close()} it when done.
+     */
+    public static ExecutionEngine isolated(int parallelism) {
+        return new ExecutionEngine(newPool(parallelism), true, true);
+    }
+
+    /**
+     * Maximum number of tasks this engine runs at once.
+     */
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Whether this engine has its own workers rather than the common pool's.
+     */
+    public boolean isIsolated() {
+        return ownsPool;
+    }
+
+    /**
+     * The underlying pool, for callers that need ForkJoin-specific features such as steal counts.
+     */
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    /**
+     * Runs a ForkJoin task to completion on this engine and returns its result. When called from one of
+     * this engine's own workers the task runs inline, so nested parallel calls cannot deadlock the pool.
+     */
+    public <T> T invoke(ForkJoinTask<T> task) {
+        if (isOwnWorker()) {
+            return task.invoke();
+        }
+        return pool.invoke(task);
+    }
+
+    /**
+     * Runs {@code action} on one of this engine's workers and waits for it. Parallel streams started inside
+     * the action run their subtasks on this engine as well.
+     */
+    public void run(Runnable action) {
+        if (isOwnWorker()) {
+            action.run();
+            return;
+        }
+        pool.submit(action).join();
+    }
+
+    /**
+     * Runs all tasks on this engine, waits for every one of them and rethrows the first failure.
+     */
+    public <T> List<T> invokeAll(Collection<? extends Callable<T>> tasks) {
+        final List<Future<T>> futures = pool.invokeAll(tasks);
+        final List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for matrix tasks", e);
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Starts every worker thread now, so the first multiplication does not pay for thread creation.
+     */
+    public ExecutionEngine warmUp() {
+        final int workers = parallelism();
+        final CountDownLatch started = new CountDownLatch(workers);
+        for (int i = 0; i < workers; i++) {
+            pool.execute(() -> {
+                started.countDown();
+                try {
+                    // Hold the worker until all of them are up, otherwise one thread may run every task
+                    started.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        try {
+            started.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return this;
+    }
+
+    /**
+     * Shuts down an isolated engine after its queued tasks complete. Shared and common-pool engines ignore this.
+     */
+    @Override
+    public void close() {
+        if (!closeable) {
+            return;
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionEngine[parallelism=" + parallelism() + ", isolated=" + ownsPool + "]";
+    }
+
+    private boolean isOwnWorker() {
+        return Thread.currentThread() instanceof ForkJoinWorkerThread worker && worker.getPool() == pool;
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static ForkJoinPool newPool(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        final String prefix = "matrix-engine-" + ENGINE_IDS.incrementAndGet() + "-worker-";
+        return new ForkJoinPool(
+            parallelism,
+            pool -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(prefix + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null,
+            false,
+            parallelism,
+            Math.max(256, parallelism),
+            1,
+            null,
+            KEEP_ALIVE_MINUTES,
+            TimeUnit.MINUTES
+        );
+    }
+
+    /**
+     * Lazily builds the default engine from system properties.
+     */
+    private static final class SharedHolder {
+        static final ExecutionEngine INSTANCE = create();
+
+        private static ExecutionEngine create() {
+            if (!Boolean.getBoolean("wif3011.engine.isolated")) {
+                return commonPool();
+            }
+            final int parallelism = Integer.getInteger("wif3011.engine.parallelism",
+                Runtime.getRuntime().availableProcessors());
+            return new ExecutionEngine(newPool(parallelism), true, false);
+        }
+    }
+}
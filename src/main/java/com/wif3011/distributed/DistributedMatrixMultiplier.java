@@ -0,0 +1,177 @@
+package com.wif3011.distributed;
+
+import com.wif3011.framework.MatrixMultiplier;
+import com.wif3011.framework.PackedTileKernel;
+import com.wif3011.framework.TileKernel;
+import com.wif3011.matrix.IntMatrix;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * Coordinator of a multiplication spread over a q×q grid of {@link SummaWorker}s, normally separate JVMs on this
+ * machine.
+ * <p>
+ * A, B and C are each cut into q×q near-equal blocks; worker (i, j) receives A<sub>ij</sub> and B<sub>ij</sub>, runs
+ * SUMMA with its grid row and column to build C<sub>ij</sub>, and sends it back. The coordinator only starts the
+ * workers, hands out the blocks and gathers the result, so the heavy lifting and the panel broadcasts happen
+ * between the workers themselves. Every call starts a fresh set of workers.
+ */
+public class DistributedMatrixMultiplier extends MatrixMultiplier {
+    /** A 2×2 grid, i.e. four workers. */
+    public static final int DEFAULT_GRID_SIZE = 2;
+
+    /** How long to wait for all workers to start and connect. */
+    private static final int STARTUP_TIMEOUT_MILLIS = 60_000;
+
+    private final int gridSize;
+    private final WorkerLauncher launcher;
+
+    /** Computes batch jobs in this process, with the kernel the workers use for their panels. */
+    private final TileKernel localKernel = new PackedTileKernel();
+
+    public DistributedMatrixMultiplier() {
+        this(DEFAULT_GRID_SIZE, WorkerLauncher.processes());
+    }
+
+    /**
+     * @param gridSize q, the grid is q×q workers; reduced for matrices with fewer than q rows or columns
+     * @param launcher starts the workers, e.g. {@link WorkerLauncher#processes()}
+     */
+    public DistributedMatrixMultiplier(int gridSize, WorkerLauncher launcher) {
+        if (gridSize < 1) {
+            throw new IllegalArgumentException("Grid size must be positive: " + gridSize);
+        }
+        if (launcher == null) {
+            throw new IllegalArgumentException("Worker launcher cannot be null");
+        }
+        this.gridSize = gridSize;
+        this.launcher = launcher;
+    }
+
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    @Override
+    protected void safeGemm(int alpha, IntMatrix matrixA, IntMatrix matrixB, int beta, IntMatrix resultMatrix) {
+        try {
+            multiplyDistributed(alpha, matrixA, matrixB, beta, resultMatrix);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Distributed multiplication failed", e);
+        }
+    }
+
+    /**
+     * Batch jobs are far too small to be worth a grid of workers each, and must stay on the calling thread, so
+     * they are computed here as one tile of the packed kernel.
+     */
+    @Override
+    protected IntMatrix safeMultiplySerial(IntMatrix matrixA, IntMatrix matrixB) {
+        final IntMatrix resultMatrix = new IntMatrix(matrixA.rows(), matrixB.cols());
+        localKernel.multiplyTile(matrixA, matrixB, resultMatrix, 0, matrixA.rows(), 0, matrixB.cols(),
+            matrixA.cols(), 1);
+        return resultMatrix;
+    }
+
+    private void multiplyDistributed(int alpha, IntMatrix matrixA, IntMatrix matrixB, int beta, IntMatrix resultMatrix)
+        throws IOException {
+        final int rows = matrixA.rows();
+        final int shared = matrixA.cols();
+        final int cols = matrixB.cols();
+        // Every block must have at least one row and column in each dimension
+        final int q = Math.min(gridSize, Math.min(rows, Math.min(shared, cols)));
+        final int workerCount = q * q;
+
+        try (ServerSocket server = new ServerSocket(0, workerCount, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(STARTUP_TIMEOUT_MILLIS);
+            final WorkerLauncher.Workers workers = launcher.launch(workerCount, server.getLocalPort());
+
+            final Socket[] sockets = new Socket[workerCount];
+            try {
+                final DataOutputStream[] outs = new DataOutputStream[workerCount];
+                final DataInputStream[] ins = new DataInputStream[workerCount];
+                final int[] peerPorts = new int[workerCount];
+
+                // Ranks are handed out in the order the workers connect
+                for (int rank = 0; rank < workerCount; rank++) {
+                    sockets[rank] = server.accept();
+                    sockets[rank].setTcpNoDelay(true);
+                    outs[rank] = new DataOutputStream(new BufferedOutputStream(sockets[rank].getOutputStream()));
+                    ins[rank] = new DataInputStream(new BufferedInputStream(sockets[rank].getInputStream()));
+                    peerPorts[rank] = ins[rank].readInt();
+                }
+
+                for (int rank = 0; rank < workerCount; rank++) {
+                    final int gridRow = rank / q;
+                    final int gridCol = rank % q;
+                    outs[rank].writeInt(rank);
+                    outs[rank].writeInt(q);
+                    for (int port : peerPorts) {
+                        outs[rank].writeInt(port);
+                    }
+                    // A is split by (rows, shared) and B by (shared, cols), so block (i, j) of each
+                    Wire.writeMatrix(outs[rank], block(matrixA, q, gridRow, gridCol));
+                    Wire.writeMatrix(outs[rank], block(matrixB, q, gridRow, gridCol));
+                    outs[rank].flush();
+                }
+
+                for (int rank = 0; rank < workerCount; rank++) {
+                    final IntMatrix resultBlock = Wire.readMatrix(ins[rank]);
+                    final IntMatrix target = block(resultMatrix, q, rank / q, rank % q);
+                    if (resultBlock.rows() != target.rows() || resultBlock.cols() != target.cols()) {
+                        throw new IOException("Worker " + rank + " returned a " + resultBlock
+                            + " block, expected " + target.rows() + "x" + target.cols());
+                    }
+                    accumulate(alpha, resultBlock, beta, target);
+                }
+            } finally {
+                try {
+                    for (Socket socket : sockets) {
+                        if (socket != null) {
+                            socket.close();
+                        }
+                    }
+                } finally {
+                    // Waits for the workers to exit, and stops any that do not
+                    workers.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Block (gridRow, gridCol) of {@code matrix} cut into q×q near-equal blocks, as a view.
+     */
+    private static IntMatrix block(IntMatrix matrix, int q, int gridRow, int gridCol) {
+        final int rowStart = Wire.bound(matrix.rows(), q, gridRow);
+        final int colStart = Wire.bound(matrix.cols(), q, gridCol);
+        return matrix.view(rowStart, colStart,
+            Wire.bound(matrix.rows(), q, gridRow + 1) - rowStart,
+            Wire.bound(matrix.cols(), q, gridCol + 1) - colStart);
+    }
+
+    /**
+     * target = alpha · product + beta · target.
+     */
+    private static void accumulate(int alpha, IntMatrix product, int beta, IntMatrix target) {
+        final int[] t = target.data();
+        final int[] p = product.data();
+        for (int row = 0; row < target.rows(); row++) {
+            final int targetBase = target.index(row, 0);
+            final int productBase = product.index(row, 0);
+            for (int col = 0; col < target.cols(); col++) {
+                // beta == 0 must not read the old contents, so the buffer can start out as anything
+                final int previous = beta == 0 ? 0 : beta * t[targetBase + col];
+                t[targetBase + col] = alpha * p[productBase + col] + previous;
+            }
+        }
+    }
+}
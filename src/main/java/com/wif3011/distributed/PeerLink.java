@@ -0,0 +1,92 @@
+package com.wif3011.distributed;
+
+import com.wif3011.matrix.IntMatrix;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Connection between two workers that exchange panels.
+ * <p>
+ * A background thread reads incoming panels into a queue as soon as they arrive. Sends therefore never wait on
+ * the other side's progress, so two workers broadcasting to each other in the same step cannot deadlock, and a
+ * panel for a later step can arrive while this worker is still computing.
+ */
+final class PeerLink implements AutoCloseable {
+    /** How long {@link #close()} waits for the peer to finish sending. */
+    private static final long CLOSE_TIMEOUT_MILLIS = 60_000;
+
+    private final Socket socket;
+    private final DataOutputStream out;
+    private final BlockingQueue<Object> incoming = new LinkedBlockingQueue<>();
+    private final Thread reader;
+
+    PeerLink(Socket socket, String name) throws IOException {
+        this.socket = socket;
+        socket.setTcpNoDelay(true);
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+        this.reader = new Thread(() -> {
+            try {
+                while (true) {
+                    incoming.put(Wire.readMatrix(in));
+                }
+            } catch (EOFException e) {
+                // The peer has sent everything and closed its side; a receive after this is an error
+                incoming.add(new EOFException("Peer closed the connection"));
+            } catch (IOException e) {
+                incoming.add(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, name);
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    void send(IntMatrix panel) throws IOException {
+        Wire.writeMatrix(out, panel);
+        out.flush();
+    }
+
+    /**
+     * Waits for the next panel from the peer.
+     */
+    IntMatrix receive() throws IOException {
+        final Object next;
+        try {
+            next = incoming.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a panel", e);
+        }
+        if (next instanceof IOException failure) {
+            throw new IOException("Peer connection failed", failure);
+        }
+        return (IntMatrix) next;
+    }
+
+    /**
+     * Finishes sending, waits until the peer has finished too, then closes. Closing with unread data still
+     * arriving would reset the connection and could destroy a panel the peer has not read yet.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            socket.shutdownOutput();
+            reader.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.wif3011.distributed;
+
+import com.wif3011.framework.MatrixMultiplier;
+import com.wif3011.framework.PackedTileKernel;
+import com.wif3011.framework.TileConfig;
+import com.wif3011.framework.TiledForkJoinMatrixMultiplier;
+import com.wif3011.matrix.IntMatrix;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One process of the q×q grid used by {@link DistributedMatrixMultiplier}, owning block (row, col) of A, B and C.
+ * <p>
+ * SUMMA runs in q steps. In step t the worker in column t of each grid row broadcasts its A block along that row,
+ * and the worker in row t of each grid column broadcasts its B block down that column; every worker then adds the
+ * product of the two panels it received onto its C block with the local tiled multiplier. After the last step the
+ * C block goes back to the coordinator.
+ * <p>
+ * Workers talk to the coordinator over one connection and to the other workers in their grid row and column over
+ * direct {@link PeerLink}s, all on the loopback interface.
+ */
+public final class SummaWorker {
+    /** How long a worker waits for its peers to connect before giving up. */
+    private static final int CONNECT_TIMEOUT_MILLIS = 60_000;
+
+    /** Computes C += A·B on each pair of panels, on this process's own engine. */
+    private final MatrixMultiplier local = new TiledForkJoinMatrixMultiplier(TileConfig.DEFAULT, new PackedTileKernel());
+
+    private SummaWorker() {
+    }
+
+    /**
+     * Entry point of a worker process: {@code SummaWorker <coordinator-host> <coordinator-port>}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: java SummaWorker <coordinator-host> <coordinator-port>");
+            return;
+        }
+        run(args[0], Integer.parseInt(args[1]));
+    }
+
+    /**
+     * Joins the coordinator at host:port, takes part in one multiplication and returns once the result is sent.
+     */
+    public static void run(String host, int coordinatorPort) throws IOException {
+        new SummaWorker().work(host, coordinatorPort);
+    }
+
+    private void work(String host, int coordinatorPort) throws IOException {
+        try (ServerSocket peerServer = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+             Socket coordinator = new Socket(host, coordinatorPort)) {
+            peerServer.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+            coordinator.setTcpNoDelay(true);
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(coordinator.getOutputStream()));
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(coordinator.getInputStream()));
+
+            // Hello: where the other workers can reach this one
+            out.writeInt(peerServer.getLocalPort());
+            out.flush();
+
+            // Assignment: position in the grid, every worker's peer port, then this worker's A and B blocks
+            final int rank = in.readInt();
+            final int gridSize = in.readInt();
+            final int[] peerPorts = new int[gridSize * gridSize];
+            for (int i = 0; i < peerPorts.length; i++) {
+                peerPorts[i] = in.readInt();
+            }
+            final IntMatrix leftBlock = Wire.readMatrix(in);
+            final IntMatrix rightBlock = Wire.readMatrix(in);
+
+            final Map<Integer, PeerLink> links = connectPeers(rank, gridSize, peerPorts, peerServer);
+            try {
+                final IntMatrix resultBlock = summa(rank, gridSize, leftBlock, rightBlock, links);
+                Wire.writeMatrix(out, resultBlock);
+                out.flush();
+            } finally {
+                for (PeerLink link : links.values()) {
+                    link.close();
+                }
+            }
+        }
+    }
+
+    private IntMatrix summa(int rank, int gridSize, IntMatrix leftBlock, IntMatrix rightBlock,
+                            Map<Integer, PeerLink> links) throws IOException {
+        final int gridRow = rank / gridSize;
+        final int gridCol = rank % gridSize;
+        final IntMatrix resultBlock = new IntMatrix(leftBlock.rows(), rightBlock.cols());
+
+        for (int step = 0; step < gridSize; step++) {
+            final IntMatrix leftPanel;
+            if (gridCol == step) {
+                for (int col = 0; col < gridSize; col++) {
+                    if (col != gridCol) {
+                        links.get(gridRow * gridSize + col).send(leftBlock);
+                    }
+                }
+                leftPanel = leftBlock;
+            } else {
+                leftPanel = links.get(gridRow * gridSize + step).receive();
+            }
+
+            final IntMatrix rightPanel;
+            if (gridRow == step) {
+                for (int row = 0; row < gridSize; row++) {
+                    if (row != gridRow) {
+                        links.get(row * gridSize + gridCol).send(rightBlock);
+                    }
+                }
+                rightPanel = rightBlock;
+            } else {
+                rightPanel = links.get(step * gridSize + gridCol).receive();
+            }
+
+            local.gemm(1, leftPanel, rightPanel, 1, resultBlock);
+        }
+        return resultBlock;
+    }
+
+    /**
+     * Links this worker with every other worker in its grid row and column. Each pair is connected once:
+     * the higher rank dials the lower one, which accepts.
+     */
+    private static Map<Integer, PeerLink> connectPeers(int rank, int gridSize, int[] peerPorts, ServerSocket peerServer)
+        throws IOException {
+        final int gridRow = rank / gridSize;
+        final int gridCol = rank % gridSize;
+        final Map<Integer, PeerLink> links = new HashMap<>();
+        int higherPeers = 0;
+
+        for (int peer = 0; peer < gridSize * gridSize; peer++) {
+            if (peer == rank || (peer / gridSize != gridRow && peer % gridSize != gridCol)) {
+                continue;
+            }
+            if (peer > rank) {
+                higherPeers++;
+                continue;
+            }
+            // The lower rank's server socket was open before it said hello, so this connects even if it is not
+            // accepting yet
+            final Socket socket = new Socket(InetAddress.getLoopbackAddress(), peerPorts[peer]);
+            final DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeInt(rank);
+            out.flush();
+            links.put(peer, new PeerLink(socket, linkName(rank, peer)));
+        }
+
+        for (int i = 0; i < higherPeers; i++) {
+            final Socket socket = peerServer.accept();
+            final int peer = new DataInputStream(socket.getInputStream()).readInt();
+            links.put(peer, new PeerLink(socket, linkName(rank, peer)));
+        }
+        return links;
+    }
+
+    private static String linkName(int rank, int peer) {
+        return "summa-worker-" + rank + "-from-" + peer;
+    }
+}
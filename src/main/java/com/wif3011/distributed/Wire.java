@@ -0,0 +1,75 @@
+package com.wif3011.distributed;
+
+import com.wif3011.matrix.IntMatrix;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encoding of matrices on the sockets between coordinator and workers, and between the matrix service and its
+ * clients: rows, cols, then the elements row by row, all big-endian as {@link DataOutputStream} writes them. Rows
+ * are converted with bulk buffer transfers.
+ */
+public final class Wire {
+
+    private Wire() {
+    }
+
+    public static void writeMatrix(DataOutputStream out, IntMatrix matrix) throws IOException {
+        out.writeInt(matrix.rows());
+        out.writeInt(matrix.cols());
+        final ByteBuffer row = ByteBuffer.allocate(matrix.cols() * Integer.BYTES);
+        for (int r = 0; r < matrix.rows(); r++) {
+            row.clear();
+            row.asIntBuffer().put(matrix.data(), matrix.index(r, 0), matrix.cols());
+            out.write(row.array());
+        }
+    }
+
+    public static IntMatrix readMatrix(DataInputStream in) throws IOException {
+        final int[] shape = readShape(in);
+        return readElements(in, shape[0], shape[1]);
+    }
+
+    /**
+     * Reads only the rows and cols a matrix starts with, so that the reader can check its size before allocating
+     * it. The elements follow, to be read with {@link #readElements} or passed over with {@link #skipElements}.
+     */
+    public static int[] readShape(DataInputStream in) throws IOException {
+        final int rows = in.readInt();
+        final int cols = in.readInt();
+        if (rows < 0 || cols < 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt matrix on the wire: " + rows + "x" + cols);
+        }
+        return new int[]{rows, cols};
+    }
+
+    /**
+     * Passes over the elements of a matrix whose shape was read with {@link #readShape}.
+     */
+    public static void skipElements(DataInputStream in, int rows, int cols) throws IOException {
+        in.skipNBytes((long) rows * cols * Integer.BYTES);
+    }
+
+    /**
+     * Reads the elements of a matrix whose shape was read with {@link #readShape}.
+     */
+    public static IntMatrix readElements(DataInputStream in, int rows, int cols) throws IOException {
+        final IntMatrix matrix = new IntMatrix(rows, cols);
+        final byte[] row = new byte[cols * Integer.BYTES];
+        for (int r = 0; r < rows; r++) {
+            in.readFully(row);
+            ByteBuffer.wrap(row).asIntBuffer().get(matrix.data(), matrix.index(r, 0), cols);
+        }
+        return matrix;
+    }
+
+    /**
+     * First index of part {@code part} when {@code length} items are split into {@code parts} near-equal parts.
+     */
+    static int bound(int length, int parts, int part) {
+        return (int) ((long) length * part / parts);
+    }
+}
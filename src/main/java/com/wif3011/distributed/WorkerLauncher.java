@@ -0,0 +1,111 @@
+package com.wif3011.distributed;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the {@link SummaWorker}s of one distributed multiplication and points them at the coordinator.
+ */
+@FunctionalInterface
+public interface WorkerLauncher {
+
+    /**
+     * Starts {@code count} workers that connect to the coordinator listening on the loopback interface at {@code port}.
+     */
+    Workers launch(int count, int port) throws IOException;
+
+    /**
+     * Handle on running workers; closing it waits for them to finish and stops any that do not.
+     */
+    interface Workers extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * One JVM per worker, started with this JVM's executable and class path. Each worker's engine gets an equal
+     * share of the processors so that the workers together do not oversubscribe the machine.
+     */
+    static WorkerLauncher processes() {
+        return (count, port) -> {
+            final String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            final int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / count);
+            final List<String> command = new ArrayList<>();
+            command.add(java);
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                command.add("--add-modules");
+                command.add("jdk.incubator.vector");
+            }
+            command.add("-Dwif3011.engine.isolated=true");
+            command.add("-Dwif3011.engine.parallelism=" + parallelism);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(SummaWorker.class.getName());
+            command.add(InetAddress.getLoopbackAddress().getHostAddress());
+            command.add(Integer.toString(port));
+
+            final List<Process> processes = new ArrayList<>(count);
+            try {
+                for (int i = 0; i < count; i++) {
+                    processes.add(new ProcessBuilder(command)
+                        .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start());
+                }
+            } catch (IOException e) {
+                processes.forEach(Process::destroyForcibly);
+                throw e;
+            }
+            return () -> {
+                for (Process process : processes) {
+                    try {
+                        if (!process.waitFor(1, TimeUnit.MINUTES)) {
+                            process.destroyForcibly();
+                        }
+                    } catch (InterruptedException e) {
+                        process.destroyForcibly();
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+        };
+    }
+
+    /**
+     * Workers as threads of this JVM, talking over real loopback sockets. Exercises the same protocol as
+     * {@link #processes()} without the start-up cost of extra JVMs, which suits quick checks.
+     */
+    static WorkerLauncher threads() {
+        return (count, port) -> {
+            final String host = InetAddress.getLoopbackAddress().getHostAddress();
+            final List<Thread> threads = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final Thread thread = new Thread(() -> {
+                    try {
+                        SummaWorker.run(host, port);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, "summa-worker-thread-" + i);
+                thread.setDaemon(true);
+                thread.start();
+                threads.add(thread);
+            }
+            return () -> {
+                for (Thread thread : threads) {
+                    try {
+                        thread.join(TimeUnit.MINUTES.toMillis(1));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,313 @@
+package com.wif3011.expression;
+
+import com.wif3011.framework.MatrixMultiplier;
+import com.wif3011.framework.TiledMatrixMultiplier;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.IntMatrixPool;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates {@link MatrixExpression}s with a {@link MatrixMultiplier}.
+ * <p>
+ * Every node is evaluated as target = alpha · node + beta · target, which lets most element-wise work ride along
+ * with the multiplications instead of taking passes of its own:
+ * <ul>
+ *     <li>a product chain is associated in the cheapest order found by the classic matrix-chain dynamic program,
+ *     and its outermost multiplication is a single {@link MatrixMultiplier#gemm} into the target;</li>
+ *     <li>a scalar multiple becomes the alpha of that gemm;</li>
+ *     <li>a sum writes its leaf terms (scaled or transposed or not) first, the first of them with the caller's beta,
+ *     and then adds every other term with beta = 1, so in (A·B)+C, written in either order, the C term is read
+ *     once and A·B is added onto it tile by tile inside the multiplier;</li>
+ *     <li>transposes only reach leaves, and a transposed leaf is either added directly or, as a factor, copied
+ *     transposed once into a buffer;</li>
+ *     <li>a Gram product X·Xᵀ on a tiled multiplier is computed with {@link TiledMatrixMultiplier#syrk}, which
+ *     does half the work.</li>
+ * </ul>
+ * Intermediate products come from a shape-keyed buffer pool and go back as soon as the multiplication that
+ * consumes them is done, so repeated evaluations of the same expression stop allocating.
+ * Evaluators are thread-safe when their multiplier is.
+ */
+public class ExpressionEvaluator {
+    /** Leaves are added in row bands of this many rows per task, transposed leaves in square blocks of this side. */
+    private static final int BLOCK = 64;
+
+    private final MatrixMultiplier multiplier;
+    private final IntMatrixPool pool;
+
+    public ExpressionEvaluator(MatrixMultiplier multiplier) {
+        this(multiplier, new IntMatrixPool());
+    }
+
+    /**
+     * @param pool where intermediate matrices are taken from and returned to; may be shared between evaluators
+     */
+    public ExpressionEvaluator(MatrixMultiplier multiplier, IntMatrixPool pool) {
+        if (multiplier == null) {
+            throw new IllegalArgumentException("Multiplier cannot be null");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Buffer pool cannot be null");
+        }
+        this.multiplier = multiplier;
+        this.pool = pool;
+    }
+
+    public MatrixMultiplier getMultiplier() {
+        return multiplier;
+    }
+
+    public IntMatrix evaluate(MatrixExpression expression) {
+        final IntMatrix result = new IntMatrix(expression.rows(), expression.cols());
+        accumulate(expression, 1, 0, result);
+        return result;
+    }
+
+    /**
+     * Evaluates {@code expression} into {@code result}, overwriting it, and returns {@code result}.
+     * The result must not share storage with any matrix in the expression.
+     */
+    public IntMatrix evaluateInto(MatrixExpression expression, IntMatrix result) {
+        if (result == null) {
+            throw new IllegalArgumentException("Result matrix cannot be null");
+        }
+        if (result.rows() != expression.rows() || result.cols() != expression.cols()) {
+            throw new IllegalArgumentException("Result matrix must be " + expression.rows() + "x" + expression.cols()
+                + " but is " + result.rows() + "x" + result.cols());
+        }
+        accumulate(expression, 1, 0, result);
+        return result;
+    }
+
+    /**
+     * The expression with every product chain fully parenthesized in the order it will be evaluated, e.g.
+     * {@code (10x100 · (100x5 · 5x50))}.
+     */
+    public static String plan(MatrixExpression expression) {
+        if (expression instanceof MatrixExpression.Product product) {
+            return planRange(product.factors, chainOrder(product.factors), 0, product.factors.size() - 1);
+        }
+        if (expression instanceof MatrixExpression.Sum sum) {
+            final StringBuilder sb = new StringBuilder("(");
+            for (int i = 0; i < sum.terms.size(); i++) {
+                sb.append(i == 0 ? "" : " + ").append(plan(sum.terms.get(i)));
+            }
+            return sb.append(')').toString();
+        }
+        if (expression instanceof MatrixExpression.Scaled scaled) {
+            return scaled.scalar + "·" + plan(scaled.operand);
+        }
+        return expression.toString();
+    }
+
+    /**
+     * Number of scalar multiply-adds the products of {@code expression} take in the chosen order.
+     */
+    public static long cost(MatrixExpression expression) {
+        if (expression instanceof MatrixExpression.Product product) {
+            final List<MatrixExpression> factors = product.factors;
+            long total = chainCosts(factors)[0][factors.size() - 1];
+            for (MatrixExpression factor : factors) {
+                total += cost(factor);
+            }
+            return total;
+        }
+        if (expression instanceof MatrixExpression.Sum sum) {
+            long total = 0;
+            for (MatrixExpression term : sum.terms) {
+                total += cost(term);
+            }
+            return total;
+        }
+        if (expression instanceof MatrixExpression.Scaled scaled) {
+            return cost(scaled.operand);
+        }
+        return 0;
+    }
+
+    /**
+     * target = alpha · expression + beta · target. With beta == 0 the old contents of target are never read.
+     */
+    private void accumulate(MatrixExpression expression, int alpha, int beta, IntMatrix target) {
+        if (expression instanceof MatrixExpression.Leaf leaf) {
+            addLeaf(alpha, leaf, beta, target);
+        } else if (expression instanceof MatrixExpression.Scaled scaled) {
+            accumulate(scaled.operand, alpha * scaled.scalar, beta, target);
+        } else if (expression instanceof MatrixExpression.Sum sum) {
+            // Leaves first, so that every product lands as a gemm onto them instead of needing a pass of its own.
+            // Integer addition wraps the same in any order, so the result does not depend on it.
+            int termBeta = beta;
+            for (boolean leaves : new boolean[]{true, false}) {
+                for (MatrixExpression term : sum.terms) {
+                    if (isLeafTerm(term) == leaves) {
+                        accumulate(term, alpha, termBeta, target);
+                        termBeta = 1;
+                    }
+                }
+            }
+        } else if (expression instanceof MatrixExpression.Product product) {
+            final List<MatrixExpression> factors = product.factors;
+            multiplyRange(factors, chainOrder(factors), 0, factors.size() - 1, alpha, beta, target);
+        }
+    }
+
+    /**
+     * target = alpha · (factors[first] ··· factors[last]) + beta · target, for first < last, split where the
+     * chain order says.
+     */
+    private void multiplyRange(List<MatrixExpression> factors, int[][] split, int first, int last,
+                               int alpha, int beta, IntMatrix target) {
+        if (beta == 0 && multiplier instanceof TiledMatrixMultiplier tiled && isGram(factors, first, last)) {
+            // X·Xᵀ is symmetric, so only its upper half is multiplied and the rest mirrored
+            tiled.syrk(alpha, ((MatrixExpression.Leaf) factors.get(first)).matrix, 0, target);
+            return;
+        }
+        final int k = split[first][last];
+        final IntMatrix left = operand(factors, split, first, k);
+        try {
+            final IntMatrix right = operand(factors, split, k + 1, last);
+            try {
+                multiplier.gemm(alpha, left, right, beta, target);
+            } finally {
+                releaseOperand(factors, k + 1, last, right);
+            }
+        } finally {
+            releaseOperand(factors, first, k, left);
+        }
+    }
+
+    /**
+     * factors[first] ··· factors[last] as a plain matrix: an untransposed leaf as itself, anything else
+     * evaluated into a pooled buffer.
+     */
+    private IntMatrix operand(List<MatrixExpression> factors, int[][] split, int first, int last) {
+        if (first == last && isPlain(factors.get(first))) {
+            return ((MatrixExpression.Leaf) factors.get(first)).matrix;
+        }
+        final IntMatrix buffer = pool.acquire(factors.get(first).rows(), factors.get(last).cols());
+        try {
+            if (first == last) {
+                accumulate(factors.get(first), 1, 0, buffer);
+            } else {
+                multiplyRange(factors, split, first, last, 1, 0, buffer);
+            }
+        } catch (RuntimeException | Error e) {
+            pool.release(buffer);
+            throw e;
+        }
+        return buffer;
+    }
+
+    private void releaseOperand(List<MatrixExpression> factors, int first, int last, IntMatrix operand) {
+        if (!(first == last && isPlain(factors.get(first)))) {
+            pool.release(operand);
+        }
+    }
+
+    /**
+     * Whether factors[first..last] is exactly a plain leaf times the transpose of the same matrix.
+     */
+    private static boolean isGram(List<MatrixExpression> factors, int first, int last) {
+        return last == first + 1 && isPlain(factors.get(first))
+            && factors.get(last) instanceof MatrixExpression.Leaf leaf && leaf.transposed
+            && leaf.matrix == ((MatrixExpression.Leaf) factors.get(first)).matrix;
+    }
+
+    /**
+     * Whether a sum term is a leaf, possibly scaled or transposed, i.e. is added by {@link #addLeaf}.
+     */
+    private static boolean isLeafTerm(MatrixExpression term) {
+        return term instanceof MatrixExpression.Scaled scaled
+            ? isLeafTerm(scaled.operand)
+            : term instanceof MatrixExpression.Leaf;
+    }
+
+    private static boolean isPlain(MatrixExpression factor) {
+        return factor instanceof MatrixExpression.Leaf leaf && !leaf.transposed;
+    }
+
+    /**
+     * target = alpha · leaf + beta · target, in parallel row bands; a transposed leaf is read in square blocks so
+     * that both matrices are walked a cache-friendly block at a time.
+     */
+    private void addLeaf(int alpha, MatrixExpression.Leaf leaf, int beta, IntMatrix target) {
+        final IntMatrix source = leaf.matrix;
+        final int rows = target.rows();
+        final int cols = target.cols();
+        final int bands = (rows + BLOCK - 1) / BLOCK;
+        multiplier.getEngine().run(() -> IntStream.range(0, bands).parallel().forEach(band -> {
+            final int rowStart = band * BLOCK;
+            final int rowEnd = Math.min(rows, rowStart + BLOCK);
+            final int[] t = target.data();
+            final int[] s = source.data();
+            for (int colStart = 0; colStart < cols; colStart += leaf.transposed ? BLOCK : cols) {
+                final int colEnd = leaf.transposed ? Math.min(cols, colStart + BLOCK) : cols;
+                for (int row = rowStart; row < rowEnd; row++) {
+                    final int targetBase = target.index(row, 0);
+                    for (int col = colStart; col < colEnd; col++) {
+                        final int value = leaf.transposed ? s[source.index(col, row)] : s[source.index(row, col)];
+                        // beta == 0 must not read the old contents, so pooled buffers can start out as anything
+                        final int previous = beta == 0 ? 0 : beta * t[targetBase + col];
+                        t[targetBase + col] = alpha * value + previous;
+                    }
+                }
+            }
+        }));
+    }
+
+    /**
+     * split[i][j] is the k at which factors[i..j] is best cut into (factors[i..k]) · (factors[k+1..j]).
+     */
+    private static int[][] chainOrder(List<MatrixExpression> factors) {
+        return chainPlan(factors).split();
+    }
+
+    private static long[][] chainCosts(List<MatrixExpression> factors) {
+        return chainPlan(factors).cost();
+    }
+
+    /**
+     * cost[i][j] is the fewest multiply-adds for factors[i..j], split[i][j] the cut that achieves it.
+     */
+    private record ChainPlan(long[][] cost, int[][] split) {
+    }
+
+    /**
+     * The matrix-chain dynamic program: the cheapest way to multiply factors[i..j] is its cheapest cut k,
+     * costing the two halves plus rows(i) · cols(k) · cols(j) multiply-adds for joining them.
+     */
+    private static ChainPlan chainPlan(List<MatrixExpression> factors) {
+        final int n = factors.size();
+        final long[] dims = new long[n + 1];
+        for (int i = 0; i < n; i++) {
+            dims[i] = factors.get(i).rows();
+        }
+        dims[n] = factors.get(n - 1).cols();
+
+        final long[][] cost = new long[n][n];
+        final int[][] split = new int[n][n];
+        for (int length = 2; length <= n; length++) {
+            for (int i = 0; i + length - 1 < n; i++) {
+                final int j = i + length - 1;
+                cost[i][j] = Long.MAX_VALUE;
+                for (int k = i; k < j; k++) {
+                    final long candidate = cost[i][k] + cost[k + 1][j] + dims[i] * dims[k + 1] * dims[j + 1];
+                    if (candidate < cost[i][j]) {
+                        cost[i][j] = candidate;
+                        split[i][j] = k;
+                    }
+                }
+            }
+        }
+        return new ChainPlan(cost, split);
+    }
+
+    private static String planRange(List<MatrixExpression> factors, int[][] split, int first, int last) {
+        if (first == last) {
+            return plan(factors.get(first));
+        }
+        final int k = split[first][last];
+        return "(" + planRange(factors, split, first, k) + " · " + planRange(factors, split, k + 1, last) + ")";
+    }
+}
@@ -0,0 +1,255 @@
+package com.wif3011.expression;
+
+import com.wif3011.matrix.IntMatrix;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An unevaluated int matrix expression built from products, sums, scalar multiples and transposes.
+ * <p>
+ * Building an expression only checks shapes; nothing is computed until it is passed to an
+ * {@link ExpressionEvaluator}. The graph is kept in a normal form that the evaluator can plan over directly:
+ * nested products are flattened into one chain (so the whole chain can be re-associated), nested sums into one
+ * list of terms, and transposes are pushed down to the leaves.
+ */
+public abstract sealed class MatrixExpression
+    permits MatrixExpression.Leaf, MatrixExpression.Product, MatrixExpression.Sum, MatrixExpression.Scaled {
+
+    private MatrixExpression() {
+    }
+
+    public static MatrixExpression of(IntMatrix matrix) {
+        if (matrix == null || matrix.rows() == 0 || matrix.cols() == 0) {
+            throw new IllegalArgumentException("Matrices cannot be null or empty");
+        }
+        return new Leaf(matrix, false);
+    }
+
+    public static MatrixExpression of(int[][] matrix) {
+        return of(IntMatrix.of(matrix));
+    }
+
+    public abstract int rows();
+
+    public abstract int cols();
+
+    /**
+     * this · other.
+     */
+    public MatrixExpression times(MatrixExpression other) {
+        if (cols() != other.rows()) {
+            throw new IllegalArgumentException("Number of columns in Matrix A must be equal to number of rows in Matrix B");
+        }
+        // Scalars move out of the chain, so every factor is a leaf or a sum: (sA)·(tB) = (st)·(A·B)
+        if (this instanceof Scaled scaled) {
+            return scaled.operand.times(other).scale(scaled.scalar);
+        }
+        if (other instanceof Scaled scaled) {
+            return times(scaled.operand).scale(scaled.scalar);
+        }
+        final List<MatrixExpression> factors = new ArrayList<>();
+        addFactors(this, factors);
+        addFactors(other, factors);
+        return new Product(factors);
+    }
+
+    public MatrixExpression times(IntMatrix other) {
+        return times(of(other));
+    }
+
+    /**
+     * this + other.
+     */
+    public MatrixExpression plus(MatrixExpression other) {
+        if (rows() != other.rows() || cols() != other.cols()) {
+            throw new IllegalArgumentException("Cannot add a " + other.rows() + "x" + other.cols()
+                + " matrix to a " + rows() + "x" + cols() + " matrix");
+        }
+        final List<MatrixExpression> terms = new ArrayList<>();
+        addTerms(this, terms);
+        addTerms(other, terms);
+        return new Sum(terms);
+    }
+
+    public MatrixExpression plus(IntMatrix other) {
+        return plus(of(other));
+    }
+
+    /**
+     * scalar · this.
+     */
+    public MatrixExpression scale(int scalar) {
+        if (this instanceof Scaled scaled) {
+            return new Scaled(scalar * scaled.scalar, scaled.operand);
+        }
+        return new Scaled(scalar, this);
+    }
+
+    /**
+     * this<sup>T</sup>, pushed down to the leaves: (A·B)<sup>T</sup> = B<sup>T</sup>·A<sup>T</sup> and
+     * (A+B)<sup>T</sup> = A<sup>T</sup>+B<sup>T</sup>.
+     */
+    public abstract MatrixExpression transpose();
+
+    private static void addFactors(MatrixExpression expression, List<MatrixExpression> factors) {
+        if (expression instanceof Product product) {
+            factors.addAll(product.factors);
+        } else {
+            factors.add(expression);
+        }
+    }
+
+    private static void addTerms(MatrixExpression expression, List<MatrixExpression> terms) {
+        if (expression instanceof Sum sum) {
+            terms.addAll(sum.terms);
+        } else {
+            terms.add(expression);
+        }
+    }
+
+    /**
+     * A matrix operand, possibly transposed.
+     */
+    static final class Leaf extends MatrixExpression {
+        final IntMatrix matrix;
+        final boolean transposed;
+
+        Leaf(IntMatrix matrix, boolean transposed) {
+            this.matrix = matrix;
+            this.transposed = transposed;
+        }
+
+        @Override
+        public int rows() {
+            return transposed ? matrix.cols() : matrix.rows();
+        }
+
+        @Override
+        public int cols() {
+            return transposed ? matrix.rows() : matrix.cols();
+        }
+
+        @Override
+        public MatrixExpression transpose() {
+            return new Leaf(matrix, !transposed);
+        }
+
+        @Override
+        public String toString() {
+            return matrix.rows() + "x" + matrix.cols() + (transposed ? "ᵀ" : "");
+        }
+    }
+
+    /**
+     * A chain of two or more factors, each a leaf or a sum.
+     */
+    static final class Product extends MatrixExpression {
+        final List<MatrixExpression> factors;
+
+        Product(List<MatrixExpression> factors) {
+            this.factors = Collections.unmodifiableList(factors);
+        }
+
+        @Override
+        public int rows() {
+            return factors.get(0).rows();
+        }
+
+        @Override
+        public int cols() {
+            return factors.get(factors.size() - 1).cols();
+        }
+
+        @Override
+        public MatrixExpression transpose() {
+            final List<MatrixExpression> reversed = new ArrayList<>(factors.size());
+            for (int i = factors.size() - 1; i >= 0; i--) {
+                reversed.add(factors.get(i).transpose());
+            }
+            return new Product(reversed);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("(");
+            for (int i = 0; i < factors.size(); i++) {
+                sb.append(i == 0 ? "" : " · ").append(factors.get(i));
+            }
+            return sb.append(')').toString();
+        }
+    }
+
+    /**
+     * Two or more terms of the same shape, none of them a sum itself.
+     */
+    static final class Sum extends MatrixExpression {
+        final List<MatrixExpression> terms;
+
+        Sum(List<MatrixExpression> terms) {
+            this.terms = Collections.unmodifiableList(terms);
+        }
+
+        @Override
+        public int rows() {
+            return terms.get(0).rows();
+        }
+
+        @Override
+        public int cols() {
+            return terms.get(0).cols();
+        }
+
+        @Override
+        public MatrixExpression transpose() {
+            final List<MatrixExpression> transposed = new ArrayList<>(terms.size());
+            for (MatrixExpression term : terms) {
+                transposed.add(term.transpose());
+            }
+            return new Sum(transposed);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("(");
+            for (int i = 0; i < terms.size(); i++) {
+                sb.append(i == 0 ? "" : " + ").append(terms.get(i));
+            }
+            return sb.append(')').toString();
+        }
+    }
+
+    /**
+     * An operand multiplied by a scalar.
+     */
+    static final class Scaled extends MatrixExpression {
+        final int scalar;
+        final MatrixExpression operand;
+
+        Scaled(int scalar, MatrixExpression operand) {
+            this.scalar = scalar;
+            this.operand = operand;
+        }
+
+        @Override
+        public int rows() {
+            return operand.rows();
+        }
+
+        @Override
+        public int cols() {
+            return operand.cols();
+        }
+
+        @Override
+        public MatrixExpression transpose() {
+            return new Scaled(scalar, operand.transpose());
+        }
+
+        @Override
+        public String toString() {
+            return scalar + "·" + operand;
+        }
+    }
+}
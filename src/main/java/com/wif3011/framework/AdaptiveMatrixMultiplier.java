@@ -0,0 +1,251 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.tuning.ShapeClass;
+import com.wif3011.tuning.TuningProfile;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Picks an implementation and a parallel split for every call from m, k, n, the engine's parallelism and, when
+ * available, the tuning profile.
+ * <p>
+ * <ul>
+ *     <li>Products of at most {@link #SEQUENTIAL_WORK} multiply-adds run on the calling thread with the plain loop,
+ *     since handing them to the pool costs more than computing them.</li>
+ *     <li>Square-ish products whose every dimension reaches {@link #STRASSEN_DIMENSION} use Strassen, which trades
+ *     multiplications for additions.</li>
+ *     <li>Everything else goes to the ForkJoin tiled driver with the vector kernel (or the packed one when the
+ *     Vector API is missing), using the tile geometry tuned for that implementation and shape if the profile has
+ *     one. Tiles are then shrunk, down to {@link #MIN_BLOCK}, until there are {@link #TILES_PER_WORKER} per worker
+ *     worth waking, so skinny results still spread over the cores. Deep products keep their tiles; whenever there
+ *     are fewer tiles than workers the driver splits the shared dimension instead (split-K).</li>
+ * </ul>
+ * Every choice is kept as a {@link Decision} (the most recent {@value #HISTORY}) so it can be audited, and
+ * {@link #plan} returns the choice for a shape without multiplying.
+ */
+public class AdaptiveMatrixMultiplier extends MatrixMultiplier {
+    /** Largest product, in multiply-adds, that is not worth parallelizing; about 20×20×20. */
+    public static final long SEQUENTIAL_WORK = 8_192;
+
+    /**
+     * Smallest dimension from which Strassen is used: one level above its default crossover, so that it recurses at
+     * least once before handing blocks to the tile kernel.
+     */
+    public static final int STRASSEN_DIMENSION = 2 * StrassenForkJoinMatrixMultiplier.DEFAULT_CROSSOVER;
+
+    /** Multiply-adds that make it worth waking one more worker. */
+    public static final long WORK_PER_WORKER = 64L * 64 * 64;
+
+    /** Tiles each worker should get for the ForkJoin driver to balance them. */
+    public static final int TILES_PER_WORKER = 4;
+
+    /** Tiles are never shrunk below this many rows or columns. */
+    public static final int MIN_BLOCK = 16;
+
+    /** Number of decisions kept. */
+    public static final int HISTORY = 64;
+
+    /**
+     * The implementations this multiplier routes between.
+     */
+    public enum Route {
+        SEQUENTIAL, TILED, STRASSEN
+    }
+
+    /**
+     * One routing decision.
+     *
+     * @param rows            rows of the result
+     * @param sharedDimension columns of the left matrix and rows of the right one
+     * @param cols            columns of the result
+     * @param route           which implementation ran
+     * @param implementation  its {@link Multipliers} name
+     * @param config          tile geometry it ran with; {@link TileConfig#DEFAULT} for routes without tiles
+     * @param workers         how many workers the split is sized for
+     * @param reason          why, in words
+     */
+    public record Decision(int rows, int sharedDimension, int cols, Route route, String implementation,
+                           TileConfig config, int workers, String reason) {
+
+        @Override
+        public String toString() {
+            final String tiles = route == Route.TILED ? " " + config.rowBlock() + "x" + config.colBlock() + " tiles" : "";
+            return rows + "x" + sharedDimension + "x" + cols + " -> " + implementation + tiles
+                + " on " + workers + " worker(s): " + reason;
+        }
+    }
+
+    private final ExecutionEngine engine;
+    private final TuningProfile profile;
+    private final TileKernel kernel;
+    private final String tiledName;
+    private final MatrixMultiplier sequential = new SequentialMatrixMultiplier();
+    private final StrassenForkJoinMatrixMultiplier strassen;
+    private final Deque<Decision> decisions = new ArrayDeque<>();
+
+    /**
+     * Runs on the shared engine with the profile at {@link TuningProfile#DEFAULT_PATH}, if there is one.
+     */
+    public AdaptiveMatrixMultiplier() {
+        this(ExecutionEngine.shared(), TuningProfile.loadDefault());
+    }
+
+    /**
+     * @param profile calibrated tile configs; an empty profile means the defaults everywhere
+     */
+    public AdaptiveMatrixMultiplier(ExecutionEngine engine, TuningProfile profile) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Execution engine cannot be null");
+        }
+        if (profile == null) {
+            throw new IllegalArgumentException("Tuning profile cannot be null");
+        }
+        this.engine = engine;
+        this.profile = profile;
+        final boolean vectorized = VectorTileKernel.isVectorApiAvailable();
+        this.kernel = vectorized ? new VectorTileKernel() : new PackedTileKernel();
+        this.tiledName = vectorized ? "vector-forkjoin" : "packed-forkjoin";
+        this.strassen = new StrassenForkJoinMatrixMultiplier(
+            StrassenForkJoinMatrixMultiplier.DEFAULT_CROSSOVER, kernel, new StrassenWorkspace(), engine);
+    }
+
+    @Override
+    public ExecutionEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * What a leftMatrixRows×sharedDimension by sharedDimension×rightMatrixCols product would be routed to.
+     * Does not record the decision.
+     */
+    public Decision plan(int leftMatrixRows, int sharedDimension, int rightMatrixCols) {
+        final long work = (long) leftMatrixRows * sharedDimension * rightMatrixCols;
+        final int parallelism = engine.parallelism();
+
+        if (work <= SEQUENTIAL_WORK) {
+            return new Decision(leftMatrixRows, sharedDimension, rightMatrixCols, Route.SEQUENTIAL, "seq",
+                TileConfig.DEFAULT, 1, work + " multiply-adds is below the parallel overhead");
+        }
+
+        final ShapeClass shape = ShapeClass.of(leftMatrixRows, sharedDimension, rightMatrixCols);
+        if (shape == ShapeClass.SQUARE
+            && Math.min(leftMatrixRows, Math.min(sharedDimension, rightMatrixCols)) >= STRASSEN_DIMENSION) {
+            return new Decision(leftMatrixRows, sharedDimension, rightMatrixCols, Route.STRASSEN, "strassen",
+                TileConfig.DEFAULT, parallelism, "every dimension is at least " + STRASSEN_DIMENSION);
+        }
+
+        final Optional<TileConfig> tuned = profile.get(tiledName, shape);
+        TileConfig config = tuned.orElse(TileConfig.DEFAULT);
+        // A tuned thread count caps the workers too, since that is what the tiles were calibrated on
+        final int workers = (int) Math.max(1, Math.min(
+            config.threadCount() > 0 ? Math.min(parallelism, config.threadCount()) : parallelism,
+            work / WORK_PER_WORKER));
+
+        // Halve the longer tile side until every worker has a few tiles, or the tiles get too small to pay off.
+        // Deep products are left to split-K instead: smaller tiles would stream the long k panels more often.
+        int rowBlock = config.rowBlock();
+        int colBlock = config.colBlock();
+        final long targetTiles = (long) workers * TILES_PER_WORKER;
+        while (workers > 1 && shape != ShapeClass.DEEP && tiles(leftMatrixRows, rowBlock) * tiles(rightMatrixCols, colBlock) < targetTiles) {
+            if (rowBlock >= colBlock && rowBlock / 2 >= MIN_BLOCK && rowBlock / 2 < leftMatrixRows) {
+                rowBlock /= 2;
+            } else if (colBlock / 2 >= MIN_BLOCK && colBlock / 2 < rightMatrixCols) {
+                colBlock /= 2;
+            } else if (rowBlock / 2 >= MIN_BLOCK && rowBlock / 2 < leftMatrixRows) {
+                rowBlock /= 2;
+            } else {
+                break;
+            }
+        }
+        final boolean shrunk = rowBlock != config.rowBlock() || colBlock != config.colBlock();
+        // The split is sized for the workers worth waking, which also caps the split-K slices
+        config = new TileConfig(rowBlock, colBlock, workers);
+        final int parts = TiledMatrixMultiplier.splitParts(
+            (int) (tiles(leftMatrixRows, rowBlock) * tiles(rightMatrixCols, colBlock)), config.threadCount(),
+            sharedDimension);
+
+        return new Decision(leftMatrixRows, sharedDimension, rightMatrixCols, Route.TILED, tiledName, config, workers,
+            shape + " shape, " + (tuned.isPresent() ? "tuned" : "default") + " tiles"
+                + (shrunk ? " shrunk to give " + workers + " worker(s) " + TILES_PER_WORKER + " tiles each" : "")
+                + (parts > 1 ? ", too few tiles so k is split into " + parts + " slices" : ""));
+    }
+
+    /**
+     * The decisions made so far, oldest first.
+     */
+    public List<Decision> decisions() {
+        synchronized (decisions) {
+            return new ArrayList<>(decisions);
+        }
+    }
+
+    /**
+     * The most recent decision, or null before the first multiplication.
+     */
+    public Decision lastDecision() {
+        synchronized (decisions) {
+            return decisions.peekLast();
+        }
+    }
+
+    @Override
+    protected IntMatrix safeMultiply(IntMatrix leftMatrix, IntMatrix rightMatrix) {
+        final Decision decision = decide(leftMatrix, rightMatrix);
+        return switch (decision.route()) {
+            case SEQUENTIAL -> sequential.safeMultiply(leftMatrix, rightMatrix);
+            case STRASSEN -> strassen.safeMultiply(leftMatrix, rightMatrix);
+            case TILED -> tiled(decision).safeMultiply(leftMatrix, rightMatrix);
+        };
+    }
+
+    @Override
+    protected void safeGemm(int alpha, IntMatrix leftMatrix, IntMatrix rightMatrix, int beta, IntMatrix resultMatrix) {
+        final Decision decision = decide(leftMatrix, rightMatrix);
+        switch (decision.route()) {
+            case SEQUENTIAL -> sequential.safeGemm(alpha, leftMatrix, rightMatrix, beta, resultMatrix);
+            case STRASSEN -> strassen.safeGemm(alpha, leftMatrix, rightMatrix, beta, resultMatrix);
+            case TILED -> tiled(decision).safeGemm(alpha, leftMatrix, rightMatrix, beta, resultMatrix);
+        }
+    }
+
+    /**
+     * Batched products already run in parallel with each other, so each one only picks its kernel and tiles.
+     */
+    @Override
+    protected IntMatrix safeMultiplySerial(IntMatrix leftMatrix, IntMatrix rightMatrix) {
+        final Decision decision = plan(leftMatrix.rows(), leftMatrix.cols(), rightMatrix.cols());
+        return decision.route() == Route.SEQUENTIAL
+            ? sequential.safeMultiplySerial(leftMatrix, rightMatrix)
+            : tiled(decision).safeMultiplySerial(leftMatrix, rightMatrix);
+    }
+
+    private Decision decide(IntMatrix leftMatrix, IntMatrix rightMatrix) {
+        final Decision decision = plan(leftMatrix.rows(), leftMatrix.cols(), rightMatrix.cols());
+        synchronized (decisions) {
+            if (decisions.size() == HISTORY) {
+                decisions.removeFirst();
+            }
+            decisions.addLast(decision);
+        }
+        return decision;
+    }
+
+    /**
+     * Tiled multipliers hold no per-call state, so building one per decision is only a few field writes. The
+     * decision's config carries its worker count, which caps how far the driver spreads the tiles over this
+     * multiplier's engine.
+     */
+    private TiledMatrixMultiplier tiled(Decision decision) {
+        return new TiledForkJoinMatrixMultiplier(decision.config(), kernel, engine);
+    }
+
+    private static long tiles(int length, int block) {
+        return (length + block - 1) / block;
+    }
+}
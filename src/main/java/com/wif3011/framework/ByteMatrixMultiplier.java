@@ -0,0 +1,88 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.ByteMatrix;
+import com.wif3011.matrix.IntMatrix;
+
+/**
+ * Multiplies {@link ByteMatrix}es into an int result. The inputs take a quarter of the memory of int matrices, so
+ * a quarter of the bytes are streamed for each pass over them, while products and sums are computed in int
+ * exactly as the int multipliers compute them.
+ */
+public class ByteMatrixMultiplier extends PrimitiveMatrixMultiplier<ByteMatrix, IntMatrix, ByteTileKernel> {
+    /** The scalar row-streaming kernel below, used unless another kernel is supplied. */
+    public static final ByteTileKernel DEFAULT_KERNEL = ByteMatrixMultiplier::multiplyTile;
+
+    public ByteMatrixMultiplier() {
+        this(new TiledForkJoinMatrixMultiplier(), DEFAULT_KERNEL);
+    }
+
+    public ByteMatrixMultiplier(TiledMatrixMultiplier scheduler) {
+        this(scheduler, DEFAULT_KERNEL);
+    }
+
+    public ByteMatrixMultiplier(TiledMatrixMultiplier scheduler, ByteTileKernel kernel) {
+        super(scheduler, kernel);
+    }
+
+    public IntMatrix multiply(ByteMatrix matrixA, ByteMatrix matrixB) {
+        return multiplyTiles(matrixA, matrixB, resultMatrix -> tiles(1, matrixA, matrixB, 1, resultMatrix));
+    }
+
+    /**
+     * {@code resultMatrix = alpha · matrixA × matrixB + beta · resultMatrix}, computed in place.
+     *
+     * @return {@code resultMatrix}, for chaining
+     */
+    public IntMatrix gemm(int alpha, ByteMatrix matrixA, ByteMatrix matrixB, int beta, IntMatrix resultMatrix) {
+        return gemmTiles(matrixA, matrixB, resultMatrix, tiles(alpha, matrixA, matrixB, beta, resultMatrix));
+    }
+
+    @Override
+    protected IntMatrix newResult(int rows, int cols) {
+        return new IntMatrix(rows, cols);
+    }
+
+    private TiledMatrixMultiplier.TileTask tiles(
+        int alpha, ByteMatrix matrixA, ByteMatrix matrixB, int beta, IntMatrix resultMatrix
+    ) {
+        return (tileRowStart, tileRowEnd, tileColStart, tileColEnd) -> {
+            scale(resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd, beta);
+            kernel.multiplyTile(
+                matrixA, matrixB, resultMatrix,
+                tileRowStart, tileRowEnd,
+                tileColStart, tileColEnd,
+                matrixA.cols(),
+                alpha
+            );
+        };
+    }
+
+    /**
+     * Same loop order as {@link TiledMatrixMultiplier}'s int kernel: one row of the right matrix at a time. Each
+     * byte is widened to int as it is loaded, which the JIT vectorizes along with the multiply-add.
+     */
+    protected static void multiplyTile(
+        ByteMatrix leftMatrix, ByteMatrix rightMatrix, IntMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        int alpha
+    ) {
+        final byte[] left = leftMatrix.data();
+        final byte[] right = rightMatrix.data();
+        final int[] result = resultMatrix.data();
+        final int rightStride = rightMatrix.stride();
+
+        for (int row = tileRowStart; row < tileRowEnd; row++) {
+            final int resultBase = resultMatrix.index(row, 0);
+            final int leftBase = leftMatrix.index(row, 0);
+            int rightBase = rightMatrix.index(0, 0);
+            for (int k = 0; k < sharedDimension; k++, rightBase += rightStride) {
+                final int leftValue = alpha * left[leftBase + k];
+                for (int col = tileColStart; col < tileColEnd; col++) {
+                    result[resultBase + col] += leftValue * right[rightBase + col];
+                }
+            }
+        }
+    }
+}
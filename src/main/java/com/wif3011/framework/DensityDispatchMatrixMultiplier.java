@@ -0,0 +1,115 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.CsrMatrix;
+import com.wif3011.matrix.IntMatrix;
+
+/**
+ * Chooses between a dense multiplier and the sparse ones by looking at how many zeros the inputs hold.
+ * <p>
+ * A sparse left matrix is compressed and multiplied with SpMM; if the right matrix is sparse as well, both are
+ * compressed and multiplied with SpGEMM. Anything denser than the threshold goes to the dense multiplier, whose
+ * packed and vectorized kernels do far more work per second than the irregular sparse loops.
+ */
+public class DensityDispatchMatrixMultiplier extends MatrixMultiplier {
+    /** Inputs with at most this fraction of nonzeros (95% zeros or more) are treated as sparse. */
+    public static final double DEFAULT_SPARSE_THRESHOLD = 0.05;
+
+    private final MatrixMultiplier dense;
+    private final SparseMatrixMultiplier sparse;
+    private final double threshold;
+
+    public DensityDispatchMatrixMultiplier(MatrixMultiplier dense) {
+        this(dense, new SparseMatrixMultiplier(dense.getEngine()), DEFAULT_SPARSE_THRESHOLD);
+    }
+
+    public DensityDispatchMatrixMultiplier(MatrixMultiplier dense, SparseMatrixMultiplier sparse, double threshold) {
+        if (dense == null || sparse == null) {
+            throw new IllegalArgumentException("Dense and sparse multipliers cannot be null");
+        }
+        if (!(threshold >= 0 && threshold <= 1)) {
+            throw new IllegalArgumentException("Sparse threshold must be between 0 and 1: " + threshold);
+        }
+        this.dense = dense;
+        this.sparse = sparse;
+        this.threshold = threshold;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public ExecutionEngine getEngine() {
+        return dense.getEngine();
+    }
+
+    @Override
+    protected void safeGemm(int alpha, IntMatrix matrixA, IntMatrix matrixB, int beta, IntMatrix resultMatrix) {
+        if (!isSparse(matrixA)) {
+            dense.safeGemm(alpha, matrixA, matrixB, beta, resultMatrix);
+            return;
+        }
+
+        final CsrMatrix left = CsrMatrix.of(matrixA);
+        if (!isSparse(matrixB)) {
+            sparse.gemm(alpha, left, matrixB, beta, resultMatrix);
+            return;
+        }
+
+        scale(resultMatrix, 0, resultMatrix.rows(), 0, resultMatrix.cols(), beta);
+        addProduct(alpha, sparse.multiply(left, CsrMatrix.of(matrixB)), resultMatrix);
+    }
+
+    /**
+     * Same routing as {@link #safeGemm}, with every path computed on the calling thread.
+     */
+    @Override
+    protected IntMatrix safeMultiplySerial(IntMatrix matrixA, IntMatrix matrixB) {
+        if (!isSparse(matrixA)) {
+            return dense.safeMultiplySerial(matrixA, matrixB);
+        }
+        final CsrMatrix left = CsrMatrix.of(matrixA);
+        if (!isSparse(matrixB)) {
+            return sparse.multiplySerial(left, matrixB);
+        }
+        final IntMatrix resultMatrix = new IntMatrix(matrixA.rows(), matrixB.cols());
+        addProduct(1, sparse.multiplySerial(left, CsrMatrix.of(matrixB)), resultMatrix);
+        return resultMatrix;
+    }
+
+    /**
+     * Adds {@code alpha · product} onto the dense result, touching only the product's stored entries.
+     */
+    private static void addProduct(int alpha, CsrMatrix product, IntMatrix resultMatrix) {
+        final int[] rowPointers = product.rowPointers();
+        final int[] columnIndices = product.columnIndices();
+        final int[] values = product.values();
+        final int[] result = resultMatrix.data();
+        for (int row = 0; row < product.rows(); row++) {
+            final int base = resultMatrix.index(row, 0);
+            for (int i = rowPointers[row]; i < rowPointers[row + 1]; i++) {
+                result[base + columnIndices[i]] += alpha * values[i];
+            }
+        }
+    }
+
+    /**
+     * Whether at most {@code threshold} of the elements are nonzero. Stops counting as soon as the limit is
+     * passed, so dense inputs cost only a short scan.
+     */
+    private boolean isSparse(IntMatrix matrix) {
+        final long limit = (long) (threshold * matrix.rows() * matrix.cols());
+        final int[] data = matrix.data();
+        long nonZeros = 0;
+        for (int row = 0; row < matrix.rows(); row++) {
+            final int base = matrix.index(row, 0);
+            for (int col = 0; col < matrix.cols(); col++) {
+                if (data[base + col] != 0 && ++nonZeros > limit) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,87 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.DoubleMatrix;
+
+/**
+ * Multiplier for {@link DoubleMatrix}, accumulating in double like BLAS {@code dgemm}.
+ */
+public class DoubleMatrixMultiplier extends PrimitiveMatrixMultiplier<DoubleMatrix, DoubleMatrix, DoubleTileKernel> {
+    /** The scalar row-streaming kernel below, used unless another kernel is supplied. */
+    public static final DoubleTileKernel DEFAULT_KERNEL = DoubleMatrixMultiplier::multiplyTile;
+
+    public DoubleMatrixMultiplier() {
+        this(new TiledForkJoinMatrixMultiplier(), DEFAULT_KERNEL);
+    }
+
+    public DoubleMatrixMultiplier(TiledMatrixMultiplier scheduler) {
+        this(scheduler, DEFAULT_KERNEL);
+    }
+
+    public DoubleMatrixMultiplier(TiledMatrixMultiplier scheduler, DoubleTileKernel kernel) {
+        super(scheduler, kernel);
+    }
+
+    public DoubleMatrix multiply(DoubleMatrix matrixA, DoubleMatrix matrixB) {
+        return multiplyTiles(matrixA, matrixB, resultMatrix -> tiles(1, matrixA, matrixB, 1, resultMatrix));
+    }
+
+    /**
+     * {@code resultMatrix = alpha · matrixA × matrixB + beta · resultMatrix}, computed in place.
+     *
+     * @return {@code resultMatrix}, for chaining
+     */
+    public DoubleMatrix gemm(
+        double alpha, DoubleMatrix matrixA, DoubleMatrix matrixB, double beta, DoubleMatrix resultMatrix
+    ) {
+        return gemmTiles(matrixA, matrixB, resultMatrix, tiles(alpha, matrixA, matrixB, beta, resultMatrix));
+    }
+
+    @Override
+    protected DoubleMatrix newResult(int rows, int cols) {
+        return new DoubleMatrix(rows, cols);
+    }
+
+    private TiledMatrixMultiplier.TileTask tiles(
+        double alpha, DoubleMatrix matrixA, DoubleMatrix matrixB, double beta, DoubleMatrix resultMatrix
+    ) {
+        return (tileRowStart, tileRowEnd, tileColStart, tileColEnd) -> {
+            scale(resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd, beta);
+            kernel.multiplyTile(
+                matrixA, matrixB, resultMatrix,
+                tileRowStart, tileRowEnd,
+                tileColStart, tileColEnd,
+                matrixA.cols(),
+                alpha
+            );
+        };
+    }
+
+    /**
+     * Same loop order as {@link TiledMatrixMultiplier}'s int kernel: one row of the right matrix at a time,
+     * which the JIT turns into vector instructions for double just as it does for int.
+     */
+    protected static void multiplyTile(
+        DoubleMatrix leftMatrix, DoubleMatrix rightMatrix, DoubleMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        double alpha
+    ) {
+        final double[] left = leftMatrix.data();
+        final double[] right = rightMatrix.data();
+        final double[] result = resultMatrix.data();
+        final int rightStride = rightMatrix.stride();
+
+        for (int row = tileRowStart; row < tileRowEnd; row++) {
+            final int resultBase = resultMatrix.index(row, 0);
+            final int leftBase = leftMatrix.index(row, 0);
+            int rightBase = rightMatrix.index(0, 0);
+            for (int k = 0; k < sharedDimension; k++, rightBase += rightStride) {
+                final double leftValue = alpha * left[leftBase + k];
+                for (int col = tileColStart; col < tileColEnd; col++) {
+                    result[resultBase + col] += leftValue * right[rightBase + col];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.DoubleMatrix;
+
+/**
+ * Computes one tile of a double matrix product, adding {@code alpha · left × right} onto the result tile.
+ *
+ * @see TileKernel
+ */
+@FunctionalInterface
+public interface DoubleTileKernel {
+
+    void multiplyTile(
+        DoubleMatrix leftMatrix, DoubleMatrix rightMatrix, DoubleMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        double alpha
+    );
+}
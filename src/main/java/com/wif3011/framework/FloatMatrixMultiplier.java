@@ -0,0 +1,87 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.FloatMatrix;
+
+/**
+ * Multiplier for {@link FloatMatrix}, accumulating in float like BLAS {@code sgemm}.
+ */
+public class FloatMatrixMultiplier extends PrimitiveMatrixMultiplier<FloatMatrix, FloatMatrix, FloatTileKernel> {
+    /** The scalar row-streaming kernel below, used unless another kernel is supplied. */
+    public static final FloatTileKernel DEFAULT_KERNEL = FloatMatrixMultiplier::multiplyTile;
+
+    public FloatMatrixMultiplier() {
+        this(new TiledForkJoinMatrixMultiplier(), DEFAULT_KERNEL);
+    }
+
+    public FloatMatrixMultiplier(TiledMatrixMultiplier scheduler) {
+        this(scheduler, DEFAULT_KERNEL);
+    }
+
+    public FloatMatrixMultiplier(TiledMatrixMultiplier scheduler, FloatTileKernel kernel) {
+        super(scheduler, kernel);
+    }
+
+    public FloatMatrix multiply(FloatMatrix matrixA, FloatMatrix matrixB) {
+        return multiplyTiles(matrixA, matrixB, resultMatrix -> tiles(1, matrixA, matrixB, 1, resultMatrix));
+    }
+
+    /**
+     * {@code resultMatrix = alpha · matrixA × matrixB + beta · resultMatrix}, computed in place.
+     *
+     * @return {@code resultMatrix}, for chaining
+     */
+    public FloatMatrix gemm(
+        float alpha, FloatMatrix matrixA, FloatMatrix matrixB, float beta, FloatMatrix resultMatrix
+    ) {
+        return gemmTiles(matrixA, matrixB, resultMatrix, tiles(alpha, matrixA, matrixB, beta, resultMatrix));
+    }
+
+    @Override
+    protected FloatMatrix newResult(int rows, int cols) {
+        return new FloatMatrix(rows, cols);
+    }
+
+    private TiledMatrixMultiplier.TileTask tiles(
+        float alpha, FloatMatrix matrixA, FloatMatrix matrixB, float beta, FloatMatrix resultMatrix
+    ) {
+        return (tileRowStart, tileRowEnd, tileColStart, tileColEnd) -> {
+            scale(resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd, beta);
+            kernel.multiplyTile(
+                matrixA, matrixB, resultMatrix,
+                tileRowStart, tileRowEnd,
+                tileColStart, tileColEnd,
+                matrixA.cols(),
+                alpha
+            );
+        };
+    }
+
+    /**
+     * Same loop order as {@link TiledMatrixMultiplier}'s int kernel: one row of the right matrix at a time,
+     * which the JIT turns into vector instructions for float just as it does for int.
+     */
+    protected static void multiplyTile(
+        FloatMatrix leftMatrix, FloatMatrix rightMatrix, FloatMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        float alpha
+    ) {
+        final float[] left = leftMatrix.data();
+        final float[] right = rightMatrix.data();
+        final float[] result = resultMatrix.data();
+        final int rightStride = rightMatrix.stride();
+
+        for (int row = tileRowStart; row < tileRowEnd; row++) {
+            final int resultBase = resultMatrix.index(row, 0);
+            final int leftBase = leftMatrix.index(row, 0);
+            int rightBase = rightMatrix.index(0, 0);
+            for (int k = 0; k < sharedDimension; k++, rightBase += rightStride) {
+                final float leftValue = alpha * left[leftBase + k];
+                for (int col = tileColStart; col < tileColEnd; col++) {
+                    result[resultBase + col] += leftValue * right[rightBase + col];
+                }
+            }
+        }
+    }
+}
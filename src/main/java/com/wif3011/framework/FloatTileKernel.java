@@ -0,0 +1,20 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.FloatMatrix;
+
+/**
+ * Computes one tile of a float matrix product, adding {@code alpha · left × right} onto the result tile.
+ *
+ * @see TileKernel
+ */
+@FunctionalInterface
+public interface FloatTileKernel {
+
+    void multiplyTile(
+        FloatMatrix leftMatrix, FloatMatrix rightMatrix, FloatMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        float alpha
+    );
+}
@@ -0,0 +1,191 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.IntMatrix;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Checks a product with Freivalds' algorithm in O(n²) instead of recomputing it in O(n³).
+ * <p>
+ * Each round draws a random vector r and compares A·(B·r) with C·r, which takes three matrix-vector products. A
+ * correct C always passes. A wrong one passes a single round with probability at most 1/2, so with {@code rounds}
+ * independent rounds it goes unnoticed with probability at most 2^-rounds. All rounds share one pass over each
+ * matrix, and the rows are checked in parallel bands on the engine.
+ * <p>
+ * The vectors are drawn from all 32-bit ints and the arithmetic wraps exactly like the multipliers' own, so
+ * products that overflow are verified as the multipliers define them.
+ */
+public final class FreivaldsVerifier {
+    /** A wrong product passes the default check with probability below one in a billion (2^-30). */
+    public static final int DEFAULT_ROUNDS = 30;
+
+    /** Rows checked per parallel task. */
+    private static final int BAND = 64;
+
+    private final int rounds;
+    private final ExecutionEngine engine;
+
+    public FreivaldsVerifier() {
+        this(DEFAULT_ROUNDS, ExecutionEngine.shared());
+    }
+
+    /**
+     * @param rounds random vectors tried per check
+     */
+    public FreivaldsVerifier(int rounds, ExecutionEngine engine) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("Rounds must be positive: " + rounds);
+        }
+        if (engine == null) {
+            throw new IllegalArgumentException("Execution engine cannot be null");
+        }
+        this.rounds = rounds;
+        this.engine = engine;
+    }
+
+    /**
+     * A verifier with just enough rounds that a wrong product passes with probability at most {@code errorBound}.
+     */
+    public static FreivaldsVerifier withErrorBound(double errorBound, ExecutionEngine engine) {
+        if (!(errorBound > 0 && errorBound < 1)) {
+            throw new IllegalArgumentException("Error bound must be between 0 and 1: " + errorBound);
+        }
+        return new FreivaldsVerifier((int) Math.ceil(-Math.log(errorBound) / Math.log(2)), engine);
+    }
+
+    public int rounds() {
+        return rounds;
+    }
+
+    /**
+     * Highest probability that a wrong product passes one check.
+     */
+    public double errorBound() {
+        return Math.pow(0.5, rounds);
+    }
+
+    /**
+     * Whether {@code resultMatrix = matrixA × matrixB}.
+     */
+    public boolean verify(IntMatrix matrixA, IntMatrix matrixB, IntMatrix resultMatrix) {
+        return verifyGemm(1, matrixA, matrixB, 0, null, resultMatrix);
+    }
+
+    public boolean verify(int[][] matrixA, int[][] matrixB, int[][] resultMatrix) {
+        return verify(IntMatrix.of(matrixA), IntMatrix.of(matrixB), IntMatrix.of(resultMatrix));
+    }
+
+    /**
+     * Whether {@code resultMatrix = alpha · matrixA × matrixB + beta · previousMatrix}, i.e. whether a
+     * {@link MatrixMultiplier#gemm} call turned {@code previousMatrix} into {@code resultMatrix}.
+     *
+     * @param previousMatrix copy of the result's contents before the call; may be null when beta is 0
+     */
+    public boolean verifyGemm(int alpha, IntMatrix matrixA, IntMatrix matrixB, int beta, IntMatrix previousMatrix,
+                              IntMatrix resultMatrix) {
+        if (matrixA == null || matrixB == null || resultMatrix == null) {
+            throw new IllegalArgumentException("Matrices cannot be null");
+        }
+        if (matrixA.cols() != matrixB.rows()) {
+            throw new IllegalArgumentException("Number of columns in Matrix A must be equal to number of rows in Matrix B");
+        }
+        if (resultMatrix.rows() != matrixA.rows() || resultMatrix.cols() != matrixB.cols()) {
+            throw new IllegalArgumentException("Result matrix must be " + matrixA.rows() + "x" + matrixB.cols()
+                + " but is " + resultMatrix.rows() + "x" + resultMatrix.cols());
+        }
+        if (beta != 0 && (previousMatrix == null
+            || previousMatrix.rows() != resultMatrix.rows() || previousMatrix.cols() != resultMatrix.cols())) {
+            throw new IllegalArgumentException("Previous result matrix must be given with the result's shape");
+        }
+        return verifyGemm(alpha, matrixA, matrixB, beta, previousMatrix, resultMatrix, true);
+    }
+
+    /**
+     * The check itself, on the engine or entirely on the calling thread; arguments are already validated.
+     */
+    boolean verifyGemm(int alpha, IntMatrix matrixA, IntMatrix matrixB, int beta, IntMatrix previousMatrix,
+                       IntMatrix resultMatrix, boolean parallel) {
+        final int cols = resultMatrix.cols();
+
+        // r[j · rounds + t] is element j of the t-th vector, so every row pass updates all rounds together
+        final int[] vectors = new int[cols * rounds];
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = random.nextInt();
+        }
+
+        // B·r for every round, laid out the same way
+        final int[] rightProducts = new int[matrixB.rows() * rounds];
+        forEachBand(matrixB.rows(), parallel, (rowStart, rowEnd) -> {
+            for (int row = rowStart; row < rowEnd; row++) {
+                multiplyRow(matrixB, row, vectors, rightProducts, row * rounds, 1);
+            }
+            return true;
+        });
+
+        // Compare alpha · A·(B·r) + beta · P·r with C·r row by row, stopping at the first mismatch
+        return forEachBand(resultMatrix.rows(), parallel, (rowStart, rowEnd) -> {
+            final int[] expected = new int[rounds];
+            final int[] actual = new int[rounds];
+            for (int row = rowStart; row < rowEnd; row++) {
+                Arrays.fill(expected, 0);
+                Arrays.fill(actual, 0);
+                multiplyRow(matrixA, row, rightProducts, expected, 0, alpha);
+                if (beta != 0) {
+                    multiplyRow(previousMatrix, row, vectors, expected, 0, beta);
+                }
+                multiplyRow(resultMatrix, row, vectors, actual, 0, 1);
+                if (!Arrays.equals(expected, actual)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * out[outBase + t] += factor · (matrix row · vector t), for all rounds t.
+     */
+    private void multiplyRow(IntMatrix matrix, int row, int[] vectors, int[] out, int outBase, int factor) {
+        final int[] data = matrix.data();
+        final int base = matrix.index(row, 0);
+        for (int col = 0; col < matrix.cols(); col++) {
+            final int value = factor * data[base + col];
+            if (value == 0) {
+                continue;
+            }
+            final int vectorBase = col * rounds;
+            for (int t = 0; t < rounds; t++) {
+                out[outBase + t] += value * vectors[vectorBase + t];
+            }
+        }
+    }
+
+    /**
+     * Runs {@code band} over [0, rows) in bands of {@link #BAND} rows and returns whether all of them returned true.
+     */
+    private boolean forEachBand(int rows, boolean parallel, Band band) {
+        final int bands = (rows + BAND - 1) / BAND;
+        if (!parallel || bands == 1) {
+            for (int b = 0; b < bands; b++) {
+                if (!band.check(b * BAND, Math.min(rows, (b + 1) * BAND))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // A parallel stream started from inside a ForkJoinPool runs its subtasks in that pool
+        final boolean[] passed = new boolean[1];
+        engine.run(() -> passed[0] = IntStream.range(0, bands).parallel()
+            .allMatch(b -> band.check(b * BAND, Math.min(rows, (b + 1) * BAND))));
+        return passed[0];
+    }
+
+    @FunctionalInterface
+    private interface Band {
+        boolean check(int rowStart, int rowEnd);
+    }
+}
@@ -0,0 +1,59 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The SIMD body of {@link VectorTileKernel}. Kept in its own class so that nothing touches
+ * {@code jdk.incubator.vector} unless the module has been resolved.
+ */
+final class IntVectorTileKernel implements TileKernel {
+    /** Widest int vector the CPU supports, e.g. 8 lanes on AVX2 or 16 on AVX-512. */
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private IntVectorTileKernel() {
+    }
+
+    static TileKernel create() {
+        return new IntVectorTileKernel();
+    }
+
+    @Override
+    public void multiplyTile(
+        IntMatrix leftMatrix, IntMatrix rightMatrix, IntMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        int alpha
+    ) {
+        final int[] left = leftMatrix.data();
+        final int[] right = rightMatrix.data();
+        final int[] result = resultMatrix.data();
+        final int rightStride = rightMatrix.stride();
+
+        // Columns [tileColStart, vectorEnd) are handled a full vector at a time, the rest by the scalar tail
+        final int vectorEnd = tileColStart + SPECIES.loopBound(tileColEnd - tileColStart);
+
+        // Same row-streaming order as TiledMatrixMultiplier.multiplyTile, with the col loop written as vector ops
+        for (int row = tileRowStart; row < tileRowEnd; row++) {
+            final int resultBase = resultMatrix.index(row, 0);
+            final int leftBase = leftMatrix.index(row, 0);
+            int rightBase = rightMatrix.index(0, 0);
+            for (int k = 0; k < sharedDimension; k++, rightBase += rightStride) {
+                final int leftValue = alpha * left[leftBase + k];
+                final IntVector leftVector = IntVector.broadcast(SPECIES, leftValue);
+
+                int col = tileColStart;
+                for (; col < vectorEnd; col += SPECIES.length()) {
+                    IntVector rightVector = IntVector.fromArray(SPECIES, right, rightBase + col);
+                    IntVector resultVector = IntVector.fromArray(SPECIES, result, resultBase + col);
+                    resultVector.add(rightVector.mul(leftVector)).intoArray(result, resultBase + col);
+                }
+                for (; col < tileColEnd; col++) {
+                    result[resultBase + col] += leftValue * right[rightBase + col];
+                }
+            }
+        }
+    }
+}
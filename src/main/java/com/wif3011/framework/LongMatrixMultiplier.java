@@ -0,0 +1,85 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.LongMatrix;
+
+/**
+ * Multiplier for {@link LongMatrix}, for values whose products do not fit in an int.
+ */
+public class LongMatrixMultiplier extends PrimitiveMatrixMultiplier<LongMatrix, LongMatrix, LongTileKernel> {
+    /** The scalar row-streaming kernel below, used unless another kernel is supplied. */
+    public static final LongTileKernel DEFAULT_KERNEL = LongMatrixMultiplier::multiplyTile;
+
+    public LongMatrixMultiplier() {
+        this(new TiledForkJoinMatrixMultiplier(), DEFAULT_KERNEL);
+    }
+
+    public LongMatrixMultiplier(TiledMatrixMultiplier scheduler) {
+        this(scheduler, DEFAULT_KERNEL);
+    }
+
+    public LongMatrixMultiplier(TiledMatrixMultiplier scheduler, LongTileKernel kernel) {
+        super(scheduler, kernel);
+    }
+
+    public LongMatrix multiply(LongMatrix matrixA, LongMatrix matrixB) {
+        return multiplyTiles(matrixA, matrixB, resultMatrix -> tiles(1, matrixA, matrixB, 1, resultMatrix));
+    }
+
+    /**
+     * {@code resultMatrix = alpha · matrixA × matrixB + beta · resultMatrix}, computed in place.
+     *
+     * @return {@code resultMatrix}, for chaining
+     */
+    public LongMatrix gemm(long alpha, LongMatrix matrixA, LongMatrix matrixB, long beta, LongMatrix resultMatrix) {
+        return gemmTiles(matrixA, matrixB, resultMatrix, tiles(alpha, matrixA, matrixB, beta, resultMatrix));
+    }
+
+    @Override
+    protected LongMatrix newResult(int rows, int cols) {
+        return new LongMatrix(rows, cols);
+    }
+
+    private TiledMatrixMultiplier.TileTask tiles(
+        long alpha, LongMatrix matrixA, LongMatrix matrixB, long beta, LongMatrix resultMatrix
+    ) {
+        return (tileRowStart, tileRowEnd, tileColStart, tileColEnd) -> {
+            scale(resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd, beta);
+            kernel.multiplyTile(
+                matrixA, matrixB, resultMatrix,
+                tileRowStart, tileRowEnd,
+                tileColStart, tileColEnd,
+                matrixA.cols(),
+                alpha
+            );
+        };
+    }
+
+    /**
+     * Same loop order as {@link TiledMatrixMultiplier}'s int kernel: one row of the right matrix at a time,
+     * which the JIT turns into vector instructions for long just as it does for int.
+     */
+    protected static void multiplyTile(
+        LongMatrix leftMatrix, LongMatrix rightMatrix, LongMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        long alpha
+    ) {
+        final long[] left = leftMatrix.data();
+        final long[] right = rightMatrix.data();
+        final long[] result = resultMatrix.data();
+        final int rightStride = rightMatrix.stride();
+
+        for (int row = tileRowStart; row < tileRowEnd; row++) {
+            final int resultBase = resultMatrix.index(row, 0);
+            final int leftBase = leftMatrix.index(row, 0);
+            int rightBase = rightMatrix.index(0, 0);
+            for (int k = 0; k < sharedDimension; k++, rightBase += rightStride) {
+                final long leftValue = alpha * left[leftBase + k];
+                for (int col = tileColStart; col < tileColEnd; col++) {
+                    result[resultBase + col] += leftValue * right[rightBase + col];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.LongMatrix;
+
+/**
+ * Computes one tile of a long matrix product, adding {@code alpha · left × right} onto the result tile.
+ *
+ * @see TileKernel
+ */
+@FunctionalInterface
+public interface LongTileKernel {
+
+    void multiplyTile(
+        LongMatrix leftMatrix, LongMatrix rightMatrix, LongMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        long alpha
+    );
+}
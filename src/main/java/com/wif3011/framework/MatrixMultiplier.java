@@ -1,23 +1,172 @@
 package com.wif3011.framework;
 
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.IntMatrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Base class of all multipliers.
+ * <p>
+ * Implementations keep no per-call state: the shape of each multiplication is derived from its arguments,
+ * so one instance can serve any number of concurrent callers.
+ */
 public abstract class MatrixMultiplier {
-    protected int leftMatrixRows;
-    protected int sharedDimension;
-    protected int rightMatrixCols;
+    /**
+     * Batch jobs up to this many multiply-adds (a 256×256 by 256×256 product) are computed whole by a single
+     * worker; splitting them into tiles would cost more in scheduling than it saves.
+     */
+    public static final long BATCH_SERIAL_THRESHOLD = 256L * 256 * 256;
+
+    /** Target number of batch tasks per worker, enough to even out jobs of different sizes. */
+    private static final int BATCH_TASKS_PER_WORKER = 4;
 
+    /**
+     * Multiplies two jagged matrices. The inputs are copied into contiguous {@link IntMatrix} buffers,
+     * multiplied there and copied back, so existing callers keep working unchanged.
+     */
     public final int[][] multiply(int[][] matrixA, int[][] matrixB) {
         checkMetrics(matrixA, matrixB);
-        setup(matrixA, matrixB);
+        return multiply(IntMatrix.of(matrixA), IntMatrix.of(matrixB)).toArray();
+    }
+
+    public final IntMatrix multiply(IntMatrix matrixA, IntMatrix matrixB) {
+        checkMetrics(matrixA, matrixB);
         return safeMultiply(matrixA, matrixB);
     }
 
-    protected void setup(int[][] leftMatrix, int[][] rightMatrix) {
-        leftMatrixRows = leftMatrix.length;
-        rightMatrixCols = rightMatrix[0].length;
-        sharedDimension = leftMatrix[0].length;
+    /**
+     * Overwrites {@code resultMatrix} with {@code matrixA × matrixB} and returns it.
+     * The buffer can be reused across calls, so steady-state loops allocate nothing for the result.
+     */
+    public final IntMatrix multiplyInto(IntMatrix matrixA, IntMatrix matrixB, IntMatrix resultMatrix) {
+        return gemm(1, matrixA, matrixB, 0, resultMatrix);
+    }
+
+    /**
+     * General matrix multiply-accumulate, {@code resultMatrix = alpha · matrixA × matrixB + beta · resultMatrix},
+     * computed in place. {@code beta = 1} accumulates onto the existing contents; {@code beta = 0} ignores them.
+     * <p>
+     * The result must not share a backing array with either input, because tiles are written while other
+     * tiles may still be reading the inputs.
+     *
+     * @return {@code resultMatrix}, for chaining
+     */
+    public final IntMatrix gemm(int alpha, IntMatrix matrixA, IntMatrix matrixB, int beta, IntMatrix resultMatrix) {
+        checkMetrics(matrixA, matrixB);
+        checkResult(matrixA, matrixB, resultMatrix);
+        if (alpha == 0) {
+            // Nothing to multiply, only the scaling of the existing contents is left
+            scale(resultMatrix, 0, resultMatrix.rows(), 0, resultMatrix.cols(), beta);
+            return resultMatrix;
+        }
+        safeGemm(alpha, matrixA, matrixB, beta, resultMatrix);
+        return resultMatrix;
+    }
+
+    /**
+     * Multiplies many independent pairs, {@code result[i] = leftMatrices[i] × rightMatrices[i]}.
+     * <p>
+     * Small products are each computed by one worker, in parallel with each other, instead of being split
+     * into tiles; products above {@link #BATCH_SERIAL_THRESHOLD} are run one at a time across all workers.
+     */
+    public final List<IntMatrix> multiplyAll(List<IntMatrix> leftMatrices, List<IntMatrix> rightMatrices) {
+        if (leftMatrices == null || rightMatrices == null || leftMatrices.size() != rightMatrices.size()) {
+            throw new IllegalArgumentException("Batch needs the same number of left and right matrices");
+        }
+        final int jobCount = leftMatrices.size();
+        final IntMatrix[] results = new IntMatrix[jobCount];
+        final int[] smallJobs = new int[jobCount];
+        int smallJobCount = 0;
+
+        for (int job = 0; job < jobCount; job++) {
+            final IntMatrix left = leftMatrices.get(job);
+            final IntMatrix right = rightMatrices.get(job);
+            checkMetrics(left, right);
+            if ((long) left.rows() * left.cols() * right.cols() <= BATCH_SERIAL_THRESHOLD) {
+                smallJobs[smallJobCount++] = job;
+            }
+        }
+
+        // Small jobs: contiguous chunks, each chunk computed serially by whichever worker picks it up
+        final ExecutionEngine engine = getEngine();
+        final int taskCount = Math.min(smallJobCount, engine.parallelism() * BATCH_TASKS_PER_WORKER);
+        final List<Callable<Void>> tasks = new ArrayList<>(taskCount);
+        for (int task = 0; task < taskCount; task++) {
+            final int from = (int) ((long) smallJobCount * task / taskCount);
+            final int to = (int) ((long) smallJobCount * (task + 1) / taskCount);
+            tasks.add(() -> {
+                for (int i = from; i < to; i++) {
+                    final int job = smallJobs[i];
+                    results[job] = safeMultiplySerial(leftMatrices.get(job), rightMatrices.get(job));
+                }
+                return null;
+            });
+        }
+        engine.invokeAll(tasks);
+
+        // Large jobs: one after another, each parallelized by the multiplier itself
+        for (int job = 0; job < jobCount; job++) {
+            if (results[job] == null) {
+                results[job] = safeMultiply(leftMatrices.get(job), rightMatrices.get(job));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * The engine batch work is scheduled on.
+     */
+    public ExecutionEngine getEngine() {
+        return ExecutionEngine.shared();
     }
 
-    protected abstract int[][] safeMultiply(int[][] matrixA, int[][] matrixB);
+    /**
+     * Allocates the result and accumulates onto it; a fresh buffer is already zero, so no beta pass is needed.
+     */
+    protected IntMatrix safeMultiply(IntMatrix matrixA, IntMatrix matrixB) {
+        final IntMatrix resultMatrix = new IntMatrix(matrixA.rows(), matrixB.cols());
+        safeGemm(1, matrixA, matrixB, 1, resultMatrix);
+        return resultMatrix;
+    }
+
+    /**
+     * {@code resultMatrix = alpha · matrixA × matrixB + beta · resultMatrix}; arguments are already validated.
+     */
+    protected abstract void safeGemm(int alpha, IntMatrix matrixA, IntMatrix matrixB, int beta, IntMatrix resultMatrix);
+
+    /**
+     * Same result as {@link #safeMultiply}, computed entirely on the calling thread.
+     * Single-threaded implementations can keep this default.
+     */
+    protected IntMatrix safeMultiplySerial(IntMatrix matrixA, IntMatrix matrixB) {
+        return safeMultiply(matrixA, matrixB);
+    }
+
+    /**
+     * Multiplies {@code matrix[rowStart..rowEnd, colStart..colEnd)} by {@code beta} in place.
+     * Implementations call this once per output tile, right before accumulating the product onto it.
+     */
+    protected static void scale(IntMatrix matrix, int rowStart, int rowEnd, int colStart, int colEnd, int beta) {
+        if (beta == 1) {
+            return;
+        }
+        final int[] data = matrix.data();
+        for (int row = rowStart; row < rowEnd; row++) {
+            final int base = matrix.index(row, 0);
+            if (beta == 0) {
+                // Overwrite rather than multiply, so the buffer's previous contents never matter
+                Arrays.fill(data, base + colStart, base + colEnd, 0);
+                continue;
+            }
+            for (int col = colStart; col < colEnd; col++) {
+                data[base + col] *= beta;
+            }
+        }
+    }
 
     private void checkMetrics(int[][] matrixA, int[][] matrixB) {
         // 1. Check if the matrices are null or empty
@@ -45,4 +194,28 @@ public abstract class MatrixMultiplier {
             throw new IllegalArgumentException("Number of columns in Matrix A must be equal to number of rows in Matrix B");
         }
     }
+
+    protected final void checkMetrics(IntMatrix matrixA, IntMatrix matrixB) {
+        // A flat matrix is rectangular by construction, so only the shapes need checking
+        if (matrixA == null || matrixB == null || matrixA.rows() == 0 || matrixB.rows() == 0) {
+            throw new IllegalArgumentException("Matrices cannot be null or empty");
+        }
+
+        if (matrixA.cols() != matrixB.rows()) {
+            throw new IllegalArgumentException("Number of columns in Matrix A must be equal to number of rows in Matrix B");
+        }
+    }
+
+    private void checkResult(IntMatrix matrixA, IntMatrix matrixB, IntMatrix resultMatrix) {
+        if (resultMatrix == null) {
+            throw new IllegalArgumentException("Result matrix cannot be null");
+        }
+        if (resultMatrix.rows() != matrixA.rows() || resultMatrix.cols() != matrixB.cols()) {
+            throw new IllegalArgumentException("Result matrix must be " + matrixA.rows() + "x" + matrixB.cols()
+                + " but is " + resultMatrix.rows() + "x" + resultMatrix.cols());
+        }
+        if (resultMatrix.data() == matrixA.data() || resultMatrix.data() == matrixB.data()) {
+            throw new IllegalArgumentException("Result matrix cannot share storage with an input matrix");
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.tuning.TuningProfile;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Looks up multiplier implementations by their short command-line names.
+ */
+public final class Multipliers {
+    /** Every name understood by {@link #factory(String)}. */
+    public static final List<String> NAMES = List.of(
+        "seq", "par", "forkjoin", "exec", "thread",
+        "packed-par", "packed-forkjoin", "packed-exec", "packed-thread",
+        "vector-forkjoin", "strassen", "sparse-auto", "narrow", "auto"
+    );
+
+    private Multipliers() {
+    }
+
+    /** Prefix that wraps any named implementation in a {@link VerifiedMatrixMultiplier}, e.g. {@code verified-forkjoin}. */
+    public static final String VERIFIED_PREFIX = "verified-";
+
+    /**
+     * Builds the named implementation from a tile config; returns null for an unknown name.
+     * Implementations without tiles ignore the tile sizes but still run on the config's thread count, and
+     * {@code seq} ignores the config altogether.
+     */
+    public static Function<TileConfig, MatrixMultiplier> factory(String name) {
+        if (name.startsWith(VERIFIED_PREFIX)) {
+            final Function<TileConfig, MatrixMultiplier> unverified = factory(name.substring(VERIFIED_PREFIX.length()));
+            return unverified == null ? null : unverified.andThen(VerifiedMatrixMultiplier::new);
+        }
+        switch (name) {
+            case "seq":
+                return config -> new SequentialMatrixMultiplier();
+            case "par":
+                return TiledParallelMatrixMultiplier::new;
+            case "forkjoin":
+                return TiledForkJoinMatrixMultiplier::new;
+            case "exec":
+                return TiledExecServiceMatrixMultiplier::new;
+            case "thread":
+                return TiledThreadMatrixMultiplier::new;
+            case "packed-par":
+                return config -> new TiledParallelMatrixMultiplier(config, new PackedTileKernel());
+            case "packed-forkjoin":
+                return config -> new TiledForkJoinMatrixMultiplier(config, new PackedTileKernel());
+            case "packed-exec":
+                return config -> new TiledExecServiceMatrixMultiplier(config, new PackedTileKernel());
+            case "packed-thread":
+                return config -> new TiledThreadMatrixMultiplier(config, new PackedTileKernel());
+            case "vector-forkjoin":
+                return config -> new TiledForkJoinMatrixMultiplier(config, new VectorTileKernel());
+            case "strassen":
+                return config -> new StrassenForkJoinMatrixMultiplier(
+                    StrassenForkJoinMatrixMultiplier.DEFAULT_CROSSOVER, TiledMatrixMultiplier.DEFAULT_KERNEL,
+                    new StrassenWorkspace(), engineFor(config));
+            case "sparse-auto":
+                return config -> new DensityDispatchMatrixMultiplier(
+                    new TiledForkJoinMatrixMultiplier(config, new PackedTileKernel()));
+            case "narrow":
+                return config -> new NarrowingMatrixMultiplier(new TiledForkJoinMatrixMultiplier(config, new PackedTileKernel()));
+            case "auto":
+                return config -> new AdaptiveMatrixMultiplier(engineFor(config), TuningProfile.loadDefault());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Whether the named implementation runs on the thread count of its config. Only {@code seq} does not: it always
+     * multiplies on the calling thread, however many workers it is given.
+     */
+    public static boolean usesThreadCount(String name) {
+        if (name.startsWith(VERIFIED_PREFIX)) {
+            return usesThreadCount(name.substring(VERIFIED_PREFIX.length()));
+        }
+        return !name.equals("seq");
+    }
+
+    /**
+     * The engine a tiled multiplier built from {@code config} would run on, see {@link TiledMatrixMultiplier}.
+     */
+    private static ExecutionEngine engineFor(TileConfig config) {
+        return config.threadCount() > 0 ? ExecutionEngine.shared(config.threadCount()) : ExecutionEngine.shared();
+    }
+}
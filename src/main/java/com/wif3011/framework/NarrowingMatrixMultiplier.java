@@ -0,0 +1,79 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.ByteMatrix;
+import com.wif3011.matrix.ElementWidth;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.ShortMatrix;
+
+/**
+ * Int multiplier that checks the range of its inputs and, when both fit in a narrower type, multiplies compact
+ * {@link ByteMatrix} or {@link ShortMatrix} copies of them instead.
+ * <p>
+ * The range check and the copies read each input once, while the tiled product streams the inputs once per tile
+ * row or column, so large products of small values (the 0..10 inputs of the benchmarks, say) come out ahead.
+ * Results are identical to the int path, which is also what runs when an input needs the full int range.
+ * Callers that keep their matrices narrow to begin with save the copies as well, and can use
+ * {@link ByteMatrixMultiplier} or {@link ShortMatrixMultiplier} directly.
+ */
+public class NarrowingMatrixMultiplier extends MatrixMultiplier {
+    /** Products below this many multiply-adds are not worth the copies and run on the int path. */
+    public static final long MIN_NARROWING_WORK = 64L * 64 * 64;
+
+    private final TiledMatrixMultiplier scheduler;
+    private final ByteMatrixMultiplier bytes;
+    private final ShortMatrixMultiplier shorts;
+
+    public NarrowingMatrixMultiplier() {
+        this(new TiledForkJoinMatrixMultiplier(new PackedTileKernel()));
+    }
+
+    /**
+     * @param scheduler runs the narrow products' tiles and every product that stays int
+     */
+    public NarrowingMatrixMultiplier(TiledMatrixMultiplier scheduler) {
+        if (scheduler == null) {
+            throw new IllegalArgumentException("Tile scheduler cannot be null");
+        }
+        this.scheduler = scheduler;
+        // Narrow inputs are widened while packing, so their products run at the packed kernel's speed
+        final PackedTileKernel kernel = new PackedTileKernel();
+        this.bytes = new ByteMatrixMultiplier(scheduler, kernel);
+        this.shorts = new ShortMatrixMultiplier(scheduler, kernel);
+    }
+
+    @Override
+    public ExecutionEngine getEngine() {
+        return scheduler.getEngine();
+    }
+
+    /**
+     * The narrowest width both inputs of a product fit in, which is what it would be computed in; INT for products
+     * too small to be worth narrowing.
+     */
+    public static ElementWidth widthFor(IntMatrix matrixA, IntMatrix matrixB) {
+        if ((long) matrixA.rows() * matrixA.cols() * matrixB.cols() < MIN_NARROWING_WORK) {
+            return ElementWidth.INT;
+        }
+        final ElementWidth left = ElementWidth.of(matrixA);
+        return left == ElementWidth.INT ? left : left.wider(ElementWidth.of(matrixB));
+    }
+
+    @Override
+    protected void safeGemm(int alpha, IntMatrix matrixA, IntMatrix matrixB, int beta, IntMatrix resultMatrix) {
+        switch (widthFor(matrixA, matrixB)) {
+            case BYTE -> bytes.gemm(alpha, ByteMatrix.of(matrixA), ByteMatrix.of(matrixB), beta, resultMatrix);
+            case SHORT -> shorts.gemm(alpha, ShortMatrix.of(matrixA), ShortMatrix.of(matrixB), beta, resultMatrix);
+            case INT -> scheduler.safeGemm(alpha, matrixA, matrixB, beta, resultMatrix);
+        }
+    }
+
+    /**
+     * Batch jobs are small enough that the copies would cost about as much as they save, so they stay int and run
+     * on the calling thread.
+     */
+    @Override
+    protected IntMatrix safeMultiplySerial(IntMatrix matrixA, IntMatrix matrixB) {
+        return scheduler.safeMultiplySerial(matrixA, matrixB);
+    }
+}
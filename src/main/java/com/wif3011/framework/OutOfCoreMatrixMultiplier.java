@@ -0,0 +1,206 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.MappedIntMatrix;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Multiplies matrices stored in {@link MappedIntMatrix} files, keeping only a bounded working set on the heap.
+ * <p>
+ * The result is cut into blocks with the same {@link TileGrid} math the in-memory multipliers use. Each result
+ * block is built up over slices of the shared dimension: the matching block of the left matrix and block of the
+ * right matrix are read from their files into heap buffers and accumulated with an in-memory multiplier.
+ * <p>
+ * All file I/O runs on a single background thread. While one slice is being multiplied the next slice is already
+ * being read into a second set of buffers, and a finished result block is written out while the next block is
+ * computed, so I/O overlaps with computation instead of stalling it.
+ */
+public class OutOfCoreMatrixMultiplier {
+    /** Heap budget for all block buffers together. */
+    public static final long DEFAULT_WORKING_SET_BYTES = 256L << 20;
+
+    /** Block edges are rounded down to a multiple of this, so in-memory tiles divide them evenly. */
+    private static final int BLOCK_ALIGNMENT = 64;
+
+    private final MatrixMultiplier inCore;
+    private final int blockSize;
+
+    public OutOfCoreMatrixMultiplier() {
+        this(new TiledForkJoinMatrixMultiplier(TileConfig.DEFAULT, new PackedTileKernel()), DEFAULT_WORKING_SET_BYTES);
+    }
+
+    /**
+     * @param inCore           multiplies one pair of blocks on the heap
+     * @param workingSetBytes  upper bound on the heap taken by the block buffers
+     */
+    public OutOfCoreMatrixMultiplier(MatrixMultiplier inCore, long workingSetBytes) {
+        if (inCore == null) {
+            throw new IllegalArgumentException("In-core multiplier cannot be null");
+        }
+        // Two left blocks, two right blocks and two result blocks (double buffering), all blockSize²
+        final long blockInts = workingSetBytes / Integer.BYTES / 6;
+        final int edge = (int) Math.min(Integer.MAX_VALUE, (long) Math.sqrt((double) blockInts));
+        if (edge < BLOCK_ALIGNMENT) {
+            throw new IllegalArgumentException("Working set of " + workingSetBytes + " bytes is too small");
+        }
+        this.inCore = inCore;
+        this.blockSize = edge / BLOCK_ALIGNMENT * BLOCK_ALIGNMENT;
+    }
+
+    /**
+     * Edge length of the square blocks streamed through memory.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Multiplies two matrix files into a newly created result file.
+     */
+    public void multiply(Path leftPath, Path rightPath, Path resultPath) throws IOException {
+        try (MappedIntMatrix left = MappedIntMatrix.open(leftPath, false);
+             MappedIntMatrix right = MappedIntMatrix.open(rightPath, false);
+             MappedIntMatrix result = MappedIntMatrix.create(resultPath, left.rows(), right.cols())) {
+            multiply(left, right, result);
+        }
+    }
+
+    /**
+     * Overwrites {@code resultMatrix} with {@code leftMatrix × rightMatrix}.
+     */
+    public void multiply(MappedIntMatrix leftMatrix, MappedIntMatrix rightMatrix, MappedIntMatrix resultMatrix) {
+        checkMetrics(leftMatrix, rightMatrix, resultMatrix);
+
+        final int sharedDimension = leftMatrix.cols();
+        final TileGrid grid = new TileGrid(resultMatrix.rows(), resultMatrix.cols(),
+            Math.min(blockSize, Math.max(1, resultMatrix.rows())), Math.min(blockSize, Math.max(1, resultMatrix.cols())));
+        final int depth = Math.min(blockSize, Math.max(1, sharedDimension));
+        final int sliceCount = (sharedDimension + depth - 1) / depth;
+
+        final Slice[] slices = {
+            new Slice(grid.rowBlock(), depth, grid.colBlock()),
+            new Slice(grid.rowBlock(), depth, grid.colBlock())
+        };
+        final IntMatrix[] resultBlocks = {
+            new IntMatrix(grid.rowBlock(), grid.colBlock()),
+            new IntMatrix(grid.rowBlock(), grid.colBlock())
+        };
+        final CompletableFuture<Void> nothingPending = CompletableFuture.completedFuture(null);
+        final CompletableFuture<?>[] pendingWrites = {nothingPending, nothingPending};
+
+        // One I/O thread keeps reads and writes in submission order; each step needs only the read before it
+        final ExecutorService io = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "matrix-out-of-core-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final int steps = grid.tileCount() * sliceCount;
+            CompletableFuture<Void> nextRead = readAsync(io, leftMatrix, rightMatrix, grid, sliceCount, depth, slices[0], 0);
+
+            for (int step = 0; step < steps; step++) {
+                final Slice slice = slices[step & 1];
+                await(nextRead);
+                if (step + 1 < steps) {
+                    // Start reading the next slice into the other buffers before computing this one
+                    nextRead = readAsync(io, leftMatrix, rightMatrix, grid, sliceCount, depth, slices[(step + 1) & 1], step + 1);
+                }
+
+                final int tile = step / sliceCount;
+                final int sliceIndex = step % sliceCount;
+                final int tileRow = tile / grid.colTileCount();
+                final int tileCol = tile % grid.colTileCount();
+                final int buffer = tile & 1;
+                if (sliceIndex == 0) {
+                    // This buffer's previous block must be written out before it is overwritten
+                    await(pendingWrites[buffer]);
+                }
+                final IntMatrix resultBlock = resultBlocks[buffer].view(0, 0,
+                    grid.tileRowEnd(tileRow) - grid.tileRowStart(tileRow),
+                    grid.tileColEnd(tileCol) - grid.tileColStart(tileCol));
+
+                inCore.gemm(1, slice.left, slice.right, sliceIndex == 0 ? 0 : 1, resultBlock);
+
+                if (sliceIndex == sliceCount - 1) {
+                    final int rowStart = grid.tileRowStart(tileRow);
+                    final int colStart = grid.tileColStart(tileCol);
+                    pendingWrites[buffer] = CompletableFuture.runAsync(
+                        () -> resultMatrix.write(rowStart, colStart, resultBlock), io);
+                }
+            }
+            await(pendingWrites[0]);
+            await(pendingWrites[1]);
+        } finally {
+            io.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads the left and right blocks of one step into {@code slice}, on the I/O thread.
+     */
+    private static CompletableFuture<Void> readAsync(
+        ExecutorService io, MappedIntMatrix leftMatrix, MappedIntMatrix rightMatrix,
+        TileGrid grid, int sliceCount, int depth, Slice slice, int step) {
+        final int tile = step / sliceCount;
+        final int tileRow = tile / grid.colTileCount();
+        final int tileCol = tile % grid.colTileCount();
+        final int rowStart = grid.tileRowStart(tileRow);
+        final int colStart = grid.tileColStart(tileCol);
+        final int kStart = (step % sliceCount) * depth;
+        final int kEnd = Math.min(kStart + depth, leftMatrix.cols());
+
+        return CompletableFuture.runAsync(() -> {
+            slice.left = slice.leftBuffer.view(0, 0, grid.tileRowEnd(tileRow) - rowStart, kEnd - kStart);
+            slice.right = slice.rightBuffer.view(0, 0, kEnd - kStart, grid.tileColEnd(tileCol) - colStart);
+            leftMatrix.read(rowStart, kStart, slice.left);
+            rightMatrix.read(kStart, colStart, slice.right);
+        }, io);
+    }
+
+    private static void await(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private static void checkMetrics(MappedIntMatrix leftMatrix, MappedIntMatrix rightMatrix, MappedIntMatrix resultMatrix) {
+        if (leftMatrix == null || rightMatrix == null || resultMatrix == null) {
+            throw new IllegalArgumentException("Matrices cannot be null");
+        }
+        if (leftMatrix.rows() == 0 || rightMatrix.rows() == 0) {
+            throw new IllegalArgumentException("Matrices cannot be null or empty");
+        }
+        if (leftMatrix.cols() != rightMatrix.rows()) {
+            throw new IllegalArgumentException("Number of columns in Matrix A must be equal to number of rows in Matrix B");
+        }
+        if (resultMatrix.rows() != leftMatrix.rows() || resultMatrix.cols() != rightMatrix.cols()) {
+            throw new IllegalArgumentException("Result matrix must be " + leftMatrix.rows() + "x" + rightMatrix.cols());
+        }
+    }
+
+    /**
+     * Heap buffers for one step: a left block and a right block, plus views of the part actually in use.
+     */
+    private static final class Slice {
+        final IntMatrix leftBuffer;
+        final IntMatrix rightBuffer;
+        IntMatrix left;
+        IntMatrix right;
+
+        Slice(int rows, int depth, int cols) {
+            leftBuffer = new IntMatrix(rows, depth);
+            rightBuffer = new IntMatrix(depth, cols);
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.ByteMatrix;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.ShortMatrix;
+
+/**
+ * GotoBLAS/BLIS-style tile kernel that blocks on all three dimensions.
+ * <p>
+ * The tile is walked in NC-wide column panels and KC-deep slices of the shared dimension. For each slice the
+ * matching KC×NC panel of the right matrix and MC×KC block of the left matrix are copied ("packed") into
+ * contiguous per-thread buffers, laid out exactly in the order the micro-kernel reads them. The micro-kernel then
+ * keeps an MR×NR (4×8) block of the result in local variables for the whole KC loop, so each result element is
+ * loaded and stored once per slice instead of once per k.
+ * <p>
+ * Edge blocks are zero-padded while packing, which lets the micro-kernel always run at full MR×NR size;
+ * only the final store is clipped to the real tile bounds.
+ * <p>
+ * Byte and short inputs are widened to int as they are packed, so they share the int micro-kernel.
+ */
+public class PackedTileKernel implements TileKernel, ByteTileKernel, ShortTileKernel {
+    /** Rows of the register block computed by the micro-kernel. */
+    static final int MR = 4;
+
+    /** Columns of the register block computed by the micro-kernel. */
+    static final int NR = 8;
+
+    /** Default rows of a packed left block; MC×KC ints should sit comfortably in L2. */
+    public static final int DEFAULT_MC = 64;
+
+    /** Default depth of a packed slice of the shared dimension. */
+    public static final int DEFAULT_KC = 256;
+
+    /** Default columns of a packed right panel; KC×NC ints should stay in L2/L3. */
+    public static final int DEFAULT_NC = 512;
+
+    private final int mc;
+    private final int kc;
+    private final int nc;
+
+    /** Packing buffers are reused for every tile a thread computes, so each thread owns one set. */
+    private final ThreadLocal<Workspace> workspace;
+
+    public PackedTileKernel() {
+        this(DEFAULT_MC, DEFAULT_KC, DEFAULT_NC);
+    }
+
+    public PackedTileKernel(int mc, int kc, int nc) {
+        if (mc <= 0 || kc <= 0 || nc <= 0) {
+            throw new IllegalArgumentException("Block sizes must be positive: mc=" + mc + ", kc=" + kc + ", nc=" + nc);
+        }
+        // Round up to whole register blocks so packed panels never straddle a partial block
+        this.mc = roundUp(mc, MR);
+        this.kc = kc;
+        this.nc = roundUp(nc, NR);
+        this.workspace = ThreadLocal.withInitial(() -> new Workspace(this.mc * this.kc, this.kc * this.nc));
+    }
+
+    @Override
+    public void multiplyTile(
+        IntMatrix leftMatrix, IntMatrix rightMatrix, IntMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        int alpha
+    ) {
+        multiplyBlocks(
+            (rowStart, rows, kStart, depth, packed) -> packLeft(leftMatrix, rowStart, rows, kStart, depth, alpha, packed),
+            (kStart, depth, colStart, cols, packed) -> packRight(rightMatrix, kStart, depth, colStart, cols, packed, 0),
+            resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd, sharedDimension);
+    }
+
+    /**
+     * Byte inputs are widened to int while they are packed, so the micro-kernel is the int one and only the
+     * packing reads the narrow matrices, a quarter of the bytes per element.
+     */
+    @Override
+    public void multiplyTile(
+        ByteMatrix leftMatrix, ByteMatrix rightMatrix, IntMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        int alpha
+    ) {
+        multiplyBlocks(
+            (rowStart, rows, kStart, depth, packed) -> packLeft(leftMatrix, rowStart, rows, kStart, depth, alpha, packed),
+            (kStart, depth, colStart, cols, packed) -> packRight(rightMatrix, kStart, depth, colStart, cols, packed),
+            resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd, sharedDimension);
+    }
+
+    /**
+     * Like the byte version, with half the bytes per element of an int.
+     */
+    @Override
+    public void multiplyTile(
+        ShortMatrix leftMatrix, ShortMatrix rightMatrix, IntMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        int alpha
+    ) {
+        multiplyBlocks(
+            (rowStart, rows, kStart, depth, packed) -> packLeft(leftMatrix, rowStart, rows, kStart, depth, alpha, packed),
+            (kStart, depth, colStart, cols, packed) -> packRight(rightMatrix, kStart, depth, colStart, cols, packed),
+            resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd, sharedDimension);
+    }
+
+    /**
+     * The blocked loop nest shared by every input type: the packers copy each block of the inputs into the int
+     * panels the micro-kernel reads, once per block rather than once per element.
+     */
+    private void multiplyBlocks(
+        LeftPacker leftPacker, RightPacker rightPacker, IntMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension
+    ) {
+        final Workspace ws = workspace.get();
+
+        for (int colStart = tileColStart; colStart < tileColEnd; colStart += nc) {
+            final int cols = Math.min(nc, tileColEnd - colStart);
+
+            for (int kStart = 0; kStart < sharedDimension; kStart += kc) {
+                final int depth = Math.min(kc, sharedDimension - kStart);
+                rightPacker.pack(kStart, depth, colStart, cols, ws.packedB);
+
+                for (int rowStart = tileRowStart; rowStart < tileRowEnd; rowStart += mc) {
+                    final int rows = Math.min(mc, tileRowEnd - rowStart);
+                    leftPacker.pack(rowStart, rows, kStart, depth, ws.packedA);
+
+                    // Walk the packed block one MR×NR register block at a time.
+                    // Packed panels are laid out back to back, MR*depth (or NR*depth) ints each.
+                    for (int jr = 0; jr < cols; jr += NR) {
+                        final int bIndex = (jr / NR) * NR * depth;
+                        for (int ir = 0; ir < rows; ir += MR) {
+                            final int aIndex = (ir / MR) * MR * depth;
+                            microKernel(ws.packedA, aIndex, ws.packedB, bIndex, depth, ws.accumulator);
+                            storeBlock(ws.accumulator, resultMatrix,
+                                rowStart + ir, Math.min(MR, rows - ir),
+                                colStart + jr, Math.min(NR, cols - jr), 0);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs all of {@code rightMatrix} once into the layout {@link #multiplyTile(IntMatrix, PreparedMatrix, IntMatrix,
+     * int, int, int, int, int)} reads, slice by slice of this kernel's depth.
+     */
+    public PreparedMatrix prepare(IntMatrix rightMatrix) {
+        if (rightMatrix == null || rightMatrix.rows() == 0 || rightMatrix.cols() == 0) {
+            throw new IllegalArgumentException("Matrices cannot be null or empty");
+        }
+        final int panels = (rightMatrix.cols() + NR - 1) / NR;
+        final long size = (long) rightMatrix.rows() * panels * NR;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Matrix too large to prepare: " + rightMatrix);
+        }
+        final PreparedMatrix prepared = new PreparedMatrix(this, rightMatrix.rows(), rightMatrix.cols(), new int[(int) size]);
+        for (int kStart = 0; kStart < rightMatrix.rows(); kStart += kc) {
+            final int depth = Math.min(kc, rightMatrix.rows() - kStart);
+            packRight(rightMatrix, kStart, depth, 0, rightMatrix.cols(), prepared.packed(),
+                prepared.panelIndex(kStart, depth, 0));
+        }
+        return prepared;
+    }
+
+    /**
+     * Adds alpha · left · right onto the given tile of the result, reading B straight from its prepared panels.
+     * Only the left blocks are packed per call. A tile that starts or ends inside a panel computes the whole panel
+     * and stores just its own columns.
+     */
+    public void multiplyTile(
+        IntMatrix leftMatrix, PreparedMatrix rightMatrix, IntMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int alpha
+    ) {
+        final Workspace ws = workspace.get();
+        final int sharedDimension = rightMatrix.rows();
+        final int[] packedB = rightMatrix.packed();
+        final int firstPanel = tileColStart / NR;
+        final int lastPanel = (tileColEnd - 1) / NR;
+
+        for (int kStart = 0; kStart < sharedDimension; kStart += kc) {
+            final int depth = Math.min(kc, sharedDimension - kStart);
+
+            for (int rowStart = tileRowStart; rowStart < tileRowEnd; rowStart += mc) {
+                final int rows = Math.min(mc, tileRowEnd - rowStart);
+                packLeft(leftMatrix, rowStart, rows, kStart, depth, alpha, ws.packedA);
+
+                for (int panel = firstPanel; panel <= lastPanel; panel++) {
+                    final int bIndex = rightMatrix.panelIndex(kStart, depth, panel);
+                    final int panelCol = panel * NR;
+                    final int colStart = Math.max(tileColStart, panelCol);
+                    final int colEnd = Math.min(tileColEnd, panelCol + NR);
+                    for (int ir = 0; ir < rows; ir += MR) {
+                        final int aIndex = (ir / MR) * MR * depth;
+                        microKernel(ws.packedA, aIndex, packedB, bIndex, depth, ws.accumulator);
+                        storeBlock(ws.accumulator, resultMatrix,
+                            rowStart + ir, Math.min(MR, rows - ir),
+                            colStart, colEnd - colStart, colStart - panelCol);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies alpha · left[rowStart..rowStart+rows, kStart..kStart+depth) into MR-row panels.
+     * Within a panel the MR values of one k are adjacent, matching the micro-kernel's read order.
+     * Folding alpha in here makes scaling free for the micro-kernel.
+     */
+    private static void packLeft(
+        IntMatrix leftMatrix, int rowStart, int rows, int kStart, int depth, int alpha, int[] packed) {
+        final int[] left = leftMatrix.data();
+
+        for (int ir = 0; ir < rows; ir += MR) {
+            final int panelBase = (ir / MR) * MR * depth;
+            for (int r = 0; r < MR; r++) {
+                int index = panelBase + r;
+                if (ir + r < rows) {
+                    int leftIndex = leftMatrix.index(rowStart + ir + r, kStart);
+                    for (int p = 0; p < depth; p++, index += MR) {
+                        packed[index] = alpha * left[leftIndex + p];
+                    }
+                } else {
+                    // Zero padding for the ragged bottom edge
+                    for (int p = 0; p < depth; p++, index += MR) {
+                        packed[index] = 0;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies right[kStart..kStart+depth, colStart..colStart+cols) into NR-column panels starting at
+     * packed[packedBase]. Within a panel the NR values of one k are adjacent, matching the micro-kernel's read order.
+     */
+    private static void packRight(
+        IntMatrix rightMatrix, int kStart, int depth, int colStart, int cols, int[] packed, int packedBase) {
+        final int[] right = rightMatrix.data();
+
+        for (int jr = 0; jr < cols; jr += NR) {
+            final int width = Math.min(NR, cols - jr);
+            int index = packedBase + (jr / NR) * NR * depth;
+            for (int p = 0; p < depth; p++, index += NR) {
+                System.arraycopy(right, rightMatrix.index(kStart + p, colStart + jr), packed, index, width);
+                // Zero padding for the ragged right edge
+                for (int c = width; c < NR; c++) {
+                    packed[index + c] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@link #packLeft(IntMatrix, int, int, int, int, int, int[])} for byte input, widening each element.
+     */
+    private static void packLeft(
+        ByteMatrix leftMatrix, int rowStart, int rows, int kStart, int depth, int alpha, int[] packed) {
+        final byte[] left = leftMatrix.data();
+
+        for (int ir = 0; ir < rows; ir += MR) {
+            final int panelBase = (ir / MR) * MR * depth;
+            for (int r = 0; r < MR; r++) {
+                int index = panelBase + r;
+                final boolean inside = ir + r < rows;
+                final int leftIndex = inside ? leftMatrix.index(rowStart + ir + r, kStart) : 0;
+                for (int p = 0; p < depth; p++, index += MR) {
+                    packed[index] = inside ? alpha * left[leftIndex + p] : 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@link #packLeft(IntMatrix, int, int, int, int, int, int[])} for short input, widening each element.
+     */
+    private static void packLeft(
+        ShortMatrix leftMatrix, int rowStart, int rows, int kStart, int depth, int alpha, int[] packed) {
+        final short[] left = leftMatrix.data();
+
+        for (int ir = 0; ir < rows; ir += MR) {
+            final int panelBase = (ir / MR) * MR * depth;
+            for (int r = 0; r < MR; r++) {
+                int index = panelBase + r;
+                final boolean inside = ir + r < rows;
+                final int leftIndex = inside ? leftMatrix.index(rowStart + ir + r, kStart) : 0;
+                for (int p = 0; p < depth; p++, index += MR) {
+                    packed[index] = inside ? alpha * left[leftIndex + p] : 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@link #packRight(IntMatrix, int, int, int, int, int[], int)} for byte input, widening each element.
+     */
+    private static void packRight(ByteMatrix rightMatrix, int kStart, int depth, int colStart, int cols, int[] packed) {
+        final byte[] right = rightMatrix.data();
+
+        for (int jr = 0; jr < cols; jr += NR) {
+            final int width = Math.min(NR, cols - jr);
+            int index = (jr / NR) * NR * depth;
+            for (int p = 0; p < depth; p++, index += NR) {
+                final int rightIndex = rightMatrix.index(kStart + p, colStart + jr);
+                for (int c = 0; c < NR; c++) {
+                    // Zero padding for the ragged right edge
+                    packed[index + c] = c < width ? right[rightIndex + c] : 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@link #packRight(IntMatrix, int, int, int, int, int[], int)} for short input, widening each element.
+     */
+    private static void packRight(ShortMatrix rightMatrix, int kStart, int depth, int colStart, int cols, int[] packed) {
+        final short[] right = rightMatrix.data();
+
+        for (int jr = 0; jr < cols; jr += NR) {
+            final int width = Math.min(NR, cols - jr);
+            int index = (jr / NR) * NR * depth;
+            for (int p = 0; p < depth; p++, index += NR) {
+                final int rightIndex = rightMatrix.index(kStart + p, colStart + jr);
+                for (int c = 0; c < NR; c++) {
+                    // Zero padding for the ragged right edge
+                    packed[index + c] = c < width ? right[rightIndex + c] : 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes one full MR×NR block of packedA × packedB over {@code kc} steps into {@code accumulator}.
+     * The 32 partial sums live in locals so the JIT can keep them in registers for the whole loop.
+     */
+    private static void microKernel(int[] packedA, int aIndex, int[] packedB, int bIndex, int kc, int[] accumulator) {
+        int c00 = 0, c01 = 0, c02 = 0, c03 = 0, c04 = 0, c05 = 0, c06 = 0, c07 = 0;
+        int c10 = 0, c11 = 0, c12 = 0, c13 = 0, c14 = 0, c15 = 0, c16 = 0, c17 = 0;
+        int c20 = 0, c21 = 0, c22 = 0, c23 = 0, c24 = 0, c25 = 0, c26 = 0, c27 = 0;
+        int c30 = 0, c31 = 0, c32 = 0, c33 = 0, c34 = 0, c35 = 0, c36 = 0, c37 = 0;
+
+        for (int p = 0; p < kc; p++, aIndex += MR, bIndex += NR) {
+            final int a0 = packedA[aIndex], a1 = packedA[aIndex + 1], a2 = packedA[aIndex + 2], a3 = packedA[aIndex + 3];
+            final int b0 = packedB[bIndex], b1 = packedB[bIndex + 1], b2 = packedB[bIndex + 2], b3 = packedB[bIndex + 3];
+            final int b4 = packedB[bIndex + 4], b5 = packedB[bIndex + 5], b6 = packedB[bIndex + 6], b7 = packedB[bIndex + 7];
+            c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+            c04 += a0 * b4; c05 += a0 * b5; c06 += a0 * b6; c07 += a0 * b7;
+            c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+            c14 += a1 * b4; c15 += a1 * b5; c16 += a1 * b6; c17 += a1 * b7;
+            c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+            c24 += a2 * b4; c25 += a2 * b5; c26 += a2 * b6; c27 += a2 * b7;
+            c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+            c34 += a3 * b4; c35 += a3 * b5; c36 += a3 * b6; c37 += a3 * b7;
+        }
+
+
+        accumulator[0] = c00; accumulator[1] = c01; accumulator[2] = c02; accumulator[3] = c03;
+        accumulator[4] = c04; accumulator[5] = c05; accumulator[6] = c06; accumulator[7] = c07;
+        accumulator[8] = c10; accumulator[9] = c11; accumulator[10] = c12; accumulator[11] = c13;
+        accumulator[12] = c14; accumulator[13] = c15; accumulator[14] = c16; accumulator[15] = c17;
+        accumulator[16] = c20; accumulator[17] = c21; accumulator[18] = c22; accumulator[19] = c23;
+        accumulator[20] = c24; accumulator[21] = c25; accumulator[22] = c26; accumulator[23] = c27;
+        accumulator[24] = c30; accumulator[25] = c31; accumulator[26] = c32; accumulator[27] = c33;
+        accumulator[28] = c34; accumulator[29] = c35; accumulator[30] = c36; accumulator[31] = c37;
+    }
+
+    /**
+     * Adds rows×cols of an MR×NR accumulator block, starting at column accumulatorCol of the block, onto the
+     * result matrix.
+     */
+    private static void storeBlock(
+        int[] accumulator, IntMatrix resultMatrix, int rowStart, int rows, int colStart, int cols, int accumulatorCol) {
+        final int[] result = resultMatrix.data();
+        for (int r = 0; r < rows; r++) {
+            final int resultBase = resultMatrix.index(rowStart + r, colStart);
+            final int accumulatorBase = r * NR + accumulatorCol;
+            for (int c = 0; c < cols; c++) {
+                result[resultBase + c] += accumulator[accumulatorBase + c];
+            }
+        }
+    }
+
+    private static int roundUp(int value, int multiple) {
+        return (value + multiple - 1) / multiple * multiple;
+    }
+
+    /**
+     * Copies alpha · left[rowStart..rowStart+rows, kStart..kStart+depth) into packed, laid out as packLeft does.
+     */
+    @FunctionalInterface
+    private interface LeftPacker {
+        void pack(int rowStart, int rows, int kStart, int depth, int[] packed);
+    }
+
+    /**
+     * Copies right[kStart..kStart+depth, colStart..colStart+cols) into packed, laid out as packRight does.
+     */
+    @FunctionalInterface
+    private interface RightPacker {
+        void pack(int kStart, int depth, int colStart, int cols, int[] packed);
+    }
+
+    /**
+     * Per-thread packing buffers.
+     */
+    private static final class Workspace {
+        final int[] packedA;
+        final int[] packedB;
+        final int[] accumulator = new int[MR * NR];
+
+        Workspace(int packedASize, int packedBSize) {
+            this.packedA = new int[packedASize];
+            this.packedB = new int[packedBSize];
+        }
+    }
+}
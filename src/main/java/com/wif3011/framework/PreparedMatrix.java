@@ -0,0 +1,77 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+
+/**
+ * A right-hand matrix packed once, ahead of time, into the panel layout {@link PackedTileKernel} multiplies from.
+ * <p>
+ * The packed kernel normally copies every KC×NC slice of B into a per-thread buffer for each tile it computes,
+ * i.e. once per row of tiles. When the same B is multiplied by many different left matrices that copying is
+ * repeated on every call; packing B into this form once lets
+ * {@link TiledMatrixMultiplier#multiply(IntMatrix, PreparedMatrix)} go straight to the micro-kernel.
+ * <p>
+ * The layout is a sequence of KC-deep slices of the shared dimension. Each slice holds one NR-column panel after
+ * another, each panel depth×NR ints with the NR values of one k adjacent; the last panel is zero-padded. A prepared
+ * matrix is a snapshot: later changes to the source matrix are not seen.
+ */
+public final class PreparedMatrix {
+    private final PackedTileKernel kernel;
+    private final int rows;
+    private final int cols;
+    private final int panels;
+    private final int[] packed;
+
+    PreparedMatrix(PackedTileKernel kernel, int rows, int cols, int[] packed) {
+        this.kernel = kernel;
+        this.rows = rows;
+        this.cols = cols;
+        this.panels = (cols + PackedTileKernel.NR - 1) / PackedTileKernel.NR;
+        this.packed = packed;
+    }
+
+    /**
+     * Packs {@code matrix} with the default {@link PackedTileKernel} block sizes.
+     */
+    public static PreparedMatrix of(IntMatrix matrix) {
+        return new PackedTileKernel().prepare(matrix);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Heap taken by the packed elements.
+     */
+    public long sizeInBytes() {
+        return (long) packed.length * Integer.BYTES;
+    }
+
+    /**
+     * The kernel whose slice depth the layout follows, and which computes products with it.
+     */
+    PackedTileKernel kernel() {
+        return kernel;
+    }
+
+    int[] packed() {
+        return packed;
+    }
+
+    /**
+     * Index of the first element of panel {@code panel} in the slice starting at {@code kStart}, which is
+     * {@code depth} deep. Every earlier slice is a full KC deep, so the slice starts kStart whole rows of panels in.
+     */
+    int panelIndex(int kStart, int depth, int panel) {
+        return kStart * panels * PackedTileKernel.NR + panel * PackedTileKernel.NR * depth;
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedMatrix[" + rows + "x" + cols + "]";
+    }
+}
@@ -0,0 +1,195 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Bounded cache of {@link PreparedMatrix}es, keyed by the {@link IntMatrix} instance they were packed from.
+ * <p>
+ * Entries are evicted least recently used first once their packed sizes add up to more than the byte budget; a
+ * matrix whose packed form alone exceeds the budget is prepared but not kept. The cache cannot see writes to a
+ * source matrix, so callers that change one must {@link #invalidate} it before the next lookup. Sources are held
+ * weakly: once one is garbage collected its entry is dropped on the next call, so the cache never keeps a matrix
+ * alive beyond what the byte budget counts.
+ * Thread-safe; packing happens outside the lock, so two threads missing on the same matrix at once may both pack it.
+ */
+public class PreparedMatrixCache {
+    /** 64 MB of packed matrices. */
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    private final PackedTileKernel kernel;
+    private final long maxBytes;
+
+    /** In access order, so iteration starts at the least recently used entry. */
+    private final LinkedHashMap<Key, PreparedMatrix> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /** Keys of the entries whose source matrix has been collected. */
+    private final ReferenceQueue<IntMatrix> collected = new ReferenceQueue<>();
+    private long bytes;
+    /** Bumped by every invalidation, so a matrix packed before one is not stored after it. */
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public PreparedMatrixCache() {
+        this(new PackedTileKernel(), DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param kernel   packs the matrices and later multiplies with them
+     * @param maxBytes upper bound on the packed sizes of the entries kept
+     */
+    public PreparedMatrixCache(PackedTileKernel kernel, long maxBytes) {
+        if (kernel == null) {
+            throw new IllegalArgumentException("Kernel cannot be null");
+        }
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative: " + maxBytes);
+        }
+        this.kernel = kernel;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The prepared form of {@code matrix}, packing it on the first request.
+     */
+    public PreparedMatrix prepare(IntMatrix matrix) {
+        final long packedGeneration;
+        synchronized (this) {
+            purge();
+            final PreparedMatrix cached = entries.get(new Key(matrix, null));
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            packedGeneration = generation;
+        }
+
+        final PreparedMatrix prepared = kernel.prepare(matrix);
+        if (prepared.sizeInBytes() > maxBytes) {
+            return prepared;
+        }
+        synchronized (this) {
+            if (generation != packedGeneration) {
+                return prepared;
+            }
+            final PreparedMatrix previous = entries.put(new Key(matrix, collected), prepared);
+            if (previous != null) {
+                bytes -= previous.sizeInBytes();
+            }
+            bytes += prepared.sizeInBytes();
+            for (Iterator<PreparedMatrix> it = entries.values().iterator(); bytes > maxBytes && it.hasNext(); ) {
+                final PreparedMatrix evicted = it.next();
+                it.remove();
+                bytes -= evicted.sizeInBytes();
+                evictions++;
+            }
+        }
+        return prepared;
+    }
+
+    /**
+     * Drops the prepared form of {@code matrix}, e.g. after it was modified. Returns whether there was one.
+     */
+    public synchronized boolean invalidate(IntMatrix matrix) {
+        generation++;
+        purge();
+        final PreparedMatrix removed = entries.remove(new Key(matrix, null));
+        if (removed == null) {
+            return false;
+        }
+        bytes -= removed.sizeInBytes();
+        return true;
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized int size() {
+        purge();
+        return entries.size();
+    }
+
+    /**
+     * Packed bytes currently held.
+     */
+    public synchronized long bytes() {
+        purge();
+        return bytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        purge();
+        return "PreparedMatrixCache[" + entries.size() + " entries, " + bytes + "/" + maxBytes + " bytes, "
+            + hits + " hits, " + misses + " misses, " + evictions + " evictions]";
+    }
+
+    /**
+     * Drops the entries whose source matrix has been collected. Caller holds the lock.
+     */
+    private void purge() {
+        for (Reference<? extends IntMatrix> key; (key = collected.poll()) != null; ) {
+            final PreparedMatrix removed = entries.remove(key);
+            if (removed != null) {
+                bytes -= removed.sizeInBytes();
+            }
+        }
+    }
+
+    /**
+     * Weak identity of a source matrix: {@link IntMatrix#equals} compares contents, which would cost a full scan per
+     * lookup and let two distinct matrices share an entry. The hash is taken up front so that a key still finds its
+     * own entry after its matrix is cleared; a cleared key equals only itself.
+     */
+    private static final class Key extends WeakReference<IntMatrix> {
+        private final int hash;
+
+        /**
+         * @param queue where the key is enqueued once {@code matrix} is collected; null for lookup keys
+         */
+        Key(IntMatrix matrix, ReferenceQueue<IntMatrix> queue) {
+            super(matrix, queue);
+            this.hash = System.identityHashCode(matrix);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            final IntMatrix matrix = get();
+            return matrix != null && obj instanceof Key other && other.get() == matrix;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.DenseMatrix;
+import com.wif3011.matrix.DoubleMatrix;
+import com.wif3011.matrix.FloatMatrix;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.LongMatrix;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Base class of the multipliers for element types other than int.
+ * <p>
+ * Each subclass is written out for one primitive type, with its own kernel interface, so the hot loops never box
+ * or go through generics. What they share lives here: validating the operands, and handing the tiles to a
+ * {@link TiledMatrixMultiplier} driver, which runs them with its own tile geometry, threading strategy and
+ * execution engine. A subclass only supplies the work of one tile, which scales the tile by beta and then adds
+ * alpha · A × B onto it with its kernel.
+ *
+ * @param <M> matrix type of the inputs
+ * @param <R> matrix type of the result
+ * @param <K> tile kernel interface for those types
+ */
+public abstract class PrimitiveMatrixMultiplier<M extends DenseMatrix, R extends DenseMatrix, K> {
+    /** Decides tile geometry and which thread computes which tile. */
+    protected final TiledMatrixMultiplier scheduler;
+
+    /** Computes each tile. */
+    protected final K kernel;
+
+    protected PrimitiveMatrixMultiplier(TiledMatrixMultiplier scheduler, K kernel) {
+        if (scheduler == null) {
+            throw new IllegalArgumentException("Tile scheduler cannot be null");
+        }
+        if (kernel == null) {
+            throw new IllegalArgumentException("Tile kernel cannot be null");
+        }
+        this.scheduler = scheduler;
+        this.kernel = kernel;
+    }
+
+    public TiledMatrixMultiplier getScheduler() {
+        return scheduler;
+    }
+
+    public ExecutionEngine getEngine() {
+        return scheduler.getEngine();
+    }
+
+    /**
+     * A zero-filled rows×cols result.
+     */
+    protected abstract R newResult(int rows, int cols);
+
+    /**
+     * Checks the inputs of {@code matrixA × matrixB}, allocates the result and runs the tiles {@code product}
+     * gives for it. A fresh result is already zero, so {@code product} should accumulate onto it without a beta
+     * pass (beta = 1).
+     */
+    protected final R multiplyTiles(M matrixA, M matrixB, Function<R, TiledMatrixMultiplier.TileTask> product) {
+        checkMetrics(matrixA, matrixB);
+        final R resultMatrix = newResult(matrixA.rows(), matrixB.cols());
+        forEachTile(resultMatrix.rows(), resultMatrix.cols(), product.apply(resultMatrix));
+        return resultMatrix;
+    }
+
+    /**
+     * Checks the operands of a gemm into {@code resultMatrix} and runs the tiles of {@code product} over it.
+     *
+     * @return {@code resultMatrix}, for chaining
+     */
+    protected final R gemmTiles(M matrixA, M matrixB, R resultMatrix, TiledMatrixMultiplier.TileTask product) {
+        checkMetrics(matrixA, matrixB);
+        if (resultMatrix == null) {
+            throw new IllegalArgumentException("Result matrix cannot be null");
+        }
+        if (resultMatrix.rows() != matrixA.rows() || resultMatrix.cols() != matrixB.cols()) {
+            throw new IllegalArgumentException("Result matrix must be " + matrixA.rows() + "x" + matrixB.cols()
+                + " but is " + resultMatrix.rows() + "x" + resultMatrix.cols());
+        }
+        // Arrays of another element type are never the same object, so widening products always pass
+        if (resultMatrix.data() == matrixA.data() || resultMatrix.data() == matrixB.data()) {
+            throw new IllegalArgumentException("Result matrix cannot share storage with an input matrix");
+        }
+        forEachTile(resultMatrix.rows(), resultMatrix.cols(), product);
+        return resultMatrix;
+    }
+
+    /**
+     * Runs {@code task} once for each tile of a rows×cols result, as the scheduler would for an int product.
+     */
+    protected final void forEachTile(int rows, int cols, TiledMatrixMultiplier.TileTask task) {
+        scheduler.runTiles(rows, cols, task);
+    }
+
+    private static void checkMetrics(DenseMatrix matrixA, DenseMatrix matrixB) {
+        if (matrixA == null || matrixB == null || matrixA.rows() == 0 || matrixB.rows() == 0) {
+            throw new IllegalArgumentException("Matrices cannot be null or empty");
+        }
+        if (matrixA.cols() != matrixB.rows()) {
+            throw new IllegalArgumentException("Number of columns in Matrix A must be equal to number of rows in Matrix B");
+        }
+    }
+
+    /*
+     * The beta pass of one tile, for each result type. Beta 0 overwrites rather than multiplies, so the buffer's
+     * previous contents never matter.
+     */
+
+    protected static void scale(IntMatrix matrix, int rowStart, int rowEnd, int colStart, int colEnd, int beta) {
+        MatrixMultiplier.scale(matrix, rowStart, rowEnd, colStart, colEnd, beta);
+    }
+
+    protected static void scale(LongMatrix matrix, int rowStart, int rowEnd, int colStart, int colEnd, long beta) {
+        if (beta == 1) {
+            return;
+        }
+        final long[] data = matrix.data();
+        for (int row = rowStart; row < rowEnd; row++) {
+            final int base = matrix.index(row, 0);
+            if (beta == 0) {
+                Arrays.fill(data, base + colStart, base + colEnd, 0);
+                continue;
+            }
+            for (int col = colStart; col < colEnd; col++) {
+                data[base + col] *= beta;
+            }
+        }
+    }
+
+    protected static void scale(FloatMatrix matrix, int rowStart, int rowEnd, int colStart, int colEnd, float beta) {
+        if (beta == 1) {
+            return;
+        }
+        final float[] data = matrix.data();
+        for (int row = rowStart; row < rowEnd; row++) {
+            final int base = matrix.index(row, 0);
+            if (beta == 0) {
+                Arrays.fill(data, base + colStart, base + colEnd, 0);
+                continue;
+            }
+            for (int col = colStart; col < colEnd; col++) {
+                data[base + col] *= beta;
+            }
+        }
+    }
+
+    protected static void scale(DoubleMatrix matrix, int rowStart, int rowEnd, int colStart, int colEnd, double beta) {
+        if (beta == 1) {
+            return;
+        }
+        final double[] data = matrix.data();
+        for (int row = rowStart; row < rowEnd; row++) {
+            final int base = matrix.index(row, 0);
+            if (beta == 0) {
+                Arrays.fill(data, base + colStart, base + colEnd, 0);
+                continue;
+            }
+            for (int col = colStart; col < colEnd; col++) {
+                data[base + col] *= beta;
+            }
+        }
+    }
+}
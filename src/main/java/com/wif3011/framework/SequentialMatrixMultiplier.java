@@ -1,23 +1,29 @@
 package com.wif3011.framework;
 
+import com.wif3011.matrix.IntMatrix;
+
 public class SequentialMatrixMultiplier extends MatrixMultiplier {
 
     @Override
-    public int[][] safeMultiply(int[][] A, int[][] B) {
-        int m = A.length;
-        int n = A[0].length;
-        int p = B[0].length;
+    public void safeGemm(int alpha, IntMatrix A, IntMatrix B, int beta, IntMatrix C) {
+        int m = A.rows();
+        int n = A.cols();
+        int p = B.cols();
 
-        int[][] C = new int[m][p];
+        int[] a = A.data();
+        int[] b = B.data();
+        int[] c = C.data();
 
         for (int i = 0; i < m; i++) {
             for (int j = 0; j < p; j++) {
+                int sum = 0;
                 for (int k = 0; k < n; k++) {
-                    C[i][j] += A[i][k] * B[k][j];
+                    sum += a[A.index(i, k)] * b[B.index(k, j)];
                 }
+                // beta == 0 must not read C, so a reused buffer can hold anything
+                int previous = beta == 0 ? 0 : beta * c[C.index(i, j)];
+                c[C.index(i, j)] = alpha * sum + previous;
             }
         }
-
-        return C;
     }
 }
@@ -0,0 +1,88 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.ShortMatrix;
+
+/**
+ * Multiplies {@link ShortMatrix}es into an int result. The inputs take half of the memory of int matrices, so
+ * half of the bytes are streamed for each pass over them, while products and sums are computed in int
+ * exactly as the int multipliers compute them.
+ */
+public class ShortMatrixMultiplier extends PrimitiveMatrixMultiplier<ShortMatrix, IntMatrix, ShortTileKernel> {
+    /** The scalar row-streaming kernel below, used unless another kernel is supplied. */
+    public static final ShortTileKernel DEFAULT_KERNEL = ShortMatrixMultiplier::multiplyTile;
+
+    public ShortMatrixMultiplier() {
+        this(new TiledForkJoinMatrixMultiplier(), DEFAULT_KERNEL);
+    }
+
+    public ShortMatrixMultiplier(TiledMatrixMultiplier scheduler) {
+        this(scheduler, DEFAULT_KERNEL);
+    }
+
+    public ShortMatrixMultiplier(TiledMatrixMultiplier scheduler, ShortTileKernel kernel) {
+        super(scheduler, kernel);
+    }
+
+    public IntMatrix multiply(ShortMatrix matrixA, ShortMatrix matrixB) {
+        return multiplyTiles(matrixA, matrixB, resultMatrix -> tiles(1, matrixA, matrixB, 1, resultMatrix));
+    }
+
+    /**
+     * {@code resultMatrix = alpha · matrixA × matrixB + beta · resultMatrix}, computed in place.
+     *
+     * @return {@code resultMatrix}, for chaining
+     */
+    public IntMatrix gemm(int alpha, ShortMatrix matrixA, ShortMatrix matrixB, int beta, IntMatrix resultMatrix) {
+        return gemmTiles(matrixA, matrixB, resultMatrix, tiles(alpha, matrixA, matrixB, beta, resultMatrix));
+    }
+
+    @Override
+    protected IntMatrix newResult(int rows, int cols) {
+        return new IntMatrix(rows, cols);
+    }
+
+    private TiledMatrixMultiplier.TileTask tiles(
+        int alpha, ShortMatrix matrixA, ShortMatrix matrixB, int beta, IntMatrix resultMatrix
+    ) {
+        return (tileRowStart, tileRowEnd, tileColStart, tileColEnd) -> {
+            scale(resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd, beta);
+            kernel.multiplyTile(
+                matrixA, matrixB, resultMatrix,
+                tileRowStart, tileRowEnd,
+                tileColStart, tileColEnd,
+                matrixA.cols(),
+                alpha
+            );
+        };
+    }
+
+    /**
+     * Same loop order as {@link TiledMatrixMultiplier}'s int kernel: one row of the right matrix at a time. Each
+     * short is widened to int as it is loaded, which the JIT vectorizes along with the multiply-add.
+     */
+    protected static void multiplyTile(
+        ShortMatrix leftMatrix, ShortMatrix rightMatrix, IntMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        int alpha
+    ) {
+        final short[] left = leftMatrix.data();
+        final short[] right = rightMatrix.data();
+        final int[] result = resultMatrix.data();
+        final int rightStride = rightMatrix.stride();
+
+        for (int row = tileRowStart; row < tileRowEnd; row++) {
+            final int resultBase = resultMatrix.index(row, 0);
+            final int leftBase = leftMatrix.index(row, 0);
+            int rightBase = rightMatrix.index(0, 0);
+            for (int k = 0; k < sharedDimension; k++, rightBase += rightStride) {
+                final int leftValue = alpha * left[leftBase + k];
+                for (int col = tileColStart; col < tileColEnd; col++) {
+                    result[resultBase + col] += leftValue * right[rightBase + col];
+                }
+            }
+        }
+    }
+}
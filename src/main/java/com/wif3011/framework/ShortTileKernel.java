@@ -0,0 +1,22 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.ShortMatrix;
+
+/**
+ * Computes one tile of a short matrix product into an int result, adding {@code alpha · left × right} onto the
+ * result tile with every element widened to int.
+ *
+ * @see TileKernel
+ */
+@FunctionalInterface
+public interface ShortTileKernel {
+
+    void multiplyTile(
+        ShortMatrix leftMatrix, ShortMatrix rightMatrix, IntMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        int alpha
+    );
+}
@@ -0,0 +1,285 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.CsrMatrix;
+import com.wif3011.matrix.IntMatrix;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Multiplies a sparse {@link CsrMatrix} by a dense matrix (SpMM) or by another sparse matrix (SpGEMM).
+ * <p>
+ * Both work row by row on the left matrix, so the rows are cut into ranges with about the same number of
+ * nonzeros ({@link CsrMatrix#rowSplits(int)}) and the ranges run as a parallel stream on the execution engine,
+ * like the tile rows of {@link TiledParallelMatrixMultiplier}. Work is proportional to the nonzeros touched,
+ * not to the full m·n·p of the dense multipliers.
+ */
+public class SparseMatrixMultiplier {
+    /** Row ranges per worker; more ranges than workers lets stealing even out rows of different cost. */
+    private static final int PARTS_PER_WORKER = 4;
+
+    private final ExecutionEngine engine;
+
+    /** Dense accumulator for SpGEMM rows, reused for every row a thread computes. */
+    private final ThreadLocal<Accumulator> accumulator = ThreadLocal.withInitial(Accumulator::new);
+
+    public SparseMatrixMultiplier() {
+        this(ExecutionEngine.shared());
+    }
+
+    public SparseMatrixMultiplier(ExecutionEngine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Execution engine cannot be null");
+        }
+        this.engine = engine;
+    }
+
+    public ExecutionEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * SpMM: sparse × dense into a new dense matrix.
+     */
+    public IntMatrix multiply(CsrMatrix leftMatrix, IntMatrix rightMatrix) {
+        checkMetrics(leftMatrix, rightMatrix == null ? -1 : rightMatrix.rows());
+        return multiply(leftMatrix, rightMatrix, true);
+    }
+
+    /**
+     * SpMM computed entirely on the calling thread, for batch workers; arguments are already validated.
+     */
+    IntMatrix multiplySerial(CsrMatrix leftMatrix, IntMatrix rightMatrix) {
+        return multiply(leftMatrix, rightMatrix, false);
+    }
+
+    private IntMatrix multiply(CsrMatrix leftMatrix, IntMatrix rightMatrix, boolean parallel) {
+        final IntMatrix resultMatrix = new IntMatrix(leftMatrix.rows(), rightMatrix.cols());
+        // A fresh buffer is already zero, so accumulate onto it without a beta pass
+        accumulate(1, leftMatrix, rightMatrix, 1, resultMatrix, parallel);
+        return resultMatrix;
+    }
+
+    /**
+     * SpMM in place, {@code resultMatrix = alpha · leftMatrix × rightMatrix + beta · resultMatrix}.
+     *
+     * @return {@code resultMatrix}, for chaining
+     */
+    public IntMatrix gemm(int alpha, CsrMatrix leftMatrix, IntMatrix rightMatrix, int beta, IntMatrix resultMatrix) {
+        checkMetrics(leftMatrix, rightMatrix == null ? -1 : rightMatrix.rows());
+        if (resultMatrix == null
+            || resultMatrix.rows() != leftMatrix.rows() || resultMatrix.cols() != rightMatrix.cols()) {
+            throw new IllegalArgumentException("Result matrix must be " + leftMatrix.rows() + "x" + rightMatrix.cols());
+        }
+        if (resultMatrix.data() == rightMatrix.data()) {
+            throw new IllegalArgumentException("Result matrix cannot share storage with an input matrix");
+        }
+        accumulate(alpha, leftMatrix, rightMatrix, beta, resultMatrix, true);
+        return resultMatrix;
+    }
+
+    /**
+     * SpGEMM: sparse × sparse into a new sparse matrix, using Gustavson's row-by-row algorithm.
+     * Entries that cancel out to zero are not stored.
+     */
+    public CsrMatrix multiply(CsrMatrix leftMatrix, CsrMatrix rightMatrix) {
+        checkMetrics(leftMatrix, rightMatrix == null ? -1 : rightMatrix.rows());
+        return multiply(leftMatrix, rightMatrix, true);
+    }
+
+    /**
+     * SpGEMM computed entirely on the calling thread, for batch workers; arguments are already validated.
+     */
+    CsrMatrix multiplySerial(CsrMatrix leftMatrix, CsrMatrix rightMatrix) {
+        return multiply(leftMatrix, rightMatrix, false);
+    }
+
+    private CsrMatrix multiply(CsrMatrix leftMatrix, CsrMatrix rightMatrix, boolean parallel) {
+        final int rows = leftMatrix.rows();
+        final int parts = parallel ? partCount(rows) : 1;
+        final int[] splits = leftMatrix.rowSplits(parts);
+        final int[] rowCounts = new int[rows];
+        final int[][] partColumns = new int[parts][];
+        final int[][] partValues = new int[parts][];
+
+        // Pass 1: every range computes its rows into its own growable buffers
+        forEachPart(parts, parallel, part -> {
+            final RowBuffer buffer = multiplyRows(leftMatrix, rightMatrix, splits[part], splits[part + 1], rowCounts);
+            partColumns[part] = buffer.columns;
+            partValues[part] = buffer.values;
+        });
+
+        // Pass 2: row counts give each range its final offset, then the buffers are copied into place
+        final int[] rowPointers = new int[rows + 1];
+        for (int row = 0; row < rows; row++) {
+            rowPointers[row + 1] = rowPointers[row] + rowCounts[row];
+        }
+        final int[] columnIndices = new int[rowPointers[rows]];
+        final int[] values = new int[rowPointers[rows]];
+        forEachPart(parts, parallel, part -> {
+            final int start = rowPointers[splits[part]];
+            final int length = rowPointers[splits[part + 1]] - start;
+            System.arraycopy(partColumns[part], 0, columnIndices, start, length);
+            System.arraycopy(partValues[part], 0, values, start, length);
+        });
+
+        return new CsrMatrix(rows, rightMatrix.cols(), rowPointers, columnIndices, values);
+    }
+
+    private void accumulate(int alpha, CsrMatrix leftMatrix, IntMatrix rightMatrix, int beta, IntMatrix resultMatrix,
+                            boolean parallel) {
+        final int[] splits = leftMatrix.rowSplits(parallel ? partCount(leftMatrix.rows()) : 1);
+        final int[] rowPointers = leftMatrix.rowPointers();
+        final int[] columnIndices = leftMatrix.columnIndices();
+        final int[] values = leftMatrix.values();
+        final int[] right = rightMatrix.data();
+        final int[] result = resultMatrix.data();
+        final int cols = rightMatrix.cols();
+
+        forEachPart(splits.length - 1, parallel, part -> {
+            for (int row = splits[part]; row < splits[part + 1]; row++) {
+                MatrixMultiplier.scale(resultMatrix, row, row + 1, 0, cols, beta);
+                final int resultBase = resultMatrix.index(row, 0);
+                // Same row-streaming order as the dense scalar kernel, skipping every zero of the left row
+                for (int i = rowPointers[row]; i < rowPointers[row + 1]; i++) {
+                    final int leftValue = alpha * values[i];
+                    final int rightBase = rightMatrix.index(columnIndices[i], 0);
+                    for (int col = 0; col < cols; col++) {
+                        result[resultBase + col] += leftValue * right[rightBase + col];
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Computes rows [rowStart, rowEnd) of a SpGEMM product and records how many entries each row kept.
+     */
+    private RowBuffer multiplyRows(CsrMatrix leftMatrix, CsrMatrix rightMatrix, int rowStart, int rowEnd, int[] rowCounts) {
+        final int[] leftPointers = leftMatrix.rowPointers();
+        final int[] leftColumns = leftMatrix.columnIndices();
+        final int[] leftValues = leftMatrix.values();
+        final int[] rightPointers = rightMatrix.rowPointers();
+        final int[] rightColumns = rightMatrix.columnIndices();
+        final int[] rightValues = rightMatrix.values();
+
+        final Accumulator acc = accumulator.get();
+        acc.ensureCapacity(rightMatrix.cols());
+        final RowBuffer buffer = new RowBuffer(leftPointers[rowEnd] - leftPointers[rowStart]);
+
+        for (int row = rowStart; row < rowEnd; row++) {
+            final int stamp = acc.nextStamp();
+            int touched = 0;
+            for (int i = leftPointers[row]; i < leftPointers[row + 1]; i++) {
+                final int leftValue = leftValues[i];
+                final int k = leftColumns[i];
+                for (int j = rightPointers[k]; j < rightPointers[k + 1]; j++) {
+                    final int col = rightColumns[j];
+                    if (acc.marker[col] != stamp) {
+                        // First contribution to this column in this row
+                        acc.marker[col] = stamp;
+                        acc.sums[col] = 0;
+                        acc.touched[touched++] = col;
+                    }
+                    acc.sums[col] += leftValue * rightValues[j];
+                }
+            }
+
+            // Columns were touched in arbitrary order; CSR wants them ascending
+            Arrays.sort(acc.touched, 0, touched);
+            buffer.ensureCapacity(touched);
+            int kept = 0;
+            for (int t = 0; t < touched; t++) {
+                final int col = acc.touched[t];
+                final int sum = acc.sums[col];
+                if (sum != 0) {
+                    buffer.add(col, sum);
+                    kept++;
+                }
+            }
+            rowCounts[row] = kept;
+        }
+        return buffer;
+    }
+
+    private int partCount(int rows) {
+        return Math.max(1, Math.min(rows, engine.parallelism() * PARTS_PER_WORKER));
+    }
+
+    private void forEachPart(int parts, boolean parallel, IntConsumer action) {
+        if (!parallel) {
+            for (int part = 0; part < parts; part++) {
+                action.accept(part);
+            }
+            return;
+        }
+        // A parallel stream started from inside a ForkJoinPool runs its subtasks in that pool
+        engine.run(() -> IntStream.range(0, parts).parallel().forEach(action));
+    }
+
+    private static void checkMetrics(CsrMatrix leftMatrix, int rightRows) {
+        if (leftMatrix == null || rightRows < 0) {
+            throw new IllegalArgumentException("Matrices cannot be null");
+        }
+        if (leftMatrix.cols() != rightRows) {
+            throw new IllegalArgumentException("Number of columns in Matrix A must be equal to number of rows in Matrix B");
+        }
+    }
+
+    /**
+     * Gustavson's dense accumulator: one slot per result column, reset lazily by stamping instead of clearing.
+     */
+    private static final class Accumulator {
+        int[] sums = new int[0];
+        int[] marker = new int[0];
+        int[] touched = new int[0];
+        private int stamp;
+
+        void ensureCapacity(int cols) {
+            if (sums.length < cols) {
+                sums = new int[cols];
+                marker = new int[cols];
+                touched = new int[cols];
+                stamp = 0;
+            }
+        }
+
+        int nextStamp() {
+            if (++stamp == 0) {
+                // Wrapped around after 2^32 rows; old stamps could now collide, so clear them once
+                Arrays.fill(marker, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+    }
+
+    /**
+     * Column/value pairs of consecutive result rows, grown by doubling.
+     */
+    private static final class RowBuffer {
+        int[] columns;
+        int[] values;
+        int size;
+
+        RowBuffer(int initialCapacity) {
+            columns = new int[Math.max(16, initialCapacity)];
+            values = new int[columns.length];
+        }
+
+        void ensureCapacity(int extra) {
+            if (size + extra > columns.length) {
+                final int capacity = Math.max(size + extra, columns.length * 2);
+                columns = Arrays.copyOf(columns, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+        }
+
+        void add(int column, int value) {
+            columns[size] = column;
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.IntMatrix;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Matrix multiplier using the Strassen–Winograd recursion (7 sub-products, 15 additions per level)
+ * on the ForkJoin framework.
+ * <p>
+ * Each level halves all three dimensions, so the inputs are zero-padded once up front to a multiple of
+ * 2<sup>levels</sup>; rectangular shapes are fine as long as every dimension stays above the crossover.
+ * Once a sub-problem's smallest dimension reaches the crossover it is handed to a {@link TileKernel}.
+ * Integer arithmetic wraps identically on every path, so results match the classic algorithm exactly.
+ */
+public class StrassenForkJoinMatrixMultiplier extends MatrixMultiplier {
+    /** Smallest dimension at or below which a sub-problem is computed by the tile kernel. */
+    public static final int DEFAULT_CROSSOVER = 256;
+
+    private final int crossover;
+    private final TileKernel kernel;
+    private final StrassenWorkspace workspace;
+    private final ExecutionEngine engine;
+
+    /** Tile geometry the kernel is driven with inside each leaf. */
+    private final TileConfig leafTile = TileConfig.DEFAULT;
+
+    /** Used when the problem is too small for even one level of recursion. */
+    private final TiledForkJoinMatrixMultiplier fallback;
+
+    public StrassenForkJoinMatrixMultiplier() {
+        this(DEFAULT_CROSSOVER);
+    }
+
+    public StrassenForkJoinMatrixMultiplier(int crossover) {
+        this(crossover, TiledMatrixMultiplier.DEFAULT_KERNEL, new StrassenWorkspace());
+    }
+
+    public StrassenForkJoinMatrixMultiplier(int crossover, TileKernel kernel, StrassenWorkspace workspace) {
+        this(crossover, kernel, workspace, ExecutionEngine.shared());
+    }
+
+    public StrassenForkJoinMatrixMultiplier(
+        int crossover, TileKernel kernel, StrassenWorkspace workspace, ExecutionEngine engine) {
+        if (crossover < 1) {
+            throw new IllegalArgumentException("Crossover must be positive");
+        }
+        if (kernel == null || workspace == null || engine == null) {
+            throw new IllegalArgumentException("Kernel, workspace and engine cannot be null");
+        }
+        this.crossover = crossover;
+        this.kernel = kernel;
+        this.workspace = workspace;
+        this.engine = engine;
+        this.fallback = new TiledForkJoinMatrixMultiplier(TileConfig.DEFAULT, kernel, engine);
+    }
+
+    public int getCrossover() {
+        return crossover;
+    }
+
+    @Override
+    public ExecutionEngine getEngine() {
+        return engine;
+    }
+
+    @Override
+    protected IntMatrix safeMultiply(IntMatrix leftMatrix, IntMatrix rightMatrix) {
+        final int leftMatrixRows = leftMatrix.rows();
+        final int rightMatrixCols = rightMatrix.cols();
+        final int levels = recursionLevels(leftMatrixRows, leftMatrix.cols(), rightMatrixCols);
+        if (levels == 0) {
+            return fallback.safeMultiply(leftMatrix, rightMatrix);
+        }
+
+        // An unpadded product is handed straight to the caller, so only a padded one comes from the pool
+        final boolean resultPadded = roundUp(leftMatrixRows, levels) != leftMatrixRows
+            || roundUp(rightMatrixCols, levels) != rightMatrixCols;
+        final IntMatrix result = product(leftMatrix, rightMatrix, levels, resultPadded);
+        if (!resultPadded) {
+            return result;
+        }
+        final IntMatrix trimmed = result.view(0, 0, leftMatrixRows, rightMatrixCols).copy();
+        workspace.release(result);
+        return trimmed;
+    }
+
+    /**
+     * The recursion overwrites its output, so the product is computed into a pooled buffer and then
+     * folded into the caller's matrix with alpha and beta in one pass.
+     */
+    @Override
+    protected void safeGemm(int alpha, IntMatrix leftMatrix, IntMatrix rightMatrix, int beta, IntMatrix resultMatrix) {
+        final int levels = recursionLevels(leftMatrix.rows(), leftMatrix.cols(), rightMatrix.cols());
+        if (levels == 0) {
+            fallback.safeGemm(alpha, leftMatrix, rightMatrix, beta, resultMatrix);
+            return;
+        }
+
+        final IntMatrix product = product(leftMatrix, rightMatrix, levels, true);
+        final int[] c = resultMatrix.data();
+        final int[] p = product.data();
+        for (int row = 0; row < resultMatrix.rows(); row++) {
+            final int resultBase = resultMatrix.index(row, 0);
+            final int productBase = product.index(row, 0);
+            for (int col = 0; col < resultMatrix.cols(); col++) {
+                // beta == 0 must not read the old contents, so the buffer can start out as anything
+                final int previous = beta == 0 ? 0 : beta * c[resultBase + col];
+                c[resultBase + col] = alpha * p[productBase + col] + previous;
+            }
+        }
+        workspace.release(product);
+    }
+
+    /**
+     * Runs the recursion and returns the product in padded shape, in a pooled buffer if {@code pooled}.
+     */
+    private IntMatrix product(IntMatrix leftMatrix, IntMatrix rightMatrix, int levels, boolean pooled) {
+        // Every level halves each dimension exactly, so pad all of them to a multiple of 2^levels
+        final int paddedRows = roundUp(leftMatrix.rows(), levels);
+        final int paddedShared = roundUp(leftMatrix.cols(), levels);
+        final int paddedCols = roundUp(rightMatrix.cols(), levels);
+
+        final IntMatrix left = padded(leftMatrix, paddedRows, paddedShared);
+        final IntMatrix right = padded(rightMatrix, paddedShared, paddedCols);
+        final IntMatrix result = pooled
+            ? workspace.acquire(paddedRows, paddedCols)
+            : new IntMatrix(paddedRows, paddedCols);
+
+        engine.invoke(new StrassenTask(left, right, result, levels));
+
+        if (left != leftMatrix) {
+            workspace.release(left);
+        }
+        if (right != rightMatrix) {
+            workspace.release(right);
+        }
+        return result;
+    }
+
+    /**
+     * Batch jobs are below any useful crossover, so they go straight to the tile kernel.
+     */
+    @Override
+    protected IntMatrix safeMultiplySerial(IntMatrix leftMatrix, IntMatrix rightMatrix) {
+        return fallback.safeMultiplySerial(leftMatrix, rightMatrix);
+    }
+
+    /**
+     * Number of times all three dimensions can be halved before the smallest one reaches the crossover.
+     */
+    private int recursionLevels(int rows, int shared, int cols) {
+        int levels = 0;
+        int smallest = Math.min(rows, Math.min(shared, cols));
+        while (smallest > crossover) {
+            smallest = (smallest + 1) >>> 1;
+            levels++;
+        }
+        return levels;
+    }
+
+    private static int roundUp(int value, int levels) {
+        final int multiple = 1 << levels;
+        return (value + multiple - 1) & -multiple;
+    }
+
+    /**
+     * Returns {@code matrix} itself if it already has the padded shape, otherwise a zero-padded copy.
+     */
+    private IntMatrix padded(IntMatrix matrix, int rows, int cols) {
+        if (matrix.rows() == rows && matrix.cols() == cols) {
+            return matrix;
+        }
+        final IntMatrix padded = workspace.acquire(rows, cols);
+        Arrays.fill(padded.data(), 0);
+        for (int row = 0; row < matrix.rows(); row++) {
+            System.arraycopy(matrix.data(), matrix.index(row, 0), padded.data(), padded.index(row, 0), matrix.cols());
+        }
+        return padded;
+    }
+
+    /**
+     * Overwrites {@code result} with {@code left × right}; all three dimensions are divisible by 2^levels.
+     */
+    private class StrassenTask extends RecursiveAction {
+        private final IntMatrix left;
+        private final IntMatrix right;
+        private final IntMatrix result;
+        private final int levels;
+
+        StrassenTask(IntMatrix left, IntMatrix right, IntMatrix result, int levels) {
+            this.left = left;
+            this.right = right;
+            this.result = result;
+            this.levels = levels;
+        }
+
+        @Override
+        protected void compute() {
+            if (levels == 0) {
+                multiplyLeaf(left, right, result);
+                return;
+            }
+
+            final int halfRows = left.rows() >>> 1;
+            final int halfShared = left.cols() >>> 1;
+            final int halfCols = right.cols() >>> 1;
+
+            // Quadrants are views, so no copying happens here
+            final IntMatrix a11 = left.view(0, 0, halfRows, halfShared);
+            final IntMatrix a12 = left.view(0, halfShared, halfRows, halfShared);
+            final IntMatrix a21 = left.view(halfRows, 0, halfRows, halfShared);
+            final IntMatrix a22 = left.view(halfRows, halfShared, halfRows, halfShared);
+            final IntMatrix b11 = right.view(0, 0, halfShared, halfCols);
+            final IntMatrix b12 = right.view(0, halfCols, halfShared, halfCols);
+            final IntMatrix b21 = right.view(halfShared, 0, halfShared, halfCols);
+            final IntMatrix b22 = right.view(halfShared, halfCols, halfShared, halfCols);
+            final IntMatrix c11 = result.view(0, 0, halfRows, halfCols);
+            final IntMatrix c12 = result.view(0, halfCols, halfRows, halfCols);
+            final IntMatrix c21 = result.view(halfRows, 0, halfRows, halfCols);
+            final IntMatrix c22 = result.view(halfRows, halfCols, halfRows, halfCols);
+
+            final IntMatrix s1 = workspace.acquire(halfRows, halfShared);
+            final IntMatrix s2 = workspace.acquire(halfRows, halfShared);
+            final IntMatrix s3 = workspace.acquire(halfRows, halfShared);
+            final IntMatrix s4 = workspace.acquire(halfRows, halfShared);
+            final IntMatrix t1 = workspace.acquire(halfShared, halfCols);
+            final IntMatrix t2 = workspace.acquire(halfShared, halfCols);
+            final IntMatrix t3 = workspace.acquire(halfShared, halfCols);
+            final IntMatrix t4 = workspace.acquire(halfShared, halfCols);
+            final IntMatrix p2 = workspace.acquire(halfRows, halfCols);
+            final IntMatrix p6 = workspace.acquire(halfRows, halfCols);
+            final IntMatrix p7 = workspace.acquire(halfRows, halfCols);
+
+            // Winograd's 8 pre-additions
+            combine(a21, a22, 1, s1);   // S1 = A21 + A22
+            combine(s1, a11, -1, s2);   // S2 = S1 - A11
+            combine(a11, a21, -1, s3);  // S3 = A11 - A21
+            combine(a12, s2, -1, s4);   // S4 = A12 - S2
+            combine(b12, b11, -1, t1);  // T1 = B12 - B11
+            combine(b22, t1, -1, t2);   // T2 = B22 - T1
+            combine(b22, b12, -1, t3);  // T3 = B22 - B12
+            combine(t2, b21, -1, t4);   // T4 = T2 - B21
+
+            // The 7 independent sub-products. P1, P3, P4 and P5 go straight into the result quadrants,
+            // which are disjoint, and are combined in place below.
+            final int next = levels - 1;
+            invokeAll(
+                new StrassenTask(a11, b11, c11, next),  // P1
+                new StrassenTask(a12, b21, p2, next),   // P2
+                new StrassenTask(s4, b22, c12, next),   // P3
+                new StrassenTask(a22, t4, c21, next),   // P4
+                new StrassenTask(s1, t1, c22, next),    // P5
+                new StrassenTask(s2, t2, p6, next),     // P6
+                new StrassenTask(s3, t3, p7, next)      // P7
+            );
+
+            // Winograd's 7 post-additions, fused into a single pass over the quadrants
+            final int[] c = result.data();
+            for (int row = 0; row < halfRows; row++) {
+                for (int col = 0; col < halfCols; col++) {
+                    final int i11 = c11.index(row, col);
+                    final int i12 = c12.index(row, col);
+                    final int i21 = c21.index(row, col);
+                    final int i22 = c22.index(row, col);
+                    final int product1 = c[i11];
+                    final int product5 = c[i22];
+                    final int u2 = product1 + p6.get(row, col);
+                    final int u3 = u2 + p7.get(row, col);
+                    c[i11] = product1 + p2.get(row, col);  // C11 = P1 + P2
+                    c[i12] = u2 + product5 + c[i12];       // C12 = U2 + P5 + P3
+                    c[i21] = u3 - c[i21];                  // C21 = U3 - P4
+                    c[i22] = u3 + product5;                // C22 = U3 + P5
+                }
+            }
+
+            for (IntMatrix buffer : new IntMatrix[] {s1, s2, s3, s4, t1, t2, t3, t4, p2, p6, p7}) {
+                workspace.release(buffer);
+            }
+        }
+
+        /**
+         * Below the crossover: clear the (possibly reused) output and run the tile kernel tile by tile.
+         */
+        private void multiplyLeaf(IntMatrix left, IntMatrix right, IntMatrix result) {
+            final int rows = result.rows();
+            final int cols = result.cols();
+            for (int row = 0; row < rows; row++) {
+                final int start = result.index(row, 0);
+                Arrays.fill(result.data(), start, start + cols, 0);
+            }
+            for (int tileRowStart = 0; tileRowStart < rows; tileRowStart += leafTile.rowBlock()) {
+                final int tileRowEnd = Math.min(tileRowStart + leafTile.rowBlock(), rows);
+                for (int tileColStart = 0; tileColStart < cols; tileColStart += leafTile.colBlock()) {
+                    final int tileColEnd = Math.min(tileColStart + leafTile.colBlock(), cols);
+                    kernel.multiplyTile(
+                        left, right, result,
+                        tileRowStart, tileRowEnd,
+                        tileColStart, tileColEnd,
+                        left.cols(),
+                        1
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * out = x + sign * y, element-wise. All three must have the same shape.
+     */
+    private static void combine(IntMatrix x, IntMatrix y, int sign, IntMatrix out) {
+        final int[] xs = x.data();
+        final int[] ys = y.data();
+        final int[] outs = out.data();
+        for (int row = 0; row < out.rows(); row++) {
+            final int xBase = x.index(row, 0);
+            final int yBase = y.index(row, 0);
+            final int outBase = out.index(row, 0);
+            for (int col = 0; col < out.cols(); col++) {
+                outs[outBase + col] = xs[xBase + col] + sign * ys[yBase + col];
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrixPool;
+
+/**
+ * Pool of the quadrant buffers of a Strassen recursion.
+ * <p>
+ * Every node of a Strassen recursion at the same depth needs quadrant buffers of the same shape,
+ * so after the first multiplication the pool holds enough buffers for all nodes that can be active
+ * at once and later recursions (and later calls) reuse them instead of allocating.
+ */
+public class StrassenWorkspace extends IntMatrixPool {
+}
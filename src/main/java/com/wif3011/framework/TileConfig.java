@@ -0,0 +1,33 @@
+package com.wif3011.framework;
+
+/**
+ * Tile geometry and thread count used by a {@link TiledMatrixMultiplier} instance.
+ *
+ * @param rowBlock    number of result rows in each tile
+ * @param colBlock    number of result columns in each tile
+ * @param threadCount workers to spread the tiles over, or 0 for the full parallelism of the execution engine
+ */
+public record TileConfig(int rowBlock, int colBlock, int threadCount) {
+    /** 64×64 tiles on the whole shared execution engine, the long-standing defaults. */
+    public static final TileConfig DEFAULT = new TileConfig(64, 64, 0);
+
+    public TileConfig {
+        if (rowBlock <= 0 || colBlock <= 0) {
+            throw new IllegalArgumentException("Tile sizes must be positive: " + rowBlock + "x" + colBlock);
+        }
+        if (threadCount < 0) {
+            throw new IllegalArgumentException("Thread count cannot be negative: " + threadCount);
+        }
+    }
+
+    /**
+     * Square tiles of the given size on the whole shared execution engine.
+     */
+    public static TileConfig square(int blockSize) {
+        return new TileConfig(blockSize, blockSize, 0);
+    }
+
+    public TileConfig withThreadCount(int threadCount) {
+        return new TileConfig(rowBlock, colBlock, threadCount);
+    }
+}
@@ -0,0 +1,101 @@
+package com.wif3011.framework;
+
+/**
+ * How a rows×cols result matrix is cut into rowBlock×colBlock tiles for one multiplication.
+ * <p>
+ * Built per call, so a multiplier instance holds no shape state and can serve concurrent callers.
+ * Tiles on the bottom and right edges are clipped to the matrix.
+ * <p>
+ * A grid can be limited to the upper triangle, for results that are symmetric and filled in by mirroring: only
+ * tiles that reach the diagonal or lie above it are then {@linkplain #covers covered}, and drivers skip the rest.
+ *
+ * @param rows          rows of the result matrix
+ * @param cols          columns of the result matrix
+ * @param rowBlock      rows per tile
+ * @param colBlock      columns per tile
+ * @param upperTriangle whether only the tiles touching the upper triangle are computed
+ */
+public record TileGrid(int rows, int cols, int rowBlock, int colBlock, boolean upperTriangle) {
+
+    public TileGrid {
+        if (rows < 0 || cols < 0 || rowBlock <= 0 || colBlock <= 0) {
+            throw new IllegalArgumentException("Invalid tile grid: " + rows + "x" + cols
+                + " in " + rowBlock + "x" + colBlock + " tiles");
+        }
+    }
+
+    public TileGrid(int rows, int cols, int rowBlock, int colBlock) {
+        this(rows, cols, rowBlock, colBlock, false);
+    }
+
+    /**
+     * The same tiles, limited to the upper triangle.
+     */
+    public TileGrid upper() {
+        return new TileGrid(rows, cols, rowBlock, colBlock, true);
+    }
+
+    /**
+     * Whether any element of the block [rowStart, rowEnd) × [colStart, colEnd) has to be computed. Blocks need not
+     * line up with the tiles, so drivers that split the matrix their own way can prune with this as well.
+     */
+    public boolean covers(int rowStart, int rowEnd, int colStart, int colEnd) {
+        // The block's top-right element is its one closest to the upper triangle
+        return !upperTriangle || colEnd - 1 >= rowStart;
+    }
+
+    public boolean coversTile(int tileRow, int tileCol) {
+        return covers(tileRowStart(tileRow), tileRowEnd(tileRow), tileColStart(tileCol), tileColEnd(tileCol));
+    }
+
+    /**
+     * How many row-tiles are needed to cover the matrix vertically.
+     */
+    public int rowTileCount() {
+        // Ceiling division, equivalent to Math.ceil((double) rows / rowBlock)
+        return (rows + rowBlock - 1) / rowBlock;
+    }
+
+    /**
+     * How many column-tiles are needed to cover the matrix horizontally.
+     */
+    public int colTileCount() {
+        // Ceiling division, equivalent to Math.ceil((double) cols / colBlock)
+        return (cols + colBlock - 1) / colBlock;
+    }
+
+    /**
+     * Number of covered tiles.
+     */
+    public int tileCount() {
+        if (!upperTriangle) {
+            return rowTileCount() * colTileCount();
+        }
+        int count = 0;
+        for (int tileRow = 0; tileRow < rowTileCount(); tileRow++) {
+            for (int tileCol = 0; tileCol < colTileCount(); tileCol++) {
+                if (coversTile(tileRow, tileCol)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    public int tileRowStart(int tileRow) {
+        return tileRow * rowBlock;
+    }
+
+    public int tileRowEnd(int tileRow) {
+        // Math.min ensures the last tile doesn't go out of bounds
+        return Math.min(tileRowStart(tileRow) + rowBlock, rows);
+    }
+
+    public int tileColStart(int tileCol) {
+        return tileCol * colBlock;
+    }
+
+    public int tileColEnd(int tileCol) {
+        return Math.min(tileColStart(tileCol) + colBlock, cols);
+    }
+}
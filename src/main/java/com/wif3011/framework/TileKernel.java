@@ -0,0 +1,22 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+
+/**
+ * Computes one tile of a matrix product: adds {@code alpha · left[rows, 0..sharedDimension) × right[0..sharedDimension, cols)}
+ * onto {@code result[rows, cols)}.
+ * <p>
+ * The tiled drivers only decide which thread runs which tile, so any kernel can be combined with any driver.
+ * Implementations must be safe to call from several threads at once on disjoint tiles.
+ */
+@FunctionalInterface
+public interface TileKernel {
+
+    void multiplyTile(
+        IntMatrix leftMatrix, IntMatrix rightMatrix, IntMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        int alpha
+    );
+}
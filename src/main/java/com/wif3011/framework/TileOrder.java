@@ -0,0 +1,17 @@
+package com.wif3011.framework;
+
+/**
+ * Order in which a {@link TileScheduler} hands out the tiles of a result.
+ * <p>
+ * Tiles next to each other share their block of A (same tile row) or of B (same tile column). A space-filling curve
+ * keeps consecutive tiles close in both directions, so the panels the previous tiles pulled into the shared L2/L3
+ * cache are still there for the next ones, whereas row-major order sweeps all of B once per tile row.
+ */
+public enum TileOrder {
+    /** Left to right, then top to bottom. */
+    ROW_MAJOR,
+    /** Z-order: recursively the top-left, top-right, bottom-left and bottom-right quadrants. */
+    MORTON,
+    /** Generalized Hilbert curve; nearly every step moves to an adjacent tile, where Z-order keeps jumping. */
+    HILBERT
+}
@@ -0,0 +1,221 @@
+package com.wif3011.framework;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out the tiles of one multiplication to whichever worker asks next.
+ * <p>
+ * Tiles are laid out along a {@link TileOrder} once, and workers then claim runs of consecutive positions from a
+ * shared atomic counter until none are left. A worker that is slowed down (a ragged edge tile, a noisy neighbour)
+ * simply claims fewer runs, so no one waits on a fixed share, and each claimed run is a compact patch of the result
+ * whose A and B panels are still in cache from the previous tile.
+ * Built per call, like {@link TileGrid}.
+ */
+public final class TileScheduler {
+    /** Largest run claimed at once: a 2×2 patch of a Morton or Hilbert curve. */
+    public static final int MAX_CHUNK = 4;
+
+    /** Runs each worker should be able to claim, so late finishers can be balanced out. */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final TileGrid grid;
+    private final int[] order;
+    private final int chunk;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param chunk tiles claimed per atomic increment
+     */
+    public TileScheduler(TileGrid grid, TileOrder tileOrder, int chunk) {
+        if (grid == null || tileOrder == null) {
+            throw new IllegalArgumentException("Tile grid and order cannot be null");
+        }
+        if (chunk < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunk);
+        }
+        this.grid = grid;
+        this.order = covered(grid, order(grid.rowTileCount(), grid.colTileCount(), tileOrder));
+        this.chunk = chunk;
+    }
+
+    /**
+     * A scheduler whose chunks are as large as possible, up to {@link #MAX_CHUNK}, while still leaving every one of
+     * {@code workers} workers several chunks to claim.
+     */
+    public static TileScheduler of(TileGrid grid, TileOrder tileOrder, int workers) {
+        final int chunk = Math.max(1, Math.min(MAX_CHUNK, grid.tileCount() / (Math.max(1, workers) * CHUNKS_PER_WORKER)));
+        return new TileScheduler(grid, tileOrder, chunk);
+    }
+
+    public int tileCount() {
+        return order.length;
+    }
+
+    public int chunkSize() {
+        return chunk;
+    }
+
+    /**
+     * Computes the tile at {@code position} along the order, for drivers that split the positions themselves.
+     */
+    public void runTile(int position, TiledMatrixMultiplier.TileTask task) {
+        final int tile = order[position];
+        final int tileRow = tile / grid.colTileCount();
+        final int tileCol = tile % grid.colTileCount();
+        task.compute(
+            grid.tileRowStart(tileRow), grid.tileRowEnd(tileRow),
+            grid.tileColStart(tileCol), grid.tileColEnd(tileCol));
+    }
+
+    /**
+     * Claims and computes chunks until every tile has been handed out. Each worker of a multiplication calls this;
+     * together they compute every tile exactly once.
+     */
+    public void drain(TiledMatrixMultiplier.TileTask task) {
+        for (int start = next.getAndAdd(chunk); start < order.length; start = next.getAndAdd(chunk)) {
+            final int end = Math.min(start + chunk, order.length);
+            for (int position = start; position < end; position++) {
+                runTile(position, task);
+            }
+        }
+    }
+
+    /**
+     * Row-major tile indices (tileRow · colTiles + tileCol) in the order they should be visited.
+     */
+    static int[] order(int rowTiles, int colTiles, TileOrder tileOrder) {
+        final int[] order = new int[rowTiles * colTiles];
+        switch (tileOrder) {
+            case ROW_MAJOR -> {
+                for (int tile = 0; tile < order.length; tile++) {
+                    order[tile] = tile;
+                }
+            }
+            case MORTON -> {
+                int side = 1;
+                while (side < Math.max(rowTiles, colTiles)) {
+                    side *= 2;
+                }
+                morton(new Cursor(order, colTiles), rowTiles, colTiles, 0, 0, side);
+            }
+            case HILBERT -> {
+                // x runs along tile columns and y along tile rows; start along the longer side
+                final Cursor cursor = new Cursor(order, colTiles);
+                if (colTiles >= rowTiles) {
+                    hilbert(cursor, 0, 0, colTiles, 0, 0, rowTiles);
+                } else {
+                    hilbert(cursor, 0, 0, 0, rowTiles, colTiles, 0);
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * The tiles of {@code order} that the grid covers, still in order.
+     */
+    private static int[] covered(TileGrid grid, int[] order) {
+        if (!grid.upperTriangle()) {
+            return order;
+        }
+        final int[] covered = new int[grid.tileCount()];
+        int next = 0;
+        for (int tile : order) {
+            if (grid.coversTile(tile / grid.colTileCount(), tile % grid.colTileCount())) {
+                covered[next++] = tile;
+            }
+        }
+        return covered;
+    }
+
+    /**
+     * Z-order over the side×side square at (row, col), skipping the parts outside the grid.
+     */
+    private static void morton(Cursor cursor, int rowTiles, int colTiles, int row, int col, int side) {
+        if (row >= rowTiles || col >= colTiles) {
+            return;
+        }
+        if (side == 1) {
+            cursor.emit(row, col);
+            return;
+        }
+        final int half = side / 2;
+        morton(cursor, rowTiles, colTiles, row, col, half);
+        morton(cursor, rowTiles, colTiles, row, col + half, half);
+        morton(cursor, rowTiles, colTiles, row + half, col, half);
+        morton(cursor, rowTiles, colTiles, row + half, col + half, half);
+    }
+
+    /**
+     * Generalized Hilbert curve ("gilbert", J. Červený) over the rectangle at (x, y) spanned by the major axis
+     * (ax, ay) and the minor axis (bx, by). Unlike the classic curve it covers any width and height directly, by
+     * splitting the rectangle into two halves along a long side or into three parts otherwise, keeping the parts
+     * even where it can so that they link up.
+     */
+    private static void hilbert(Cursor cursor, int x, int y, int ax, int ay, int bx, int by) {
+        final int width = Math.abs(ax + ay);
+        final int height = Math.abs(bx + by);
+        final int dax = Integer.signum(ax);
+        final int day = Integer.signum(ay);
+        final int dbx = Integer.signum(bx);
+        final int dby = Integer.signum(by);
+
+        if (height == 1) {
+            for (int i = 0; i < width; i++, x += dax, y += day) {
+                cursor.emit(y, x);
+            }
+            return;
+        }
+        if (width == 1) {
+            for (int i = 0; i < height; i++, x += dbx, y += dby) {
+                cursor.emit(y, x);
+            }
+            return;
+        }
+
+        int ax2 = Math.floorDiv(ax, 2);
+        int ay2 = Math.floorDiv(ay, 2);
+        int bx2 = Math.floorDiv(bx, 2);
+        int by2 = Math.floorDiv(by, 2);
+        final int width2 = Math.abs(ax2 + ay2);
+        final int height2 = Math.abs(bx2 + by2);
+
+        if (2 * width > 3 * height) {
+            if (width2 % 2 != 0 && width > 2) {
+                ax2 += dax;
+                ay2 += day;
+            }
+            // Long case: two halves side by side along the major axis
+            hilbert(cursor, x, y, ax2, ay2, bx, by);
+            hilbert(cursor, x + ax2, y + ay2, ax - ax2, ay - ay2, bx, by);
+        } else {
+            if (height2 % 2 != 0 && height > 2) {
+                bx2 += dbx;
+                by2 += dby;
+            }
+            // Standard case: up the first part, across the long second part, back down the third
+            hilbert(cursor, x, y, bx2, by2, ax2, ay2);
+            hilbert(cursor, x + bx2, y + by2, ax, ay, bx - bx2, by - by2);
+            hilbert(cursor, x + (ax - dax) + (bx2 - dbx), y + (ay - day) + (by2 - dby),
+                -bx2, -by2, -(ax - ax2), -(ay - ay2));
+        }
+    }
+
+    /**
+     * Write position into the order being built.
+     */
+    private static final class Cursor {
+        private final int[] order;
+        private final int colTiles;
+        private int position;
+
+        Cursor(int[] order, int colTiles) {
+            this.order = order;
+            this.colTiles = colTiles;
+        }
+
+        void emit(int tileRow, int tileCol) {
+            order[position++] = tileRow * colTiles + tileCol;
+        }
+    }
+}
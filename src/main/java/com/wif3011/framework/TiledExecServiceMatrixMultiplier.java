@@ -1,52 +1,56 @@
 package com.wif3011.framework;
 
+import com.wif3011.concurrent.ExecutionEngine;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
- * Matrix multiplier using ExecutorService with tiled multiplication.
+ * Matrix multiplier submitting one task per tile to the execution engine, ExecutorService-style, in the order
+ * of its {@link TileOrder}.
  */
 public class TiledExecServiceMatrixMultiplier extends TiledMatrixMultiplier {
 
-    @Override
-    protected int[][] safeMultiply(int[][] leftMatrix, int[][] rightMatrix) {
-        final int[][] resultMatrix = new int[leftMatrixRows][rightMatrixCols];
-
-        final List<Callable<Void>> tileTasks = new ArrayList<>(rowTileCount * colTileCount);
-
-        for (int tileRow = 0; tileRow < rowTileCount; tileRow++) {
-            // tileRow << BLOCK_SIZE_LOG2 is equivalent to tileRow * BLOCK_SIZE
-            final int tileRowStart = tileRow << BLOCK_SIZE_LOG2;
-            // Math.min(tileRowStart + ROW_BLOCK, leftMatrixRows) ensures we don't go out of bounds
-            final int tileRowEnd = Math.min(tileRowStart + ROW_BLOCK, leftMatrixRows);
-
-            for (int tileCol = 0; tileCol < colTileCount; tileCol++) {
-                // tileCol << BLOCK_SIZE_LOG2 is equivalent to tileCol * BLOCK_SIZE
-                final int tileColStart = tileCol << BLOCK_SIZE_LOG2;
-                // Math.min(tileColStart + ROW_BLOCK, rightMatrixCols) ensures we don't go out of bounds
-                final int tileColEnd = Math.min(tileColStart + COL_BLOCK, rightMatrixCols);
-
-                tileTasks.add(() -> {
-                    multiplyTile(
-                        leftMatrix, rightMatrix, resultMatrix,
-                        tileRowStart, tileRowEnd,
-                        tileColStart, tileColEnd,
-                        sharedDimension
-                    );
-                    return null;
-                });
-            }
-        }
+    public TiledExecServiceMatrixMultiplier() {
+        super();
+    }
+
+    public TiledExecServiceMatrixMultiplier(TileKernel kernel) {
+        super(kernel);
+    }
+
+    public TiledExecServiceMatrixMultiplier(TileConfig config) {
+        super(config, DEFAULT_KERNEL);
+    }
 
-        try (ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())) {
-            executor.invokeAll(tileTasks);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    public TiledExecServiceMatrixMultiplier(TileConfig config, TileKernel kernel) {
+        super(config, kernel);
+    }
+
+    public TiledExecServiceMatrixMultiplier(TileConfig config, TileKernel kernel, ExecutionEngine engine) {
+        super(config, kernel, engine);
+    }
+
+    public TiledExecServiceMatrixMultiplier(TileConfig config, TileKernel kernel, ExecutionEngine engine, TileOrder tileOrder) {
+        super(config, kernel, engine, tileOrder);
+    }
+
+    @Override
+    protected void forEachTile(TileGrid grid, TileTask task) {
+        final TileScheduler scheduler = TileScheduler.of(grid, tileOrder, threadCount());
+        final List<Callable<Void>> tileTasks = new ArrayList<>(scheduler.tileCount());
+
+        // Submitted in curve order, so the tiles running side by side at any moment share their A and B panels
+        for (int position = 0; position < scheduler.tileCount(); position++) {
+            final int tilePosition = position;
+            tileTasks.add(() -> {
+                scheduler.runTile(tilePosition, task);
+                return null;
+            });
         }
 
-        return resultMatrix;
+        // The engine's workers outlive this call, so no pool is created or torn down here
+        engine.invokeAll(tileTasks);
     }
 }
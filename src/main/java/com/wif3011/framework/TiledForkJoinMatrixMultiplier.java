@@ -1,93 +1,113 @@
 package com.wif3011.framework;
 
-import java.util.concurrent.ForkJoinPool;
+import com.wif3011.concurrent.ExecutionEngine;
+
 import java.util.concurrent.RecursiveAction;
 
 /**
  * Matrix multiplier using ForkJoin framework with tiled multiplication.
+ * <p>
+ * It does not use a {@link TileScheduler}: halving the longer side of the range already keeps every stolen subtask
+ * a compact block of tiles, which is what the curve orders give the other drivers, so the tile order is ignored.
+ * A config thread count below the engine's parallelism caps how many subtasks are forked, so that a product never
+ * occupies more than that many of the engine's workers.
  */
 public class TiledForkJoinMatrixMultiplier extends TiledMatrixMultiplier {
 
-    @Override
-    protected int[][] safeMultiply(int[][] leftMatrix, int[][] rightMatrix) {
-        final int[][] resultMatrix = new int[leftMatrixRows][rightMatrixCols];
-
-        try (ForkJoinPool pool = ForkJoinPool.commonPool()) {
-            pool.submit(new ForkJoinMultiplyTask(
-                leftMatrix, rightMatrix, resultMatrix,
-                0, leftMatrixRows,
-                0, rightMatrixCols,
-                sharedDimension
-            )).get();
-        } catch (Exception e) {
-            Thread.currentThread().interrupt();
-        }
+    public TiledForkJoinMatrixMultiplier() {
+        super();
+    }
+
+    public TiledForkJoinMatrixMultiplier(TileKernel kernel) {
+        super(kernel);
+    }
 
-        return resultMatrix;
+    public TiledForkJoinMatrixMultiplier(TileConfig config) {
+        super(config, DEFAULT_KERNEL);
     }
 
-    private static class ForkJoinMultiplyTask extends RecursiveAction {
-        private final int[][] leftMatrix;
-        private final int[][] rightMatrix;
-        private final int[][] resultMatrix;
+    public TiledForkJoinMatrixMultiplier(TileConfig config, TileKernel kernel) {
+        super(config, kernel);
+    }
+
+    public TiledForkJoinMatrixMultiplier(TileConfig config, TileKernel kernel, ExecutionEngine engine) {
+        super(config, kernel, engine);
+    }
+
+    @Override
+    protected void forEachTile(TileGrid grid, TileTask task) {
+        engine.invoke(new ForkJoinMultiplyTask(
+            grid, task,
+            0, grid.rows(),
+            0, grid.cols(),
+            threadCount() < engine.parallelism() ? threadCount() : Integer.MAX_VALUE
+        ));
+    }
+
+    private class ForkJoinMultiplyTask extends RecursiveAction {
+        private final TileGrid grid;
+        private final TileTask task;
 
         private final int tileRowStart;
         private final int tileRowEnd;
         private final int tileColStart;
         private final int tileColEnd;
 
-        private final int sharedDimension;
+        /** Subtasks this range may still be spread over; with one left, it is computed on the current thread. */
+        private final int branches;
 
         ForkJoinMultiplyTask(
-            int[][] leftMatrix, int[][] rightMatrix, int[][] resultMatrix,
+            TileGrid grid, TileTask task,
             int tileRowStart, int tileRowEnd,
             int tileColStart, int tileColEnd,
-            int sharedDimension) {
-            this.leftMatrix = leftMatrix;
-            this.rightMatrix = rightMatrix;
-            this.resultMatrix = resultMatrix;
+            int branches) {
+            this.grid = grid;
+            this.task = task;
             this.tileRowStart = tileRowStart;
             this.tileRowEnd = tileRowEnd;
             this.tileColStart = tileColStart;
             this.tileColEnd = tileColEnd;
-            this.sharedDimension = sharedDimension;
+            this.branches = branches;
         }
 
         @Override
         protected void compute() {
+            // Prunes whole ranges the grid leaves out, e.g. below the diagonal of a symmetric result
+            if (!grid.covers(tileRowStart, tileRowEnd, tileColStart, tileColEnd)) {
+                return;
+            }
+
             final int rowTileCount = tileRowEnd - tileRowStart;
             final int colTileCount = tileColEnd - tileColStart;
 
-            if (rowTileCount <= ROW_BLOCK && colTileCount <= COL_BLOCK) {
-                multiplyTile(
-                    leftMatrix, rightMatrix, resultMatrix,
-                    tileRowStart, tileRowEnd,
-                    tileColStart, tileColEnd,
-                    sharedDimension
-                );
+            if (rowTileCount <= rowBlock && colTileCount <= colBlock) {
+                task.compute(tileRowStart, tileRowEnd, tileColStart, tileColEnd);
                 return;
             }
 
+            final ForkJoinMultiplyTask first;
+            final ForkJoinMultiplyTask second;
+            final int firstBranches = branches == 1 ? 1 : branches / 2;
+            final int secondBranches = branches == 1 ? 1 : branches - firstBranches;
             if (rowTileCount >= colTileCount) {
                 final int midTileRow = (tileRowStart + tileRowEnd) >>> 1;
-                invokeAll(
-                    new ForkJoinMultiplyTask(leftMatrix, rightMatrix, resultMatrix,
-                        tileRowStart, midTileRow, tileColStart, tileColEnd,
-                        sharedDimension),
-                    new ForkJoinMultiplyTask(leftMatrix, rightMatrix, resultMatrix,
-                        midTileRow, tileRowEnd, tileColStart, tileColEnd,
-                        sharedDimension)
-                );
+                first = new ForkJoinMultiplyTask(grid, task,
+                    tileRowStart, midTileRow, tileColStart, tileColEnd, firstBranches);
+                second = new ForkJoinMultiplyTask(grid, task,
+                    midTileRow, tileRowEnd, tileColStart, tileColEnd, secondBranches);
             } else {
                 final int midTileCol = (tileColStart + tileColEnd) >>> 1;
-                invokeAll(
-                    new ForkJoinMultiplyTask(leftMatrix, rightMatrix, resultMatrix,
-                        tileRowStart, tileRowEnd, tileColStart, midTileCol,
-                        sharedDimension),
-                    new ForkJoinMultiplyTask(leftMatrix, rightMatrix, resultMatrix,
-                        tileRowStart, tileRowEnd, midTileCol, tileColEnd,
-                        sharedDimension)
-                );
+                first = new ForkJoinMultiplyTask(grid, task,
+                    tileRowStart, tileRowEnd, tileColStart, midTileCol, firstBranches);
+                second = new ForkJoinMultiplyTask(grid, task,
+                    tileRowStart, tileRowEnd, midTileCol, tileColEnd, secondBranches);
+            }
+
+            if (branches == 1) {
+                first.compute();
+                second.compute();
+            } else {
+                invokeAll(first, second);
             }
         }
     }
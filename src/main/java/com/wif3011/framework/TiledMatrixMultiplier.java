@@ -1,32 +1,121 @@
 package com.wif3011.framework;
 
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.metrics.TileMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
 public abstract class TiledMatrixMultiplier extends MatrixMultiplier {
+    /** The scalar row-streaming kernel below, used unless another kernel is supplied. */
+    protected static final TileKernel DEFAULT_KERNEL = TiledMatrixMultiplier::multiplyTile;
+
+    /** Shared-dimension slices shallower than this are not worth a partial result of their own. */
+    public static final int MIN_SPLIT_DEPTH = 256;
+
+    /** Side of the square blocks in which symmetric results are transposed and mirrored. */
+    private static final int SYMMETRY_BLOCK = 64;
+
+    /** Computes each tile; the subclass only decides which thread runs it. */
+    protected final TileKernel kernel;
+
+    /** Tile geometry and thread count of this instance. */
+    protected final TileConfig config;
+
+    /** Number of rows in each tile. */
+    protected final int rowBlock;
+
+    /** Number of columns in each tile. */
+    protected final int colBlock;
+
+    /** Worker threads the tiles run on; shared with other multipliers rather than owned. */
+    protected final ExecutionEngine engine;
+
+    /** Order in which drivers that hand out tiles dynamically visit them. */
+    protected final TileOrder tileOrder;
+
     /**
-     * Size of each tile (both width and height) in elements.
+     * Work to be done for one tile of the result matrix, given as half-open row and column ranges.
      */
-    protected static final int BLOCK_SIZE = 64;
+    @FunctionalInterface
+    public interface TileTask {
+        void compute(int tileRowStart, int tileRowEnd, int tileColStart, int tileColEnd);
+    }
 
-    /** Log₂ of BLOCK_SIZE, used for fast shift-based multiplication/division. */
-    protected static final int BLOCK_SIZE_LOG2 = 6;
+    /**
+     * Told about every result tile as soon as it is final, from whichever worker computed it.
+     * Calls for different tiles can arrive concurrently and in any order.
+     */
+    @FunctionalInterface
+    public interface TileListener {
+        void tileCompleted(IntMatrix resultMatrix, int tileRowStart, int tileRowEnd, int tileColStart, int tileColEnd);
+    }
+
+    protected TiledMatrixMultiplier() {
+        this(TileConfig.DEFAULT, DEFAULT_KERNEL);
+    }
+
+    protected TiledMatrixMultiplier(TileKernel kernel) {
+        this(TileConfig.DEFAULT, kernel);
+    }
+
+    /**
+     * Uses the process-wide engine, or the shared engine with the config's thread count if it pins one.
+     */
+    protected TiledMatrixMultiplier(TileConfig config, TileKernel kernel) {
+        this(config, kernel, config != null && config.threadCount() > 0
+            ? ExecutionEngine.shared(config.threadCount())
+            : ExecutionEngine.shared());
+    }
 
-    /** Number of rows in each tile (equals BLOCK_SIZE). */
-    protected static final int ROW_BLOCK = BLOCK_SIZE;
+    protected TiledMatrixMultiplier(TileConfig config, TileKernel kernel, ExecutionEngine engine) {
+        this(config, kernel, engine, TileOrder.HILBERT);
+    }
 
-    /** Number of columns in each tile (equals BLOCK_SIZE). */
-    protected static final int COL_BLOCK = BLOCK_SIZE;
+    protected TiledMatrixMultiplier(TileConfig config, TileKernel kernel, ExecutionEngine engine, TileOrder tileOrder) {
+        if (config == null) {
+            throw new IllegalArgumentException("Tile config cannot be null");
+        }
+        if (kernel == null) {
+            throw new IllegalArgumentException("Tile kernel cannot be null");
+        }
+        if (engine == null) {
+            throw new IllegalArgumentException("Execution engine cannot be null");
+        }
+        if (tileOrder == null) {
+            throw new IllegalArgumentException("Tile order cannot be null");
+        }
+        this.config = config;
+        this.engine = engine;
+        this.kernel = kernel;
+        this.rowBlock = config.rowBlock();
+        this.colBlock = config.colBlock();
+        this.tileOrder = tileOrder;
+    }
 
-    /** How many row-tiles are needed to cover the entire matrix vertically. */
-    protected int rowTileCount;
+    public TileConfig getConfig() {
+        return config;
+    }
 
-    /** How many column-tiles are needed to cover the entire matrix horizontally. */
-    protected int colTileCount;
+    public TileOrder getTileOrder() {
+        return tileOrder;
+    }
 
+    @Override
+    public ExecutionEngine getEngine() {
+        return engine;
+    }
 
     protected static void multiplyTile(
-        int[][] leftMatrix, int[][] rightMatrix, int[][] resultMatrix,
+        IntMatrix leftMatrix, IntMatrix rightMatrix, IntMatrix resultMatrix,
         int tileRowStart, int tileRowEnd,
         int tileColStart, int tileColEnd,
-        int sharedDimension
+        int sharedDimension,
+        int alpha
     ) {
         // This multiplyTile method still calculates the value result[row][col] correctly,
         // but with a different method: it processes the data in right matrix row by row rather than column by column.
@@ -41,30 +130,541 @@ public abstract class TiledMatrixMultiplier extends MatrixMultiplier {
         //         }
         //     }
         // to calculate the value, but this will be less efficient than the original method.
+        final int[] left = leftMatrix.data();
+        final int[] right = rightMatrix.data();
+        final int[] result = resultMatrix.data();
+        final int rightStride = rightMatrix.stride();
+
         for (int row = tileRowStart; row < tileRowEnd; row++) {
-            // Several tests show that this is more efficient when these variables are declared here.
-            // Inlining them is, in fact, equivalent to:
-            //     result[row][col] = result[row][col] + leftMatrix[row][k] * rightMatrix[k][col];
-            int[] resultRow = resultMatrix[row];
-            for (int k = 0; k < sharedDimension; k++) {
-                int leftValue = leftMatrix[row][k];
-                int[] rightRow = rightMatrix[k];
+            // All three matrices share one backing array each, so a "row" is just a base index.
+            // Compared with int[][], this saves a row-pointer load and its bounds check for every k.
+            final int resultBase = resultMatrix.index(row, 0);
+            final int leftBase = leftMatrix.index(row, 0);
+            int rightBase = rightMatrix.index(0, 0);
+            for (int k = 0; k < sharedDimension; k++, rightBase += rightStride) {
+                // Scaling the left operand here costs one multiply per k, not one per element
+                final int leftValue = alpha * left[leftBase + k];
                 for (int col = tileColStart; col < tileColEnd; col++) {
-                    resultRow[col] += leftValue * rightRow[col];
+                    result[resultBase + col] += leftValue * right[rightBase + col];
                 }
             }
         }
     }
 
+    /**
+     * Multiplies like {@link #multiply(IntMatrix, IntMatrix)}, calling {@code listener} for each finished tile while
+     * the others are still being computed, e.g. to stream the result to a file.
+     */
+    public final IntMatrix multiply(IntMatrix leftMatrix, IntMatrix rightMatrix, TileListener listener) {
+        checkMetrics(leftMatrix, rightMatrix);
+        if (listener == null) {
+            throw new IllegalArgumentException("Tile listener cannot be null");
+        }
+        final IntMatrix resultMatrix = new IntMatrix(leftMatrix.rows(), rightMatrix.cols());
+        // A fresh buffer is already zero, so accumulate onto it without a beta pass
+        gemmTiles(1, leftMatrix, rightMatrix, 1, resultMatrix, listener);
+        return resultMatrix;
+    }
+
     @Override
-    protected void setup(int[][] leftMatrix, int[][] rightMatrix) {
-        super.setup(leftMatrix, rightMatrix);
-        // Ceiling division, equivalent to Math.ceil((double) leftMatrixRows / ROW_BLOCK),
-        // i.e., the number of row-tiles needed to cover the matrix vertically.
-        rowTileCount = (leftMatrixRows + ROW_BLOCK - 1) / ROW_BLOCK;
-
-        // Ceiling division, equivalent to Math.ceil((double) rightMatrixCols / COL_BLOCK),
-        // i.e., the number of column-tiles needed to cover the matrix horizontally.
-        colTileCount = (rightMatrixCols + COL_BLOCK - 1) / COL_BLOCK;
+    protected void safeGemm(int alpha, IntMatrix leftMatrix, IntMatrix rightMatrix, int beta, IntMatrix resultMatrix) {
+        gemmTiles(alpha, leftMatrix, rightMatrix, beta, resultMatrix, null);
+    }
+
+    private void gemmTiles(
+        int alpha, IntMatrix leftMatrix, IntMatrix rightMatrix, int beta, IntMatrix resultMatrix, TileListener listener) {
+        final int sharedDimension = leftMatrix.cols();
+
+        // A listener must see final tiles, which split-K only has after the reduction
+        final int parts = listener == null
+            ? splitParts(tileGrid(resultMatrix).tileCount(), threadCount(), sharedDimension)
+            : 1;
+        if (parts > 1) {
+            gemmSplitK(alpha, leftMatrix, rightMatrix, beta, resultMatrix, parts);
+            return;
+        }
+
+        final TileTask task = (tileRowStart, tileRowEnd, tileColStart, tileColEnd) -> {
+            // Scaling tile by tile keeps the beta pass on the same thread, and in cache, as the accumulation
+            scale(resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd, beta);
+            kernel.multiplyTile(
+                leftMatrix, rightMatrix, resultMatrix,
+                tileRowStart, tileRowEnd,
+                tileColStart, tileColEnd,
+                sharedDimension,
+                alpha
+            );
+            if (listener != null) {
+                listener.tileCompleted(resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd);
+            }
+        };
+
+        runProduct(tileGrid(resultMatrix), sharedDimension, task);
+    }
+
+    /**
+     * Into how many slices of the shared dimension a product with {@code tiles} result tiles is cut for
+     * {@code threads} workers; 1 means no split.
+     * <p>
+     * Output tiles are the only parallelism of the plain drivers, so with fewer tiles than workers (a 64×64 result
+     * of a product with a huge k is a single tile) the rest of the workers would idle. Cutting k into slices gives
+     * every tile several independent partial products, enough for all the workers, as long as each slice stays at
+     * least {@link #MIN_SPLIT_DEPTH} deep.
+     */
+    static int splitParts(int tiles, int threads, int sharedDimension) {
+        if (tiles >= threads) {
+            return 1;
+        }
+        return Math.max(1, Math.min((threads + tiles - 1) / tiles, sharedDimension / MIN_SPLIT_DEPTH));
+    }
+
+    /**
+     * Split-K: slice p of the shared dimension is multiplied into its own partial result, every (slice, tile) pair
+     * as a separate task, and the partials are then summed pairwise in log2(parts) rounds. Slice 0 accumulates
+     * straight into the result, which is why the beta pass happens there. With {@link TileMetrics} enabled, every
+     * (slice, tile) unit and every band of the reduction is timed as a tile of the same run.
+     */
+    private void gemmSplitK(
+        int alpha, IntMatrix leftMatrix, IntMatrix rightMatrix, int beta, IntMatrix resultMatrix, int parts) {
+        final int rows = resultMatrix.rows();
+        final int cols = resultMatrix.cols();
+        final int sharedDimension = leftMatrix.cols();
+        final TileGrid grid = tileGrid(resultMatrix);
+        final TileMetrics.Run metrics = TileMetrics.start(getClass().getSimpleName(), engine.pool(),
+            rows, sharedDimension, cols);
+
+        final IntMatrix[] partials = new IntMatrix[parts];
+        partials[0] = resultMatrix;
+        for (int part = 1; part < parts; part++) {
+            partials[part] = new IntMatrix(rows, cols);
+        }
+
+        final List<Callable<Void>> units = new ArrayList<>(parts * grid.tileCount());
+        for (int part = 0; part < parts; part++) {
+            final int kStart = (int) ((long) sharedDimension * part / parts);
+            final int depth = (int) ((long) sharedDimension * (part + 1) / parts) - kStart;
+            final IntMatrix leftSlice = leftMatrix.view(0, kStart, rows, depth);
+            final IntMatrix rightSlice = rightMatrix.view(kStart, 0, depth, cols);
+            final IntMatrix partial = partials[part];
+            final boolean first = part == 0;
+
+            for (int tileRow = 0; tileRow < grid.rowTileCount(); tileRow++) {
+                for (int tileCol = 0; tileCol < grid.colTileCount(); tileCol++) {
+                    final int tileRowStart = grid.tileRowStart(tileRow);
+                    final int tileRowEnd = grid.tileRowEnd(tileRow);
+                    final int tileColStart = grid.tileColStart(tileCol);
+                    final int tileColEnd = grid.tileColEnd(tileCol);
+                    units.add(() -> {
+                        timed(metrics, tileRowStart, tileRowEnd, tileColStart, tileColEnd, () -> {
+                            if (first) {
+                                scale(resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd, beta);
+                            }
+                            kernel.multiplyTile(
+                                leftSlice, rightSlice, partial,
+                                tileRowStart, tileRowEnd,
+                                tileColStart, tileColEnd,
+                                depth,
+                                alpha
+                            );
+                        });
+                        return null;
+                    });
+                }
+            }
+        }
+        invokeAll(units);
+
+        // Tree reduction: in the round with a given stride, partial i absorbs partial i + stride.
+        // Fewer pairs remain each round, so each pair is cut into row bands to keep every worker busy.
+        final int threads = threadCount();
+        for (int stride = 1; stride < parts; stride *= 2) {
+            final int pairs = (parts - stride + 2 * stride - 1) / (2 * stride);
+            final int bands = Math.max(1, Math.min(rows, threads / pairs));
+            final List<Callable<Void>> sums = new ArrayList<>(pairs * bands);
+            for (int target = 0; target + stride < parts; target += 2 * stride) {
+                final IntMatrix into = partials[target];
+                final IntMatrix from = partials[target + stride];
+                for (int band = 0; band < bands; band++) {
+                    final int rowStart = (int) ((long) rows * band / bands);
+                    final int rowEnd = (int) ((long) rows * (band + 1) / bands);
+                    sums.add(() -> {
+                        timed(metrics, rowStart, rowEnd, 0, cols, () -> addRows(into, from, rowStart, rowEnd));
+                        return null;
+                    });
+                }
+            }
+            invokeAll(sums);
+        }
+        if (metrics != null) {
+            metrics.finish();
+        }
+    }
+
+    /**
+     * Runs every unit on the engine and waits for them. With a config thread count below the engine's parallelism,
+     * that many claimers take the units one at a time instead, so no more workers than that are ever busy.
+     */
+    private void invokeAll(List<Callable<Void>> units) {
+        final int threads = threadCount();
+        if (threads >= engine.parallelism() || threads >= units.size()) {
+            engine.invokeAll(units);
+            return;
+        }
+        final AtomicInteger next = new AtomicInteger();
+        final List<Callable<Void>> claimers = new ArrayList<>(threads);
+        for (int claimer = 0; claimer < threads; claimer++) {
+            claimers.add(() -> {
+                for (int unit = next.getAndIncrement(); unit < units.size(); unit = next.getAndIncrement()) {
+                    units.get(unit).call();
+                }
+                return null;
+            });
+        }
+        engine.invokeAll(claimers);
+    }
+
+    /**
+     * Runs {@code unit}, which covers the given range of the result, as a timed tile of {@code metrics} when it is
+     * recording.
+     */
+    private static void timed(
+        TileMetrics.Run metrics, int tileRowStart, int tileRowEnd, int tileColStart, int tileColEnd, Runnable unit) {
+        if (metrics == null) {
+            unit.run();
+        } else {
+            metrics.time(tileRowStart, tileRowEnd, tileColStart, tileColEnd, unit);
+        }
+    }
+
+    /**
+     * into[rowStart..rowEnd) += from[rowStart..rowEnd).
+     */
+    private static void addRows(IntMatrix into, IntMatrix from, int rowStart, int rowEnd) {
+        final int[] target = into.data();
+        final int[] source = from.data();
+        final int cols = into.cols();
+        for (int row = rowStart; row < rowEnd; row++) {
+            final int targetBase = into.index(row, 0);
+            final int sourceBase = from.index(row, 0);
+            for (int col = 0; col < cols; col++) {
+                target[targetBase + col] += source[sourceBase + col];
+            }
+        }
+    }
+
+    /**
+     * Multiplies like {@link #multiply(IntMatrix, IntMatrix)} by a right matrix packed in advance, so that repeated
+     * products with the same B skip packing it. The tiles are computed by the {@link PackedTileKernel} that prepared
+     * B, on this instance's tile geometry, driver and engine.
+     */
+    public final IntMatrix multiply(IntMatrix leftMatrix, PreparedMatrix rightMatrix) {
+        checkPrepared(leftMatrix, rightMatrix);
+        final IntMatrix resultMatrix = new IntMatrix(leftMatrix.rows(), rightMatrix.cols());
+        // A fresh buffer is already zero, so accumulate onto it without a beta pass
+        gemmPrepared(1, leftMatrix, rightMatrix, 1, resultMatrix);
+        return resultMatrix;
+    }
+
+    public final int[][] multiply(int[][] leftMatrix, PreparedMatrix rightMatrix) {
+        if (leftMatrix == null || leftMatrix.length == 0) {
+            throw new IllegalArgumentException("Matrices cannot be null or empty");
+        }
+        return multiply(IntMatrix.of(leftMatrix), rightMatrix).toArray();
+    }
+
+    /**
+     * resultMatrix = alpha · leftMatrix · rightMatrix + beta · resultMatrix, as {@link #gemm} but with a prepared B.
+     */
+    public final IntMatrix gemm(int alpha, IntMatrix leftMatrix, PreparedMatrix rightMatrix, int beta,
+                                IntMatrix resultMatrix) {
+        checkPrepared(leftMatrix, rightMatrix);
+        if (resultMatrix == null) {
+            throw new IllegalArgumentException("Result matrix cannot be null");
+        }
+        if (resultMatrix.rows() != leftMatrix.rows() || resultMatrix.cols() != rightMatrix.cols()) {
+            throw new IllegalArgumentException("Result matrix must be " + leftMatrix.rows() + "x" + rightMatrix.cols()
+                + " but is " + resultMatrix.rows() + "x" + resultMatrix.cols());
+        }
+        if (resultMatrix.data() == leftMatrix.data()) {
+            throw new IllegalArgumentException("Result matrix cannot share storage with an input matrix");
+        }
+        if (alpha == 0) {
+            scale(resultMatrix, 0, resultMatrix.rows(), 0, resultMatrix.cols(), beta);
+            return resultMatrix;
+        }
+        gemmPrepared(alpha, leftMatrix, rightMatrix, beta, resultMatrix);
+        return resultMatrix;
+    }
+
+    private void gemmPrepared(
+        int alpha, IntMatrix leftMatrix, PreparedMatrix rightMatrix, int beta, IntMatrix resultMatrix) {
+        final PackedTileKernel packed = rightMatrix.kernel();
+        runProduct(tileGrid(resultMatrix), leftMatrix.cols(), (tileRowStart, tileRowEnd, tileColStart, tileColEnd) -> {
+            scale(resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd, beta);
+            packed.multiplyTile(
+                leftMatrix, rightMatrix, resultMatrix,
+                tileRowStart, tileRowEnd,
+                tileColStart, tileColEnd,
+                alpha
+            );
+        });
+    }
+
+    private static void checkPrepared(IntMatrix leftMatrix, PreparedMatrix rightMatrix) {
+        if (leftMatrix == null || rightMatrix == null || leftMatrix.rows() == 0) {
+            throw new IllegalArgumentException("Matrices cannot be null or empty");
+        }
+        if (leftMatrix.cols() != rightMatrix.rows()) {
+            throw new IllegalArgumentException("Number of columns in Matrix A must be equal to number of rows in Matrix B");
+        }
+    }
+
+    /**
+     * Symmetric rank-k product, the Gram matrix {@code matrixA · matrixAᵀ}.
+     * <p>
+     * The result is symmetric, so only the tiles on and above the diagonal are computed, from a transposed copy of
+     * A; the lower triangle is then mirrored from the upper one. That is about half the multiply-adds of
+     * {@code multiply(matrixA, transpose(matrixA))}.
+     */
+    public final IntMatrix syrk(IntMatrix matrixA) {
+        checkSyrk(matrixA);
+        final IntMatrix resultMatrix = new IntMatrix(matrixA.rows(), matrixA.rows());
+        // A fresh buffer is already zero, so accumulate onto it without a beta pass
+        syrkTiles(1, matrixA, 1, resultMatrix);
+        return resultMatrix;
+    }
+
+    /**
+     * resultMatrix = alpha · matrixA · matrixAᵀ + beta · resultMatrix, like {@link #syrk(IntMatrix)}. Only the upper
+     * triangle of the old contents is used; the lower triangle is overwritten with the mirror of the upper one.
+     */
+    public final IntMatrix syrk(int alpha, IntMatrix matrixA, int beta, IntMatrix resultMatrix) {
+        checkSyrk(matrixA);
+        if (resultMatrix == null) {
+            throw new IllegalArgumentException("Result matrix cannot be null");
+        }
+        if (resultMatrix.rows() != matrixA.rows() || resultMatrix.cols() != matrixA.rows()) {
+            throw new IllegalArgumentException("Result matrix must be " + matrixA.rows() + "x" + matrixA.rows()
+                + " but is " + resultMatrix.rows() + "x" + resultMatrix.cols());
+        }
+        if (resultMatrix.data() == matrixA.data()) {
+            throw new IllegalArgumentException("Result matrix cannot share storage with an input matrix");
+        }
+        if (alpha == 0) {
+            scale(resultMatrix, 0, resultMatrix.rows(), 0, resultMatrix.cols(), beta);
+            mirrorUpper(resultMatrix);
+            return resultMatrix;
+        }
+        syrkTiles(alpha, matrixA, beta, resultMatrix);
+        return resultMatrix;
+    }
+
+    private void syrkTiles(int alpha, IntMatrix matrixA, int beta, IntMatrix resultMatrix) {
+        final IntMatrix transposed = transpose(matrixA);
+        final int sharedDimension = matrixA.cols();
+
+        // Tiles straddling the diagonal are computed whole; their lower part is overwritten by the mirror anyway
+        runProduct(tileGrid(resultMatrix).upper(), sharedDimension,
+            (tileRowStart, tileRowEnd, tileColStart, tileColEnd) -> {
+                scale(resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd, beta);
+                kernel.multiplyTile(
+                    matrixA, transposed, resultMatrix,
+                    tileRowStart, tileRowEnd,
+                    tileColStart, tileColEnd,
+                    sharedDimension,
+                    alpha
+                );
+            });
+        mirrorUpper(resultMatrix);
+    }
+
+    private static void checkSyrk(IntMatrix matrixA) {
+        if (matrixA == null || matrixA.rows() == 0 || matrixA.cols() == 0) {
+            throw new IllegalArgumentException("Matrices cannot be null or empty");
+        }
+    }
+
+    /**
+     * {@code triangularMatrix × matrixB} for a square triangular left factor.
+     * <p>
+     * Row i of an upper triangular factor is zero before column i, so each result tile only needs the part of the
+     * shared dimension from its first row on (up to its last row for a lower one). The blocks of zeros are never
+     * read or multiplied, which is about half of the work. Entries on the zero side of the diagonal must be zero:
+     * the ones next to the diagonal are multiplied like any other.
+     */
+    public final IntMatrix trmm(Triangle triangle, IntMatrix triangularMatrix, IntMatrix matrixB) {
+        checkTriangular(triangle, triangularMatrix);
+        checkMetrics(triangularMatrix, matrixB);
+        final int order = triangularMatrix.rows();
+        final IntMatrix resultMatrix = new IntMatrix(order, matrixB.cols());
+
+        runProduct(tileGrid(resultMatrix), order, (tileRowStart, tileRowEnd, tileColStart, tileColEnd) -> {
+            final int kStart = triangle == Triangle.UPPER ? tileRowStart : 0;
+            final int kEnd = triangle == Triangle.UPPER ? order : tileRowEnd;
+            multiplyDepth(triangularMatrix, matrixB, resultMatrix,
+                tileRowStart, tileRowEnd, tileColStart, tileColEnd, kStart, kEnd);
+        });
+        return resultMatrix;
+    }
+
+    /**
+     * {@code matrixA × triangularMatrix} for a square triangular right factor. Column j of an upper triangular
+     * factor is zero after row j, so each result tile only needs the shared dimension up to its last column (from
+     * its first column on for a lower one); see {@link #trmm(Triangle, IntMatrix, IntMatrix)}.
+     */
+    public final IntMatrix trmm(IntMatrix matrixA, Triangle triangle, IntMatrix triangularMatrix) {
+        checkTriangular(triangle, triangularMatrix);
+        checkMetrics(matrixA, triangularMatrix);
+        final int order = triangularMatrix.rows();
+        final IntMatrix resultMatrix = new IntMatrix(matrixA.rows(), order);
+
+        runProduct(tileGrid(resultMatrix), order, (tileRowStart, tileRowEnd, tileColStart, tileColEnd) -> {
+            final int kStart = triangle == Triangle.UPPER ? 0 : tileColStart;
+            final int kEnd = triangle == Triangle.UPPER ? tileColEnd : order;
+            multiplyDepth(matrixA, triangularMatrix, resultMatrix,
+                tileRowStart, tileRowEnd, tileColStart, tileColEnd, kStart, kEnd);
+        });
+        return resultMatrix;
+    }
+
+    /**
+     * Adds the contribution of shared indices [kStart, kEnd) to one tile, through views like split-K's slices.
+     */
+    private void multiplyDepth(
+        IntMatrix leftMatrix, IntMatrix rightMatrix, IntMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd, int tileColStart, int tileColEnd, int kStart, int kEnd) {
+        final int depth = kEnd - kStart;
+        kernel.multiplyTile(
+            leftMatrix.view(0, kStart, leftMatrix.rows(), depth),
+            rightMatrix.view(kStart, 0, depth, rightMatrix.cols()),
+            resultMatrix,
+            tileRowStart, tileRowEnd,
+            tileColStart, tileColEnd,
+            depth,
+            1
+        );
+    }
+
+    private static void checkTriangular(Triangle triangle, IntMatrix triangularMatrix) {
+        if (triangle == null) {
+            throw new IllegalArgumentException("Triangle cannot be null");
+        }
+        if (triangularMatrix != null && triangularMatrix.rows() != triangularMatrix.cols()) {
+            throw new IllegalArgumentException("Triangular matrix must be square but is "
+                + triangularMatrix.rows() + "x" + triangularMatrix.cols());
+        }
+    }
+
+    /**
+     * A transposed copy, written in parallel square blocks of {@link #SYMMETRY_BLOCK} so both sides stay in cache.
+     */
+    private IntMatrix transpose(IntMatrix matrix) {
+        final IntMatrix transposed = new IntMatrix(matrix.cols(), matrix.rows());
+        final int[] source = matrix.data();
+        final int[] target = transposed.data();
+        final int bands = (transposed.rows() + SYMMETRY_BLOCK - 1) / SYMMETRY_BLOCK;
+        engine.run(() -> IntStream.range(0, bands).parallel().forEach(band -> {
+            final int rowStart = band * SYMMETRY_BLOCK;
+            final int rowEnd = Math.min(transposed.rows(), rowStart + SYMMETRY_BLOCK);
+            for (int colStart = 0; colStart < transposed.cols(); colStart += SYMMETRY_BLOCK) {
+                final int colEnd = Math.min(transposed.cols(), colStart + SYMMETRY_BLOCK);
+                for (int row = rowStart; row < rowEnd; row++) {
+                    final int targetBase = transposed.index(row, 0);
+                    for (int col = colStart; col < colEnd; col++) {
+                        target[targetBase + col] = source[matrix.index(col, row)];
+                    }
+                }
+            }
+        }));
+        return transposed;
+    }
+
+    /**
+     * Copies the upper triangle of a square matrix onto the lower one, in parallel row bands read back block by
+     * block. Each lower element is written from a distinct upper one, so the bands never conflict.
+     */
+    private void mirrorUpper(IntMatrix matrix) {
+        final int[] data = matrix.data();
+        final int bands = (matrix.rows() + SYMMETRY_BLOCK - 1) / SYMMETRY_BLOCK;
+        engine.run(() -> IntStream.range(0, bands).parallel().forEach(band -> {
+            final int rowStart = band * SYMMETRY_BLOCK;
+            final int rowEnd = Math.min(matrix.rows(), rowStart + SYMMETRY_BLOCK);
+            for (int colStart = 0; colStart < rowEnd; colStart += SYMMETRY_BLOCK) {
+                for (int row = rowStart; row < rowEnd; row++) {
+                    final int base = matrix.index(row, 0);
+                    final int colEnd = Math.min(row, colStart + SYMMETRY_BLOCK);
+                    for (int col = colStart; col < colEnd; col++) {
+                        data[base + col] = data[matrix.index(col, row)];
+                    }
+                }
+            }
+        }));
+    }
+
+    /**
+     * Runs {@code task} over the covered tiles of {@code grid}, timing each tile when {@link TileMetrics} is enabled.
+     */
+    private void runProduct(TileGrid grid, int sharedDimension, TileTask task) {
+        final TileMetrics.Run metrics = TileMetrics.start(getClass().getSimpleName(), engine.pool(),
+            grid.rows(), sharedDimension, grid.cols());
+        if (metrics == null) {
+            forEachTile(grid, task);
+            return;
+        }
+        forEachTile(grid, (tileRowStart, tileRowEnd, tileColStart, tileColEnd) ->
+            metrics.time(tileRowStart, tileRowEnd, tileColStart, tileColEnd,
+                () -> task.compute(tileRowStart, tileRowEnd, tileColStart, tileColEnd)));
+        metrics.finish();
+    }
+
+    /**
+     * Walks the same tiles with the same kernel, but on the calling thread.
+     */
+    @Override
+    protected IntMatrix safeMultiplySerial(IntMatrix leftMatrix, IntMatrix rightMatrix) {
+        final IntMatrix resultMatrix = new IntMatrix(leftMatrix.rows(), rightMatrix.cols());
+        final TileGrid grid = tileGrid(resultMatrix);
+
+        for (int tileRow = 0; tileRow < grid.rowTileCount(); tileRow++) {
+            for (int tileCol = 0; tileCol < grid.colTileCount(); tileCol++) {
+                kernel.multiplyTile(
+                    leftMatrix, rightMatrix, resultMatrix,
+                    grid.tileRowStart(tileRow), grid.tileRowEnd(tileRow),
+                    grid.tileColStart(tileCol), grid.tileColEnd(tileCol),
+                    leftMatrix.cols(),
+                    1
+                );
+            }
+        }
+
+        return resultMatrix;
+    }
+
+    /**
+     * Runs {@code task} once for every tile of a rows×cols result, with this instance's tile geometry, driver and
+     * engine. Lets multipliers of other element types reuse the scheduling without duplicating it.
+     */
+    public final void runTiles(int rows, int cols, TileTask task) {
+        forEachTile(new TileGrid(rows, cols, rowBlock, colBlock), task);
+    }
+
+    /**
+     * Runs {@code task} exactly once for every tile of {@code grid} it {@linkplain TileGrid#covers covers}.
+     * Subclasses decide how the tiles are distributed across threads.
+     */
+    protected abstract void forEachTile(TileGrid grid, TileTask task);
+
+    /**
+     * Cuts a result matrix into this instance's tiles.
+     */
+    protected TileGrid tileGrid(IntMatrix resultMatrix) {
+        return new TileGrid(resultMatrix.rows(), resultMatrix.cols(), rowBlock, colBlock);
+    }
+
+    /**
+     * Number of workers to split the tiles across: the config's thread count, or the engine's parallelism.
+     */
+    protected int threadCount() {
+        return config.threadCount() > 0 ? config.threadCount() : engine.parallelism();
     }
 }
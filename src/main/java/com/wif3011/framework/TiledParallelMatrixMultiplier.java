@@ -1,38 +1,47 @@
 package com.wif3011.framework;
 
+import com.wif3011.concurrent.ExecutionEngine;
+
 import java.util.stream.IntStream;
 
+/**
+ * Matrix multiplier running the tiles as a parallel stream over their positions along its {@link TileOrder}.
+ */
 public class TiledParallelMatrixMultiplier extends TiledMatrixMultiplier {
 
+    public TiledParallelMatrixMultiplier() {
+        super();
+    }
+
+    public TiledParallelMatrixMultiplier(TileKernel kernel) {
+        super(kernel);
+    }
+
+    public TiledParallelMatrixMultiplier(TileConfig config) {
+        super(config, DEFAULT_KERNEL);
+    }
+
+    public TiledParallelMatrixMultiplier(TileConfig config, TileKernel kernel) {
+        super(config, kernel);
+    }
+
+    public TiledParallelMatrixMultiplier(TileConfig config, TileKernel kernel, ExecutionEngine engine) {
+        super(config, kernel, engine);
+    }
+
+    public TiledParallelMatrixMultiplier(TileConfig config, TileKernel kernel, ExecutionEngine engine, TileOrder tileOrder) {
+        super(config, kernel, engine, tileOrder);
+    }
+
     @Override
-    protected int[][] safeMultiply(int[][] leftMatrix, int[][] rightMatrix) {
-        final int[][] resultMatrix = new int[leftMatrixRows][rightMatrixCols];
+    protected void forEachTile(TileGrid grid, TileTask task) {
+        final TileScheduler scheduler = TileScheduler.of(grid, tileOrder, threadCount());
 
-        IntStream
-            .iterate(0, i -> i + 1)
-            .limit(rowTileCount)
+        // A parallel stream started from inside a ForkJoinPool runs its subtasks in that pool. It splits the
+        // positions into contiguous halves, which along the curve are compact blocks of tiles rather than strips.
+        engine.run(() -> IntStream
+            .range(0, scheduler.tileCount())
             .parallel()
-            .forEach(tileRow -> {
-                // tileRow << BLOCK_SIZE_LOG2 is equivalent to tileRow * BLOCK_SIZE
-                final int tileRowStart = tileRow << BLOCK_SIZE_LOG2;
-                // Math.min(tileRowStart + ROW_BLOCK, leftMatrixRows) ensures we don't go out of bounds
-                final int tileRowEnd = Math.min(tileRowStart + ROW_BLOCK, leftMatrixRows);
-
-                for (int tileCol = 0; tileCol < colTileCount; tileCol++) {
-                    // tileCol << BLOCK_SIZE_LOG2 is equivalent to tileCol * BLOCK_SIZE
-                    final int tileColStart = tileCol << BLOCK_SIZE_LOG2;
-                    // Math.min(tileColStart + ROW_BLOCK, rightMatrixCols) ensures we don't go out of bounds
-                    final int tileColEnd = Math.min(tileColStart + COL_BLOCK, rightMatrixCols);
-
-                    multiplyTile(
-                        leftMatrix, rightMatrix, resultMatrix,
-                        tileRowStart, tileRowEnd,
-                        tileColStart, tileColEnd,
-                        sharedDimension
-                    );
-                }
-            });
-
-        return resultMatrix;
+            .forEach(position -> scheduler.runTile(position, task)));
     }
 }
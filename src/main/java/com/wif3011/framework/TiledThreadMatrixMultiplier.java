@@ -1,61 +1,59 @@
 package com.wif3011.framework;
 
-public class TiledThreadMatrixMultiplier extends TiledMatrixMultiplier {
+import com.wif3011.concurrent.ExecutionEngine;
 
-    @Override
-    protected int[][] safeMultiply(int[][] leftMatrix, int[][] rightMatrix) {
-        final int[][] resultMatrix = new int[leftMatrixRows][rightMatrixCols];
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 
-        // Number of threads to use - you can tune this or get from available processors
-        final int threadCount = Runtime.getRuntime().availableProcessors();
+/**
+ * Matrix multiplier running one task per worker thread, each claiming tiles from a shared {@link TileScheduler}
+ * until none are left. The workers are the execution engine's long-lived threads rather than threads started per call.
+ */
+public class TiledThreadMatrixMultiplier extends TiledMatrixMultiplier {
 
-        // Create an array of threads
-        Thread[] threads = new Thread[threadCount];
+    public TiledThreadMatrixMultiplier() {
+        super();
+    }
 
-        // Total tiles = rowTileCount * colTileCount
-        final int totalTiles = rowTileCount * colTileCount;
+    public TiledThreadMatrixMultiplier(TileKernel kernel) {
+        super(kernel);
+    }
 
-        // Each thread will process approximately tilesPerThread tiles
-        final int tilesPerThread = (totalTiles + threadCount - 1) / threadCount; // ceil div
+    public TiledThreadMatrixMultiplier(TileConfig config) {
+        super(config, DEFAULT_KERNEL);
+    }
 
-        for (int t = 0; t < threadCount; t++) {
-            final int threadIndex = t;
+    public TiledThreadMatrixMultiplier(TileConfig config, TileKernel kernel) {
+        super(config, kernel);
+    }
 
-            threads[t] = new Thread(() -> {
-                // Calculate the tile range this thread will process
-                int startTile = threadIndex * tilesPerThread;
-                int endTile = Math.min(startTile + tilesPerThread, totalTiles);
+    public TiledThreadMatrixMultiplier(TileConfig config, TileKernel kernel, ExecutionEngine engine) {
+        super(config, kernel, engine);
+    }
 
-                for (int tileIndex = startTile; tileIndex < endTile; tileIndex++) {
-                    int tileRow = tileIndex / colTileCount;
-                    int tileCol = tileIndex % colTileCount;
+    public TiledThreadMatrixMultiplier(TileConfig config, TileKernel kernel, ExecutionEngine engine, TileOrder tileOrder) {
+        super(config, kernel, engine, tileOrder);
+    }
 
-                    int tileRowStart = tileRow << BLOCK_SIZE_LOG2;
-                    int tileRowEnd = Math.min(tileRowStart + ROW_BLOCK, leftMatrixRows);
+    @Override
+    protected void forEachTile(TileGrid grid, TileTask task) {
+        // Number of workers to use, from the config (defaults to the engine's parallelism)
+        final int threadCount = Math.min(threadCount(), grid.tileCount());
 
-                    int tileColStart = tileCol << BLOCK_SIZE_LOG2;
-                    int tileColEnd = Math.min(tileColStart + COL_BLOCK, rightMatrixCols);
+        // Tiles are claimed a few at a time along the curve, so a worker that falls behind takes fewer of them
+        final TileScheduler scheduler = TileScheduler.of(grid, tileOrder, threadCount);
 
-                    multiplyTile(
-                            leftMatrix, rightMatrix, resultMatrix,
-                            tileRowStart, tileRowEnd,
-                            tileColStart, tileColEnd,
-                            sharedDimension);
-                }
+        // One long-running task per worker, executed by the engine's already-started threads
+        final List<Callable<Void>> workers = new ArrayList<>(threadCount);
+        for (int t = 0; t < threadCount; t++) {
+            workers.add(() -> {
+                scheduler.drain(task);
+                return null;
             });
-
-            threads[t].start();
-        }
-
-        // Wait for all threads to finish
-        try {
-            for (Thread thread : threads) {
-                thread.join();
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         }
 
-        return resultMatrix;
+        // Wait for all workers to finish
+        engine.invokeAll(workers);
     }
 }
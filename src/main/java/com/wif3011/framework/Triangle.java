@@ -0,0 +1,12 @@
+package com.wif3011.framework;
+
+/**
+ * Which half of a square matrix holds its nonzeros, for the triangular products of {@link TiledMatrixMultiplier}.
+ */
+public enum Triangle {
+    /** Zero below the diagonal. */
+    UPPER,
+
+    /** Zero above the diagonal. */
+    LOWER
+}
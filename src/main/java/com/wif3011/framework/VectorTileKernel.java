@@ -0,0 +1,55 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+
+/**
+ * Tile kernel that vectorizes the innermost column loop explicitly with the JDK Vector API,
+ * instead of relying on C2 auto-vectorization.
+ * <p>
+ * The Vector API is still an incubator module, so it is only present when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}. Without it this kernel falls back to the scalar
+ * {@link TiledMatrixMultiplier#multiplyTile} and reports {@link #isVectorized()} as {@code false}.
+ */
+public class VectorTileKernel implements TileKernel {
+    private static final boolean VECTOR_API_AVAILABLE =
+        ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private final TileKernel delegate;
+
+    public VectorTileKernel() {
+        // IntVectorTileKernel must not even be loaded when the module is missing,
+        // otherwise resolving IntVector fails with NoClassDefFoundError.
+        this.delegate = VECTOR_API_AVAILABLE ? IntVectorTileKernel.create() : TiledMatrixMultiplier.DEFAULT_KERNEL;
+    }
+
+    /**
+     * Whether the jdk.incubator.vector module was resolved at startup.
+     */
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_API_AVAILABLE;
+    }
+
+    /**
+     * Whether this instance runs the explicit SIMD kernel rather than the scalar fallback.
+     */
+    public boolean isVectorized() {
+        return delegate != TiledMatrixMultiplier.DEFAULT_KERNEL;
+    }
+
+    @Override
+    public void multiplyTile(
+        IntMatrix leftMatrix, IntMatrix rightMatrix, IntMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        int alpha
+    ) {
+        delegate.multiplyTile(
+            leftMatrix, rightMatrix, resultMatrix,
+            tileRowStart, tileRowEnd,
+            tileColStart, tileColEnd,
+            sharedDimension,
+            alpha
+        );
+    }
+}
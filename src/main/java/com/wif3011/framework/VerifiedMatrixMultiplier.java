@@ -0,0 +1,86 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.IntMatrix;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps another multiplier and checks every result it produces with a {@link FreivaldsVerifier} before handing it
+ * back, throwing {@link IllegalStateException} for one that fails.
+ * <p>
+ * The check reads each matrix once, so on top of an O(n³) product it is cheap enough to leave on in production.
+ * For {@link #gemm} with a nonzero beta the result's old contents are copied first, since the check needs them.
+ */
+public class VerifiedMatrixMultiplier extends MatrixMultiplier {
+    private final MatrixMultiplier delegate;
+    private final FreivaldsVerifier verifier;
+    private final AtomicLong verified = new AtomicLong();
+
+    /**
+     * Verifies with {@link FreivaldsVerifier#DEFAULT_ROUNDS} rounds on the delegate's engine.
+     */
+    public VerifiedMatrixMultiplier(MatrixMultiplier delegate) {
+        this(delegate, new FreivaldsVerifier(FreivaldsVerifier.DEFAULT_ROUNDS,
+            delegate == null ? ExecutionEngine.shared() : delegate.getEngine()));
+    }
+
+    public VerifiedMatrixMultiplier(MatrixMultiplier delegate, FreivaldsVerifier verifier) {
+        if (delegate == null || verifier == null) {
+            throw new IllegalArgumentException("Multiplier and verifier cannot be null");
+        }
+        this.delegate = delegate;
+        this.verifier = verifier;
+    }
+
+    public MatrixMultiplier getDelegate() {
+        return delegate;
+    }
+
+    public FreivaldsVerifier getVerifier() {
+        return verifier;
+    }
+
+    /**
+     * Number of results that passed verification so far.
+     */
+    public long verifiedCount() {
+        return verified.get();
+    }
+
+    @Override
+    public ExecutionEngine getEngine() {
+        return delegate.getEngine();
+    }
+
+    @Override
+    protected IntMatrix safeMultiply(IntMatrix matrixA, IntMatrix matrixB) {
+        final IntMatrix resultMatrix = delegate.safeMultiply(matrixA, matrixB);
+        check(verifier.verifyGemm(1, matrixA, matrixB, 0, null, resultMatrix, true));
+        return resultMatrix;
+    }
+
+    @Override
+    protected void safeGemm(int alpha, IntMatrix matrixA, IntMatrix matrixB, int beta, IntMatrix resultMatrix) {
+        final IntMatrix previousMatrix = beta == 0 ? null : resultMatrix.copy();
+        delegate.safeGemm(alpha, matrixA, matrixB, beta, resultMatrix);
+        check(verifier.verifyGemm(alpha, matrixA, matrixB, beta, previousMatrix, resultMatrix, true));
+    }
+
+    /**
+     * Batched products run next to each other, so each is also verified on the thread that computed it.
+     */
+    @Override
+    protected IntMatrix safeMultiplySerial(IntMatrix matrixA, IntMatrix matrixB) {
+        final IntMatrix resultMatrix = delegate.safeMultiplySerial(matrixA, matrixB);
+        check(verifier.verifyGemm(1, matrixA, matrixB, 0, null, resultMatrix, false));
+        return resultMatrix;
+    }
+
+    private void check(boolean passed) {
+        if (!passed) {
+            throw new IllegalStateException(delegate.getClass().getSimpleName() + " produced a wrong result");
+        }
+        verified.incrementAndGet();
+    }
+}
@@ -0,0 +1,87 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.LongMatrix;
+
+/**
+ * Multiplies int matrices into a {@link LongMatrix}: inputs stay compact ints while every product and sum is
+ * computed in long, so results that overflow the int multipliers come out exact.
+ */
+public class WideningMatrixMultiplier extends PrimitiveMatrixMultiplier<IntMatrix, LongMatrix, WideningTileKernel> {
+    /** The scalar row-streaming kernel below, used unless another kernel is supplied. */
+    public static final WideningTileKernel DEFAULT_KERNEL = WideningMatrixMultiplier::multiplyTile;
+
+    public WideningMatrixMultiplier() {
+        this(new TiledForkJoinMatrixMultiplier(), DEFAULT_KERNEL);
+    }
+
+    public WideningMatrixMultiplier(TiledMatrixMultiplier scheduler) {
+        this(scheduler, DEFAULT_KERNEL);
+    }
+
+    public WideningMatrixMultiplier(TiledMatrixMultiplier scheduler, WideningTileKernel kernel) {
+        super(scheduler, kernel);
+    }
+
+    public LongMatrix multiply(IntMatrix matrixA, IntMatrix matrixB) {
+        return multiplyTiles(matrixA, matrixB, resultMatrix -> tiles(1, matrixA, matrixB, 1, resultMatrix));
+    }
+
+    /**
+     * {@code resultMatrix = alpha · matrixA × matrixB + beta · resultMatrix}, computed in place.
+     *
+     * @return {@code resultMatrix}, for chaining
+     */
+    public LongMatrix gemm(long alpha, IntMatrix matrixA, IntMatrix matrixB, long beta, LongMatrix resultMatrix) {
+        return gemmTiles(matrixA, matrixB, resultMatrix, tiles(alpha, matrixA, matrixB, beta, resultMatrix));
+    }
+
+    @Override
+    protected LongMatrix newResult(int rows, int cols) {
+        return new LongMatrix(rows, cols);
+    }
+
+    private TiledMatrixMultiplier.TileTask tiles(
+        long alpha, IntMatrix matrixA, IntMatrix matrixB, long beta, LongMatrix resultMatrix
+    ) {
+        return (tileRowStart, tileRowEnd, tileColStart, tileColEnd) -> {
+            scale(resultMatrix, tileRowStart, tileRowEnd, tileColStart, tileColEnd, beta);
+            kernel.multiplyTile(
+                matrixA, matrixB, resultMatrix,
+                tileRowStart, tileRowEnd,
+                tileColStart, tileColEnd,
+                matrixA.cols(),
+                alpha
+            );
+        };
+    }
+
+    /**
+     * Same loop order as {@link TiledMatrixMultiplier}'s int kernel: one row of the right matrix at a time,
+     * each int is widened to long before it is multiplied, so no intermediate value can overflow an int.
+     */
+    protected static void multiplyTile(
+        IntMatrix leftMatrix, IntMatrix rightMatrix, LongMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        long alpha
+    ) {
+        final int[] left = leftMatrix.data();
+        final int[] right = rightMatrix.data();
+        final long[] result = resultMatrix.data();
+        final int rightStride = rightMatrix.stride();
+
+        for (int row = tileRowStart; row < tileRowEnd; row++) {
+            final int resultBase = resultMatrix.index(row, 0);
+            final int leftBase = leftMatrix.index(row, 0);
+            int rightBase = rightMatrix.index(0, 0);
+            for (int k = 0; k < sharedDimension; k++, rightBase += rightStride) {
+                final long leftValue = alpha * left[leftBase + k];
+                for (int col = tileColStart; col < tileColEnd; col++) {
+                    result[resultBase + col] += leftValue * right[rightBase + col];
+                }
+            }
+        }
+    }
+}
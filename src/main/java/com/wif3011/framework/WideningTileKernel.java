@@ -0,0 +1,22 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.LongMatrix;
+
+/**
+ * Computes one tile of an int matrix product in long arithmetic, adding {@code alpha · left × right} onto a long
+ * result tile, so sums that would overflow an int come out exact.
+ *
+ * @see TileKernel
+ */
+@FunctionalInterface
+public interface WideningTileKernel {
+
+    void multiplyTile(
+        IntMatrix leftMatrix, IntMatrix rightMatrix, LongMatrix resultMatrix,
+        int tileRowStart, int tileRowEnd,
+        int tileColStart, int tileColEnd,
+        int sharedDimension,
+        long alpha
+    );
+}
@@ -0,0 +1,219 @@
+package com.wif3011.matrix;
+
+import java.util.Arrays;
+
+/**
+ * Sparse int matrix in compressed sparse row (CSR) form.
+ * <p>
+ * The nonzeros of row {@code r} are {@code values[rowPointers[r]..rowPointers[r + 1])}, and their columns are the
+ * matching entries of {@code columnIndices}, in ascending order. All three arrays are plain {@code int[]}, so a
+ * matrix that is mostly zeros costs memory and work in proportion to its nonzero count only.
+ */
+public final class CsrMatrix {
+    private final int rows;
+    private final int cols;
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final int[] values;
+
+    /**
+     * Wraps existing CSR arrays without copying them.
+     *
+     * @param rows          number of rows
+     * @param cols          number of columns
+     * @param rowPointers   {@code rows + 1} ascending offsets into the other two arrays, starting at 0
+     * @param columnIndices column of each stored value, ascending within each row
+     * @param values        the stored values
+     */
+    public CsrMatrix(int rows, int cols, int[] rowPointers, int[] columnIndices, int[] values) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException("Matrix dimensions cannot be negative");
+        }
+        if (rowPointers == null || columnIndices == null || values == null) {
+            throw new IllegalArgumentException("CSR arrays cannot be null");
+        }
+        if (rowPointers.length != rows + 1 || rowPointers[0] != 0) {
+            throw new IllegalArgumentException("Row pointers must have " + (rows + 1) + " entries starting at 0");
+        }
+        final int nonZeros = rowPointers[rows];
+        if (columnIndices.length < nonZeros || values.length < nonZeros) {
+            throw new IllegalArgumentException("Column index and value arrays must hold " + nonZeros + " entries");
+        }
+        for (int row = 0; row < rows; row++) {
+            if (rowPointers[row] > rowPointers[row + 1]) {
+                throw new IllegalArgumentException("Row pointers must be ascending, row " + row + " is not");
+            }
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    /**
+     * Compresses a dense matrix, keeping only its nonzero elements.
+     */
+    public static CsrMatrix of(IntMatrix matrix) {
+        if (matrix == null) {
+            throw new IllegalArgumentException("Matrix cannot be null");
+        }
+        final int rows = matrix.rows();
+        final int cols = matrix.cols();
+        final int[] data = matrix.data();
+        final int[] rowPointers = new int[rows + 1];
+        final int nonZeros = countNonZeros(matrix);
+        final int[] columnIndices = new int[nonZeros];
+        final int[] values = new int[nonZeros];
+
+        int next = 0;
+        for (int row = 0; row < rows; row++) {
+            final int base = matrix.index(row, 0);
+            for (int col = 0; col < cols; col++) {
+                final int value = data[base + col];
+                if (value != 0) {
+                    columnIndices[next] = col;
+                    values[next++] = value;
+                }
+            }
+            rowPointers[row + 1] = next;
+        }
+        return new CsrMatrix(rows, cols, rowPointers, columnIndices, values);
+    }
+
+    /**
+     * Fraction of elements of a dense matrix that are nonzero, between 0 and 1.
+     */
+    public static double density(IntMatrix matrix) {
+        final long size = (long) matrix.rows() * matrix.cols();
+        return size == 0 ? 0 : (double) countNonZeros(matrix) / size;
+    }
+
+    /**
+     * Expands this matrix into a new dense one.
+     */
+    public IntMatrix toDense() {
+        final IntMatrix result = new IntMatrix(rows, cols);
+        final int[] data = result.data();
+        for (int row = 0; row < rows; row++) {
+            final int base = result.index(row, 0);
+            for (int i = rowPointers[row]; i < rowPointers[row + 1]; i++) {
+                data[base + columnIndices[i]] = values[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Splits the rows into {@code parts} contiguous ranges holding about the same number of nonzeros each.
+     * <p>
+     * Work per row is proportional to its nonzero count, so splitting by row count alone would leave one
+     * worker with all the dense rows. Range {@code i} is {@code [splits[i], splits[i + 1])}; ranges may be empty.
+     */
+    public int[] rowSplits(int parts) {
+        if (parts < 1) {
+            throw new IllegalArgumentException("Number of parts must be positive: " + parts);
+        }
+        final int[] splits = new int[parts + 1];
+        final long nonZeros = nonZeroCount();
+        for (int part = 1; part < parts; part++) {
+            // Lower bound: the first row whose nonzeros start at or after this part's share
+            final int target = (int) (nonZeros * part / parts);
+            int low = splits[part - 1];
+            int high = rows;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (rowPointers[middle] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            splits[part] = low;
+        }
+        splits[parts] = rows;
+        return splits;
+    }
+
+    public int get(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ") is outside a " + rows + "x" + cols + " matrix");
+        }
+        final int i = Arrays.binarySearch(columnIndices, rowPointers[row], rowPointers[row + 1], col);
+        return i < 0 ? 0 : values[i];
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    public int nonZeroCount() {
+        return rowPointers[rows];
+    }
+
+    /**
+     * Fraction of elements that are stored, between 0 and 1.
+     */
+    public double density() {
+        final long size = (long) rows * cols;
+        return size == 0 ? 0 : (double) nonZeroCount() / size;
+    }
+
+    public int[] rowPointers() {
+        return rowPointers;
+    }
+
+    public int[] columnIndices() {
+        return columnIndices;
+    }
+
+    public int[] values() {
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CsrMatrix other) || rows != other.rows || cols != other.cols) {
+            return false;
+        }
+        final int nonZeros = nonZeroCount();
+        return Arrays.equals(rowPointers, other.rowPointers)
+            && Arrays.equals(columnIndices, 0, nonZeros, other.columnIndices, 0, nonZeros)
+            && Arrays.equals(values, 0, nonZeros, other.values, 0, nonZeros);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * rows + cols;
+        for (int i = 0; i < nonZeroCount(); i++) {
+            hash = 31 * (31 * hash + columnIndices[i]) + values[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "CsrMatrix[" + rows + "x" + cols + ", nnz=" + nonZeroCount() + "]";
+    }
+
+    private static int countNonZeros(IntMatrix matrix) {
+        final int[] data = matrix.data();
+        int count = 0;
+        for (int row = 0; row < matrix.rows(); row++) {
+            final int base = matrix.index(row, 0);
+            for (int col = 0; col < matrix.cols(); col++) {
+                if (data[base + col] != 0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,16 @@
+package com.wif3011.matrix;
+
+/**
+ * What the dense matrices of every element type have in common: a shape, and a primitive array they live in,
+ * laid out like {@link IntMatrix}. Lets code that only validates shapes or storage work on any of them.
+ */
+public interface DenseMatrix {
+    int rows();
+
+    int cols();
+
+    /**
+     * The backing primitive array, e.g. {@code long[]} for a {@link LongMatrix}.
+     */
+    Object data();
+}
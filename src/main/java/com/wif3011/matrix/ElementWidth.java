@@ -0,0 +1,86 @@
+package com.wif3011.matrix;
+
+/**
+ * Storage types an integer matrix can be held in, narrowest first.
+ * <p>
+ * Products of narrow matrices are still accumulated in int, so whichever width the inputs are stored in, the result
+ * is exactly what the int multipliers compute. Narrower storage only changes how many bytes have to be streamed
+ * from memory for each input element.
+ */
+public enum ElementWidth {
+    /** {@link ByteMatrix}, for values in [-128, 127]. */
+    BYTE(Byte.MIN_VALUE, Byte.MAX_VALUE, Byte.BYTES),
+
+    /** {@link ShortMatrix}, for values in [-32768, 32767]. */
+    SHORT(Short.MIN_VALUE, Short.MAX_VALUE, Short.BYTES),
+
+    /** {@link IntMatrix}, for any int. */
+    INT(Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.BYTES);
+
+    private final int minValue;
+    private final int maxValue;
+    private final int bytes;
+
+    ElementWidth(int minValue, int maxValue, int bytes) {
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Bytes per element.
+     */
+    public int bytes() {
+        return bytes;
+    }
+
+    public boolean fits(int min, int max) {
+        return min >= minValue && max <= maxValue;
+    }
+
+    /**
+     * The narrowest width that holds every value in [min, max].
+     */
+    public static ElementWidth of(int min, int max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Empty range: [" + min + ", " + max + "]");
+        }
+        for (ElementWidth width : values()) {
+            if (width.fits(min, max)) {
+                return width;
+            }
+        }
+        return INT;
+    }
+
+    /**
+     * The narrowest width that holds every element of {@code matrix}, found with one pass over it.
+     */
+    public static ElementWidth of(IntMatrix matrix) {
+        if (matrix == null) {
+            throw new IllegalArgumentException("Matrix cannot be null");
+        }
+        final int[] data = matrix.data();
+        int min = 0;
+        int max = 0;
+        for (int row = 0; row < matrix.rows(); row++) {
+            final int base = matrix.index(row, 0);
+            for (int col = 0; col < matrix.cols(); col++) {
+                min = Math.min(min, data[base + col]);
+                max = Math.max(max, data[base + col]);
+            }
+            if (min < Short.MIN_VALUE || max > Short.MAX_VALUE) {
+                // Already too wide for anything but int, no need to read the rest
+                return INT;
+            }
+        }
+        return of(min, max);
+    }
+
+    /**
+     * The wider of the two, which holds the elements of matrices of either width.
+     */
+    public ElementWidth wider(ElementWidth other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+}
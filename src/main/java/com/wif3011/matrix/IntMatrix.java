@@ -0,0 +1,195 @@
+package com.wif3011.matrix;
+
+import java.util.Arrays;
+
+/**
+ * Dense int matrix backed by a single contiguous {@code int[]} in row-major order.
+ * <p>
+ * Element (row, col) lives at {@code data[offset + row * stride + col]}. The stride (leading dimension)
+ * may be larger than the column count, which lets {@link #view(int, int, int, int)} expose a sub-matrix
+ * without copying anything.
+ */
+public final class IntMatrix implements DenseMatrix {
+    private final int[] data;
+    private final int offset;
+    private final int rows;
+    private final int cols;
+    private final int stride;
+
+    /**
+     * Allocates a zero-filled rows×cols matrix with a tight stride.
+     */
+    public IntMatrix(int rows, int cols) {
+        this(new int[checkedSize(rows, cols)], 0, rows, cols, cols);
+    }
+
+    /**
+     * Wraps an existing buffer without copying it.
+     *
+     * @param data   backing array
+     * @param offset index of element (0, 0) in {@code data}
+     * @param rows   number of rows
+     * @param cols   number of columns
+     * @param stride distance in elements between the starts of two consecutive rows
+     */
+    public IntMatrix(int[] data, int offset, int rows, int cols, int stride) {
+        if (data == null) {
+            throw new IllegalArgumentException("Backing array cannot be null");
+        }
+        if (rows < 0 || cols < 0 || offset < 0 || stride < cols) {
+            throw new IllegalArgumentException("Invalid matrix geometry: offset=" + offset
+                + ", rows=" + rows + ", cols=" + cols + ", stride=" + stride);
+        }
+        if (rows > 0 && cols > 0 && offset + (long) (rows - 1) * stride + cols > data.length) {
+            throw new IllegalArgumentException("Backing array is too small for a " + rows + "x" + cols + " matrix");
+        }
+        this.data = data;
+        this.offset = offset;
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = stride;
+    }
+
+    /**
+     * Copies a jagged {@code int[][]} into a new contiguous matrix.
+     *
+     * @throws IllegalArgumentException if the rows do not all have the same length
+     */
+    public static IntMatrix of(int[][] matrix) {
+        if (matrix == null) {
+            throw new IllegalArgumentException("Matrix cannot be null");
+        }
+        final int rows = matrix.length;
+        final int cols = rows == 0 ? 0 : matrix[0].length;
+        final IntMatrix result = new IntMatrix(rows, cols);
+        for (int row = 0; row < rows; row++) {
+            if (matrix[row] == null || matrix[row].length != cols) {
+                throw new IllegalArgumentException("Matrix has inconsistent column sizes");
+            }
+            System.arraycopy(matrix[row], 0, result.data, row * cols, cols);
+        }
+        return result;
+    }
+
+    /**
+     * Copies this matrix into a new jagged {@code int[][]}.
+     */
+    public int[][] toArray() {
+        final int[][] result = new int[rows][];
+        for (int row = 0; row < rows; row++) {
+            final int start = index(row, 0);
+            result[row] = Arrays.copyOfRange(data, start, start + cols);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a rows×cols window starting at (rowStart, colStart) that shares this matrix's storage.
+     */
+    public IntMatrix view(int rowStart, int colStart, int rows, int cols) {
+        if (rowStart < 0 || colStart < 0 || rows < 0 || cols < 0
+            || rowStart + rows > this.rows || colStart + cols > this.cols) {
+            throw new IndexOutOfBoundsException("View [" + rowStart + ", " + colStart + "] of size "
+                + rows + "x" + cols + " is outside a " + this.rows + "x" + this.cols + " matrix");
+        }
+        return new IntMatrix(data, index(rowStart, colStart), rows, cols, stride);
+    }
+
+    /**
+     * Returns a tightly packed deep copy of this matrix.
+     */
+    public IntMatrix copy() {
+        final IntMatrix result = new IntMatrix(rows, cols);
+        for (int row = 0; row < rows; row++) {
+            System.arraycopy(data, index(row, 0), result.data, row * cols, cols);
+        }
+        return result;
+    }
+
+    public int get(int row, int col) {
+        return data[index(row, col)];
+    }
+
+    public void set(int row, int col, int value) {
+        data[index(row, col)] = value;
+    }
+
+    /**
+     * Position of element (row, col) in {@link #data()}.
+     */
+    public int index(int row, int col) {
+        return offset + row * stride + col;
+    }
+
+    @Override
+    public int[] data() {
+        return data;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    public int stride() {
+        return stride;
+    }
+
+    /**
+     * Whether the rows follow each other without gaps, i.e. the matrix is not a strided sub-view.
+     */
+    public boolean isContiguous() {
+        return stride == cols;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof IntMatrix other) || rows != other.rows || cols != other.cols) {
+            return false;
+        }
+        for (int row = 0; row < rows; row++) {
+            final int start = index(row, 0);
+            final int otherStart = other.index(row, 0);
+            if (!Arrays.equals(data, start, start + cols, other.data, otherStart, otherStart + cols)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * rows + cols;
+        for (int row = 0; row < rows; row++) {
+            final int start = index(row, 0);
+            for (int col = 0; col < cols; col++) {
+                hash = 31 * hash + data[start + col];
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "IntMatrix[" + rows + "x" + cols + "]";
+    }
+
+    private static int checkedSize(int rows, int cols) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException("Matrix dimensions cannot be negative");
+        }
+        return Math.multiplyExact(rows, cols);
+    }
+}
@@ -0,0 +1,37 @@
+package com.wif3011.matrix;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Thread-safe pool of temporary matrices, keyed by shape.
+ * <p>
+ * For computations that need the same shapes of scratch matrix over and over: once every shape has been released
+ * back as often as it is needed at once, acquiring stops allocating. Buffers are handed out with arbitrary
+ * contents.
+ */
+public class IntMatrixPool {
+    private final Map<Long, Queue<IntMatrix>> buffers = new ConcurrentHashMap<>();
+
+    public IntMatrix acquire(int rows, int cols) {
+        IntMatrix buffer = pool(rows, cols).poll();
+        return buffer != null ? buffer : new IntMatrix(rows, cols);
+    }
+
+    public void release(IntMatrix buffer) {
+        pool(buffer.rows(), buffer.cols()).offer(buffer);
+    }
+
+    /**
+     * Drops every pooled buffer so the memory can be reclaimed.
+     */
+    public void clear() {
+        buffers.clear();
+    }
+
+    private Queue<IntMatrix> pool(int rows, int cols) {
+        return buffers.computeIfAbsent(((long) rows << 32) | cols, key -> new ConcurrentLinkedQueue<>());
+    }
+}
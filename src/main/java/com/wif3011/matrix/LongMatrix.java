@@ -0,0 +1,201 @@
+package com.wif3011.matrix;
+
+import java.util.Arrays;
+
+/**
+ * Dense long matrix backed by a single contiguous {@code long[]} in row-major order, laid out exactly like
+ * {@link IntMatrix}: element (row, col) lives at {@code data[offset + row * stride + col]}.
+ */
+public final class LongMatrix implements DenseMatrix {
+    private final long[] data;
+    private final int offset;
+    private final int rows;
+    private final int cols;
+    private final int stride;
+
+    /**
+     * Allocates a zero-filled rows×cols matrix with a tight stride.
+     */
+    public LongMatrix(int rows, int cols) {
+        this(new long[checkedSize(rows, cols)], 0, rows, cols, cols);
+    }
+
+    /**
+     * Wraps an existing buffer without copying it.
+     *
+     * @param data   backing array
+     * @param offset index of element (0, 0) in {@code data}
+     * @param rows   number of rows
+     * @param cols   number of columns
+     * @param stride distance in elements between the starts of two consecutive rows
+     */
+    public LongMatrix(long[] data, int offset, int rows, int cols, int stride) {
+        if (data == null) {
+            throw new IllegalArgumentException("Backing array cannot be null");
+        }
+        if (rows < 0 || cols < 0 || offset < 0 || stride < cols) {
+            throw new IllegalArgumentException("Invalid matrix geometry: offset=" + offset
+                + ", rows=" + rows + ", cols=" + cols + ", stride=" + stride);
+        }
+        if (rows > 0 && cols > 0 && offset + (long) (rows - 1) * stride + cols > data.length) {
+            throw new IllegalArgumentException("Backing array is too small for a " + rows + "x" + cols + " matrix");
+        }
+        this.data = data;
+        this.offset = offset;
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = stride;
+    }
+
+    /**
+     * Copies a jagged {@code long[][]} into a new contiguous matrix.
+     *
+     * @throws IllegalArgumentException if the rows do not all have the same length
+     */
+    public static LongMatrix of(long[][] matrix) {
+        if (matrix == null) {
+            throw new IllegalArgumentException("Matrix cannot be null");
+        }
+        final int rows = matrix.length;
+        final int cols = rows == 0 ? 0 : matrix[0].length;
+        final LongMatrix result = new LongMatrix(rows, cols);
+        for (int row = 0; row < rows; row++) {
+            if (matrix[row] == null || matrix[row].length != cols) {
+                throw new IllegalArgumentException("Matrix has inconsistent column sizes");
+            }
+            System.arraycopy(matrix[row], 0, result.data, row * cols, cols);
+        }
+        return result;
+    }
+
+    /**
+     * Converts an int matrix element by element.
+     */
+    public static LongMatrix of(IntMatrix matrix) {
+        final LongMatrix result = new LongMatrix(matrix.rows(), matrix.cols());
+        final int[] source = matrix.data();
+        for (int row = 0; row < matrix.rows(); row++) {
+            final int sourceBase = matrix.index(row, 0);
+            final int resultBase = row * result.cols;
+            for (int col = 0; col < result.cols; col++) {
+                result.data[resultBase + col] = source[sourceBase + col];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Copies this matrix into a new jagged {@code long[][]}.
+     */
+    public long[][] toArray() {
+        final long[][] result = new long[rows][];
+        for (int row = 0; row < rows; row++) {
+            final int start = index(row, 0);
+            result[row] = Arrays.copyOfRange(data, start, start + cols);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a rows×cols window starting at (rowStart, colStart) that shares this matrix's storage.
+     */
+    public LongMatrix view(int rowStart, int colStart, int rows, int cols) {
+        if (rowStart < 0 || colStart < 0 || rows < 0 || cols < 0
+            || rowStart + rows > this.rows || colStart + cols > this.cols) {
+            throw new IndexOutOfBoundsException("View [" + rowStart + ", " + colStart + "] of size "
+                + rows + "x" + cols + " is outside a " + this.rows + "x" + this.cols + " matrix");
+        }
+        return new LongMatrix(data, index(rowStart, colStart), rows, cols, stride);
+    }
+
+    /**
+     * Returns a tightly packed deep copy of this matrix.
+     */
+    public LongMatrix copy() {
+        final LongMatrix result = new LongMatrix(rows, cols);
+        for (int row = 0; row < rows; row++) {
+            System.arraycopy(data, index(row, 0), result.data, row * cols, cols);
+        }
+        return result;
+    }
+
+    public long get(int row, int col) {
+        return data[index(row, col)];
+    }
+
+    public void set(int row, int col, long value) {
+        data[index(row, col)] = value;
+    }
+
+    /**
+     * Position of element (row, col) in {@link #data()}.
+     */
+    public int index(int row, int col) {
+        return offset + row * stride + col;
+    }
+
+    @Override
+    public long[] data() {
+        return data;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    public int stride() {
+        return stride;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LongMatrix other) || rows != other.rows || cols != other.cols) {
+            return false;
+        }
+        for (int row = 0; row < rows; row++) {
+            final int start = index(row, 0);
+            final int otherStart = other.index(row, 0);
+            if (!Arrays.equals(data, start, start + cols, other.data, otherStart, otherStart + cols)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * rows + cols;
+        for (int row = 0; row < rows; row++) {
+            final int start = index(row, 0);
+            for (int col = 0; col < cols; col++) {
+                hash = 31 * hash + Long.hashCode(data[start + col]);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "LongMatrix[" + rows + "x" + cols + "]";
+    }
+
+    private static int checkedSize(int rows, int cols) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException("Matrix dimensions cannot be negative");
+        }
+        return Math.multiplyExact(rows, cols);
+    }
+}
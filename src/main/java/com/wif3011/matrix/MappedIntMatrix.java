@@ -0,0 +1,220 @@
+package com.wif3011.matrix;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Int matrix stored in a matrix file (see {@link MatrixFileHeader}) and accessed through memory mapping,
+ * for matrices too large for the heap.
+ * <p>
+ * Nothing is read until asked for: {@link #read} and {@link #write} copy rectangular blocks between the file and an
+ * in-memory {@link IntMatrix} with bulk transfers, one stored row at a time, and the operating system pages the file
+ * in and out as needed. Row-major files copy straight into the block's rows; column-major files are transposed on
+ * the way, one column per transfer.
+ * <p>
+ * A single mapping cannot exceed 2 GB, so the file is mapped in segments of whole stored rows. Blocks may be read
+ * and written from several threads at once as long as concurrent writes go to disjoint regions.
+ */
+public final class MappedIntMatrix implements AutoCloseable {
+    /** Upper bound on the bytes covered by one mapped segment. */
+    private static final long SEGMENT_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final MatrixFileHeader header;
+    private final boolean columnMajor;
+    private final int storedCols;
+    private final int rowsPerSegment;
+    private final MappedByteBuffer[] segments;
+    private final IntBuffer[] segmentInts;
+
+    private MappedIntMatrix(FileChannel channel, MatrixFileHeader header, boolean writable) throws IOException {
+        if (header.elementType() != MatrixFileHeader.ElementType.INT32) {
+            throw new IOException("Expected a matrix of " + MatrixFileHeader.ElementType.INT32
+                + " elements, found " + header.elementType());
+        }
+        this.channel = channel;
+        this.header = header;
+        this.columnMajor = header.layout() == MatrixFileHeader.Layout.COLUMN_MAJOR;
+        this.storedCols = header.storedCols();
+
+        final int storedRows = header.storedRows();
+        final long rowBytes = (long) storedCols * Integer.BYTES;
+        this.rowsPerSegment = (int) Math.max(1, Math.min(storedRows, SEGMENT_BYTES / Math.max(1, rowBytes)));
+        final int segmentCount = storedRows == 0 ? 0 : (storedRows + rowsPerSegment - 1) / rowsPerSegment;
+        this.segments = new MappedByteBuffer[segmentCount];
+        this.segmentInts = new IntBuffer[segmentCount];
+
+        final FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        for (int segment = 0; segment < segmentCount; segment++) {
+            final int firstRow = segment * rowsPerSegment;
+            final int segmentRows = Math.min(rowsPerSegment, storedRows - firstRow);
+            segments[segment] = channel.map(mode, MatrixFileHeader.BYTES + firstRow * rowBytes, segmentRows * rowBytes);
+            segments[segment].order(MatrixFileHeader.BYTE_ORDER);
+            segmentInts[segment] = segments[segment].asIntBuffer();
+        }
+    }
+
+    /**
+     * Creates (or truncates) a file holding a zero-filled rows×cols row-major matrix and maps it for reading and writing.
+     */
+    public static MappedIntMatrix create(Path path, int rows, int cols) throws IOException {
+        return create(path, MatrixFileHeader.of(
+            MatrixFileHeader.ElementType.INT32, MatrixFileHeader.Layout.ROW_MAJOR, rows, cols));
+    }
+
+    /**
+     * Creates (or truncates) a file with the given header and zero-filled elements, mapped for reading and writing.
+     */
+    public static MappedIntMatrix create(Path path, MatrixFileHeader header) throws IOException {
+        final FileChannel channel = FileChannel.open(path, EnumSet.of(
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE));
+        try {
+            header.write(channel);
+            // Growing the file through the mapping leaves the elements as a sparse run of zeros on most file systems
+            return new MappedIntMatrix(channel, header, true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps an existing matrix file.
+     *
+     * @param writable whether blocks may be written back into the file
+     */
+    public static MappedIntMatrix open(Path path, boolean writable) throws IOException {
+        final Set<StandardOpenOption> options = writable
+            ? EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE)
+            : EnumSet.of(StandardOpenOption.READ);
+        final FileChannel channel = FileChannel.open(path, options);
+        try {
+            return new MappedIntMatrix(channel, MatrixFileHeader.read(channel), writable);
+        } catch (IOException e) {
+            channel.close();
+            throw new IOException(path + ": " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Copies the block starting at (rowStart, colStart) with the destination's shape into {@code destination}.
+     */
+    public void read(int rowStart, int colStart, IntMatrix destination) {
+        checkBlock(rowStart, colStart, destination);
+        final int[] data = destination.data();
+        if (!columnMajor) {
+            for (int row = 0; row < destination.rows(); row++) {
+                final int fileRow = rowStart + row;
+                segmentInts[fileRow / rowsPerSegment].get(
+                    positionOf(fileRow, colStart), data, destination.index(row, 0), destination.cols());
+            }
+            return;
+        }
+        // Each stored row is one column of the block: copy it out in bulk, then spread it down the column
+        final int[] column = new int[destination.rows()];
+        for (int col = 0; col < destination.cols(); col++) {
+            final int fileRow = colStart + col;
+            segmentInts[fileRow / rowsPerSegment].get(positionOf(fileRow, rowStart), column, 0, column.length);
+            for (int row = 0; row < column.length; row++) {
+                data[destination.index(row, col)] = column[row];
+            }
+        }
+    }
+
+    /**
+     * Copies {@code source} into the file, with its element (0, 0) landing on (rowStart, colStart).
+     */
+    public void write(int rowStart, int colStart, IntMatrix source) {
+        checkBlock(rowStart, colStart, source);
+        final int[] data = source.data();
+        if (!columnMajor) {
+            for (int row = 0; row < source.rows(); row++) {
+                final int fileRow = rowStart + row;
+                segmentInts[fileRow / rowsPerSegment].put(
+                    positionOf(fileRow, colStart), data, source.index(row, 0), source.cols());
+            }
+            return;
+        }
+        final int[] column = new int[source.rows()];
+        for (int col = 0; col < source.cols(); col++) {
+            for (int row = 0; row < column.length; row++) {
+                column[row] = data[source.index(row, col)];
+            }
+            final int fileRow = colStart + col;
+            segmentInts[fileRow / rowsPerSegment].put(positionOf(fileRow, rowStart), column, 0, column.length);
+        }
+    }
+
+    /**
+     * Reads the whole matrix onto the heap; only sensible when it fits there.
+     */
+    public IntMatrix toIntMatrix() {
+        final IntMatrix result = new IntMatrix(rows(), cols());
+        read(0, 0, result);
+        return result;
+    }
+
+    public int rows() {
+        return header.rows();
+    }
+
+    public int cols() {
+        return header.cols();
+    }
+
+    public MatrixFileHeader header() {
+        return header;
+    }
+
+    /**
+     * Forces all written blocks out to the storage device.
+     */
+    public void flush() {
+        for (MappedByteBuffer segment : segments) {
+            if (!segment.isReadOnly()) {
+                segment.force();
+            }
+        }
+    }
+
+    /**
+     * Flushes pending writes and closes the file. The mappings themselves are released by the garbage collector.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedIntMatrix[" + rows() + "x" + cols() + ", " + header.layout() + "]";
+    }
+
+    /**
+     * Index, within the stored row's segment, of stored element (storedRow, storedCol).
+     */
+    private int positionOf(int storedRow, int storedCol) {
+        return (storedRow % rowsPerSegment) * storedCols + storedCol;
+    }
+
+    private void checkBlock(int rowStart, int colStart, IntMatrix block) {
+        if (block == null) {
+            throw new IllegalArgumentException("Block cannot be null");
+        }
+        if (rowStart < 0 || colStart < 0 || rowStart + block.rows() > rows() || colStart + block.cols() > cols()) {
+            throw new IndexOutOfBoundsException("Block [" + rowStart + ", " + colStart + "] of size "
+                + block.rows() + "x" + block.cols() + " is outside a " + rows() + "x" + cols() + " matrix");
+        }
+    }
+}
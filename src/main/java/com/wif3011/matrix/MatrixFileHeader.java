@@ -0,0 +1,166 @@
+package com.wif3011.matrix;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * The 16-byte header at the start of every matrix file, followed directly by the elements.
+ * <p>
+ * Layout, all little-endian:
+ * <pre>
+ *  0  int   magic "WIFM"
+ *  4  byte  format version
+ *  5  byte  element type code
+ *  6  byte  layout code
+ *  7  byte  reserved, 0
+ *  8  int   rows
+ * 12  int   cols
+ * </pre>
+ * The elements are stored without padding in the given layout, so a file can be mapped and copied in bulk
+ * without parsing individual values.
+ *
+ * @param version     format version the file was written with
+ * @param elementType type and width of each stored element
+ * @param layout      order in which the elements are stored
+ * @param rows        number of rows of the matrix
+ * @param cols        number of columns of the matrix
+ */
+public record MatrixFileHeader(int version, ElementType elementType, Layout layout, int rows, int cols) {
+    /** "WIFM" in ASCII, read as a little-endian int. */
+    public static final int MAGIC = 0x4D464957;
+
+    /** Version written by this code; older versions are still read. */
+    public static final int CURRENT_VERSION = 1;
+
+    /** Size of the header, which is also the offset of the first element. */
+    public static final int BYTES = 16;
+
+    /** Byte order of the header and of all elements. */
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Element types, identified in the file by {@link #code()}.
+     */
+    public enum ElementType {
+        INT32(1, Integer.BYTES);
+
+        private final int code;
+        private final int bytes;
+
+        ElementType(int code, int bytes) {
+            this.code = code;
+            this.bytes = bytes;
+        }
+
+        public int code() {
+            return code;
+        }
+
+        /** Size of one element in bytes. */
+        public int bytes() {
+            return bytes;
+        }
+
+        static ElementType fromCode(int code) {
+            for (ElementType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Storage orders, identified in the file by their ordinal.
+     */
+    public enum Layout {
+        /** Row after row, the order {@link IntMatrix} uses in memory. */
+        ROW_MAJOR,
+        /** Column after column, i.e. the row-major storage of the transpose. */
+        COLUMN_MAJOR
+    }
+
+    public MatrixFileHeader {
+        if (elementType == null || layout == null) {
+            throw new IllegalArgumentException("Element type and layout cannot be null");
+        }
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException("Matrix dimensions cannot be negative");
+        }
+    }
+
+    /**
+     * Header for a file written by this version of the code.
+     */
+    public static MatrixFileHeader of(ElementType elementType, Layout layout, int rows, int cols) {
+        return new MatrixFileHeader(CURRENT_VERSION, elementType, layout, rows, cols);
+    }
+
+    /**
+     * Reads and validates the header at the start of {@code channel}.
+     *
+     * @throws IOException if the file is not a matrix file, is from a newer version, or is shorter than its header says
+     */
+    public static MatrixFileHeader read(FileChannel channel) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(BYTES).order(BYTE_ORDER);
+        // A positional read of a regular file returns everything available, so one call gets the whole header
+        if (channel.read(buffer, 0) < BYTES || buffer.flip().getInt() != MAGIC) {
+            throw new IOException("Not a matrix file");
+        }
+        final int version = buffer.get();
+        final ElementType elementType = ElementType.fromCode(buffer.get());
+        final int layoutCode = buffer.get();
+        buffer.get();
+        final int rows = buffer.getInt();
+        final int cols = buffer.getInt();
+
+        if (version < 1 || version > CURRENT_VERSION) {
+            throw new IOException("Unsupported matrix file version " + version);
+        }
+        if (elementType == null || layoutCode < 0 || layoutCode >= Layout.values().length || rows < 0 || cols < 0) {
+            throw new IOException("Matrix file header is corrupt");
+        }
+        final MatrixFileHeader header = new MatrixFileHeader(version, elementType, Layout.values()[layoutCode], rows, cols);
+        if (channel.size() < BYTES + header.dataBytes()) {
+            throw new IOException("Matrix file is truncated: expected " + (BYTES + header.dataBytes())
+                + " bytes, found " + channel.size());
+        }
+        return header;
+    }
+
+    /**
+     * Writes this header at the start of {@code channel}.
+     */
+    public void write(FileChannel channel) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(BYTES).order(BYTE_ORDER);
+        buffer.putInt(MAGIC)
+            .put((byte) version)
+            .put((byte) elementType.code())
+            .put((byte) layout.ordinal())
+            .put((byte) 0)
+            .putInt(rows)
+            .putInt(cols)
+            .flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, buffer.position());
+        }
+    }
+
+    /** Size of the element data following the header. */
+    public long dataBytes() {
+        return (long) rows * cols * elementType.bytes();
+    }
+
+    /** Rows of the matrix as physically stored: the columns, for a column-major file. */
+    public int storedRows() {
+        return layout == Layout.ROW_MAJOR ? rows : cols;
+    }
+
+    /** Columns of the matrix as physically stored: the rows, for a column-major file. */
+    public int storedCols() {
+        return layout == Layout.ROW_MAJOR ? cols : rows;
+    }
+}
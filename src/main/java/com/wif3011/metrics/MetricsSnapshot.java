@@ -0,0 +1,117 @@
+package com.wif3011.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * What one instrumented multiplication did, as recorded by {@link TileMetrics}.
+ *
+ * @param multiplier      simple class name of the multiplier
+ * @param rows            rows of the result
+ * @param sharedDimension columns of the left matrix and rows of the right one
+ * @param cols            columns of the result
+ * @param wallNanos       time from the first tile being handed out to the last one finishing
+ * @param tileNanos       compute time of every tile, grouped by worker
+ * @param workers         per-thread totals, one entry for every thread that computed a tile
+ * @param steals          tasks stolen between workers of the engine's pool during the run; the count is pool-wide,
+ *                        so concurrent work on the same pool is included
+ */
+public record MetricsSnapshot(
+    String multiplier,
+    int rows,
+    int sharedDimension,
+    int cols,
+    long wallNanos,
+    long[] tileNanos,
+    List<WorkerMetrics> workers,
+    long steals
+) {
+
+    /**
+     * Totals of one thread that computed tiles.
+     *
+     * @param thread         name of the thread
+     * @param tiles          tiles it computed
+     * @param busyNanos      time it spent computing them
+     * @param allocatedBytes heap it allocated while computing them, or -1 if the JVM cannot measure it
+     */
+    public record WorkerMetrics(String thread, int tiles, long busyNanos, long allocatedBytes) {
+    }
+
+    public MetricsSnapshot {
+        tileNanos = tileNanos.clone();
+        workers = List.copyOf(workers);
+    }
+
+    @Override
+    public long[] tileNanos() {
+        return tileNanos.clone();
+    }
+
+    public int tileCount() {
+        return tileNanos.length;
+    }
+
+    /**
+     * Achieved rate of 2·m·k·n operations over the wall time.
+     */
+    public double gflops() {
+        return wallNanos == 0 ? 0 : 2.0 * rows * sharedDimension * cols / wallNanos;
+    }
+
+    /**
+     * Busiest worker's compute time over the average worker's: 1.0 is perfectly balanced, 2.0 means the slowest
+     * worker had twice the average share and the others idled for part of the run.
+     */
+    public double imbalance() {
+        long max = 0;
+        long total = 0;
+        for (WorkerMetrics worker : workers) {
+            max = Math.max(max, worker.busyNanos());
+            total += worker.busyNanos();
+        }
+        return total == 0 ? 1.0 : (double) max * workers.size() / total;
+    }
+
+    /**
+     * Heap allocated by the tile work on all workers, or -1 if the JVM cannot measure it.
+     */
+    public long allocatedBytes() {
+        long total = 0;
+        for (WorkerMetrics worker : workers) {
+            if (worker.allocatedBytes() < 0) {
+                return -1;
+            }
+            total += worker.allocatedBytes();
+        }
+        return total;
+    }
+
+    /**
+     * The tile compute time below which {@code percentile} percent of the tiles fall.
+     */
+    public long tileNanosPercentile(double percentile) {
+        if (tileNanos.length == 0) {
+            return 0;
+        }
+        final long[] sorted = tileNanos.clone();
+        Arrays.sort(sorted);
+        final int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%s %dx%dx%d: %.2f ms, %.2f GFLOP/s, %d tiles (p50 %.1f us, p95 %.1f us, max %.1f us),"
+                + " imbalance %.2f, %d steals, %d bytes allocated%n",
+            multiplier, rows, sharedDimension, cols, wallNanos / 1e6, gflops(), tileCount(),
+            tileNanosPercentile(50) / 1e3, tileNanosPercentile(95) / 1e3, tileNanosPercentile(100) / 1e3,
+            imbalance(), steals, allocatedBytes()));
+        for (WorkerMetrics worker : workers) {
+            sb.append(String.format("  %-40s %6d tiles %10.2f ms %12d bytes%n",
+                worker.thread(), worker.tiles(), worker.busyNanos() / 1e6, worker.allocatedBytes()));
+        }
+        return sb.toString();
+    }
+}
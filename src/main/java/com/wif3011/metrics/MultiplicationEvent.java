@@ -0,0 +1,50 @@
+package com.wif3011.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a whole instrumented multiplication, carrying the same figures as its {@link MetricsSnapshot}.
+ */
+@Name("com.wif3011.Multiplication")
+@Label("Matrix Multiplication")
+@Category({"WIF3011", "Matrix Multiplication"})
+@Description("An instrumented multiplication with its throughput and load balance")
+@StackTrace(false)
+final class MultiplicationEvent extends jdk.jfr.Event {
+    @Label("Multiplier")
+    String multiplier;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Shared Dimension")
+    int sharedDimension;
+
+    @Label("Columns")
+    int cols;
+
+    @Label("Tiles")
+    int tiles;
+
+    @Label("Workers")
+    int workers;
+
+    @Label("GFLOP/s")
+    double gflops;
+
+    @Label("Imbalance")
+    @Description("Busiest worker's compute time over the average worker's")
+    double imbalance;
+
+    @Label("Steals")
+    long steals;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+}
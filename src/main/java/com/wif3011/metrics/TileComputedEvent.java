@@ -0,0 +1,37 @@
+package com.wif3011.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one result tile, spanning its computation on the worker that ran it.
+ */
+@Name("com.wif3011.TileComputed")
+@Label("Tile Computed")
+@Category({"WIF3011", "Matrix Multiplication"})
+@Description("One result tile of an instrumented multiplication")
+@StackTrace(false)
+final class TileComputedEvent extends jdk.jfr.Event {
+    @Label("Multiplier")
+    String multiplier;
+
+    @Label("Row Start")
+    int rowStart;
+
+    @Label("Row End")
+    int rowEnd;
+
+    @Label("Column Start")
+    int colStart;
+
+    @Label("Column End")
+    int colEnd;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+}
@@ -0,0 +1,230 @@
+package com.wif3011.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Opt-in instrumentation of the tiled multipliers.
+ * <p>
+ * Disabled by default; turn it on with {@link #enable()} or by starting the JVM with
+ * {@code -Dwif3011.metrics=true}. While it is off a multiplication pays for one volatile read. While it is on,
+ * every tile is timed on the thread that computes it, and each finished multiplication is kept as a
+ * {@link MetricsSnapshot} (the most recent {@value #HISTORY} of them) and emitted as JFR events, which show up
+ * in a recording started with {@code -XX:StartFlightRecording} or from JDK Mission Control.
+ */
+public final class TileMetrics {
+    /** System property that enables instrumentation from the start. */
+    public static final String ENABLED_PROPERTY = "wif3011.metrics";
+
+    /** Number of snapshots kept. */
+    public static final int HISTORY = 32;
+
+    /** Per-thread allocation counter of HotSpot, or null where the JVM does not offer one. */
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final Deque<MetricsSnapshot> RECENT = new ArrayDeque<>();
+
+    private TileMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Starts recording one multiplication, or returns null when instrumentation is disabled.
+     *
+     * @param pool pool the tiles run on, for its steal count; may be null
+     */
+    public static Run start(String multiplier, ForkJoinPool pool, int rows, int sharedDimension, int cols) {
+        if (!enabled) {
+            return null;
+        }
+        return new Run(multiplier, pool, rows, sharedDimension, cols);
+    }
+
+    /**
+     * The most recently finished multiplication, or null if none was recorded.
+     */
+    public static MetricsSnapshot last() {
+        synchronized (RECENT) {
+            return RECENT.peekLast();
+        }
+    }
+
+    /**
+     * The recorded multiplications, oldest first.
+     */
+    public static List<MetricsSnapshot> recent() {
+        synchronized (RECENT) {
+            return new ArrayList<>(RECENT);
+        }
+    }
+
+    public static void clear() {
+        synchronized (RECENT) {
+            RECENT.clear();
+        }
+    }
+
+    private static void publish(MetricsSnapshot snapshot) {
+        synchronized (RECENT) {
+            if (RECENT.size() == HISTORY) {
+                RECENT.removeFirst();
+            }
+            RECENT.addLast(snapshot);
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+            && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Recording of one multiplication: its tiles are passed through {@link #time} and it ends with {@link #finish()}.
+     */
+    public static final class Run {
+        private final String multiplier;
+        private final ForkJoinPool pool;
+        private final int rows;
+        private final int sharedDimension;
+        private final int cols;
+        private final Map<Thread, Worker> workers = new ConcurrentHashMap<>();
+        private final long startSteals;
+        private final long startNanos;
+        private final MultiplicationEvent event = new MultiplicationEvent();
+
+        private Run(String multiplier, ForkJoinPool pool, int rows, int sharedDimension, int cols) {
+            this.multiplier = multiplier;
+            this.pool = pool;
+            this.rows = rows;
+            this.sharedDimension = sharedDimension;
+            this.cols = cols;
+            this.startSteals = pool == null ? 0 : pool.getStealCount();
+            this.event.begin();
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Runs {@code tile}, which computes the given tile of the result, and records it against the calling thread.
+         * Tiles are whatever ranges the driver hands out, which need not line up with its tile grid.
+         */
+        public void time(int tileRowStart, int tileRowEnd, int tileColStart, int tileColEnd, Runnable tile) {
+            final Worker worker = workers.computeIfAbsent(Thread.currentThread(), thread -> new Worker(thread.getName()));
+            final TileComputedEvent tileEvent = new TileComputedEvent();
+            tileEvent.begin();
+            final long allocatedBefore = allocatedBytes();
+            final long start = System.nanoTime();
+
+            tile.run();
+
+            final long elapsed = System.nanoTime() - start;
+            final long allocated = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+            tileEvent.end();
+
+            worker.add(elapsed);
+            worker.allocatedBytes = allocated < 0 ? -1 : worker.allocatedBytes + allocated;
+
+            if (tileEvent.shouldCommit()) {
+                tileEvent.multiplier = multiplier;
+                tileEvent.rowStart = tileRowStart;
+                tileEvent.rowEnd = tileRowEnd;
+                tileEvent.colStart = tileColStart;
+                tileEvent.colEnd = tileColEnd;
+                tileEvent.allocated = allocated;
+                tileEvent.commit();
+            }
+        }
+
+        /**
+         * Ends the recording once every tile has completed, keeps its snapshot and returns it.
+         */
+        public MetricsSnapshot finish() {
+            final long wallNanos = System.nanoTime() - startNanos;
+            final List<MetricsSnapshot.WorkerMetrics> workerMetrics = new ArrayList<>(workers.size());
+            int tileCount = 0;
+            for (Worker worker : workers.values()) {
+                workerMetrics.add(worker.metrics());
+                tileCount += worker.tiles;
+            }
+            final long[] tileNanos = new long[tileCount];
+            int next = 0;
+            for (Worker worker : workers.values()) {
+                System.arraycopy(worker.tileNanos, 0, tileNanos, next, worker.tiles);
+                next += worker.tiles;
+            }
+            final MetricsSnapshot snapshot = new MetricsSnapshot(multiplier, rows, sharedDimension, cols, wallNanos,
+                tileNanos, workerMetrics, pool == null ? 0 : pool.getStealCount() - startSteals);
+            publish(snapshot);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.multiplier = multiplier;
+                event.rows = rows;
+                event.sharedDimension = sharedDimension;
+                event.cols = cols;
+                event.tiles = snapshot.tileCount();
+                event.workers = workerMetrics.size();
+                event.gflops = snapshot.gflops();
+                event.imbalance = snapshot.imbalance();
+                event.steals = snapshot.steals();
+                event.allocated = snapshot.allocatedBytes();
+                event.commit();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Running totals of one thread within a run; only that thread updates them, and they are read once the run
+     * has joined all of its tasks.
+     */
+    private static final class Worker {
+        private final String thread;
+        private long[] tileNanos = new long[16];
+        private int tiles;
+        private long busyNanos;
+        private long allocatedBytes;
+
+        private Worker(String thread) {
+            this.thread = thread;
+        }
+
+        private void add(long elapsed) {
+            if (tiles == tileNanos.length) {
+                tileNanos = Arrays.copyOf(tileNanos, tiles * 2);
+            }
+            tileNanos[tiles++] = elapsed;
+            busyNanos += elapsed;
+        }
+
+        private MetricsSnapshot.WorkerMetrics metrics() {
+            return new MetricsSnapshot.WorkerMetrics(thread, tiles, busyNanos, allocatedBytes);
+        }
+    }
+}
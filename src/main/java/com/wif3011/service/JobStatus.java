@@ -0,0 +1,29 @@
+package com.wif3011.service;
+
+/**
+ * How the {@link MatrixService} dealt with one request, as sent back to the client.
+ */
+public enum JobStatus {
+    /** Computed; the reply carries the result. */
+    OK,
+
+    /**
+     * Turned away at admission because the queue was full, or because the job was too large; the client should
+     * back off and retry, or split the job.
+     */
+    REJECTED,
+
+    /** Still queued when its deadline passed, so it was dropped without being computed. */
+    EXPIRED,
+
+    /** Invalid (mismatched shapes, say) or failed while computing; the reply carries the reason. */
+    FAILED;
+
+    static JobStatus fromCode(int code) {
+        final JobStatus[] statuses = values();
+        if (code < 0 || code >= statuses.length) {
+            throw new IllegalArgumentException("Unknown job status: " + code);
+        }
+        return statuses[code];
+    }
+}
@@ -0,0 +1,40 @@
+package com.wif3011.service;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent latencies in a ring so that percentiles reflect current load rather than the whole
+ * lifetime of the service, in bounded memory. Safe to use from several threads.
+ */
+final class LatencyRecorder {
+    private final long[] samples;
+    private long recorded;
+
+    LatencyRecorder(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.samples = new long[capacity];
+    }
+
+    synchronized void record(long nanos) {
+        samples[(int) (recorded++ % samples.length)] = nanos;
+    }
+
+    /**
+     * The given percentiles, in the order asked for, of the samples currently held; zeros when none are.
+     */
+    long[] percentiles(double... percentiles) {
+        final long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, (int) Math.min(recorded, samples.length));
+        }
+        Arrays.sort(sorted);
+        final long[] values = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length && sorted.length > 0; i++) {
+            final int index = (int) Math.ceil(percentiles[i] / 100 * sorted.length) - 1;
+            values[i] = sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+        return values;
+    }
+}
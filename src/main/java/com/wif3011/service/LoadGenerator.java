@@ -0,0 +1,288 @@
+package com.wif3011.service;
+
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.util.MatrixUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link MatrixService} with concurrent clients to measure the latency it delivers under load.
+ * <p>
+ * {@link #run} gives every client its own connection and runs a closed loop: send a job, wait for the reply, send
+ * the next. A closed loop stops sending while the service stalls, so the jobs that would have queued up behind the
+ * stall are never sent and never measured, and its percentiles understate the tail (coordinated omission).
+ * {@link #runOpenLoop} instead sends at a fixed arrival rate regardless of replies, and measures every job from the
+ * time it was due to be sent.
+ * <p>
+ * The jobs cycle through the given sizes, so a mix of sizes gives the service small jobs to batch alongside large
+ * ones. Latency is measured at the client, until its result is read, and only over jobs that were computed;
+ * rejected and expired jobs are counted separately.
+ */
+public final class LoadGenerator {
+    /** Most latencies kept for the percentiles of one run. */
+    private static final int MAX_SAMPLES = 1 << 20;
+
+    private final String host;
+    private final int port;
+
+    public LoadGenerator(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Outcome of one run.
+     *
+     * @param requests  jobs sent
+     * @param wallNanos time from the first job being sent to the last reply
+     * @param service   the service's own stats at the end of the run
+     */
+    public record Report(long requests, long ok, long rejected, long expired, long failed, long wallNanos,
+                         long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos, ServiceStats service) {
+
+        /**
+         * Computed jobs per second.
+         */
+        public double throughput() {
+            return wallNanos == 0 ? 0 : ok * 1e9 / wallNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests in %.2f s: %d ok (%.1f/s), %d rejected, %d expired, %d failed%n"
+                    + "client latency p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms%nservice: %s",
+                requests, wallNanos / 1e9, ok, throughput(), rejected, expired, failed,
+                p50Nanos / 1e6, p90Nanos / 1e6, p99Nanos / 1e6, maxNanos / 1e6, service);
+        }
+    }
+
+    /**
+     * Runs {@code clients} clients that send {@code requestsPerClient} jobs each and waits for all of them.
+     *
+     * @param sizes         sizes of the square matrices to multiply, used in turn
+     * @param timeoutMillis queueing deadline of every job, 0 for none
+     */
+    public Report run(int clients, int requestsPerClient, int[] sizes, int timeoutMillis) throws IOException {
+        if (clients < 1 || requestsPerClient < 1 || sizes == null || sizes.length == 0) {
+            throw new IllegalArgumentException("Load needs at least one client, one request and one size");
+        }
+        final List<IntMatrix> inputs = inputs(sizes);
+
+        final AtomicLongArray outcomes = new AtomicLongArray(JobStatus.values().length);
+        final LatencyRecorder latencies = new LatencyRecorder(
+            (int) Math.min(MAX_SAMPLES, (long) clients * requestsPerClient));
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CountDownLatch ready = new CountDownLatch(clients);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>(clients);
+
+        for (int c = 0; c < clients; c++) {
+            final int firstInput = c % inputs.size();
+            final Thread thread = new Thread(() -> {
+                MatrixServiceClient connected = null;
+                try {
+                    connected = new MatrixServiceClient(host, port);
+                } catch (IOException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    // A client that could not connect must not hold the others back
+                    ready.countDown();
+                }
+                if (connected == null) {
+                    return;
+                }
+                try (MatrixServiceClient client = connected) {
+                    start.await();
+                    for (int request = 0; request < requestsPerClient; request++) {
+                        final IntMatrix input = inputs.get((firstInput + request) % inputs.size());
+                        final long sent = System.nanoTime();
+                        final MatrixServiceClient.Reply reply = client.call(input, input, timeoutMillis);
+                        if (reply.status() == JobStatus.OK) {
+                            latencies.record(System.nanoTime() - sent);
+                        }
+                        outcomes.incrementAndGet(reply.status().ordinal());
+                    }
+                } catch (IOException | RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "matrix-load-client-" + c);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        final long started;
+        try {
+            ready.await();
+            started = System.nanoTime();
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating load", e);
+        }
+        final long wallNanos = System.nanoTime() - started;
+        if (failure.get() != null) {
+            throw new IOException("Load client failed", failure.get());
+        }
+        return report((long) clients * requestsPerClient, outcomes, latencies, wallNanos);
+    }
+
+    /**
+     * Sends {@code requests} jobs at a fixed total rate, spread round-robin over {@code connections} connections,
+     * without waiting for earlier replies, then waits for every reply. Job i is due {@code i / ratePerSecond}
+     * seconds into the run and its latency runs from then, so when the service or a connection falls behind, every
+     * job due in the meantime counts the delay.
+     *
+     * @param connections   connections the jobs are spread over, each with a sending and a receiving thread
+     * @param ratePerSecond jobs sent per second over all connections
+     * @param sizes         sizes of the square matrices to multiply, used in turn
+     * @param timeoutMillis queueing deadline of every job, 0 for none
+     */
+    public Report runOpenLoop(int connections, double ratePerSecond, int requests, int[] sizes, int timeoutMillis)
+        throws IOException {
+        if (connections < 1 || !(ratePerSecond > 0) || requests < 1 || sizes == null || sizes.length == 0) {
+            throw new IllegalArgumentException("Open-loop load needs at least one connection, a positive rate,"
+                + " one request and one size");
+        }
+        final List<IntMatrix> inputs = inputs(sizes);
+        final double intervalNanos = 1e9 / ratePerSecond;
+
+        final List<MatrixServiceClient> clients = new ArrayList<>(connections);
+        try {
+            for (int c = 0; c < connections; c++) {
+                clients.add(new MatrixServiceClient(host, port));
+            }
+        } catch (IOException e) {
+            closeAll(clients);
+            throw e;
+        }
+
+        final AtomicLongArray outcomes = new AtomicLongArray(JobStatus.values().length);
+        final LatencyRecorder latencies = new LatencyRecorder((int) Math.min(MAX_SAMPLES, requests));
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> threads = new ArrayList<>(2 * connections);
+        final long started = System.nanoTime();
+
+        for (int c = 0; c < connections; c++) {
+            final MatrixServiceClient client = clients.get(c);
+            final int first = c;
+            // This connection sends jobs first, first + connections, ... of the run; its j-th is its id j
+            final int count = first < requests ? (requests - first + connections - 1) / connections : 0;
+            final Thread sender = new Thread(() -> {
+                try {
+                    for (int j = 0; j < count; j++) {
+                        final long index = first + (long) j * connections;
+                        sleepUntil(started + Math.round(index * intervalNanos));
+                        final IntMatrix input = inputs.get((int) (index % inputs.size()));
+                        client.send(input, input, timeoutMillis);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    abort(client, failure, e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "matrix-load-sender-" + c);
+            final Thread receiver = new Thread(() -> {
+                try {
+                    for (int received = 0; received < count; received++) {
+                        final MatrixServiceClient.Answer answer = client.receive();
+                        if (answer.reply().status() == JobStatus.OK) {
+                            final long index = first + (long) answer.id() * connections;
+                            latencies.record(System.nanoTime() - (started + Math.round(index * intervalNanos)));
+                        }
+                        outcomes.incrementAndGet(answer.reply().status().ordinal());
+                    }
+                } catch (IOException | RuntimeException e) {
+                    abort(client, failure, e);
+                }
+            }, "matrix-load-receiver-" + c);
+            for (Thread thread : List.of(sender, receiver)) {
+                thread.setDaemon(true);
+                threads.add(thread);
+                thread.start();
+            }
+        }
+
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating load", e);
+        } finally {
+            closeAll(clients);
+        }
+        final long wallNanos = System.nanoTime() - started;
+        if (failure.get() != null) {
+            throw new IOException("Load connection failed", failure.get());
+        }
+        return report(requests, outcomes, latencies, wallNanos);
+    }
+
+    /**
+     * Inputs are generated once and shared, so the clients measure the service rather than the generator.
+     */
+    private static List<IntMatrix> inputs(int[] sizes) {
+        final List<IntMatrix> inputs = new ArrayList<>(sizes.length);
+        for (int size : sizes) {
+            inputs.add(MatrixUtil.generateMatrix(size, size, 0, 10));
+        }
+        return inputs;
+    }
+
+    private Report report(long requests, AtomicLongArray outcomes, LatencyRecorder latencies, long wallNanos)
+        throws IOException {
+        final ServiceStats service;
+        try (MatrixServiceClient client = new MatrixServiceClient(host, port)) {
+            service = client.stats();
+        }
+        final long[] percentiles = latencies.percentiles(50, 90, 99, 100);
+        return new Report(requests,
+            outcomes.get(JobStatus.OK.ordinal()), outcomes.get(JobStatus.REJECTED.ordinal()),
+            outcomes.get(JobStatus.EXPIRED.ordinal()), outcomes.get(JobStatus.FAILED.ordinal()), wallNanos,
+            percentiles[0], percentiles[1], percentiles[2], percentiles[3], service);
+    }
+
+    private static void sleepUntil(long deadline) throws InterruptedException {
+        for (long left = deadline - System.nanoTime(); left > 0; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Records the first failure and closes the connection, so that its other thread stops waiting on it.
+     */
+    private static void abort(MatrixServiceClient client, AtomicReference<Throwable> failure, Exception cause) {
+        failure.compareAndSet(null, cause);
+        try {
+            client.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    private static void closeAll(List<MatrixServiceClient> clients) {
+        for (MatrixServiceClient client : clients) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,634 @@
+package com.wif3011.service;
+
+import com.wif3011.distributed.Wire;
+import com.wif3011.framework.MatrixMultiplier;
+import com.wif3011.framework.PackedTileKernel;
+import com.wif3011.framework.TileConfig;
+import com.wif3011.framework.TiledForkJoinMatrixMultiplier;
+import com.wif3011.matrix.IntMatrix;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multiplication service on the loopback interface, for callers that would otherwise each run their own
+ * multiplications (and their own parallelism) side by side.
+ * <p>
+ * Connections are read on one thread each and written on another, and their jobs go into a single bounded queue.
+ * When the queue is full a job is rejected straight away instead of waiting, which pushes back on clients while
+ * the jobs already admitted keep their latency. The queue is bounded in bytes as well as in jobs: a job whose inputs
+ * and result take more than {@code maxJobBytes} is rejected before its inputs are allocated, and so is one that
+ * would take the jobs in flight past {@code maxQueuedBytes}. A job stays in flight, with its bytes counted, until
+ * its reply has been written to the client, so results waiting on a client that reads slowly count as well.
+ * <p>
+ * One dispatcher thread drains the queue: it gathers the small jobs that are waiting, up to
+ * {@code maxBatch} and for at most {@code batchWindowNanos} after the first, and runs them as one
+ * {@link MatrixMultiplier#multiplyAll} batch, with each product computed by one worker; products above
+ * {@link MatrixMultiplier#BATCH_SERIAL_THRESHOLD} are run on their own across all workers. Since only the dispatcher
+ * submits work, the engine never runs more than one batch or large product at a time, however many clients there
+ * are. The dispatcher only hands results to the connections' writers, so a client that reads its replies slowly
+ * holds up nobody else. A job whose deadline passes while it is queued is dropped without being computed.
+ * <p>
+ * Protocol, all big-endian, matrices encoded as by {@link Wire}. Requests start with an opcode byte:
+ * <ul>
+ *     <li>{@code 1} multiply: request id (int), timeout in milliseconds (int, 0 for none), A, B;</li>
+ *     <li>{@code 2} stats: request id (int).</li>
+ * </ul>
+ * Every reply is the request id (int) and a {@link JobStatus} ordinal (byte), followed by the result matrix or
+ * the {@link ServiceStats} when the status is OK and by a message (UTF) otherwise. Replies to one connection
+ * come back in no particular order, so clients that pipeline requests match them up by id.
+ */
+public class MatrixService implements AutoCloseable {
+    /** Jobs the queue holds by default before it starts rejecting. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    /** Most jobs dispatched in one batch by default. */
+    public static final int DEFAULT_MAX_BATCH = 64;
+
+    /** How long the dispatcher waits by default for more small jobs to join a batch. */
+    public static final long DEFAULT_BATCH_WINDOW_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    /** Most bytes the inputs and result of one job may take by default: three 4096×4096 int matrices fit. */
+    public static final long DEFAULT_MAX_JOB_BYTES = 256L << 20;
+
+    /** Most bytes the jobs in flight may take together by default. */
+    public static final long DEFAULT_MAX_QUEUED_BYTES = 1L << 30;
+
+    static final int OP_MULTIPLY = 1;
+    static final int OP_STATS = 2;
+
+    /** Completed jobs the latency percentiles are computed over. */
+    private static final int LATENCY_SAMPLES = 1 << 16;
+
+    /** How long {@link #close()} lets connections write their last replies before closing them anyway. */
+    private static final long CLOSE_GRACE_MILLIS = 1000;
+
+    private static final AtomicInteger CONNECTION_IDS = new AtomicInteger();
+
+    private final MatrixMultiplier multiplier;
+    private final BlockingQueue<Job> queue;
+    private final int queueCapacity;
+    private final int maxBatch;
+    private final long batchWindowNanos;
+    private final long maxJobBytes;
+    private final long maxQueuedBytes;
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final LatencyRecorder latencies = new LatencyRecorder(LATENCY_SAMPLES);
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedJobs = new AtomicLong();
+
+    private ServerSocket serverSocket;
+    private Thread dispatcher;
+    private volatile boolean closed;
+
+    /**
+     * A service computing with the packed ForkJoin multiplier and the default queue and batch limits.
+     */
+    public MatrixService() {
+        this(new TiledForkJoinMatrixMultiplier(TileConfig.DEFAULT, new PackedTileKernel()));
+    }
+
+    public MatrixService(MatrixMultiplier multiplier) {
+        this(multiplier, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH, DEFAULT_BATCH_WINDOW_NANOS);
+    }
+
+    /**
+     * A service with the default byte limits.
+     *
+     * @param queueCapacity    jobs admitted before new ones are rejected
+     * @param maxBatch         most jobs dispatched together
+     * @param batchWindowNanos how long a batch is held open for more jobs once it has its first; 0 only takes
+     *                         the jobs that are already waiting
+     */
+    public MatrixService(MatrixMultiplier multiplier, int queueCapacity, int maxBatch, long batchWindowNanos) {
+        this(multiplier, queueCapacity, maxBatch, batchWindowNanos, DEFAULT_MAX_JOB_BYTES, DEFAULT_MAX_QUEUED_BYTES);
+    }
+
+    /**
+     * @param queueCapacity    jobs admitted before new ones are rejected
+     * @param maxBatch         most jobs dispatched together
+     * @param batchWindowNanos how long a batch is held open for more jobs once it has its first; 0 only takes
+     *                         the jobs that are already waiting
+     * @param maxJobBytes      most bytes the inputs and result of one job may take
+     * @param maxQueuedBytes   most bytes the jobs in flight, from admission until their reply is written, may take
+     *                         together
+     */
+    public MatrixService(MatrixMultiplier multiplier, int queueCapacity, int maxBatch, long batchWindowNanos,
+                         long maxJobBytes, long maxQueuedBytes) {
+        if (multiplier == null) {
+            throw new IllegalArgumentException("Multiplier cannot be null");
+        }
+        if (queueCapacity < 1 || maxBatch < 1 || batchWindowNanos < 0) {
+            throw new IllegalArgumentException("Queue capacity and batch size must be positive and the batch window"
+                + " non-negative: " + queueCapacity + ", " + maxBatch + ", " + batchWindowNanos);
+        }
+        if (maxJobBytes < 1 || maxQueuedBytes < maxJobBytes) {
+            throw new IllegalArgumentException("Job byte limit must be positive and the queued byte limit at least"
+                + " as large: " + maxJobBytes + ", " + maxQueuedBytes);
+        }
+        this.multiplier = multiplier;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.maxBatch = maxBatch;
+        this.batchWindowNanos = batchWindowNanos;
+        this.maxJobBytes = maxJobBytes;
+        this.maxQueuedBytes = maxQueuedBytes;
+    }
+
+    /**
+     * Starts listening on {@code port} of the loopback interface, or on a free port for 0, and returns at once.
+     */
+    public synchronized MatrixService start(int port) throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Service already started");
+        }
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        final Thread acceptor = new Thread(this::acceptConnections, "matrix-service-acceptor");
+        acceptor.setDaemon(true);
+        dispatcher = new Thread(this::dispatchJobs, "matrix-service-dispatcher");
+        dispatcher.setDaemon(true);
+        acceptor.start();
+        dispatcher.start();
+        return this;
+    }
+
+    /**
+     * The port the service listens on.
+     */
+    public int port() {
+        if (serverSocket == null) {
+            throw new IllegalStateException("Service not started");
+        }
+        return serverSocket.getLocalPort();
+    }
+
+    public MatrixMultiplier getMultiplier() {
+        return multiplier;
+    }
+
+    public ServiceStats stats() {
+        final long[] percentiles = latencies.percentiles(50, 90, 99, 100);
+        return new ServiceStats(queue.size(), queueCapacity, accepted.get(), rejected.get(), expired.get(),
+            failed.get(), completed.get(), batches.get(), batchedJobs.get(),
+            percentiles[0], percentiles[1], percentiles[2], percentiles[3]);
+    }
+
+    /**
+     * Stops accepting connections and jobs, finishes the batch in progress and rejects whatever is still queued.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            // Nothing more to release
+        }
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            try {
+                dispatcher.join(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Job job = queue.poll(); job != null; job = queue.poll()) {
+            job.connection.reply(job.id, JobStatus.REJECTED, "Service is shutting down", job.bytes());
+        }
+        final List<Connection> open = List.copyOf(connections);
+        open.forEach(Connection::close);
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CLOSE_GRACE_MILLIS);
+        for (Connection connection : open) {
+            connection.awaitClosed(deadline);
+        }
+    }
+
+    private void acceptConnections() {
+        while (!closed) {
+            try {
+                final Socket socket = serverSocket.accept();
+                final Connection connection = new Connection(socket);
+                connections.add(connection);
+                connection.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Matrix service stopped accepting connections: " + e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Admits a job read from a connection, whose bytes are already reserved, or rejects it when the queue is full.
+     */
+    private void admit(Job job) {
+        if (closed) {
+            release(job.bytes());
+            reject(job.connection, job.id, "Service is shutting down");
+            return;
+        }
+        if (!queue.offer(job)) {
+            release(job.bytes());
+            reject(job.connection, job.id, "Queue is full");
+            return;
+        }
+        accepted.incrementAndGet();
+    }
+
+    /**
+     * Adds {@code bytes} to the bytes in flight unless that would take them past the limit. Reserving before
+     * checking means concurrent admissions cannot overshoot the limit together.
+     */
+    private boolean reserve(long bytes) {
+        if (queuedBytes.addAndGet(bytes) > maxQueuedBytes) {
+            queuedBytes.addAndGet(-bytes);
+            return false;
+        }
+        return true;
+    }
+
+    private void release(long bytes) {
+        queuedBytes.addAndGet(-bytes);
+    }
+
+    private void reject(Connection connection, int id, String reason) {
+        rejected.incrementAndGet();
+        connection.reply(id, JobStatus.REJECTED, reason);
+    }
+
+    private void dispatchJobs() {
+        final List<Job> batch = new ArrayList<>(maxBatch);
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+                // Hold the batch open briefly so that a burst of small jobs goes out together
+                final long windowEnd = System.nanoTime() + batchWindowNanos;
+                while (batch.size() < maxBatch && batch.get(batch.size() - 1).isSmall()) {
+                    final Job next = queue.poll(Math.max(0, windowEnd - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Interrupted by close(); the jobs taken so far are still answered below
+                Thread.currentThread().interrupt();
+            }
+            dispatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Drops the expired jobs, runs the small ones as one batch and then each of the others on all workers.
+     */
+    private void dispatch(List<Job> batch) {
+        final long now = System.nanoTime();
+        final List<Job> small = new ArrayList<>(batch.size());
+        final List<Job> large = new ArrayList<>();
+        for (Job job : batch) {
+            if (job.timeoutNanos != 0 && now - job.admitted > job.timeoutNanos) {
+                expired.incrementAndGet();
+                job.connection.reply(job.id, JobStatus.EXPIRED, "Deadline passed after "
+                    + TimeUnit.NANOSECONDS.toMillis(now - job.admitted) + " ms in the queue", job.bytes());
+            } else if (job.isSmall()) {
+                small.add(job);
+            } else {
+                large.add(job);
+            }
+        }
+        if (small.size() == 1) {
+            // Alone, a small job finishes sooner split over all workers than computed by one of them
+            large.add(0, small.remove(0));
+        }
+
+        if (!small.isEmpty()) {
+            final List<IntMatrix> lefts = new ArrayList<>(small.size());
+            final List<IntMatrix> rights = new ArrayList<>(small.size());
+            for (Job job : small) {
+                lefts.add(job.matrixA);
+                rights.add(job.matrixB);
+            }
+            batches.incrementAndGet();
+            batchedJobs.addAndGet(small.size());
+            try {
+                final List<IntMatrix> results = multiplier.multiplyAll(lefts, rights);
+                for (int i = 0; i < small.size(); i++) {
+                    complete(small.get(i), results.get(i));
+                }
+            } catch (RuntimeException e) {
+                small.forEach(job -> fail(job, e));
+            }
+        }
+
+        for (Job job : large) {
+            final IntMatrix result;
+            try {
+                result = multiplier.multiply(job.matrixA, job.matrixB);
+            } catch (RuntimeException e) {
+                fail(job, e);
+                continue;
+            }
+            complete(job, result);
+        }
+    }
+
+    private void complete(Job job, IntMatrix result) {
+        job.connection.reply(job.id, result, job.bytes());
+        completed.incrementAndGet();
+        latencies.record(System.nanoTime() - job.admitted);
+    }
+
+    private void fail(Job job, RuntimeException cause) {
+        failed.incrementAndGet();
+        job.connection.reply(job.id, JobStatus.FAILED, String.valueOf(cause.getMessage()), job.bytes());
+    }
+
+    /**
+     * One admitted multiplication.
+     *
+     * @param admitted     {@link System#nanoTime()} when the job was queued
+     * @param timeoutNanos how long after that the job is no longer worth computing, or 0 for no limit
+     */
+    private record Job(Connection connection, int id, IntMatrix matrixA, IntMatrix matrixB, long admitted,
+                       long timeoutNanos) {
+
+        boolean isSmall() {
+            return (long) matrixA.rows() * matrixA.cols() * matrixB.cols() <= MatrixMultiplier.BATCH_SERIAL_THRESHOLD;
+        }
+
+        long bytes() {
+            return jobBytes(matrixA.rows(), matrixA.cols(), matrixB.rows(), matrixB.cols());
+        }
+    }
+
+    /**
+     * Bytes the inputs and the result of a (rowsA×colsA)·(rowsB×colsB) job take.
+     */
+    private static long jobBytes(int rowsA, int colsA, int rowsB, int colsB) {
+        return ((long) rowsA * colsA + (long) rowsB * colsB + (long) rowsA * colsB) * Integer.BYTES;
+    }
+
+    /**
+     * One reply waiting to be written to a connection.
+     */
+    @FunctionalInterface
+    private interface Reply {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * A reply and the bytes of its job, which stay reserved until the reply is written or dropped.
+     */
+    private record Outgoing(Reply reply, long bytes) {
+    }
+
+    /**
+     * A client connection. One thread reads requests and admits them; another writes the replies queued by
+     * whichever thread has the answer, so nothing but that thread ever waits on the client reading them.
+     */
+    private final class Connection {
+        /** Marks the end of the replies: the writer closes the connection when it gets here. */
+        private static final Outgoing END = new Outgoing(out -> {
+        }, 0);
+
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final Thread reader;
+        private final Thread writer;
+        /** Unbounded in count, but every reply to a job holds that job's bytes until it is written. */
+        private final BlockingQueue<Outgoing> replies = new LinkedBlockingQueue<>();
+        /** Guarded by this connection, so that no reply can slip in after the writer has dropped the rest. */
+        private boolean open = true;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            final int connectionId = CONNECTION_IDS.incrementAndGet();
+            this.reader = new Thread(this::readRequests, "matrix-service-connection-" + connectionId);
+            reader.setDaemon(true);
+            this.writer = new Thread(this::writeReplies, "matrix-service-writer-" + connectionId);
+            writer.setDaemon(true);
+        }
+
+        void start() {
+            writer.start();
+            reader.start();
+        }
+
+        private void readRequests() {
+            try {
+                while (true) {
+                    final int opcode = in.read();
+                    if (opcode < 0) {
+                        return;
+                    }
+                    final int id = in.readInt();
+                    switch (opcode) {
+                        case OP_MULTIPLY -> readMultiply(id);
+                        case OP_STATS -> replyStats(id);
+                        default -> throw new IOException("Unknown opcode " + opcode);
+                    }
+                }
+            } catch (EOFException | SocketException e) {
+                // The client went away; anything it still has queued is answered into a closed connection
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Dropping matrix service connection: " + e.getMessage());
+                }
+            } finally {
+                close();
+            }
+        }
+
+        /**
+         * Reads a multiply request, reserving its bytes from the shapes before anything is allocated: A's as soon
+         * as A's shape is read, the rest once B's is. A job over either limit is read past and rejected.
+         */
+        private void readMultiply(int id) throws IOException {
+            final int timeoutMillis = in.readInt();
+            final int[] shapeA = Wire.readShape(in);
+            final long bytesA = jobBytes(shapeA[0], shapeA[1], 0, 0);
+            if (bytesA > maxJobBytes || !reserve(bytesA)) {
+                Wire.skipElements(in, shapeA[0], shapeA[1]);
+                final int[] shapeB = Wire.readShape(in);
+                Wire.skipElements(in, shapeB[0], shapeB[1]);
+                rejectOverLimit(id, jobBytes(shapeA[0], shapeA[1], shapeB[0], shapeB[1]));
+                return;
+            }
+            final IntMatrix matrixA = Wire.readElements(in, shapeA[0], shapeA[1]);
+            final int[] shapeB = Wire.readShape(in);
+            final long bytes = jobBytes(shapeA[0], shapeA[1], shapeB[0], shapeB[1]);
+            if (bytes > maxJobBytes || !reserve(bytes - bytesA)) {
+                release(bytesA);
+                Wire.skipElements(in, shapeB[0], shapeB[1]);
+                rejectOverLimit(id, bytes);
+                return;
+            }
+            final IntMatrix matrixB = Wire.readElements(in, shapeB[0], shapeB[1]);
+            // Reject malformed jobs here, so that one bad job cannot fail the batch it would have joined
+            if (matrixA.rows() == 0 || matrixB.rows() == 0 || matrixA.cols() == 0 || matrixB.cols() == 0) {
+                release(bytes);
+                failed.incrementAndGet();
+                reply(id, JobStatus.FAILED, "Matrices cannot be null or empty");
+                return;
+            }
+            if (matrixA.cols() != matrixB.rows()) {
+                release(bytes);
+                failed.incrementAndGet();
+                reply(id, JobStatus.FAILED,
+                    "Number of columns in Matrix A must be equal to number of rows in Matrix B");
+                return;
+            }
+            admit(new Job(this, id, matrixA, matrixB, System.nanoTime(),
+                TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMillis))));
+        }
+
+        private void rejectOverLimit(int id, long bytes) {
+            reject(this, id, bytes > maxJobBytes
+                ? "Job takes " + bytes + " bytes, more than the limit of " + maxJobBytes
+                : "Jobs in flight are at the limit of " + maxQueuedBytes + " bytes");
+        }
+
+        private void writeReplies() {
+            try {
+                while (true) {
+                    final Outgoing outgoing = replies.take();
+                    if (outgoing == END) {
+                        out.flush();
+                        return;
+                    }
+                    try {
+                        outgoing.reply().write(out);
+                        // Replies that are already waiting go out in the same flush
+                        if (replies.isEmpty()) {
+                            out.flush();
+                        }
+                    } finally {
+                        release(outgoing.bytes());
+                    }
+                }
+            } catch (IOException e) {
+                // The client stopped reading; the replies still queued have nowhere to go
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                synchronized (this) {
+                    open = false;
+                    for (Outgoing outgoing = replies.poll(); outgoing != null; outgoing = replies.poll()) {
+                        release(outgoing.bytes());
+                    }
+                }
+                connections.remove(this);
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    // Already closed
+                }
+            }
+        }
+
+        /**
+         * Queues {@code reply} for the writer, or drops it and releases its bytes if the connection is closing.
+         */
+        private void send(Reply reply, long bytes) {
+            synchronized (this) {
+                if (open) {
+                    replies.add(new Outgoing(reply, bytes));
+                    return;
+                }
+            }
+            release(bytes);
+        }
+
+        private void replyStats(int id) {
+            final ServiceStats stats = stats();
+            send(out -> {
+                out.writeInt(id);
+                out.writeByte(JobStatus.OK.ordinal());
+                stats.write(out);
+            }, 0);
+        }
+
+        /**
+         * Answers a job with its result; {@code bytes} are the job's, released once the reply is written.
+         */
+        void reply(int id, IntMatrix result, long bytes) {
+            send(out -> {
+                out.writeInt(id);
+                out.writeByte(JobStatus.OK.ordinal());
+                Wire.writeMatrix(out, result);
+            }, bytes);
+        }
+
+        void reply(int id, JobStatus status, String message) {
+            reply(id, status, message, 0);
+        }
+
+        void reply(int id, JobStatus status, String message, long bytes) {
+            send(out -> {
+                out.writeInt(id);
+                out.writeByte(status.ordinal());
+                out.writeUTF(message);
+            }, bytes);
+        }
+
+        /**
+         * Takes no more replies, and has the writer close the connection once it has written the ones queued.
+         */
+        synchronized void close() {
+            if (open) {
+                open = false;
+                replies.add(END);
+            }
+        }
+
+        /**
+         * Waits until {@code deadline} for the writer to finish, then closes the connection whether it has or not.
+         */
+        void awaitClosed(long deadline) {
+            try {
+                writer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer.interrupt();
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.wif3011.service;
+
+import com.wif3011.distributed.Wire;
+import com.wif3011.matrix.IntMatrix;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Connection to a {@link MatrixService}. Requests are sent one at a time, each waiting for its reply, so a client
+ * must not be shared between threads; open one per thread instead.
+ */
+public class MatrixServiceClient implements AutoCloseable {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private int nextId;
+
+    /**
+     * Connects to the service listening on {@code port} of the loopback interface.
+     */
+    public MatrixServiceClient(int port) throws IOException {
+        this(InetAddress.getLoopbackAddress().getHostAddress(), port);
+    }
+
+    public MatrixServiceClient(String host, int port) throws IOException {
+        this.socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    /**
+     * Outcome of one request: the result when the status is OK, otherwise the service's reason.
+     */
+    public record Reply(JobStatus status, IntMatrix result, String message) {
+    }
+
+    /**
+     * A reply read by {@link #receive()}, with the id of the request it answers.
+     */
+    record Answer(int id, Reply reply) {
+    }
+
+    /**
+     * {@code matrixA × matrixB} computed by the service, with no deadline.
+     *
+     * @throws RejectedExecutionException when the service's queue is full
+     * @throws IllegalArgumentException   when the service refuses the matrices
+     */
+    public IntMatrix multiply(IntMatrix matrixA, IntMatrix matrixB) throws IOException {
+        final Reply reply = call(matrixA, matrixB, 0);
+        return switch (reply.status()) {
+            case OK -> reply.result();
+            case REJECTED, EXPIRED -> throw new RejectedExecutionException(reply.message());
+            case FAILED -> throw new IllegalArgumentException(reply.message());
+        };
+    }
+
+    /**
+     * Sends one multiplication and waits for whatever the service makes of it.
+     *
+     * @param timeoutMillis how long the job may wait in the service's queue before it is dropped, 0 for no limit
+     */
+    public Reply call(IntMatrix matrixA, IntMatrix matrixB, int timeoutMillis) throws IOException {
+        if (matrixA == null || matrixB == null) {
+            throw new IllegalArgumentException("Matrices cannot be null");
+        }
+        final int id = send(matrixA, matrixB, timeoutMillis);
+        return readReply(readHeader(id));
+    }
+
+    /**
+     * Sends one multiplication without waiting for its reply, and returns the id that {@link #receive()} will
+     * report the reply under; ids count up from 0 on each client. Requests can be pipelined this way with one thread
+     * sending and another receiving, as long as {@link #call} and {@link #stats()} are not used on the same client
+     * meanwhile.
+     */
+    int send(IntMatrix matrixA, IntMatrix matrixB, int timeoutMillis) throws IOException {
+        final int id = nextId++;
+        out.writeByte(MatrixService.OP_MULTIPLY);
+        out.writeInt(id);
+        out.writeInt(timeoutMillis);
+        Wire.writeMatrix(out, matrixA);
+        Wire.writeMatrix(out, matrixB);
+        out.flush();
+        return id;
+    }
+
+    /**
+     * Waits for the next reply to a request made with {@link #send}, whichever request it answers.
+     */
+    Answer receive() throws IOException {
+        final int id = in.readInt();
+        return new Answer(id, readReply(readStatus()));
+    }
+
+    /**
+     * The service's current queue depth, counters and latency percentiles.
+     */
+    public ServiceStats stats() throws IOException {
+        final int id = nextId++;
+        out.writeByte(MatrixService.OP_STATS);
+        out.writeInt(id);
+        out.flush();
+        final JobStatus status = readHeader(id);
+        if (status != JobStatus.OK) {
+            throw new IOException("Service refused the stats request: " + in.readUTF());
+        }
+        return ServiceStats.read(in);
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    private Reply readReply(JobStatus status) throws IOException {
+        return status == JobStatus.OK
+            ? new Reply(status, Wire.readMatrix(in), null)
+            : new Reply(status, null, in.readUTF());
+    }
+
+    private JobStatus readHeader(int expectedId) throws IOException {
+        final int id = in.readInt();
+        if (id != expectedId) {
+            throw new IOException("Reply to request " + id + " while waiting for " + expectedId);
+        }
+        return readStatus();
+    }
+
+    private JobStatus readStatus() throws IOException {
+        try {
+            return JobStatus.fromCode(in.readUnsignedByte());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt reply from the service", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.wif3011.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Counters and latency percentiles of a {@link MatrixService}, as of one moment.
+ *
+ * @param queueDepth    jobs admitted and waiting to be dispatched
+ * @param queueCapacity jobs the queue holds before new ones are rejected
+ * @param accepted      jobs admitted to the queue
+ * @param rejected      jobs turned away because the queue was full, they were too large or the jobs in flight
+ *                      were at the byte limit
+ * @param expired       admitted jobs dropped because their deadline passed while they waited
+ * @param failed        jobs that were invalid or failed while computing
+ * @param completed     jobs computed and answered
+ * @param batches       micro-batches dispatched, each run with one {@code multiplyAll} call
+ * @param batchedJobs   jobs that went out in those batches
+ * @param p50Nanos      median time from admission to reply, over the most recent completed jobs
+ * @param p90Nanos      90th percentile of the same
+ * @param p99Nanos      99th percentile of the same
+ * @param maxNanos      slowest of the same
+ */
+public record ServiceStats(
+    int queueDepth,
+    int queueCapacity,
+    long accepted,
+    long rejected,
+    long expired,
+    long failed,
+    long completed,
+    long batches,
+    long batchedJobs,
+    long p50Nanos,
+    long p90Nanos,
+    long p99Nanos,
+    long maxNanos
+) {
+
+    /**
+     * Average number of jobs per micro-batch.
+     */
+    public double meanBatchSize() {
+        return batches == 0 ? 0 : (double) batchedJobs / batches;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("queue %d/%d, %d accepted, %d rejected, %d expired, %d failed, %d completed,"
+                + " %d batches (mean %.1f jobs), latency p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms",
+            queueDepth, queueCapacity, accepted, rejected, expired, failed, completed, batches, meanBatchSize(),
+            p50Nanos / 1e6, p90Nanos / 1e6, p99Nanos / 1e6, maxNanos / 1e6);
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(queueDepth);
+        out.writeInt(queueCapacity);
+        for (long counter : new long[]{accepted, rejected, expired, failed, completed, batches, batchedJobs,
+            p50Nanos, p90Nanos, p99Nanos, maxNanos}) {
+            out.writeLong(counter);
+        }
+    }
+
+    static ServiceStats read(DataInputStream in) throws IOException {
+        return new ServiceStats(in.readInt(), in.readInt(), in.readLong(), in.readLong(), in.readLong(),
+            in.readLong(), in.readLong(), in.readLong(), in.readLong(), in.readLong(), in.readLong(), in.readLong(),
+            in.readLong());
+    }
+}
@@ -0,0 +1,98 @@
+package com.wif3011.tuning;
+
+import java.util.Locale;
+
+/**
+ * One point of a {@link ScalingStudy}: one implementation multiplying two size×size matrices on a given number of
+ * workers.
+ *
+ * @param implementation command-line name of the multiplier
+ * @param mode           strong scaling (fixed size) or weak scaling (size grown with the workers)
+ * @param size           dimension of the square matrices actually multiplied
+ * @param workers        workers the multiplier ran on
+ * @param nanos          best wall time of the timed runs
+ * @param speedup        rate relative to the same series on its fewest workers
+ * @param efficiency     speedup per added worker: 1.0 is perfect scaling
+ * @param intensity      modelled operations per byte of memory traffic, see {@link ScalingStudy#intensity}
+ * @param bandwidth      memory read bandwidth the same workers reached, in bytes per second
+ * @param baselineNanos  time of the same point in the baseline, or -1 if it has none
+ * @param regression     whether this point is slower than the baseline by more than the tolerance
+ */
+public record ScalingResult(
+    String implementation,
+    ScalingStudy.Mode mode,
+    int size,
+    int workers,
+    long nanos,
+    double speedup,
+    double efficiency,
+    double intensity,
+    double bandwidth,
+    long baselineNanos,
+    boolean regression
+) {
+    /** Column names of {@link #toCsv()}, in order. */
+    public static final String CSV_HEADER = "implementation,mode,size,workers,seconds,gflops,speedup,efficiency,"
+        + "intensity,bandwidth_gbs,memory_roof_gflops,bound,baseline_seconds,regression";
+
+    /**
+     * Fraction of the memory roof above which a point counts as bandwidth-bound.
+     */
+    private static final double MEMORY_BOUND_FRACTION = 0.8;
+
+    /**
+     * Achieved rate of 2·n³ operations.
+     */
+    public double gflops() {
+        return nanos == 0 ? 0 : 2.0 * size * size * size / nanos;
+    }
+
+    /**
+     * Highest rate the memory traffic allows at the measured bandwidth: the roofline's sloped ceiling at this
+     * point's intensity.
+     */
+    public double memoryRoofGflops() {
+        return intensity * bandwidth / 1e9;
+    }
+
+    /**
+     * Whether the point runs close enough to its memory roof that more bandwidth, not more compute, would speed
+     * it up.
+     */
+    public boolean isMemoryBound() {
+        return gflops() >= MEMORY_BOUND_FRACTION * memoryRoofGflops();
+    }
+
+    /**
+     * Key a point is matched on against a baseline.
+     */
+    public String key() {
+        return key(implementation, mode, size, workers);
+    }
+
+    static String key(String implementation, ScalingStudy.Mode mode, int size, int workers) {
+        return implementation + "," + mode + "," + size + "," + workers;
+    }
+
+    ScalingResult withBaseline(long baselineNanos, boolean regression) {
+        return new ScalingResult(implementation, mode, size, workers, nanos, speedup, efficiency, intensity,
+            bandwidth, baselineNanos, regression);
+    }
+
+    public String toCsv() {
+        return String.format(Locale.ROOT, "%s,%s,%d,%d,%.6f,%.3f,%.3f,%.3f,%.2f,%.2f,%.2f,%s,%s,%b",
+            implementation, mode, size, workers, nanos / 1e9, gflops(), speedup, efficiency, intensity,
+            bandwidth / 1e9, memoryRoofGflops(), isMemoryBound() ? "memory" : "compute",
+            baselineNanos < 0 ? "" : String.format(Locale.ROOT, "%.6f", baselineNanos / 1e9), regression);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-18s %-6s %5d %3d workers: %9.2f ms %7.2f GFLOP/s, speedup %5.2f, efficiency %4.2f,"
+                + " %5.1f FLOP/byte (%s-bound)%s",
+            implementation, mode, size, workers, nanos / 1e6, gflops(), speedup, efficiency, intensity,
+            isMemoryBound() ? "memory" : "compute",
+            baselineNanos < 0 ? "" : String.format(", baseline %.2f ms%s", baselineNanos / 1e6,
+                regression ? " REGRESSION" : ""));
+    }
+}
@@ -0,0 +1,309 @@
+package com.wif3011.tuning;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.framework.MatrixMultiplier;
+import com.wif3011.framework.Multipliers;
+import com.wif3011.framework.TileConfig;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.util.MatrixUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Times multipliers over a sweep of worker counts and matrix sizes, to show where each one stops scaling and
+ * whether it is limited by compute or by memory bandwidth.
+ * <p>
+ * Every implementation is built through {@link Multipliers#factory} with the tuned tiles for the size and the
+ * thread count of the point, so it runs on a process-wide engine with exactly that many workers. Strong scaling
+ * keeps the size fixed; weak scaling grows it with the workers so that each worker has the same n³/workers share
+ * of operations. Speedup and efficiency are rates relative to the same series on its fewest workers, which makes
+ * them comparable between the two modes. Implementations that ignore the thread count are measured on one worker
+ * only, since repeating them on more would just report their efficiency falling as 1/workers.
+ * <p>
+ * For the roofline each point also carries a modelled arithmetic intensity and the read bandwidth its workers
+ * reach on this machine. Results are written as CSV, headed by the machine they were measured on, and can be
+ * read back as the baseline of a later run; points that got slower than the baseline by more than a tolerance
+ * are flagged as regressions. A baseline from another machine is ignored, as with {@link TuningProfile}.
+ */
+public class ScalingStudy {
+    /**
+     * How the size of a series relates to its worker count.
+     */
+    public enum Mode {
+        /** Same size on every worker count. */
+        STRONG,
+
+        /** Size grown with the cube root of the workers, so the work per worker stays the same. */
+        WEAK
+    }
+
+    /** Default sizes to sweep. */
+    public static final int[] DEFAULT_SIZES = {256, 512, 1024};
+
+    /** A point slower than its baseline by more than this fraction is flagged. */
+    public static final double DEFAULT_TOLERANCE = 0.10;
+
+    /** Weak-scaling sizes are rounded to this, so tiles stay aligned. */
+    private static final int SIZE_STEP = 16;
+
+    /**
+     * Untimed runs continue this long after the first one, which on a cold JVM is mostly class loading and
+     * compilation, so that the first point of each implementation is measured on compiled code too.
+     */
+    private static final long WARM_UP_NANOS = 300_000_000L;
+
+    /** Array streamed by the bandwidth probe; large enough to miss every cache level. */
+    private static final int BANDWIDTH_BYTES = 64 << 20;
+
+    private static final String MACHINE_PREFIX = "# machine=";
+
+    /** The only worker count swept for implementations that always run on the calling thread. */
+    private static final int[] SERIAL_WORKER_COUNTS = {1};
+
+    private final List<String> implementations;
+    private final int[] sizes;
+    private final int[] workerCounts;
+    private final Set<Mode> modes;
+    private final int runs;
+    private final TuningProfile profile;
+
+    private final Map<Integer, IntMatrix> inputs = new HashMap<>();
+    private final Map<Integer, Double> bandwidths = new HashMap<>();
+
+    public ScalingStudy(List<String> implementations) {
+        this(implementations, DEFAULT_SIZES, defaultWorkerCounts(), Set.of(Mode.STRONG), 3,
+            TuningProfile.loadDefault());
+    }
+
+    /**
+     * @param workerCounts worker counts to sweep, in increasing order; the first is the reference for speedup
+     * @param runs         timed runs per point; the fastest one counts
+     * @param profile      tuned tiles to build the multipliers with; an empty profile means the defaults
+     */
+    public ScalingStudy(List<String> implementations, int[] sizes, int[] workerCounts, Set<Mode> modes, int runs,
+                        TuningProfile profile) {
+        if (implementations.isEmpty() || sizes.length == 0 || workerCounts.length == 0 || modes.isEmpty() || runs < 1) {
+            throw new IllegalArgumentException("Need at least one implementation, size, worker count, mode and run");
+        }
+        for (String implementation : implementations) {
+            if (Multipliers.factory(implementation) == null) {
+                throw new IllegalArgumentException("Unknown implementation: " + implementation);
+            }
+        }
+        if (Arrays.stream(sizes).anyMatch(size -> size < 1)
+            || Arrays.stream(workerCounts).anyMatch(workers -> workers < 1)
+            || !Arrays.equals(workerCounts, Arrays.stream(workerCounts).sorted().distinct().toArray())) {
+            throw new IllegalArgumentException("Sizes must be positive and worker counts positive and increasing: "
+                + Arrays.toString(sizes) + ", " + Arrays.toString(workerCounts));
+        }
+        this.implementations = List.copyOf(implementations);
+        this.sizes = sizes.clone();
+        this.workerCounts = workerCounts.clone();
+        this.modes = Set.copyOf(modes);
+        this.runs = runs;
+        this.profile = profile;
+    }
+
+    /**
+     * 1, 2, 4, ... up to the available processors, and the available processors themselves.
+     */
+    public static int[] defaultWorkerCounts() {
+        final int cpus = Runtime.getRuntime().availableProcessors();
+        return IntStream.concat(
+            IntStream.iterate(1, workers -> workers < cpus, workers -> workers * 2), IntStream.of(cpus)).toArray();
+    }
+
+    /**
+     * Runs the whole sweep, handing each point to {@code progress} as soon as it is measured.
+     */
+    public List<ScalingResult> run(Consumer<ScalingResult> progress) {
+        final List<ScalingResult> results = new ArrayList<>();
+        for (String implementation : implementations) {
+            final Function<TileConfig, MatrixMultiplier> factory = Multipliers.factory(implementation);
+            final int[] counts = Multipliers.usesThreadCount(implementation) ? workerCounts : SERIAL_WORKER_COUNTS;
+            for (Mode mode : Mode.values()) {
+                if (!modes.contains(mode)) {
+                    continue;
+                }
+                for (int baseSize : sizes) {
+                    double referenceRate = 0;
+                    for (int workers : counts) {
+                        final int size = mode == Mode.STRONG ? baseSize : weakSize(baseSize, workers);
+                        final TileConfig config = profile.configFor(implementation, size, size, size)
+                            .withThreadCount(workers);
+                        final long nanos = time(factory.apply(config), input(size));
+
+                        // Rates rather than times, so that weak-scaling points of different sizes compare
+                        final double rate = 2.0 * size * size * size / nanos;
+                        if (referenceRate == 0) {
+                            referenceRate = rate / counts[0];
+                        }
+                        final double speedup = rate / (referenceRate * counts[0]);
+                        final ScalingResult result = new ScalingResult(implementation, mode, size, workers, nanos,
+                            speedup, rate / (referenceRate * workers), intensity(size, config),
+                            bandwidth(workers), -1, false);
+                        results.add(result);
+                        progress.accept(result);
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Modelled operations per byte moved by a tiled n×n product: each tile streams its panels of A and B from
+     * memory and the result is written once, so A is read once per tile column and B once per tile row. This is
+     * the traffic when nothing stays in cache between tiles, which makes it a lower bound on the true intensity.
+     */
+    public static double intensity(int size, TileConfig config) {
+        final long rowTiles = (size + config.rowBlock() - 1) / config.rowBlock();
+        final long colTiles = (size + config.colBlock() - 1) / config.colBlock();
+        final double square = (double) size * size;
+        final double bytes = Integer.BYTES * (square * colTiles + square * rowTiles + square);
+        return 2.0 * size * square / bytes;
+    }
+
+    /**
+     * Read bandwidth, in bytes per second, that {@code workers} workers reach summing an array far larger than
+     * the caches; the best of five passes.
+     */
+    public static double measureBandwidth(int workers) {
+        final long[] data = new long[BANDWIDTH_BYTES / Long.BYTES];
+        Arrays.fill(data, 1);
+        final ExecutionEngine engine = ExecutionEngine.shared(workers);
+        final int chunks = workers * 4;
+        final long[] sum = new long[1];
+        long best = Long.MAX_VALUE;
+        for (int pass = 0; pass < 5; pass++) {
+            final long start = System.nanoTime();
+            engine.run(() -> sum[0] += IntStream.range(0, chunks).parallel().mapToLong(chunk -> {
+                final int from = data.length / chunks * chunk;
+                final int to = chunk == chunks - 1 ? data.length : from + data.length / chunks;
+                long total = 0;
+                for (int i = from; i < to; i++) {
+                    total += data[i];
+                }
+                return total;
+            }).sum());
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (sum[0] != 5L * data.length) {
+            throw new IllegalStateException("Bandwidth probe summed " + sum[0] + " instead of " + 5L * data.length);
+        }
+        return (double) BANDWIDTH_BYTES * 1e9 / best;
+    }
+
+    /**
+     * Fills in each point's baseline time from an earlier run and flags those that got slower by more than
+     * {@code tolerance}, e.g. 0.1 for 10%.
+     */
+    public static List<ScalingResult> compare(List<ScalingResult> results, Map<String, Long> baseline,
+                                              double tolerance) {
+        final List<ScalingResult> compared = new ArrayList<>(results.size());
+        for (ScalingResult result : results) {
+            final Long baselineNanos = baseline.get(result.key());
+            compared.add(baselineNanos == null ? result
+                : result.withBaseline(baselineNanos, result.nanos() > baselineNanos * (1 + tolerance)));
+        }
+        return compared;
+    }
+
+    public static void writeCsv(List<ScalingResult> results, Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(path); PrintWriter out = new PrintWriter(writer)) {
+            out.println(MACHINE_PREFIX + TuningProfile.currentMachine());
+            out.println(ScalingResult.CSV_HEADER);
+            for (ScalingResult result : results) {
+                out.println(result.toCsv());
+            }
+        }
+    }
+
+    /**
+     * Times by point key from a CSV written by {@link #writeCsv}; empty if it was measured on another machine.
+     */
+    public static Map<String, Long> readBaseline(Path path) throws IOException {
+        final Map<String, Long> baseline = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            final String machine = reader.readLine();
+            if (machine == null || !machine.equals(MACHINE_PREFIX + TuningProfile.currentMachine())) {
+                return baseline;
+            }
+            final List<String> columns = List.of(String.valueOf(reader.readLine()).split(","));
+            final int implementation = columns.indexOf("implementation");
+            final int mode = columns.indexOf("mode");
+            final int size = columns.indexOf("size");
+            final int workers = columns.indexOf("workers");
+            final int seconds = columns.indexOf("seconds");
+            if (Math.min(Math.min(implementation, mode), Math.min(Math.min(size, workers), seconds)) < 0) {
+                throw new IOException("Not a scaling study CSV: " + path);
+            }
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                final String[] fields = line.split(",", -1);
+                try {
+                    baseline.put(
+                        ScalingResult.key(fields[implementation], Mode.valueOf(fields[mode]),
+                            Integer.parseInt(fields[size]), Integer.parseInt(fields[workers])),
+                        Math.round(Double.parseDouble(fields[seconds]) * 1e9));
+                } catch (RuntimeException e) {
+                    throw new IOException("Malformed scaling study line: " + line, e);
+                }
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * Size for weak scaling: the base size times the cube root of the workers, so that n³ grows with them.
+     */
+    static int weakSize(int baseSize, int workers) {
+        final double size = baseSize * Math.cbrt(workers);
+        return Math.max(SIZE_STEP, (int) Math.round(size / SIZE_STEP) * SIZE_STEP);
+    }
+
+    /**
+     * Best-of-{@code runs} wall time in nanoseconds, after one untimed run and more for {@link #WARM_UP_NANOS}.
+     */
+    private long time(MatrixMultiplier multiplier, IntMatrix matrix) {
+        multiplier.multiply(matrix, matrix);
+        final long warmUpEnd = System.nanoTime() + WARM_UP_NANOS;
+        do {
+            multiplier.multiply(matrix, matrix);
+        } while (System.nanoTime() - warmUpEnd < 0);
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < runs; run++) {
+            final long start = System.nanoTime();
+            multiplier.multiply(matrix, matrix);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private IntMatrix input(int size) {
+        return inputs.computeIfAbsent(size, key -> MatrixUtil.generateMatrix(key, key, 0, 10));
+    }
+
+    private double bandwidth(int workers) {
+        return bandwidths.computeIfAbsent(workers, ScalingStudy::measureBandwidth);
+    }
+}
@@ -0,0 +1,41 @@
+package com.wif3011.tuning;
+
+/**
+ * Coarse classification of an m×k by k×n multiplication, used to key tuned tile configurations.
+ * Shapes in the same class tend to prefer the same tile geometry.
+ */
+public enum ShapeClass {
+    /** Every dimension fits in a couple of tiles. */
+    SMALL,
+    /** m, k and n are within a factor of {@link #ASPECT_RATIO} of each other. */
+    SQUARE,
+    /** Many more result rows than columns. */
+    TALL,
+    /** Many more result columns than rows. */
+    WIDE,
+    /** The shared dimension dominates both result dimensions (inner-product heavy). */
+    DEEP;
+
+    /** How lopsided a shape must be before it leaves {@link #SQUARE}. */
+    public static final int ASPECT_RATIO = 4;
+
+    /** Largest dimension still considered {@link #SMALL}. */
+    public static final int SMALL_DIMENSION = 128;
+
+    public static ShapeClass of(int leftMatrixRows, int sharedDimension, int rightMatrixCols) {
+        final int largestResultDimension = Math.max(leftMatrixRows, rightMatrixCols);
+        if (Math.max(largestResultDimension, sharedDimension) <= SMALL_DIMENSION) {
+            return SMALL;
+        }
+        if (sharedDimension >= (long) ASPECT_RATIO * largestResultDimension) {
+            return DEEP;
+        }
+        if (leftMatrixRows >= (long) ASPECT_RATIO * rightMatrixCols) {
+            return TALL;
+        }
+        if (rightMatrixCols >= (long) ASPECT_RATIO * leftMatrixRows) {
+            return WIDE;
+        }
+        return SQUARE;
+    }
+}
@@ -0,0 +1,140 @@
+package com.wif3011.tuning;
+
+import com.wif3011.framework.MatrixMultiplier;
+import com.wif3011.framework.TileConfig;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.util.MatrixUtil;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Finds a good {@link TileConfig} for a multiplier on the current machine by timing short calibration runs.
+ * <p>
+ * The sweep is done in two passes to keep calibration short: first every tile size pair is timed with all
+ * processors, then every thread count is timed with the winning tiles. Calibration matrices keep the aspect
+ * ratio of the requested shape but are scaled down so that no dimension exceeds {@link #MAX_CALIBRATION_DIMENSION}.
+ */
+public class TileAutotuner {
+    /** Default tile edge lengths to try, for rows and columns independently. */
+    public static final int[] DEFAULT_BLOCK_CANDIDATES = {32, 64, 128, 256};
+
+    /** Largest dimension of a calibration matrix. */
+    public static final int MAX_CALIBRATION_DIMENSION = 512;
+
+    private final int[] blockCandidates;
+    private final int[] threadCandidates;
+    private final int runs;
+
+    public TileAutotuner() {
+        this(DEFAULT_BLOCK_CANDIDATES, defaultThreadCandidates(), 3);
+    }
+
+    /**
+     * @param blockCandidates  tile edge lengths to try
+     * @param threadCandidates thread counts to try
+     * @param runs             timed runs per candidate; the fastest one counts
+     */
+    public TileAutotuner(int[] blockCandidates, int[] threadCandidates, int runs) {
+        if (blockCandidates.length == 0 || threadCandidates.length == 0 || runs < 1) {
+            throw new IllegalArgumentException("Need at least one block size, one thread count and one run");
+        }
+        this.blockCandidates = blockCandidates.clone();
+        this.threadCandidates = threadCandidates.clone();
+        this.runs = runs;
+    }
+
+    /**
+     * 1, half and all of the available processors.
+     */
+    public static int[] defaultThreadCandidates() {
+        final int cpus = Runtime.getRuntime().availableProcessors();
+        return Arrays.stream(new int[] {1, Math.max(1, cpus / 2), cpus}).distinct().toArray();
+    }
+
+    /**
+     * Returns the profile's entry for this implementation and shape class, calibrating and recording one first
+     * if there is none yet. The caller decides when to {@link TuningProfile#save} the profile.
+     */
+    public TileConfig tune(
+        TuningProfile profile, String implementation,
+        Function<TileConfig, ? extends MatrixMultiplier> factory,
+        int leftMatrixRows, int sharedDimension, int rightMatrixCols
+    ) {
+        final ShapeClass shape = ShapeClass.of(leftMatrixRows, sharedDimension, rightMatrixCols);
+        return profile.get(implementation, shape).orElseGet(() -> {
+            final TileConfig best = calibrate(factory, leftMatrixRows, sharedDimension, rightMatrixCols);
+            profile.put(implementation, shape, best);
+            return best;
+        });
+    }
+
+    /**
+     * Times every candidate on random matrices shaped like the given problem and returns the fastest config.
+     *
+     * @param factory builds the multiplier under test from a candidate config
+     */
+    public TileConfig calibrate(
+        Function<TileConfig, ? extends MatrixMultiplier> factory,
+        int leftMatrixRows, int sharedDimension, int rightMatrixCols
+    ) {
+        // Scale the shape down uniformly so calibration stays short
+        final int largest = Math.max(leftMatrixRows, Math.max(sharedDimension, rightMatrixCols));
+        final double scale = Math.min(1.0, (double) MAX_CALIBRATION_DIMENSION / largest);
+        final int rows = Math.max(1, (int) (leftMatrixRows * scale));
+        final int shared = Math.max(1, (int) (sharedDimension * scale));
+        final int cols = Math.max(1, (int) (rightMatrixCols * scale));
+
+        final IntMatrix left = MatrixUtil.generateMatrix(rows, shared, 0, 10);
+        final IntMatrix right = MatrixUtil.generateMatrix(shared, cols, 0, 10);
+
+        // Pass 1: tile geometry with every processor
+        TileConfig best = TileConfig.DEFAULT;
+        long bestTime = Long.MAX_VALUE;
+        for (int rowBlock : candidatesFor(rows)) {
+            for (int colBlock : candidatesFor(cols)) {
+                final TileConfig candidate = new TileConfig(rowBlock, colBlock, 0);
+                final long time = time(factory.apply(candidate), left, right);
+                if (time < bestTime) {
+                    bestTime = time;
+                    best = candidate;
+                }
+            }
+        }
+
+        // Pass 2: thread count with the winning tiles
+        final TileConfig tiles = best;
+        for (int threads : threadCandidates) {
+            final TileConfig candidate = tiles.withThreadCount(threads);
+            final long time = time(factory.apply(candidate), left, right);
+            if (time < bestTime) {
+                bestTime = time;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Block candidates worth trying for a dimension: a block much larger than the dimension
+     * behaves exactly like the smallest candidate that already covers it, so those are skipped.
+     */
+    private int[] candidatesFor(int dimension) {
+        final int[] useful = Arrays.stream(blockCandidates).filter(block -> block / 2 < dimension).toArray();
+        return useful.length > 0 ? useful : new int[] {blockCandidates[0]};
+    }
+
+    /**
+     * Best-of-{@code runs} wall time in nanoseconds, after one untimed warm-up run.
+     */
+    private long time(MatrixMultiplier multiplier, IntMatrix left, IntMatrix right) {
+        multiplier.multiply(left, right);
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < runs; run++) {
+            final long start = System.nanoTime();
+            multiplier.multiply(left, right);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,139 @@
+package com.wif3011.tuning;
+
+import com.wif3011.framework.TileConfig;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Winning {@link TileConfig}s for one machine, keyed by implementation name and {@link ShapeClass}.
+ * <p>
+ * Stored as a properties file, one {@code <implementation>.<SHAPE>=<rowBlock>,<colBlock>,<threadCount>} line
+ * per entry. The file also records which machine it was calibrated on; a profile copied to a different
+ * machine is ignored on load, since the tuned values would not carry over.
+ */
+public class TuningProfile {
+    /** Where profiles are kept unless a path is given explicitly. */
+    public static final Path DEFAULT_PATH = Path.of(System.getProperty("user.home"), ".wif3011", "tuning-profile.properties");
+
+    private static final String MACHINE_KEY = "machine";
+
+    private final String machine;
+    private final Map<String, TileConfig> entries = new TreeMap<>();
+
+    public TuningProfile() {
+        this(currentMachine());
+    }
+
+    private TuningProfile(String machine) {
+        this.machine = machine;
+    }
+
+    /**
+     * Identifies the hardware a profile was calibrated on: OS, architecture and processor count.
+     */
+    public static String currentMachine() {
+        return System.getProperty("os.name") + "/" + System.getProperty("os.arch")
+            + "/" + Runtime.getRuntime().availableProcessors() + "cpu";
+    }
+
+    /**
+     * Loads a profile, returning an empty one if the file does not exist or belongs to another machine.
+     */
+    public static TuningProfile load(Path path) throws IOException {
+        final TuningProfile profile = new TuningProfile();
+        if (!Files.exists(path)) {
+            return profile;
+        }
+
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+        if (!profile.machine.equals(properties.getProperty(MACHINE_KEY))) {
+            return profile;
+        }
+
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.equals(MACHINE_KEY)) {
+                profile.entries.put(key, parse(key, properties.getProperty(key)));
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Loads the profile at {@link #DEFAULT_PATH}, falling back to an empty profile if it cannot be read.
+     */
+    public static TuningProfile loadDefault() {
+        try {
+            return load(DEFAULT_PATH);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring unreadable tuning profile " + DEFAULT_PATH + ": " + e.getMessage());
+            return new TuningProfile();
+        }
+    }
+
+    public synchronized void save(Path path) throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty(MACHINE_KEY, machine);
+        for (Map.Entry<String, TileConfig> entry : entries.entrySet()) {
+            final TileConfig config = entry.getValue();
+            properties.setProperty(entry.getKey(),
+                config.rowBlock() + "," + config.colBlock() + "," + config.threadCount());
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            properties.store(writer, "Tile configurations tuned by TileAutotuner");
+        }
+    }
+
+    public synchronized Optional<TileConfig> get(String implementation, ShapeClass shape) {
+        return Optional.ofNullable(entries.get(key(implementation, shape)));
+    }
+
+    public synchronized void put(String implementation, ShapeClass shape, TileConfig config) {
+        entries.put(key(implementation, shape), config);
+    }
+
+    /**
+     * The tuned config for this implementation and shape, or {@link TileConfig#DEFAULT} if none was recorded.
+     */
+    public TileConfig configFor(String implementation, int leftMatrixRows, int sharedDimension, int rightMatrixCols) {
+        return get(implementation, ShapeClass.of(leftMatrixRows, sharedDimension, rightMatrixCols))
+            .orElse(TileConfig.DEFAULT);
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public String getMachine() {
+        return machine;
+    }
+
+    private static String key(String implementation, ShapeClass shape) {
+        return implementation + "." + shape.name();
+    }
+
+    private static TileConfig parse(String key, String value) {
+        final String[] parts = value.split(",");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed tuning entry " + key + "=" + value);
+        }
+        return new TileConfig(
+            Integer.parseInt(parts[0].trim()),
+            Integer.parseInt(parts[1].trim()),
+            Integer.parseInt(parts[2].trim()));
+    }
+}
@@ -1,17 +1,50 @@
 package com.wif3011.util;
 
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.MappedIntMatrix;
+
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class MatrixUtil {
+    /** Default upper bound on the rows filled by one ForkJoin leaf in {@link #generate}. */
+    public static final int DEFAULT_FILL_TILE_SIZE = 128;
+
     public static void print(int[][] matrix) {
         for (int[] row : matrix) {
             System.out.println(Arrays.toString(row));
         }
     }
 
+    public static void print(IntMatrix matrix) {
+        for (int row = 0; row < matrix.rows(); row++) {
+            final int start = matrix.index(row, 0);
+            System.out.println(Arrays.toString(Arrays.copyOfRange(matrix.data(), start, start + matrix.cols())));
+        }
+    }
+
+    /**
+     * Loads a matrix file (see {@link com.wif3011.matrix.MatrixFileHeader}) onto the heap. The file is mapped and
+     * copied into the matrix buffer with bulk transfers; no element is parsed individually.
+     */
+    public static IntMatrix load(Path path) throws IOException {
+        try (MappedIntMatrix file = MappedIntMatrix.open(path, false)) {
+            return file.toIntMatrix();
+        }
+    }
+
+    /**
+     * Saves a matrix as a row-major matrix file, replacing any existing file.
+     */
+    public static void save(IntMatrix matrix, Path path) throws IOException {
+        try (MappedIntMatrix file = MappedIntMatrix.create(path, matrix.rows(), matrix.cols())) {
+            file.write(0, 0, matrix);
+        }
+    }
 
     /**
      * Generates a rowNum×colNum matrix of random ints in [minValue…maxValue],
@@ -24,21 +57,35 @@ public class MatrixUtil {
      * @return filled int[rowNum][colNum] matrix
      */
     public static int[][] generate(int rowNum, int colNum, int minValue, int maxValue) {
-        int[][] matrix = new int[rowNum][colNum];
+        return generateMatrix(rowNum, colNum, minValue, maxValue).toArray();
+    }
+
+    /**
+     * Same as {@link #generate(int, int, int, int)}, but fills a contiguous {@link IntMatrix} directly.
+     */
+    public static IntMatrix generateMatrix(int rowNum, int colNum, int minValue, int maxValue) {
+        return generateMatrix(rowNum, colNum, minValue, maxValue, DEFAULT_FILL_TILE_SIZE);
+    }
+
+    /**
+     * Same as {@link #generateMatrix(int, int, int, int)}, with an explicit cap on the rows filled per leaf task.
+     *
+     * @param tileSize maximum rows per ForkJoin leaf, e.g. 64–512 depending on the cache
+     */
+    public static IntMatrix generateMatrix(int rowNum, int colNum, int minValue, int maxValue, int tileSize) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive");
+        }
+        IntMatrix matrix = new IntMatrix(rowNum, colNum);
         int range = maxValue - minValue + 1;
 
         // Determine chunk size: roughly rows-per-CPU, but no larger than tileSize
         int cpus = Runtime.getRuntime().availableProcessors();
         int rowsPerCpu = (rowNum + cpus - 1) / cpus;
-        int tileSize = 128;  // you can tune this (e.g. 64–512) for your cache
-        int threshold = Math.min(tileSize, rowsPerCpu);
-
-        // Submit the single root task to the common ForkJoinPool
-        try (ForkJoinPool pool = ForkJoinPool.commonPool()) {
-            pool.submit(new FillTask(matrix, 0, rowNum, colNum, minValue, range, threshold)).get();
-        } catch (Exception e) {
-            Thread.currentThread().interrupt();
-        }
+        int threshold = Math.max(1, Math.min(tileSize, rowsPerCpu));
+
+        // Submit the single root task to the shared execution engine
+        ExecutionEngine.shared().invoke(new FillTask(matrix, 0, rowNum, colNum, minValue, range, threshold));
 
         return matrix;
     }
@@ -48,10 +95,10 @@ public class MatrixUtil {
      * then fills each row with two random ints per nextLong() call.
      */
     private static class FillTask extends RecursiveAction {
-        private final int[][] matrix;
+        private final IntMatrix matrix;
         private final int start, end, colNum, minValue, range, threshold;
 
-        FillTask(int[][] matrix,
+        FillTask(IntMatrix matrix,
                  int start, int end,
                  int colNum, int minValue,
                  int range, int threshold) {
@@ -71,8 +118,8 @@ public class MatrixUtil {
                 // Leaf: fill rows [start, end)
                 ThreadLocalRandom rnd = ThreadLocalRandom.current();
                 for (int r = start; r < end; r++) {
-                    int[] row = matrix[r];
-                    int c = 0, len = colNum;
+                    int[] row = matrix.data();
+                    int c = matrix.index(r, 0), len = c + colNum;
 
                     // Generate two ints per nextLong() call
                     while (c + 1 < len) {
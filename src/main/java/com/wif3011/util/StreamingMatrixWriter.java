@@ -0,0 +1,62 @@
+package com.wif3011.util;
+
+import com.wif3011.framework.TiledMatrixMultiplier;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.MappedIntMatrix;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes a matrix file tile by tile, so a result can be dumped while it is still being computed.
+ * <p>
+ * Pass it as the {@link TiledMatrixMultiplier.TileListener} of
+ * {@link TiledMatrixMultiplier#multiply(IntMatrix, IntMatrix, TiledMatrixMultiplier.TileListener)}: every worker
+ * copies its finished tile straight into the mapped file, without waiting for the rest of the product.
+ * Tiles are disjoint, so concurrent writes need no locking.
+ */
+public final class StreamingMatrixWriter implements TiledMatrixMultiplier.TileListener, AutoCloseable {
+    private final MappedIntMatrix file;
+    private final AtomicLong writtenElements = new AtomicLong();
+
+    private StreamingMatrixWriter(MappedIntMatrix file) {
+        this.file = file;
+    }
+
+    /**
+     * Creates (or truncates) a row-major file for a rows×cols matrix.
+     */
+    public static StreamingMatrixWriter create(Path path, int rows, int cols) throws IOException {
+        return new StreamingMatrixWriter(MappedIntMatrix.create(path, rows, cols));
+    }
+
+    @Override
+    public void tileCompleted(IntMatrix resultMatrix, int tileRowStart, int tileRowEnd, int tileColStart, int tileColEnd) {
+        writeTile(tileRowStart, tileColStart,
+            resultMatrix.view(tileRowStart, tileColStart, tileRowEnd - tileRowStart, tileColEnd - tileColStart));
+    }
+
+    /**
+     * Writes {@code tile} with its element (0, 0) at (rowStart, colStart) of the file.
+     */
+    public void writeTile(int rowStart, int colStart, IntMatrix tile) {
+        file.write(rowStart, colStart, tile);
+        writtenElements.addAndGet((long) tile.rows() * tile.cols());
+    }
+
+    /**
+     * Elements written so far; equals rows × cols once every tile is in, if no tile was written twice.
+     */
+    public long writtenElements() {
+        return writtenElements.get();
+    }
+
+    /**
+     * Flushes the written tiles to disk and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,131 @@
+package com.wif3011.concurrent;
+
+import com.wif3011.framework.Matrices;
+import com.wif3011.framework.MatrixMultiplier;
+import com.wif3011.framework.PackedTileKernel;
+import com.wif3011.framework.StrassenForkJoinMatrixMultiplier;
+import com.wif3011.framework.StrassenWorkspace;
+import com.wif3011.framework.TileConfig;
+import com.wif3011.framework.TileKernel;
+import com.wif3011.framework.TiledForkJoinMatrixMultiplier;
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutionEngineTest {
+    @Test
+    void sharedEnginesAreReusedAndOutliveClose() {
+        final ExecutionEngine engine = ExecutionEngine.shared(3);
+        assertSame(engine, ExecutionEngine.shared(3));
+        assertSame(ExecutionEngine.shared(), ExecutionEngine.shared(ExecutionEngine.shared().parallelism()));
+        assertEquals(3, engine.parallelism());
+
+        engine.close();
+        assertFalse(engine.pool().isShutdown());
+        assertEquals(List.of(7), engine.invokeAll(List.of(() -> 7)));
+    }
+
+    @Test
+    void isolatedEngineIsShutDownByItsOwner() {
+        final ExecutionEngine engine = ExecutionEngine.isolated(2);
+        assertTrue(engine.isIsolated());
+        assertEquals(2, engine.parallelism());
+        assertEquals(List.of(1, 2), engine.invokeAll(List.of(() -> 1, () -> 2)));
+        engine.close();
+        assertTrue(engine.pool().isShutdown());
+
+        assertThrows(IllegalArgumentException.class, () -> ExecutionEngine.isolated(0));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionEngine.shared(-1));
+    }
+
+    @Test
+    void taskFailuresAreRethrown() {
+        try (ExecutionEngine engine = ExecutionEngine.isolated(2)) {
+            final List<Callable<Integer>> failing = List.of(() -> 1, () -> {
+                throw new IllegalArgumentException("bad tile");
+            });
+            // ForkJoin may rethrow a copy made on the waiting thread, so check the type and message, not the instance
+            assertTrue(assertThrows(IllegalArgumentException.class,
+                () -> engine.invokeAll(failing)).getMessage().contains("bad tile"));
+
+            final List<Callable<Integer>> checked = List.of(() -> {
+                throw new IOException("disk");
+            });
+            Throwable cause = assertThrows(RuntimeException.class, () -> engine.invokeAll(checked));
+            while (cause != null && !(cause instanceof IOException)) {
+                cause = cause.getCause();
+            }
+            assertTrue(cause != null, "the checked failure was lost");
+        }
+    }
+
+    @Test
+    void nestedProductsOnASingleWorkerDoNotDeadlock() {
+        final Random random = new Random(28);
+        final IntMatrix matrixA = Matrices.random(random, 90, 70);
+        final IntMatrix matrixB = Matrices.random(random, 70, 80);
+        final IntMatrix expected = Matrices.naive(matrixA, matrixB);
+        try (ExecutionEngine engine = ExecutionEngine.isolated(1)) {
+            final List<MatrixMultiplier> multipliers = new ArrayList<>(
+                Matrices.drivers(TileConfig.square(16), new PackedTileKernel(), engine));
+            multipliers.add(new StrassenForkJoinMatrixMultiplier(16, new PackedTileKernel(), new StrassenWorkspace(),
+                engine));
+            for (MatrixMultiplier multiplier : multipliers) {
+                final IntMatrix[] result = new IntMatrix[1];
+                // The only worker starts a product that forks onto the same pool again
+                assertTimeoutPreemptively(Duration.ofSeconds(30),
+                    () -> engine.run(() -> result[0] = multiplier.multiply(matrixA, matrixB)),
+                    multiplier.getClass().getSimpleName());
+                assertEquals(expected, result[0], multiplier.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @Test
+    void multipliersComputeTilesOnlyOnTheInjectedEngine() {
+        final Random random = new Random(29);
+        final IntMatrix matrixA = Matrices.strided(random, 130, 70);
+        final IntMatrix matrixB = Matrices.strided(random, 70, 110);
+        final IntMatrix expected = Matrices.naive(matrixA, matrixB);
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final TileKernel packed = new PackedTileKernel();
+        final TileKernel recording = (left, right, result, tileRowStart, tileRowEnd, tileColStart, tileColEnd,
+                                      sharedDimension, alpha) -> {
+            threads.add(Thread.currentThread());
+            packed.multiplyTile(left, right, result, tileRowStart, tileRowEnd, tileColStart, tileColEnd,
+                sharedDimension, alpha);
+        };
+        try (ExecutionEngine engine = ExecutionEngine.isolated(2)) {
+            final List<MatrixMultiplier> multipliers = new ArrayList<>(
+                Matrices.drivers(TileConfig.square(32), recording, engine));
+            multipliers.add(new StrassenForkJoinMatrixMultiplier(32, recording, new StrassenWorkspace(), engine));
+            multipliers.add(new TiledForkJoinMatrixMultiplier(new TileConfig(32, 32, 1), recording, engine));
+            for (MatrixMultiplier multiplier : multipliers) {
+                threads.clear();
+                final String name = multiplier.getClass().getSimpleName();
+                assertSame(engine, multiplier.getEngine(), name);
+                assertEquals(expected, multiplier.multiply(matrixA, matrixB), name);
+                for (Thread thread : threads) {
+                    assertTrue(thread instanceof ForkJoinWorkerThread worker && worker.getPool() == engine.pool(),
+                        name + " computed a tile on " + thread);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.wif3011.distributed;
+
+import com.wif3011.framework.Matrices;
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DistributedMatrixMultiplierTest {
+    @Test
+    void threadWorkersMatchNaiveProductOnRaggedGrids() {
+        final Random random = new Random(121);
+        // Blocks of unequal size in every dimension, on 2×2 and 3×3 grids
+        final int[][] shapes = {{47, 31, 53}, {9, 100, 8}, {64, 64, 64}};
+        for (int gridSize = 2; gridSize <= 3; gridSize++) {
+            final DistributedMatrixMultiplier multiplier =
+                new DistributedMatrixMultiplier(gridSize, WorkerLauncher.threads());
+            for (int[] shape : shapes) {
+                final IntMatrix matrixA = Matrices.strided(random, shape[0], shape[1]);
+                final IntMatrix matrixB = Matrices.strided(random, shape[1], shape[2]);
+                assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(matrixA, matrixB),
+                    gridSize + "x" + gridSize + " grid, " + shape[0] + "x" + shape[1] + "x" + shape[2]);
+            }
+        }
+    }
+
+    @Test
+    void gridShrinksToTheSmallestDimension() {
+        final Random random = new Random(122);
+        final List<Integer> launched = new ArrayList<>();
+        final WorkerLauncher counting = (count, port) -> {
+            launched.add(count);
+            return WorkerLauncher.threads().launch(count, port);
+        };
+        final DistributedMatrixMultiplier multiplier = new DistributedMatrixMultiplier(4, counting);
+        final IntMatrix matrixA = Matrices.random(random, 2, 30);
+        final IntMatrix matrixB = Matrices.random(random, 30, 40);
+        assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(matrixA, matrixB));
+        final IntMatrix vectorA = Matrices.random(random, 30, 1);
+        final IntMatrix vectorB = Matrices.random(random, 1, 20);
+        assertEquals(Matrices.naive(vectorA, vectorB), multiplier.multiply(vectorA, vectorB));
+        assertEquals(List.of(4, 1), launched);
+    }
+
+    @Test
+    void gemmAccumulatesOntoAStridedResult() {
+        final Random random = new Random(123);
+        final DistributedMatrixMultiplier multiplier = new DistributedMatrixMultiplier(2, WorkerLauncher.threads());
+        final IntMatrix matrixA = Matrices.random(random, 33, 25);
+        final IntMatrix matrixB = Matrices.random(random, 25, 29);
+        final IntMatrix matrixC = Matrices.strided(random, 33, 29);
+        final IntMatrix expected = Matrices.naiveGemm(-3, matrixA, matrixB, 2, matrixC);
+        multiplier.gemm(-3, matrixA, matrixB, 2, matrixC);
+        assertEquals(expected, matrixC);
+
+        // beta = 0 ignores whatever the buffer held
+        multiplier.multiplyInto(matrixA, matrixB, matrixC);
+        assertEquals(Matrices.naive(matrixA, matrixB), matrixC);
+    }
+
+    @Test
+    void batchMixesLocalAndDistributedJobs() {
+        final Random random = new Random(124);
+        final List<IntMatrix> leftMatrices = new ArrayList<>();
+        final List<IntMatrix> rightMatrices = new ArrayList<>();
+        for (int job = 0; job < 10; job++) {
+            leftMatrices.add(Matrices.strided(random, 3 + job, 7));
+            rightMatrices.add(Matrices.random(random, 7, 11 - job % 3));
+        }
+        // Above the serial threshold, so it goes to the workers
+        leftMatrices.add(Matrices.random(random, 300, 256));
+        rightMatrices.add(Matrices.random(random, 256, 300));
+
+        final List<IntMatrix> results = new DistributedMatrixMultiplier(2, WorkerLauncher.threads())
+            .multiplyAll(leftMatrices, rightMatrices);
+        for (int job = 0; job < results.size(); job++) {
+            assertEquals(Matrices.naive(leftMatrices.get(job), rightMatrices.get(job)), results.get(job),
+                "job " + job);
+        }
+    }
+
+    @Test
+    void invalidGridOrLauncherIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new DistributedMatrixMultiplier(0, WorkerLauncher.threads()));
+        assertThrows(IllegalArgumentException.class, () -> new DistributedMatrixMultiplier(2, null));
+    }
+}
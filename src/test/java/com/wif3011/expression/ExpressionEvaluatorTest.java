@@ -0,0 +1,87 @@
+package com.wif3011.expression;
+
+import com.wif3011.framework.Matrices;
+import com.wif3011.framework.TiledForkJoinMatrixMultiplier;
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExpressionEvaluatorTest {
+    @Test
+    void chainIsAssociatedInTheCheapestOrder() {
+        final Random random = new Random(71);
+        final MatrixExpression chain = MatrixExpression.of(Matrices.random(random, 10, 100))
+            .times(Matrices.random(random, 100, 5))
+            .times(Matrices.random(random, 5, 50));
+        // (A·B)·C costs 10·100·5 + 10·5·50; A·(B·C) ten times that
+        assertEquals("((10x100 · 100x5) · 5x50)", ExpressionEvaluator.plan(chain));
+        assertEquals(7_500, ExpressionEvaluator.cost(chain));
+    }
+
+    @Test
+    void mixedExpressionMatchesNaiveEvaluation() {
+        final Random random = new Random(72);
+        final IntMatrix matrixA = Matrices.strided(random, 23, 41);
+        final IntMatrix matrixB = Matrices.random(random, 41, 7);
+        final IntMatrix matrixC = Matrices.strided(random, 7, 23);
+        final IntMatrix matrixD = Matrices.random(random, 23, 23);
+        final IntMatrix matrixX = Matrices.strided(random, 23, 19);
+
+        // 3·(A·B·C) + Dᵀ − X·Xᵀ
+        final MatrixExpression expression = MatrixExpression.of(matrixA).times(matrixB).times(matrixC).scale(3)
+            .plus(MatrixExpression.of(matrixD).transpose())
+            .plus(MatrixExpression.of(matrixX).times(MatrixExpression.of(matrixX).transpose()).scale(-1));
+
+        final IntMatrix expected = Matrices.naive(Matrices.naive(matrixA, matrixB), matrixC);
+        final IntMatrix gram = Matrices.naive(matrixX, Matrices.transpose(matrixX));
+        final IntMatrix transposedD = Matrices.transpose(matrixD);
+        for (int i = 0; i < expected.rows(); i++) {
+            for (int j = 0; j < expected.cols(); j++) {
+                expected.set(i, j, 3 * expected.get(i, j) + transposedD.get(i, j) - gram.get(i, j));
+            }
+        }
+
+        final ExpressionEvaluator evaluator = new ExpressionEvaluator(new TiledForkJoinMatrixMultiplier());
+        assertEquals(expected, evaluator.evaluate(expression));
+        // Into a dirty buffer, which must be overwritten rather than added to
+        final IntMatrix resultMatrix = Matrices.random(random, expected.rows(), expected.cols());
+        assertEquals(expected, evaluator.evaluateInto(expression, resultMatrix));
+    }
+
+    @Test
+    void productIsAddedOntoLeafTermWhicheverIsWrittenFirst() {
+        final Random random = new Random(73);
+        final IntMatrix matrixA = Matrices.random(random, 33, 20);
+        final IntMatrix matrixB = Matrices.random(random, 20, 27);
+        final IntMatrix matrixC = Matrices.random(random, 33, 27);
+        final IntMatrix expected = Matrices.naiveGemm(1, matrixA, matrixB, 1, matrixC);
+
+        final MatrixExpression product = MatrixExpression.of(matrixA).times(matrixB);
+        final MatrixExpression[] sums = {product.plus(matrixC), MatrixExpression.of(matrixC).plus(product)};
+        for (MatrixExpression sum : sums) {
+            final RecordingMultiplier multiplier = new RecordingMultiplier();
+            assertEquals(expected, new ExpressionEvaluator(multiplier).evaluate(sum));
+            // One gemm accumulating onto C, rather than a gemm into the result and a pass adding C
+            assertEquals(List.of(1), multiplier.betas, sum.toString());
+        }
+    }
+
+    /**
+     * Records the beta of every gemm it runs.
+     */
+    private static final class RecordingMultiplier extends TiledForkJoinMatrixMultiplier {
+        final List<Integer> betas = new ArrayList<>();
+
+        @Override
+        protected void safeGemm(int alpha, IntMatrix leftMatrix, IntMatrix rightMatrix, int beta,
+                                IntMatrix resultMatrix) {
+            betas.add(beta);
+            super.safeGemm(alpha, leftMatrix, rightMatrix, beta, resultMatrix);
+        }
+    }
+}
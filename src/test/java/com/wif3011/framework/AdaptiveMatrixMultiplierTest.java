@@ -0,0 +1,91 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.tuning.TuningProfile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveMatrixMultiplierTest {
+    private static final ExecutionEngine ENGINE = ExecutionEngine.isolated(4);
+
+    @AfterAll
+    static void closeEngine() {
+        ENGINE.close();
+    }
+
+    @Test
+    void everyRouteMatchesNaiveProduct() {
+        final Random random = new Random(51);
+        final AdaptiveMatrixMultiplier multiplier = new AdaptiveMatrixMultiplier(ENGINE, new TuningProfile());
+        final int strassen = AdaptiveMatrixMultiplier.STRASSEN_DIMENSION;
+        final int[][] shapes = {{7, 9, 5}, {150, 70, 90}, {2, 3000, 3}, {strassen, strassen, strassen}};
+        final AdaptiveMatrixMultiplier.Route[] routes = {
+            AdaptiveMatrixMultiplier.Route.SEQUENTIAL, AdaptiveMatrixMultiplier.Route.TILED,
+            AdaptiveMatrixMultiplier.Route.TILED, AdaptiveMatrixMultiplier.Route.STRASSEN
+        };
+        for (int i = 0; i < shapes.length; i++) {
+            final IntMatrix matrixA = Matrices.strided(random, shapes[i][0], shapes[i][1]);
+            final IntMatrix matrixB = Matrices.strided(random, shapes[i][1], shapes[i][2]);
+            assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(matrixA, matrixB));
+            assertEquals(routes[i], multiplier.lastDecision().route(), multiplier.lastDecision().toString());
+        }
+    }
+
+    @Test
+    void smallTiledProductClaimsFewerWorkersOnTheGivenEngine() {
+        final AdaptiveMatrixMultiplier multiplier = new AdaptiveMatrixMultiplier(ENGINE, new TuningProfile());
+        // Two workers' worth of multiply-adds
+        final AdaptiveMatrixMultiplier.Decision decision = multiplier.plan(128, 64, 64);
+        assertEquals(AdaptiveMatrixMultiplier.Route.TILED, decision.route());
+        assertEquals(2, decision.workers());
+        assertEquals(2, decision.config().threadCount());
+        assertSame(ENGINE, multiplier.getEngine());
+    }
+
+    @Test
+    void threadCountCapsWorkersOfTheEngine() {
+        final Random random = new Random(52);
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final TileKernel recording = (left, right, result, tileRowStart, tileRowEnd, tileColStart, tileColEnd,
+                                      sharedDimension, alpha) -> {
+            threads.add(Thread.currentThread());
+            sleep();
+            TiledMatrixMultiplier.DEFAULT_KERNEL.multiplyTile(left, right, result, tileRowStart, tileRowEnd,
+                tileColStart, tileColEnd, sharedDimension, alpha);
+        };
+        final TiledMatrixMultiplier multiplier =
+            new TiledForkJoinMatrixMultiplier(new TileConfig(16, 16, 3), recording, ENGINE);
+
+        // 64 tiles, then two tiles whose shared dimension is split in two, i.e. four units for three workers
+        final int[][] shapes = {{128, 40, 128}, {16, 1024, 32}};
+        for (int[] shape : shapes) {
+            threads.clear();
+            final IntMatrix matrixA = Matrices.random(random, shape[0], shape[1]);
+            final IntMatrix matrixB = Matrices.random(random, shape[1], shape[2]);
+            assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(matrixA, matrixB));
+            assertTrue(threads.size() <= 3, threads.size() + " threads for " + shape[0] + "x" + shape[1]);
+            for (Thread thread : threads) {
+                assertTrue(thread instanceof ForkJoinWorkerThread worker && worker.getPool() == ENGINE.pool(),
+                    thread + " is not a worker of the given engine");
+            }
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
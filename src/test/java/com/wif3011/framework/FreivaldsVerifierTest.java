@@ -0,0 +1,107 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FreivaldsVerifierTest {
+    private final FreivaldsVerifier verifier = new FreivaldsVerifier();
+
+    @Test
+    void correctProductsPass() {
+        final Random random = new Random(211);
+        // Several row bands, strided inputs, and values whose products wrap around
+        final IntMatrix matrixA = Matrices.strided(random, 150, 70);
+        final IntMatrix matrixB = Matrices.strided(random, 70, 90);
+        assertTrue(verifier.verify(matrixA, matrixB, Matrices.naive(matrixA, matrixB)));
+        final IntMatrix largeA = Matrices.large(random, 40, 30);
+        final IntMatrix largeB = Matrices.large(random, 30, 20);
+        assertTrue(verifier.verify(largeA, largeB, Matrices.naive(largeA, largeB)));
+        assertTrue(verifier.verify(largeA.toArray(), largeB.toArray(), Matrices.naive(largeA, largeB).toArray()));
+    }
+
+    @Test
+    void anySingleWrongElementFails() {
+        final Random random = new Random(212);
+        final IntMatrix matrixA = Matrices.random(random, 150, 70);
+        final IntMatrix matrixB = Matrices.random(random, 70, 90);
+        final IntMatrix product = Matrices.naive(matrixA, matrixB);
+        // Corners of the first and last band, and an error of 2^31 that only half of all vectors can see
+        final int[][] errors = {{0, 0, 1}, {149, 89, -1}, {63, 45, 1 << 31}, {64, 0, 7}};
+        for (int[] error : errors) {
+            final IntMatrix wrong = product.copy();
+            wrong.set(error[0], error[1], wrong.get(error[0], error[1]) + error[2]);
+            assertFalse(verifier.verify(matrixA, matrixB, wrong), error[0] + ", " + error[1]);
+        }
+    }
+
+    @Test
+    void gemmIsCheckedAgainstThePreviousContents() {
+        final Random random = new Random(213);
+        final IntMatrix matrixA = Matrices.random(random, 33, 21);
+        final IntMatrix matrixB = Matrices.random(random, 21, 17);
+        final IntMatrix previous = Matrices.random(random, 33, 17);
+        final IntMatrix result = Matrices.naiveGemm(-2, matrixA, matrixB, 3, previous);
+        assertTrue(verifier.verifyGemm(-2, matrixA, matrixB, 3, previous, result));
+        assertFalse(verifier.verifyGemm(-2, matrixA, matrixB, 2, previous, result));
+        assertFalse(verifier.verifyGemm(-2, matrixA, matrixB, 0, null, result));
+        assertThrows(IllegalArgumentException.class, () -> verifier.verifyGemm(1, matrixA, matrixB, 1, null, result));
+    }
+
+    @Test
+    void roundsFollowTheErrorBound() {
+        final FreivaldsVerifier bounded = FreivaldsVerifier.withErrorBound(1e-6, ExecutionEngine.shared());
+        assertEquals(20, bounded.rounds());
+        assertTrue(bounded.errorBound() <= 1e-6);
+        assertEquals(FreivaldsVerifier.DEFAULT_ROUNDS, verifier.rounds());
+        assertThrows(IllegalArgumentException.class,
+            () -> FreivaldsVerifier.withErrorBound(1, ExecutionEngine.shared()));
+        assertThrows(IllegalArgumentException.class, () -> new FreivaldsVerifier(0, ExecutionEngine.shared()));
+    }
+
+    @Test
+    void verifiedMultiplierHandsBackCorrectResults() {
+        final Random random = new Random(214);
+        final VerifiedMatrixMultiplier multiplier = new VerifiedMatrixMultiplier(new TiledForkJoinMatrixMultiplier());
+        final IntMatrix matrixA = Matrices.random(random, 80, 60);
+        final IntMatrix matrixB = Matrices.random(random, 60, 70);
+        assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(matrixA, matrixB));
+        final IntMatrix matrixC = Matrices.strided(random, 80, 70);
+        final IntMatrix expected = Matrices.naiveGemm(2, matrixA, matrixB, -1, matrixC);
+        assertEquals(expected, multiplier.gemm(2, matrixA, matrixB, -1, matrixC));
+        assertEquals(List.of(Matrices.naive(matrixA, matrixB)),
+            multiplier.multiplyAll(List.of(matrixA), List.of(matrixB)));
+        assertEquals(3, multiplier.verifiedCount());
+    }
+
+    @Test
+    void verifiedMultiplierRejectsAWrongKernel() {
+        final Random random = new Random(215);
+        // Correct everywhere except one element of the first tile
+        final TileKernel faulty = (left, right, result, tileRowStart, tileRowEnd, tileColStart, tileColEnd,
+                                   sharedDimension, alpha) -> {
+            TiledMatrixMultiplier.DEFAULT_KERNEL.multiplyTile(left, right, result, tileRowStart, tileRowEnd,
+                tileColStart, tileColEnd, sharedDimension, alpha);
+            if (tileRowStart == 0 && tileColStart == 0) {
+                result.set(0, 0, result.get(0, 0) + 1);
+            }
+        };
+        final VerifiedMatrixMultiplier multiplier =
+            new VerifiedMatrixMultiplier(new TiledForkJoinMatrixMultiplier(faulty));
+        final IntMatrix matrixA = Matrices.random(random, 80, 60);
+        final IntMatrix matrixB = Matrices.random(random, 60, 70);
+        assertThrows(IllegalStateException.class, () -> multiplier.multiply(matrixA, matrixB));
+        assertThrows(IllegalStateException.class,
+            () -> multiplier.gemm(1, matrixA, matrixB, 1, Matrices.random(random, 80, 70)));
+        assertThrows(IllegalStateException.class, () -> multiplier.multiplyAll(List.of(matrixA), List.of(matrixB)));
+        assertEquals(0, multiplier.verifiedCount());
+    }
+}
@@ -0,0 +1,82 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.tuning.TuningProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GemmTest {
+    /** Square, ragged, and deep enough for the tiled drivers to split the shared dimension. */
+    private static final int[][] SHAPES = {{40, 40, 40}, {37, 23, 51}, {18, 1500, 20}};
+
+    private static List<MatrixMultiplier> multipliers() {
+        final List<MatrixMultiplier> multipliers = new ArrayList<>(Matrices.drivers(new TileConfig(16, 24, 4)));
+        multipliers.add(new SequentialMatrixMultiplier());
+        multipliers.add(new StrassenForkJoinMatrixMultiplier(16));
+        multipliers.add(new AdaptiveMatrixMultiplier());
+        return multipliers;
+    }
+
+    @Test
+    void alphaAndBetaMatchNaiveGemm() {
+        final Random random = new Random(91);
+        final int[][] scalars = {{1, 1}, {1, 0}, {2, -3}, {-1, 1}, {0, 4}, {0, 0}};
+        for (int[] shape : SHAPES) {
+            final IntMatrix matrixA = Matrices.strided(random, shape[0], shape[1]);
+            final IntMatrix matrixB = Matrices.strided(random, shape[1], shape[2]);
+            final IntMatrix matrixC = Matrices.random(random, shape[0], shape[2]);
+            for (int[] scalar : scalars) {
+                final IntMatrix expected = Matrices.naiveGemm(scalar[0], matrixA, matrixB, scalar[1], matrixC);
+                for (MatrixMultiplier multiplier : multipliers()) {
+                    final IntMatrix resultMatrix = matrixC.copy();
+                    assertSame(resultMatrix, multiplier.gemm(scalar[0], matrixA, matrixB, scalar[1], resultMatrix));
+                    assertEquals(expected, resultMatrix, multiplier.getClass().getSimpleName() + " alpha="
+                        + scalar[0] + " beta=" + scalar[1] + " on " + Arrays.toString(shape));
+                }
+            }
+        }
+    }
+
+    @Test
+    void multiplyIntoOverwritesADirtyBufferOnEveryReuse() {
+        final Random random = new Random(92);
+        for (MatrixMultiplier multiplier : multipliers()) {
+            // One strided buffer reused across products, starting with values that must not leak into the result
+            final IntMatrix resultMatrix = Matrices.strided(random, 37, 51);
+            for (int round = 0; round < 3; round++) {
+                final IntMatrix matrixA = Matrices.random(random, 37, 23);
+                final IntMatrix matrixB = Matrices.random(random, 23, 51);
+                assertSame(resultMatrix, multiplier.multiplyInto(matrixA, matrixB, resultMatrix));
+                assertEquals(Matrices.naive(matrixA, matrixB), resultMatrix,
+                    multiplier.getClass().getSimpleName() + " round " + round);
+            }
+        }
+    }
+
+    @Test
+    void resultOfTheWrongShapeOrSharingAnInputIsRejected() {
+        final Random random = new Random(93);
+        final IntMatrix parent = Matrices.random(random, 20, 20);
+        final IntMatrix matrixA = parent.view(0, 0, 10, 10);
+        final IntMatrix matrixB = Matrices.random(random, 10, 10);
+        for (MatrixMultiplier multiplier : multipliers()) {
+            assertThrows(IllegalArgumentException.class,
+                () -> multiplier.multiplyInto(matrixA, matrixB, new IntMatrix(10, 11)));
+            assertThrows(IllegalArgumentException.class,
+                () -> multiplier.multiplyInto(matrixA, matrixB, null));
+            // A disjoint window of the same array still aliases the input
+            assertThrows(IllegalArgumentException.class,
+                () -> multiplier.gemm(1, matrixA, matrixB, 1, parent.view(10, 10, 10, 10)));
+            assertThrows(IllegalArgumentException.class,
+                () -> multiplier.gemm(1, matrixA, matrixB, 0, matrixB));
+        }
+    }
+}
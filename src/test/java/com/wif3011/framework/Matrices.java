@@ -0,0 +1,181 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.LongMatrix;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Inputs and reference results for the multiplier tests, in this package and the others.
+ */
+public final class Matrices {
+
+    private Matrices() {
+    }
+
+    /**
+     * The textbook triple loop, which every optimized path must match exactly.
+     */
+    public static IntMatrix naive(IntMatrix matrixA, IntMatrix matrixB) {
+        final IntMatrix resultMatrix = new IntMatrix(matrixA.rows(), matrixB.cols());
+        for (int i = 0; i < matrixA.rows(); i++) {
+            for (int j = 0; j < matrixB.cols(); j++) {
+                int sum = 0;
+                for (int k = 0; k < matrixA.cols(); k++) {
+                    sum += matrixA.get(i, k) * matrixB.get(k, j);
+                }
+                resultMatrix.set(i, j, sum);
+            }
+        }
+        return resultMatrix;
+    }
+
+    /**
+     * alpha · matrixA × matrixB + beta · matrixC, without touching matrixC.
+     */
+    public static IntMatrix naiveGemm(int alpha, IntMatrix matrixA, IntMatrix matrixB, int beta, IntMatrix matrixC) {
+        final IntMatrix resultMatrix = naive(matrixA, matrixB);
+        for (int i = 0; i < resultMatrix.rows(); i++) {
+            for (int j = 0; j < resultMatrix.cols(); j++) {
+                resultMatrix.set(i, j, alpha * resultMatrix.get(i, j) + beta * matrixC.get(i, j));
+            }
+        }
+        return resultMatrix;
+    }
+
+    /**
+     * The naive product computed in long, i.e. without the int overflow of {@link #naive}.
+     */
+    public static LongMatrix naiveLong(IntMatrix matrixA, IntMatrix matrixB) {
+        final LongMatrix resultMatrix = new LongMatrix(matrixA.rows(), matrixB.cols());
+        for (int i = 0; i < matrixA.rows(); i++) {
+            for (int j = 0; j < matrixB.cols(); j++) {
+                long sum = 0;
+                for (int k = 0; k < matrixA.cols(); k++) {
+                    sum += (long) matrixA.get(i, k) * matrixB.get(k, j);
+                }
+                resultMatrix.set(i, j, sum);
+            }
+        }
+        return resultMatrix;
+    }
+
+    public static IntMatrix transpose(IntMatrix matrix) {
+        final IntMatrix transposed = new IntMatrix(matrix.cols(), matrix.rows());
+        for (int i = 0; i < matrix.rows(); i++) {
+            for (int j = 0; j < matrix.cols(); j++) {
+                transposed.set(j, i, matrix.get(i, j));
+            }
+        }
+        return transposed;
+    }
+
+    /**
+     * A tightly packed matrix of small values, negative ones included.
+     */
+    public static IntMatrix random(Random random, int rows, int cols) {
+        final IntMatrix matrix = new IntMatrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                matrix.set(i, j, random.nextInt(19) - 9);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * A random matrix with values in [min, max], including both ends.
+     */
+    public static IntMatrix random(Random random, int rows, int cols, int min, int max) {
+        final IntMatrix matrix = new IntMatrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                matrix.set(i, j, (int) (min + (long) (random.nextDouble() * ((long) max - min + 1))));
+            }
+        }
+        matrix.set(0, 0, min);
+        matrix.set(rows - 1, cols - 1, max);
+        return matrix;
+    }
+
+    /**
+     * A random matrix whose products overflow int, with values up to two million either way.
+     */
+    public static IntMatrix large(Random random, int rows, int cols) {
+        final IntMatrix matrix = new IntMatrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                matrix.set(i, j, random.nextInt(4_000_001) - 2_000_000);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * A random matrix that is a strided view into a larger one, whose surroundings are filled with values that
+     * would show up in the result if a path read outside the view.
+     */
+    public static IntMatrix strided(Random random, int rows, int cols) {
+        final IntMatrix parent = new IntMatrix(rows + 5, cols + 7);
+        Arrays.fill(parent.data(), 1_000_003);
+        final IntMatrix view = parent.view(2, 3, rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                view.set(i, j, random.nextInt(19) - 9);
+            }
+        }
+        return view;
+    }
+
+    /**
+     * A random matrix in which about {@code density} of the elements are nonzero, with some rows left empty.
+     */
+    public static IntMatrix sparse(Random random, int rows, int cols, double density) {
+        final IntMatrix matrix = new IntMatrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            if (i % 7 == 3) {
+                continue;
+            }
+            for (int j = 0; j < cols; j++) {
+                if (random.nextDouble() < density) {
+                    matrix.set(i, j, random.nextInt(19) - 9);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Every tiled driver on the given tile geometry and the scalar kernel.
+     */
+    public static List<TiledMatrixMultiplier> drivers(TileConfig config) {
+        return drivers(config, TiledMatrixMultiplier.DEFAULT_KERNEL);
+    }
+
+    /**
+     * Every tiled driver on the given tile geometry and kernel.
+     */
+    public static List<TiledMatrixMultiplier> drivers(TileConfig config, TileKernel kernel) {
+        return List.of(
+            new TiledForkJoinMatrixMultiplier(config, kernel),
+            new TiledThreadMatrixMultiplier(config, kernel),
+            new TiledExecServiceMatrixMultiplier(config, kernel),
+            new TiledParallelMatrixMultiplier(config, kernel)
+        );
+    }
+
+    /**
+     * Every tiled driver on the given tile geometry and kernel, running on the given engine.
+     */
+    public static List<TiledMatrixMultiplier> drivers(TileConfig config, TileKernel kernel, ExecutionEngine engine) {
+        return List.of(
+            new TiledForkJoinMatrixMultiplier(config, kernel, engine),
+            new TiledThreadMatrixMultiplier(config, kernel, engine),
+            new TiledExecServiceMatrixMultiplier(config, kernel, engine),
+            new TiledParallelMatrixMultiplier(config, kernel, engine)
+        );
+    }
+}
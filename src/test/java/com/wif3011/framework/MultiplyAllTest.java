@@ -0,0 +1,106 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.tuning.TuningProfile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiplyAllTest {
+    private static final ExecutionEngine ENGINE = ExecutionEngine.isolated(3);
+
+    @AfterAll
+    static void closeEngine() {
+        ENGINE.close();
+    }
+
+    @Test
+    void mixedBatchMatchesNaiveProducts() {
+        final Random random = new Random(81);
+        final List<IntMatrix> leftMatrices = new ArrayList<>();
+        final List<IntMatrix> rightMatrices = new ArrayList<>();
+        for (int job = 0; job < 40; job++) {
+            final int shared = 1 + job % 13;
+            leftMatrices.add(Matrices.strided(random, 1 + job % 7, shared));
+            rightMatrices.add(Matrices.random(random, shared, 1 + job % 11));
+        }
+        // One job above the serial threshold, in the middle of the batch
+        leftMatrices.add(20, Matrices.random(random, 300, 256));
+        rightMatrices.add(20, Matrices.random(random, 256, 300));
+
+        final List<MatrixMultiplier> multipliers = new ArrayList<>(Matrices.drivers(new TileConfig(32, 16, 2)));
+        multipliers.add(new SequentialMatrixMultiplier());
+        multipliers.add(new StrassenForkJoinMatrixMultiplier(64));
+        multipliers.add(new AdaptiveMatrixMultiplier(ENGINE, new TuningProfile()));
+        for (MatrixMultiplier multiplier : multipliers) {
+            final List<IntMatrix> results = multiplier.multiplyAll(leftMatrices, rightMatrices);
+            assertEquals(leftMatrices.size(), results.size());
+            for (int job = 0; job < results.size(); job++) {
+                assertEquals(Matrices.naive(leftMatrices.get(job), rightMatrices.get(job)), results.get(job),
+                    multiplier.getClass().getSimpleName() + " job " + job);
+            }
+        }
+    }
+
+    @Test
+    void smallJobsAreEachComputedByOneWorker() {
+        final Random random = new Random(82);
+        final Map<int[], Set<Thread>> threadsByResult = new ConcurrentHashMap<>();
+        final TileKernel recording = (left, right, result, tileRowStart, tileRowEnd, tileColStart, tileColEnd,
+                                      sharedDimension, alpha) -> {
+            threadsByResult.computeIfAbsent(result.data(), key -> ConcurrentHashMap.newKeySet())
+                .add(Thread.currentThread());
+            sleep();
+            TiledMatrixMultiplier.DEFAULT_KERNEL.multiplyTile(left, right, result, tileRowStart, tileRowEnd,
+                tileColStart, tileColEnd, sharedDimension, alpha);
+        };
+        final List<IntMatrix> leftMatrices = new ArrayList<>();
+        final List<IntMatrix> rightMatrices = new ArrayList<>();
+        for (int job = 0; job < 12; job++) {
+            leftMatrices.add(Matrices.random(random, 64, 48));
+            rightMatrices.add(Matrices.random(random, 48, 64));
+        }
+
+        // Tiles of 16×16, so each job would be 16 tasks for idle workers to steal if it were split
+        final TiledMatrixMultiplier multiplier =
+            new TiledForkJoinMatrixMultiplier(TileConfig.square(16), recording, ENGINE);
+        final List<IntMatrix> results = multiplier.multiplyAll(leftMatrices, rightMatrices);
+        for (int job = 0; job < results.size(); job++) {
+            assertEquals(Matrices.naive(leftMatrices.get(job), rightMatrices.get(job)), results.get(job));
+            assertEquals(1, threadsByResult.get(results.get(job).data()).size(), "job " + job);
+        }
+    }
+
+    @Test
+    void emptyAndMalformedBatches() {
+        final MatrixMultiplier multiplier = new TiledForkJoinMatrixMultiplier();
+        assertTrue(multiplier.multiplyAll(List.of(), List.of()).isEmpty());
+
+        final Random random = new Random(83);
+        final IntMatrix matrix = Matrices.random(random, 4, 4);
+        assertThrows(IllegalArgumentException.class, () -> multiplier.multiplyAll(List.of(matrix), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> multiplier.multiplyAll(null, List.of(matrix)));
+        // A bad pair anywhere fails the whole batch before anything is computed
+        assertThrows(IllegalArgumentException.class, () -> multiplier.multiplyAll(
+            List.of(matrix, matrix), List.of(matrix, Matrices.random(random, 5, 4))));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
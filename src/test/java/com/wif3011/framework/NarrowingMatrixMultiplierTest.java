@@ -0,0 +1,85 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.ByteMatrix;
+import com.wif3011.matrix.ElementWidth;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.ShortMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NarrowingMatrixMultiplierTest {
+    /** Ragged tiles on three workers. */
+    private static final TileConfig CONFIG = new TileConfig(24, 40, 3);
+
+    @Test
+    void byteAndShortProductsEqualTheIntProduct() {
+        final Random random = new Random(233);
+        final int[][] ranges = {{-128, 127}, {-32_768, 32_767}};
+        for (int[] range : ranges) {
+            final IntMatrix matrixA = Matrices.random(random, 53, 77, range[0], range[1]);
+            final IntMatrix matrixB = Matrices.random(random, 77, 61, range[0], range[1]);
+            final IntMatrix expected = Matrices.naive(matrixA, matrixB);
+            for (TiledMatrixMultiplier scheduler : Matrices.drivers(CONFIG)) {
+                final String name = scheduler.getClass().getSimpleName() + " " + range[1];
+                // Both the scalar kernels and the packed kernel, which widens while packing
+                final ByteTileKernel[] byteKernels =
+                    {ByteMatrixMultiplier.DEFAULT_KERNEL, new PackedTileKernel(8, 16, 16)};
+                final ShortTileKernel[] shortKernels =
+                    {ShortMatrixMultiplier.DEFAULT_KERNEL, new PackedTileKernel(8, 16, 16)};
+                if (range[1] == Byte.MAX_VALUE) {
+                    for (ByteTileKernel kernel : byteKernels) {
+                        assertEquals(expected, new ByteMatrixMultiplier(scheduler, kernel)
+                            .multiply(ByteMatrix.of(matrixA), ByteMatrix.of(matrixB)), name);
+                    }
+                }
+                for (ShortTileKernel kernel : shortKernels) {
+                    assertEquals(expected, new ShortMatrixMultiplier(scheduler, kernel)
+                        .multiply(ShortMatrix.of(matrixA), ShortMatrix.of(matrixB)), name);
+                }
+            }
+        }
+    }
+
+    @Test
+    void narrowGemmScalesAndAccumulates() {
+        final Random random = new Random(234);
+        final IntMatrix matrixA = Matrices.random(random, 31, 45, -128, 127);
+        final IntMatrix matrixB = Matrices.random(random, 45, 29, -128, 127);
+        final IntMatrix matrixC = Matrices.strided(random, 31, 29);
+        final IntMatrix expected = Matrices.naiveGemm(-3, matrixA, matrixB, 2, matrixC);
+        final IntMatrix shortC = matrixC.copy();
+        new ByteMatrixMultiplier(new TiledForkJoinMatrixMultiplier(CONFIG))
+            .gemm(-3, ByteMatrix.of(matrixA), ByteMatrix.of(matrixB), 2, matrixC);
+        assertEquals(expected, matrixC);
+        new ShortMatrixMultiplier(new TiledForkJoinMatrixMultiplier(CONFIG))
+            .gemm(-3, ShortMatrix.of(matrixA), ShortMatrix.of(matrixB), 2, shortC);
+        assertEquals(expected, shortC);
+    }
+
+    @Test
+    void narrowingPicksTheWidthBothInputsFitIn() {
+        final Random random = new Random(235);
+        final IntMatrix bytes = Matrices.random(random, 80, 80, -100, 100);
+        final IntMatrix shorts = Matrices.random(random, 80, 80, -1_000, 1_000);
+        final IntMatrix ints = Matrices.random(random, 80, 80, -100_000, 100_000);
+        assertEquals(ElementWidth.BYTE, NarrowingMatrixMultiplier.widthFor(bytes, bytes));
+        assertEquals(ElementWidth.SHORT, NarrowingMatrixMultiplier.widthFor(bytes, shorts));
+        assertEquals(ElementWidth.INT, NarrowingMatrixMultiplier.widthFor(ints, bytes));
+        assertEquals(ElementWidth.INT, NarrowingMatrixMultiplier.widthFor(bytes, ints));
+        // Too little work to pay for the copies
+        assertEquals(ElementWidth.INT,
+            NarrowingMatrixMultiplier.widthFor(bytes.view(0, 0, 10, 10), bytes.view(0, 0, 10, 10)));
+
+        final NarrowingMatrixMultiplier multiplier =
+            new NarrowingMatrixMultiplier(new TiledForkJoinMatrixMultiplier(CONFIG));
+        final IntMatrix[][] pairs = {{bytes, bytes}, {shorts, bytes}, {bytes, ints}, {ints, ints}};
+        for (IntMatrix[] pair : pairs) {
+            assertEquals(Matrices.naive(pair[0], pair[1]), multiplier.multiply(pair[0], pair[1]));
+            final IntMatrix dirty = Matrices.random(random, 80, 80);
+            assertEquals(Matrices.naive(pair[0], pair[1]), multiplier.multiplyInto(pair[0], pair[1], dirty));
+        }
+    }
+}
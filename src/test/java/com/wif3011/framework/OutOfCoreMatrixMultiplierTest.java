@@ -0,0 +1,81 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.MappedIntMatrix;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OutOfCoreMatrixMultiplierTest {
+    /** Six buffers of 64×64 ints, the smallest working set allowed, so every product streams several blocks. */
+    private static final long WORKING_SET_BYTES = 6L * 64 * 64 * Integer.BYTES;
+
+    @TempDir
+    Path directory;
+
+    private final OutOfCoreMatrixMultiplier multiplier =
+        new OutOfCoreMatrixMultiplier(new TiledForkJoinMatrixMultiplier(TileConfig.square(32)), WORKING_SET_BYTES);
+
+    @Test
+    void blockSizeFollowsTheWorkingSet() {
+        assertEquals(64, multiplier.getBlockSize());
+        assertEquals(128, new OutOfCoreMatrixMultiplier(new SequentialMatrixMultiplier(),
+            4 * WORKING_SET_BYTES + 1000).getBlockSize());
+        assertThrows(IllegalArgumentException.class,
+            () -> new OutOfCoreMatrixMultiplier(new SequentialMatrixMultiplier(), WORKING_SET_BYTES - 1));
+    }
+
+    @Test
+    void streamedProductOfFilesMatchesNaiveProduct() throws IOException {
+        final Random random = new Random(101);
+        // 3×3 result blocks with ragged edges, each built from four slices of the shared dimension
+        final IntMatrix matrixA = Matrices.strided(random, 150, 200);
+        final IntMatrix matrixB = Matrices.strided(random, 200, 130);
+        final Path leftPath = write(matrixA, "a.mat");
+        final Path rightPath = write(matrixB, "b.mat");
+        final Path resultPath = directory.resolve("c.mat");
+
+        multiplier.multiply(leftPath, rightPath, resultPath);
+        try (MappedIntMatrix result = MappedIntMatrix.open(resultPath, false)) {
+            assertEquals(Matrices.naive(matrixA, matrixB), result.toIntMatrix());
+        }
+    }
+
+    @Test
+    void existingResultFileIsOverwritten() throws IOException {
+        final Random random = new Random(102);
+        final IntMatrix matrixA = Matrices.random(random, 70, 65);
+        final IntMatrix matrixB = Matrices.random(random, 65, 129);
+        try (MappedIntMatrix left = MappedIntMatrix.open(write(matrixA, "a.mat"), false);
+             MappedIntMatrix right = MappedIntMatrix.open(write(matrixB, "b.mat"), false);
+             MappedIntMatrix result = MappedIntMatrix.open(write(Matrices.random(random, 70, 129), "c.mat"), true)) {
+            multiplier.multiply(left, right, result);
+            assertEquals(Matrices.naive(matrixA, matrixB), result.toIntMatrix());
+        }
+    }
+
+    @Test
+    void mismatchedShapesAreRejected() throws IOException {
+        final Random random = new Random(103);
+        try (MappedIntMatrix left = MappedIntMatrix.open(write(Matrices.random(random, 5, 6), "a.mat"), false);
+             MappedIntMatrix right = MappedIntMatrix.open(write(Matrices.random(random, 7, 5), "b.mat"), false);
+             MappedIntMatrix result = MappedIntMatrix.create(directory.resolve("c.mat"), 5, 5)) {
+            assertThrows(IllegalArgumentException.class, () -> multiplier.multiply(left, right, result));
+            assertThrows(IllegalArgumentException.class, () -> multiplier.multiply(right, left, result));
+        }
+    }
+
+    private Path write(IntMatrix matrix, String name) throws IOException {
+        final Path path = directory.resolve(name);
+        try (MappedIntMatrix file = MappedIntMatrix.create(path, matrix.rows(), matrix.cols())) {
+            file.write(0, 0, matrix);
+        }
+        return path;
+    }
+}
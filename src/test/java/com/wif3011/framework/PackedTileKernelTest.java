@@ -0,0 +1,65 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PackedTileKernelTest {
+    /** Blocks far below the defaults, rounded up to 8×16 panels, so every tile is packed in several slices. */
+    private static final PackedTileKernel KERNEL = new PackedTileKernel(6, 5, 13);
+
+    /** Tiles that are not multiples of the register block, on a grid with clipped edges. */
+    private static final TileConfig CONFIG = new TileConfig(22, 19, 3);
+
+    @Test
+    void raggedEdgesMatchScalarKernelAndNaiveProduct() {
+        final Random random = new Random(21);
+        // Shapes smaller than one register block, one of each, and several tiles with ragged remainders
+        final int[][] shapes = {{1, 1, 1}, {3, 7, 5}, {4, 5, 8}, {5, 11, 9}, {67, 45, 83}, {50, 1, 61}};
+        for (int[] shape : shapes) {
+            final IntMatrix matrixA = Matrices.strided(random, shape[0], shape[1]);
+            final IntMatrix matrixB = Matrices.strided(random, shape[1], shape[2]);
+            final IntMatrix expected = Matrices.naive(matrixA, matrixB);
+            final String label = shape[0] + "x" + shape[1] + "x" + shape[2];
+            for (TiledMatrixMultiplier scalar : Matrices.drivers(CONFIG)) {
+                assertEquals(expected, scalar.multiply(matrixA, matrixB), label);
+            }
+            for (TiledMatrixMultiplier packed : Matrices.drivers(CONFIG, KERNEL)) {
+                assertEquals(expected, packed.multiply(matrixA, matrixB),
+                    packed.getClass().getSimpleName() + " " + label);
+            }
+        }
+    }
+
+    @Test
+    void defaultBlocksMatchNaiveProduct() {
+        final Random random = new Random(22);
+        // Deeper than one default KC slice and wider than one default NC panel
+        final IntMatrix matrixA = Matrices.random(random, 70, 300);
+        final IntMatrix matrixB = Matrices.random(random, 300, 530);
+        final TiledMatrixMultiplier multiplier =
+            new TiledForkJoinMatrixMultiplier(TileConfig.square(128), new PackedTileKernel());
+        assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(matrixA, matrixB));
+    }
+
+    @Test
+    void gemmScalesTheProductAndKeepsTheRest() {
+        final Random random = new Random(23);
+        final IntMatrix matrixA = Matrices.random(random, 37, 29);
+        final IntMatrix matrixB = Matrices.random(random, 29, 43);
+        final IntMatrix matrixC = Matrices.strided(random, 37, 43);
+        final IntMatrix expected = Matrices.naiveGemm(3, matrixA, matrixB, -2, matrixC);
+        new TiledForkJoinMatrixMultiplier(CONFIG, KERNEL).gemm(3, matrixA, matrixB, -2, matrixC);
+        assertEquals(expected, matrixC);
+    }
+
+    @Test
+    void nonPositiveBlocksAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new PackedTileKernel(0, 16, 16));
+        assertThrows(IllegalArgumentException.class, () -> new PackedTileKernel(16, -1, 16));
+    }
+}
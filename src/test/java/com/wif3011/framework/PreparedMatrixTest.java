@@ -0,0 +1,71 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PreparedMatrixTest {
+    /**
+     * Small blocks, so that modest inputs span several KC slices with a shallower last one, and a last NR panel
+     * that needs padding.
+     */
+    private static final PackedTileKernel KERNEL = new PackedTileKernel(8, 16, 24);
+
+    static List<TiledMatrixMultiplier> drivers() {
+        return Matrices.drivers(new TileConfig(12, 20, 3), KERNEL);
+    }
+
+    @Test
+    void panelsFollowTheDocumentedLayout() {
+        final Random random = new Random(41);
+        final IntMatrix matrixB = Matrices.strided(random, 53, 37);
+        final PreparedMatrix prepared = KERNEL.prepare(matrixB);
+        final int[] packed = prepared.packed();
+        final int panels = (37 + PackedTileKernel.NR - 1) / PackedTileKernel.NR;
+        for (int kStart = 0; kStart < 53; kStart += 16) {
+            final int depth = Math.min(16, 53 - kStart);
+            for (int panel = 0; panel < panels; panel++) {
+                final int base = prepared.panelIndex(kStart, depth, panel);
+                for (int k = 0; k < depth; k++) {
+                    for (int lane = 0; lane < PackedTileKernel.NR; lane++) {
+                        final int col = panel * PackedTileKernel.NR + lane;
+                        final int expected = col < 37 ? matrixB.get(kStart + k, col) : 0;
+                        assertEquals(expected, packed[base + k * PackedTileKernel.NR + lane],
+                            "k " + (kStart + k) + ", column " + col);
+                    }
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("drivers")
+    void productWithPreparedMatrixMatchesNaiveProduct(TiledMatrixMultiplier multiplier) {
+        final Random random = new Random(42);
+        final IntMatrix matrixB = Matrices.strided(random, 53, 37);
+        final PreparedMatrix prepared = KERNEL.prepare(matrixB);
+        // Several left matrices against the same prepared B, as the cache would use it
+        for (int rows : new int[]{1, 7, 45}) {
+            final IntMatrix matrixA = Matrices.strided(random, rows, 53);
+            assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(matrixA, prepared), "rows " + rows);
+        }
+    }
+
+    @Test
+    void preparedSnapshotIgnoresLaterChangesToSource() {
+        final Random random = new Random(43);
+        final IntMatrix matrixB = Matrices.random(random, 20, 9);
+        final IntMatrix original = matrixB.copy();
+        final PreparedMatrix prepared = KERNEL.prepare(matrixB);
+        matrixB.set(3, 4, 99);
+        final IntMatrix matrixA = Matrices.random(random, 6, 20);
+        assertEquals(Matrices.naive(matrixA, original),
+            new TiledForkJoinMatrixMultiplier(TileConfig.DEFAULT, KERNEL).multiply(matrixA, prepared));
+    }
+}
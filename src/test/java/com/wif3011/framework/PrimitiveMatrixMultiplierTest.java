@@ -0,0 +1,84 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.DoubleMatrix;
+import com.wif3011.matrix.FloatMatrix;
+import com.wif3011.matrix.IntMatrix;
+import com.wif3011.matrix.LongMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PrimitiveMatrixMultiplierTest {
+    /** Ragged tiles on three workers, so every driver schedules clipped edges. */
+    private static final TileConfig CONFIG = new TileConfig(16, 24, 3);
+
+    @Test
+    void wideningAndLongProductsDoNotOverflow() {
+        final Random random = new Random(131);
+        final IntMatrix matrixA = Matrices.large(random, 37, 45);
+        final IntMatrix matrixB = Matrices.large(random, 45, 53);
+        final LongMatrix expected = Matrices.naiveLong(matrixA, matrixB);
+        final LongMatrix longA = LongMatrix.of(matrixA);
+        final LongMatrix longB = LongMatrix.of(matrixB);
+        for (TiledMatrixMultiplier scheduler : Matrices.drivers(CONFIG)) {
+            final String name = scheduler.getClass().getSimpleName();
+            assertEquals(expected, new WideningMatrixMultiplier(scheduler).multiply(matrixA, matrixB), name);
+            assertEquals(expected, new LongMatrixMultiplier(scheduler).multiply(longA, longB), name);
+        }
+    }
+
+    @Test
+    void floatingPointProductsOfSmallIntegersAreExact() {
+        final Random random = new Random(132);
+        final IntMatrix matrixA = Matrices.strided(random, 41, 29);
+        final IntMatrix matrixB = Matrices.strided(random, 29, 35);
+        final IntMatrix expected = Matrices.naive(matrixA, matrixB);
+        for (TiledMatrixMultiplier scheduler : Matrices.drivers(CONFIG)) {
+            final String name = scheduler.getClass().getSimpleName();
+            assertEquals(FloatMatrix.of(expected), new FloatMatrixMultiplier(scheduler)
+                .multiply(FloatMatrix.of(matrixA), FloatMatrix.of(matrixB)), name);
+            assertEquals(DoubleMatrix.of(expected), new DoubleMatrixMultiplier(scheduler)
+                .multiply(DoubleMatrix.of(matrixA), DoubleMatrix.of(matrixB)), name);
+        }
+    }
+
+    @Test
+    void gemmScalesAndOverwritesEveryType() {
+        final Random random = new Random(133);
+        final IntMatrix matrixA = Matrices.random(random, 33, 27);
+        final IntMatrix matrixB = Matrices.random(random, 27, 30);
+        final IntMatrix matrixC = Matrices.random(random, 33, 30);
+        final IntMatrix expected = Matrices.naiveGemm(3, matrixA, matrixB, -2, matrixC);
+        final IntMatrix product = Matrices.naive(matrixA, matrixB);
+        final TiledMatrixMultiplier scheduler = new TiledForkJoinMatrixMultiplier(CONFIG);
+
+        final LongMatrix longC = LongMatrix.of(matrixC);
+        new WideningMatrixMultiplier(scheduler).gemm(3, matrixA, matrixB, -2, longC);
+        assertEquals(LongMatrix.of(expected), longC);
+        final LongMatrix dirtyLong = LongMatrix.of(matrixC);
+        new LongMatrixMultiplier(scheduler).gemm(1, LongMatrix.of(matrixA), LongMatrix.of(matrixB), 0, dirtyLong);
+        assertEquals(LongMatrix.of(product), dirtyLong);
+
+        final FloatMatrix floatC = FloatMatrix.of(matrixC);
+        new FloatMatrixMultiplier(scheduler).gemm(3, FloatMatrix.of(matrixA), FloatMatrix.of(matrixB), -2, floatC);
+        assertEquals(FloatMatrix.of(expected), floatC);
+        final DoubleMatrix doubleC = DoubleMatrix.of(matrixC);
+        new DoubleMatrixMultiplier(scheduler).gemm(1, DoubleMatrix.of(matrixA), DoubleMatrix.of(matrixB), 0, doubleC);
+        assertEquals(DoubleMatrix.of(product), doubleC);
+    }
+
+    @Test
+    void operandsAreValidated() {
+        final LongMatrixMultiplier multiplier = new LongMatrixMultiplier();
+        final LongMatrix matrix = new LongMatrix(4, 5);
+        assertThrows(IllegalArgumentException.class, () -> multiplier.multiply(matrix, matrix));
+        assertThrows(IllegalArgumentException.class, () -> multiplier.multiply(null, matrix));
+        assertThrows(IllegalArgumentException.class,
+            () -> multiplier.gemm(1, matrix, new LongMatrix(5, 4), 0, new LongMatrix(4, 5)));
+        final LongMatrix square = new LongMatrix(4, 4);
+        assertThrows(IllegalArgumentException.class, () -> multiplier.gemm(1, square, square, 0, square));
+    }
+}
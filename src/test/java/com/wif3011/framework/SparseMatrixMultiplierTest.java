@@ -0,0 +1,62 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.CsrMatrix;
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SparseMatrixMultiplierTest {
+    /** Four workers, so the rows are split into several parts even on a small machine. */
+    private final SparseMatrixMultiplier multiplier = new SparseMatrixMultiplier(ExecutionEngine.isolated(4));
+
+    @Test
+    void sparseTimesSparseMatchesNaiveProduct() {
+        final Random random = new Random(11);
+        final IntMatrix matrixA = Matrices.sparse(random, 97, 61, 0.08);
+        final IntMatrix matrixB = Matrices.sparse(random, 61, 53, 0.1);
+        final CsrMatrix product = multiplier.multiply(CsrMatrix.of(matrixA), CsrMatrix.of(matrixB));
+        assertEquals(Matrices.naive(matrixA, matrixB), product.toDense());
+        // The symbolic pass sizes the rows exactly, so the assembled matrix stores no explicit zeros
+        assertEquals(CsrMatrix.of(product.toDense()), product);
+    }
+
+    @Test
+    void productWithCancellingTermsStoresNoZeros() {
+        final IntMatrix matrixA = IntMatrix.of(new int[][]{{1, 1, 0}, {0, 0, 0}, {2, 0, 3}});
+        final IntMatrix matrixB = IntMatrix.of(new int[][]{{4, 1}, {-4, 0}, {0, 5}});
+        final CsrMatrix product = multiplier.multiply(CsrMatrix.of(matrixA), CsrMatrix.of(matrixB));
+        assertEquals(Matrices.naive(matrixA, matrixB), product.toDense());
+        assertEquals(CsrMatrix.of(product.toDense()), product);
+    }
+
+    @Test
+    void emptyOperandGivesEmptyProduct() {
+        final CsrMatrix product = multiplier.multiply(CsrMatrix.of(new IntMatrix(30, 20)),
+            CsrMatrix.of(Matrices.sparse(new Random(12), 20, 25, 0.2)));
+        assertEquals(0, product.nonZeroCount());
+        assertEquals(new IntMatrix(30, 25), product.toDense());
+    }
+
+    @Test
+    void sparseTimesStridedDenseMatchesNaiveProduct() {
+        final Random random = new Random(13);
+        final IntMatrix matrixA = Matrices.sparse(random, 83, 47, 0.05);
+        final IntMatrix matrixB = Matrices.strided(random, 47, 39);
+        assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(CsrMatrix.of(matrixA), matrixB));
+    }
+
+    @Test
+    void gemmIntoStridedResultMatchesNaiveProduct() {
+        final Random random = new Random(14);
+        final IntMatrix matrixA = Matrices.sparse(random, 40, 33, 0.1);
+        final IntMatrix matrixB = Matrices.random(random, 33, 21);
+        final IntMatrix matrixC = Matrices.strided(random, 40, 21);
+        final IntMatrix expected = Matrices.naiveGemm(2, matrixA, matrixB, -3, matrixC);
+        multiplier.gemm(2, CsrMatrix.of(matrixA), matrixB, -3, matrixC);
+        assertEquals(expected, matrixC);
+    }
+}
@@ -0,0 +1,64 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SplitKTest {
+    /** Eight workers on 16×16 tiles, so that the small results below have fewer tiles than workers. */
+    private static final TileConfig CONFIG = new TileConfig(16, 16, 8);
+
+    static List<TiledMatrixMultiplier> drivers() {
+        return Matrices.drivers(CONFIG, TiledMatrixMultiplier.DEFAULT_KERNEL);
+    }
+
+    @Test
+    void splitsOnlyWhenTilesAreShortOfWorkers() {
+        assertEquals(1, TiledMatrixMultiplier.splitParts(8, 8, 100_000));
+        assertEquals(8, TiledMatrixMultiplier.splitParts(1, 8, 100_000));
+        assertEquals(3, TiledMatrixMultiplier.splitParts(3, 8, 100_000));
+        // Slices never get shallower than the minimum depth
+        assertEquals(2, TiledMatrixMultiplier.splitParts(1, 8, 2 * TiledMatrixMultiplier.MIN_SPLIT_DEPTH + 1));
+        assertEquals(1, TiledMatrixMultiplier.splitParts(1, 8, TiledMatrixMultiplier.MIN_SPLIT_DEPTH - 1));
+    }
+
+    @ParameterizedTest
+    @MethodSource("drivers")
+    void treeReductionOfRaggedSlicesMatchesNaiveProduct(TiledMatrixMultiplier multiplier) {
+        final Random random = new Random(19);
+        // 2 tiles for 8 workers: 4 slices of a depth that does not divide evenly, and ragged edge tiles
+        final IntMatrix matrixA = Matrices.random(random, 21, 1_283);
+        final IntMatrix matrixB = Matrices.random(random, 1_283, 13);
+        assertEquals(4, TiledMatrixMultiplier.splitParts(2, 8, 1_283));
+        assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(matrixA, matrixB));
+    }
+
+    @ParameterizedTest
+    @MethodSource("drivers")
+    void oddNumberOfSlicesMatchesNaiveProduct(TiledMatrixMultiplier multiplier) {
+        final Random random = new Random(5);
+        // A single tile split 7 ways leaves a partial without a pair in the first reduction round
+        final IntMatrix matrixA = Matrices.random(random, 9, 7 * TiledMatrixMultiplier.MIN_SPLIT_DEPTH + 40);
+        final IntMatrix matrixB = Matrices.random(random, matrixA.cols(), 11);
+        assertEquals(7, TiledMatrixMultiplier.splitParts(1, 8, matrixA.cols()));
+        assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(matrixA, matrixB));
+    }
+
+    @ParameterizedTest
+    @MethodSource("drivers")
+    void gemmOnStridedViewsMatchesNaiveProduct(TiledMatrixMultiplier multiplier) {
+        final Random random = new Random(23);
+        final IntMatrix matrixA = Matrices.strided(random, 17, 1_100);
+        final IntMatrix matrixB = Matrices.strided(random, 1_100, 30);
+        final IntMatrix matrixC = Matrices.strided(random, 17, 30);
+        final IntMatrix expected = Matrices.naiveGemm(3, matrixA, matrixB, -2, matrixC);
+        multiplier.gemm(3, matrixA, matrixB, -2, matrixC);
+        assertEquals(expected, matrixC);
+    }
+}
@@ -0,0 +1,57 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StrassenForkJoinMatrixMultiplierTest {
+    /** A small crossover, so that modest inputs recurse a few levels. */
+    private final StrassenForkJoinMatrixMultiplier multiplier = new StrassenForkJoinMatrixMultiplier(16);
+
+    @Test
+    void powerOfTwoSquareMatchesNaiveProduct() {
+        final Random random = new Random(1);
+        final IntMatrix matrixA = Matrices.random(random, 128, 128);
+        final IntMatrix matrixB = Matrices.random(random, 128, 128);
+        assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(matrixA, matrixB));
+    }
+
+    @Test
+    void paddedRectangularShapeMatchesNaiveProduct() {
+        final Random random = new Random(2);
+        // No dimension is a multiple of the recursion's block, so every level works on padding
+        final IntMatrix matrixA = Matrices.random(random, 67, 45);
+        final IntMatrix matrixB = Matrices.random(random, 45, 83);
+        assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(matrixA, matrixB));
+    }
+
+    @Test
+    void stridedViewsMatchNaiveProduct() {
+        final Random random = new Random(3);
+        final IntMatrix matrixA = Matrices.strided(random, 70, 70);
+        final IntMatrix matrixB = Matrices.strided(random, 70, 70);
+        assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(matrixA, matrixB));
+    }
+
+    @Test
+    void gemmScalesAndAccumulates() {
+        final Random random = new Random(4);
+        final IntMatrix matrixA = Matrices.random(random, 50, 66);
+        final IntMatrix matrixB = Matrices.random(random, 66, 41);
+        final IntMatrix matrixC = Matrices.strided(random, 50, 41);
+        final IntMatrix expected = Matrices.naiveGemm(-4, matrixA, matrixB, 5, matrixC);
+        multiplier.gemm(-4, matrixA, matrixB, 5, matrixC);
+        assertEquals(expected, matrixC);
+    }
+
+    @Test
+    void belowCrossoverFallsBackToTiledProduct() {
+        final Random random = new Random(5);
+        final IntMatrix matrixA = Matrices.random(random, 9, 200);
+        final IntMatrix matrixB = Matrices.random(random, 200, 12);
+        assertEquals(Matrices.naive(matrixA, matrixB), multiplier.multiply(matrixA, matrixB));
+    }
+}
@@ -0,0 +1,128 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SymmetricTriangularTest {
+    /** Tiles that do not divide the sizes below, so diagonal tiles are clipped as well as the edges. */
+    private static final TileConfig CONFIG = new TileConfig(16, 12, 4);
+
+    static List<TiledMatrixMultiplier> drivers() {
+        return Matrices.drivers(CONFIG, TiledMatrixMultiplier.DEFAULT_KERNEL);
+    }
+
+    @ParameterizedTest
+    @MethodSource("drivers")
+    void syrkMatchesNaiveGramMatrix(TiledMatrixMultiplier multiplier) {
+        final Random random = new Random(31);
+        final IntMatrix matrixA = Matrices.strided(random, 45, 27);
+        assertEquals(Matrices.naive(matrixA, Matrices.transpose(matrixA)), multiplier.syrk(matrixA));
+    }
+
+    @ParameterizedTest
+    @MethodSource("drivers")
+    void syrkGemmUsesOnlyUpperTriangleOfOldResult(TiledMatrixMultiplier multiplier) {
+        final Random random = new Random(32);
+        final IntMatrix matrixA = Matrices.random(random, 38, 50);
+        final IntMatrix symmetric = Matrices.random(random, 38, 38);
+        for (int i = 0; i < 38; i++) {
+            for (int j = 0; j < i; j++) {
+                symmetric.set(i, j, symmetric.get(j, i));
+            }
+        }
+        final IntMatrix expected = Matrices.naiveGemm(2, matrixA, Matrices.transpose(matrixA), -1, symmetric);
+        // Garbage below the diagonal must not leak into the result
+        final IntMatrix resultMatrix = symmetric.copy();
+        for (int i = 1; i < 38; i++) {
+            resultMatrix.set(i, 0, 12_345);
+        }
+        multiplier.syrk(2, matrixA, -1, resultMatrix);
+        assertEquals(expected, resultMatrix);
+    }
+
+    @ParameterizedTest
+    @MethodSource("drivers")
+    void trmmWithLeftTriangularFactorMatchesNaiveProduct(TiledMatrixMultiplier multiplier) {
+        final Random random = new Random(33);
+        for (Triangle triangle : Triangle.values()) {
+            final IntMatrix factor = triangular(random, 53, triangle);
+            final IntMatrix matrixB = Matrices.strided(random, 53, 29);
+            assertEquals(Matrices.naive(factor, matrixB), multiplier.trmm(triangle, factor, matrixB),
+                triangle.toString());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("drivers")
+    void trmmWithRightTriangularFactorMatchesNaiveProduct(TiledMatrixMultiplier multiplier) {
+        final Random random = new Random(34);
+        for (Triangle triangle : Triangle.values()) {
+            final IntMatrix matrixA = Matrices.strided(random, 31, 47);
+            final IntMatrix factor = triangular(random, 47, triangle);
+            assertEquals(Matrices.naive(matrixA, factor), multiplier.trmm(matrixA, triangle, factor),
+                triangle.toString());
+        }
+    }
+
+    @Test
+    void upperGridCoversExactlyTheTilesReachingTheDiagonal() {
+        final TileGrid grid = new TileGrid(45, 45, 16, 12).upper();
+        int covered = 0;
+        for (int tileRow = 0; tileRow < grid.rowTileCount(); tileRow++) {
+            for (int tileCol = 0; tileCol < grid.colTileCount(); tileCol++) {
+                // A tile reaches the diagonal or lies above it when its last column is at or right of its first row
+                final boolean upper = grid.tileColEnd(tileCol) - 1 >= grid.tileRowStart(tileRow);
+                assertEquals(upper, grid.coversTile(tileRow, tileCol), tileRow + ", " + tileCol);
+                covered += upper ? 1 : 0;
+            }
+        }
+        assertEquals(covered, grid.tileCount());
+    }
+
+    @Test
+    void syrkAndTrmmSkipAboutHalfTheWork() {
+        final Random random = new Random(35);
+        final AtomicLong multiplyAdds = new AtomicLong();
+        final TileKernel counting = (left, right, result, tileRowStart, tileRowEnd, tileColStart, tileColEnd,
+                                     sharedDimension, alpha) -> {
+            multiplyAdds.addAndGet((long) (tileRowEnd - tileRowStart) * (tileColEnd - tileColStart) * sharedDimension);
+            TiledMatrixMultiplier.DEFAULT_KERNEL.multiplyTile(left, right, result, tileRowStart, tileRowEnd,
+                tileColStart, tileColEnd, sharedDimension, alpha);
+        };
+        final TiledMatrixMultiplier multiplier = new TiledForkJoinMatrixMultiplier(new TileConfig(16, 16, 4), counting);
+        final long full = 128L * 128 * 128;
+
+        final IntMatrix matrixA = Matrices.random(random, 128, 128);
+        assertEquals(Matrices.naive(matrixA, Matrices.transpose(matrixA)), multiplier.syrk(matrixA));
+        assertTrue(multiplyAdds.get() < 0.6 * full, "syrk did " + multiplyAdds.get() + " of " + full);
+
+        multiplyAdds.set(0);
+        final IntMatrix factor = triangular(random, 128, Triangle.UPPER);
+        assertEquals(Matrices.naive(factor, matrixA), multiplier.trmm(Triangle.UPPER, factor, matrixA));
+        assertTrue(multiplyAdds.get() < 0.6 * full, "trmm did " + multiplyAdds.get() + " of " + full);
+    }
+
+    /**
+     * A random size×size matrix, as a strided view, that is zero on the other side of the diagonal.
+     */
+    private static IntMatrix triangular(Random random, int size, Triangle triangle) {
+        final IntMatrix matrix = Matrices.strided(random, size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (triangle == Triangle.UPPER ? j < i : j > i) {
+                    matrix.set(i, j, 0);
+                }
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,65 @@
+package com.wif3011.framework;
+
+import com.wif3011.concurrent.ExecutionEngine;
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TileOrderTest {
+    /** Grids of one tile, a single row or column, odd and power-of-two sides, tall and wide. */
+    private static final int[][] GRIDS = {{1, 1}, {1, 9}, {9, 1}, {2, 3}, {5, 3}, {3, 5}, {8, 8}, {13, 6}, {6, 13}};
+
+    @ParameterizedTest
+    @EnumSource(TileOrder.class)
+    void visitsEveryTileExactlyOnce(TileOrder tileOrder) {
+        for (int[] grid : GRIDS) {
+            final int[] order = TileScheduler.order(grid[0], grid[1], tileOrder);
+            final boolean[] seen = new boolean[grid[0] * grid[1]];
+            for (int tile : order) {
+                assertTrue(tile >= 0 && tile < seen.length && !seen[tile],
+                    tileOrder + " on " + grid[0] + "x" + grid[1] + " repeats or invents tile " + tile);
+                seen[tile] = true;
+            }
+            assertEquals(seen.length, order.length);
+        }
+    }
+
+    @Test
+    void hilbertStepsToAdjacentTilesOnSquareGrids() {
+        final int side = 16;
+        final int[] order = TileScheduler.order(side, side, TileOrder.HILBERT);
+        for (int step = 1; step < order.length; step++) {
+            final int rowStep = Math.abs(order[step] / side - order[step - 1] / side);
+            final int colStep = Math.abs(order[step] % side - order[step - 1] % side);
+            assertEquals(1, rowStep + colStep, "step " + step);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(TileOrder.class)
+    void schedulerCoversRaggedGrid(TileOrder tileOrder) {
+        final Random random = new Random(7);
+        // 5×4 tiles of 12×10 with clipped edges, on three workers
+        final TileConfig config = new TileConfig(12, 10, 3);
+        final IntMatrix matrixA = Matrices.strided(random, 53, 29);
+        final IntMatrix matrixB = Matrices.strided(random, 29, 37);
+        final IntMatrix expected = Matrices.naive(matrixA, matrixB);
+        final TiledMatrixMultiplier[] drivers = {
+            new TiledThreadMatrixMultiplier(config, TiledMatrixMultiplier.DEFAULT_KERNEL,
+                ExecutionEngine.shared(), tileOrder),
+            new TiledExecServiceMatrixMultiplier(config, TiledMatrixMultiplier.DEFAULT_KERNEL,
+                ExecutionEngine.shared(), tileOrder),
+            new TiledParallelMatrixMultiplier(config, TiledMatrixMultiplier.DEFAULT_KERNEL,
+                ExecutionEngine.shared(), tileOrder)
+        };
+        for (TiledMatrixMultiplier driver : drivers) {
+            assertEquals(expected, driver.multiply(matrixA, matrixB), driver.getClass().getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.wif3011.framework;
+
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VectorTileKernelTest {
+    private final VectorTileKernel kernel = new VectorTileKernel();
+
+    @Test
+    void usesTheVectorApiWhenTheModuleIsPresent() {
+        // The build resolves jdk.incubator.vector for tests, so this exercises the SIMD body, not the fallback
+        assertEquals(VectorTileKernel.isVectorApiAvailable(), kernel.isVectorized());
+    }
+
+    @Test
+    void everyTailLengthMatchesScalarKernelAndNaiveProduct() {
+        final Random random = new Random(24);
+        // Widths from a single column up to past two 16-lane vectors, so each lane count leaves every tail length
+        for (int cols = 1; cols <= 35; cols++) {
+            final IntMatrix matrixA = Matrices.strided(random, 6, 9);
+            final IntMatrix matrixB = Matrices.strided(random, 9, cols);
+            final IntMatrix expected = Matrices.naive(matrixA, matrixB);
+            final TileConfig config = new TileConfig(4, 7, 2);
+            for (TiledMatrixMultiplier scalar : Matrices.drivers(config)) {
+                assertEquals(expected, scalar.multiply(matrixA, matrixB), "scalar, " + cols + " columns");
+            }
+            for (TiledMatrixMultiplier vector : Matrices.drivers(config, kernel)) {
+                assertEquals(expected, vector.multiply(matrixA, matrixB),
+                    vector.getClass().getSimpleName() + ", " + cols + " columns");
+            }
+        }
+    }
+
+    @Test
+    void wideTilesWithRaggedEdgesMatchNaiveProduct() {
+        final Random random = new Random(25);
+        // Tiles start at columns that are not a multiple of any vector length
+        final IntMatrix matrixA = Matrices.strided(random, 61, 47);
+        final IntMatrix matrixB = Matrices.strided(random, 47, 131);
+        final IntMatrix expected = Matrices.naive(matrixA, matrixB);
+        for (TiledMatrixMultiplier vector : Matrices.drivers(new TileConfig(20, 37, 3), kernel)) {
+            assertEquals(expected, vector.multiply(matrixA, matrixB), vector.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void gemmScalesTheProductAndKeepsTheRest() {
+        final Random random = new Random(26);
+        final IntMatrix matrixA = Matrices.random(random, 33, 21);
+        final IntMatrix matrixB = Matrices.random(random, 21, 50);
+        final IntMatrix matrixC = Matrices.strided(random, 33, 50);
+        final IntMatrix expected = Matrices.naiveGemm(-5, matrixA, matrixB, 7, matrixC);
+        new TiledForkJoinMatrixMultiplier(new TileConfig(16, 24, 2), kernel).gemm(-5, matrixA, matrixB, 7, matrixC);
+        assertEquals(expected, matrixC);
+    }
+}
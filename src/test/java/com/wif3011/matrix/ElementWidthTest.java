@@ -0,0 +1,57 @@
+package com.wif3011.matrix;
+
+import com.wif3011.framework.Matrices;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ElementWidthTest {
+    @Test
+    void narrowestWidthHoldsTheWholeRange() {
+        assertEquals(ElementWidth.BYTE, ElementWidth.of(-128, 127));
+        assertEquals(ElementWidth.SHORT, ElementWidth.of(-129, 0));
+        assertEquals(ElementWidth.SHORT, ElementWidth.of(0, 128));
+        assertEquals(ElementWidth.SHORT, ElementWidth.of(-32_768, 32_767));
+        assertEquals(ElementWidth.INT, ElementWidth.of(0, 32_768));
+        assertEquals(ElementWidth.INT, ElementWidth.of(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> ElementWidth.of(1, 0));
+        assertEquals(ElementWidth.SHORT, ElementWidth.BYTE.wider(ElementWidth.SHORT));
+        assertEquals(ElementWidth.SHORT, ElementWidth.SHORT.wider(ElementWidth.BYTE));
+        assertTrue(ElementWidth.SHORT.fits(-300, 300));
+        assertFalse(ElementWidth.BYTE.fits(-300, 0));
+        assertEquals(1, ElementWidth.BYTE.bytes());
+        assertEquals(2, ElementWidth.SHORT.bytes());
+        assertEquals(4, ElementWidth.INT.bytes());
+    }
+
+    @Test
+    void matrixWidthIgnoresPaddingOutsideTheView() {
+        final Random random = new Random(231);
+        // The view's surroundings hold values far outside the short range
+        assertEquals(ElementWidth.BYTE, ElementWidth.of(Matrices.strided(random, 20, 30)));
+        assertEquals(ElementWidth.SHORT, ElementWidth.of(Matrices.random(random, 20, 30, -300, 300)));
+        assertEquals(ElementWidth.INT, ElementWidth.of(Matrices.random(random, 20, 30, 0, 40_000)));
+        // A wide value in the last row is still found
+        final IntMatrix matrix = new IntMatrix(50, 4);
+        matrix.set(49, 3, -40_000);
+        assertEquals(ElementWidth.INT, ElementWidth.of(matrix));
+        assertEquals(ElementWidth.BYTE, ElementWidth.of(new IntMatrix(3, 3)));
+    }
+
+    @Test
+    void narrowCopiesRoundTripAndRejectWideValues() {
+        final Random random = new Random(232);
+        final IntMatrix bytes = Matrices.random(random, 9, 7, -128, 127);
+        assertEquals(bytes, ByteMatrix.of(bytes).toIntMatrix());
+        final IntMatrix shorts = Matrices.random(random, 9, 7, -32_768, 32_767);
+        assertEquals(shorts, ShortMatrix.of(shorts).toIntMatrix());
+        assertThrows(IllegalArgumentException.class, () -> ByteMatrix.of(shorts));
+        assertThrows(IllegalArgumentException.class,
+            () -> ShortMatrix.of(Matrices.random(random, 3, 3, 0, 32_768)));
+    }
+}
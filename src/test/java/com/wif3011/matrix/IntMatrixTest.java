@@ -0,0 +1,116 @@
+package com.wif3011.matrix;
+
+import com.wif3011.framework.Matrices;
+import com.wif3011.framework.MatrixMultiplier;
+import com.wif3011.framework.SequentialMatrixMultiplier;
+import com.wif3011.framework.TileConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntMatrixTest {
+    @Test
+    void viewsShareStorageWithTheirParent() {
+        final IntMatrix parent = new IntMatrix(6, 8);
+        final IntMatrix view = parent.view(1, 2, 4, 5);
+        final IntMatrix nested = view.view(2, 1, 2, 3);
+        assertSame(parent.data(), nested.data());
+        assertEquals(8, nested.stride());
+        assertEquals(parent.index(3, 3), nested.offset());
+        assertFalse(view.isContiguous());
+
+        nested.set(1, 2, 42);
+        assertEquals(42, view.get(3, 3));
+        assertEquals(42, parent.get(4, 5));
+        parent.set(3, 3, -7);
+        assertEquals(-7, nested.get(0, 0));
+    }
+
+    @Test
+    void viewOutsideTheMatrixIsRejected() {
+        final IntMatrix matrix = new IntMatrix(4, 4);
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.view(2, 0, 3, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.view(0, -1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new IntMatrix(new int[10], 0, 3, 4, 4));
+        assertThrows(IllegalArgumentException.class, () -> new IntMatrix(new int[16], 0, 4, 4, 3));
+        assertThrows(IllegalArgumentException.class, () -> IntMatrix.of(new int[][]{{1, 2}, {3}}));
+    }
+
+    @Test
+    void copyAndConversionsDropThePadding() {
+        final Random random = new Random(11);
+        final IntMatrix view = Matrices.strided(random, 9, 6);
+        final IntMatrix copy = view.copy();
+        assertTrue(copy.isContiguous());
+        assertEquals(0, copy.offset());
+        assertEquals(9 * 6, copy.data().length);
+        assertEquals(view, copy);
+        assertEquals(view.hashCode(), copy.hashCode());
+
+        final int[][] array = view.toArray();
+        assertEquals(9, array.length);
+        for (int i = 0; i < array.length; i++) {
+            for (int j = 0; j < 6; j++) {
+                assertEquals(view.get(i, j), array[i][j]);
+            }
+        }
+        assertArrayEquals(array, IntMatrix.of(array).toArray());
+
+        // The copy is independent of the parent
+        copy.set(0, 0, copy.get(0, 0) + 1);
+        assertNotEquals(view, copy);
+    }
+
+    @Test
+    void equalityIgnoresShapeOfTheBackingArray() {
+        final IntMatrix matrix = IntMatrix.of(new int[][]{{1, 2, 3}, {4, 5, 6}});
+        final IntMatrix padded = new IntMatrix(new int[]{9, 9, 1, 2, 3, 9, 4, 5, 6, 9}, 2, 2, 3, 4);
+        assertEquals(matrix, padded);
+        assertEquals(matrix.hashCode(), padded.hashCode());
+        assertNotEquals(matrix, IntMatrix.of(new int[][]{{1, 2}, {3, 4}, {5, 6}}));
+    }
+
+    @Test
+    void multipliersReadAndWriteOnlyInsideViews() {
+        final Random random = new Random(12);
+        final IntMatrix matrixA = Matrices.strided(random, 37, 29);
+        final IntMatrix matrixB = Matrices.strided(random, 29, 45);
+        final IntMatrix expected = Matrices.naive(matrixA, matrixB);
+
+        final List<MatrixMultiplier> multipliers = new ArrayList<>();
+        multipliers.add(new SequentialMatrixMultiplier());
+        multipliers.addAll(Matrices.drivers(new TileConfig(16, 8, 3)));
+        for (MatrixMultiplier multiplier : multipliers) {
+            final String name = multiplier.getClass().getSimpleName();
+            assertEquals(expected, multiplier.multiply(matrixA, matrixB), name);
+            assertArrayEquals(expected.toArray(), multiplier.multiply(matrixA.toArray(), matrixB.toArray()), name);
+
+            // Into a window of a larger result, whose border must stay untouched
+            final IntMatrix parent = new IntMatrix(41, 50);
+            Arrays.fill(parent.data(), 5);
+            final IntMatrix window = parent.view(3, 4, 37, 45);
+            multiplier.multiplyInto(matrixA, matrixB, window);
+            assertEquals(expected, window, name);
+            int border = 0;
+            for (int i = 0; i < parent.rows(); i++) {
+                for (int j = 0; j < parent.cols(); j++) {
+                    if (i < 3 || i >= 40 || j < 4 || j >= 49) {
+                        border += parent.get(i, j) == 5 ? 0 : 1;
+                    }
+                }
+            }
+            assertEquals(0, border, name + " wrote outside the result view");
+        }
+    }
+}
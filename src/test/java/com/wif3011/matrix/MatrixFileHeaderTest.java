@@ -0,0 +1,92 @@
+package com.wif3011.matrix;
+
+import com.wif3011.framework.Matrices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MatrixFileHeaderTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void headerIsSixteenLittleEndianBytes() throws IOException {
+        final Path path = directory.resolve("header.mat");
+        final MatrixFileHeader header = MatrixFileHeader.of(
+            MatrixFileHeader.ElementType.INT32, MatrixFileHeader.Layout.COLUMN_MAJOR, 3, 70_000);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            header.write(channel);
+        }
+        final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path)).order(MatrixFileHeader.BYTE_ORDER);
+        assertEquals(MatrixFileHeader.BYTES, bytes.remaining());
+        assertEquals("WIFM", new String(Files.readAllBytes(path), 0, 4, StandardCharsets.US_ASCII));
+        assertEquals(MatrixFileHeader.MAGIC, bytes.getInt());
+        assertEquals(MatrixFileHeader.CURRENT_VERSION, bytes.get());
+        assertEquals(1, bytes.get());
+        assertEquals(1, bytes.get());
+        assertEquals(0, bytes.get());
+        assertEquals(3, bytes.getInt());
+        assertEquals(70_000, bytes.getInt());
+    }
+
+    @Test
+    void bothLayoutsRoundTripBlocks() throws IOException {
+        final Random random = new Random(111);
+        final IntMatrix matrix = Matrices.strided(random, 45, 31);
+        for (MatrixFileHeader.Layout layout : MatrixFileHeader.Layout.values()) {
+            final Path path = directory.resolve(layout + ".mat");
+            final MatrixFileHeader header = MatrixFileHeader.of(MatrixFileHeader.ElementType.INT32, layout, 45, 31);
+            try (MappedIntMatrix file = MappedIntMatrix.create(path, header)) {
+                // Written in four ragged blocks, read back whole and as one interior block
+                file.write(0, 0, matrix.view(0, 0, 20, 17));
+                file.write(0, 17, matrix.view(0, 17, 20, 14));
+                file.write(20, 0, matrix.view(20, 0, 25, 17));
+                file.write(20, 17, matrix.view(20, 17, 25, 14));
+            }
+            assertEquals(MatrixFileHeader.BYTES + 45L * 31 * Integer.BYTES, Files.size(path));
+            try (MappedIntMatrix file = MappedIntMatrix.open(path, false)) {
+                assertEquals(header, file.header());
+                assertEquals(matrix, file.toIntMatrix(), layout.toString());
+                final IntMatrix block = new IntMatrix(30, 40).view(5, 5, 11, 9);
+                file.read(13, 7, block);
+                assertEquals(matrix.view(13, 7, 11, 9), block, layout.toString());
+            }
+        }
+    }
+
+    @Test
+    void foreignTruncatedAndNewerFilesAreRejected() throws IOException {
+        final Path path = directory.resolve("bad.mat");
+        Files.write(path, new byte[64]);
+        assertThrows(IOException.class, () -> MappedIntMatrix.open(path, false));
+
+        try (MappedIntMatrix file = MappedIntMatrix.create(path, 8, 8)) {
+            file.write(0, 0, new IntMatrix(8, 8));
+        }
+        final byte[] valid = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(valid, valid.length - 4));
+        assertThrows(IOException.class, () -> MappedIntMatrix.open(path, false));
+
+        final byte[] newer = valid.clone();
+        newer[4] = (byte) (MatrixFileHeader.CURRENT_VERSION + 1);
+        Files.write(path, newer);
+        assertThrows(IOException.class, () -> MappedIntMatrix.open(path, false));
+
+        final byte[] unknownType = valid.clone();
+        unknownType[5] = 42;
+        Files.write(path, unknownType);
+        assertThrows(IOException.class, () -> MappedIntMatrix.open(path, false));
+    }
+}
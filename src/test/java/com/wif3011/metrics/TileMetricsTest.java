@@ -0,0 +1,102 @@
+package com.wif3011.metrics;
+
+import com.wif3011.framework.Matrices;
+import com.wif3011.framework.TileConfig;
+import com.wif3011.framework.TiledForkJoinMatrixMultiplier;
+import com.wif3011.framework.TiledMatrixMultiplier;
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TileMetricsTest {
+    @AfterEach
+    void reset() {
+        TileMetrics.disable();
+        TileMetrics.clear();
+    }
+
+    @Test
+    void nothingIsRecordedWhileDisabled() {
+        TileMetrics.disable();
+        TileMetrics.clear();
+        final Random random = new Random(161);
+        final IntMatrix matrixA = Matrices.random(random, 40, 30);
+        final IntMatrix matrixB = Matrices.random(random, 30, 20);
+        assertEquals(Matrices.naive(matrixA, matrixB), new TiledForkJoinMatrixMultiplier().multiply(matrixA, matrixB));
+        assertNull(TileMetrics.start("x", null, 1, 1, 1));
+        assertNull(TileMetrics.last());
+    }
+
+    @Test
+    void everyDriverRecordsItsTiles() {
+        TileMetrics.enable();
+        final Random random = new Random(162);
+        // 4×3 tiles of 16×16 with ragged edges
+        final IntMatrix matrixA = Matrices.strided(random, 50, 30);
+        final IntMatrix matrixB = Matrices.strided(random, 30, 40);
+        final IntMatrix expected = Matrices.naive(matrixA, matrixB);
+        for (TiledMatrixMultiplier multiplier : Matrices.drivers(new TileConfig(16, 16, 2))) {
+            final String name = multiplier.getClass().getSimpleName();
+            assertEquals(expected, multiplier.multiply(matrixA, matrixB), name);
+
+            final MetricsSnapshot snapshot = TileMetrics.last();
+            assertEquals(name, snapshot.multiplier());
+            assertEquals(List.of(50, 30, 40),
+                List.of(snapshot.rows(), snapshot.sharedDimension(), snapshot.cols()), name);
+            // ForkJoin halves ranges rather than walking the grid, so it may time more, smaller pieces
+            if (multiplier instanceof TiledForkJoinMatrixMultiplier) {
+                assertTrue(snapshot.tileCount() >= 12, name + " timed " + snapshot.tileCount());
+            } else {
+                assertEquals(12, snapshot.tileCount(), name);
+            }
+            assertEquals(snapshot.tileCount(),
+                snapshot.workers().stream().mapToInt(MetricsSnapshot.WorkerMetrics::tiles).sum(), name);
+            assertTrue(snapshot.workers().size() >= 1 && snapshot.workers().size() <= 2, name);
+            assertTrue(snapshot.wallNanos() > 0 && snapshot.gflops() > 0, name);
+            assertTrue(snapshot.imbalance() >= 1.0, name);
+            assertTrue(snapshot.tileNanosPercentile(50) <= snapshot.tileNanosPercentile(100), name);
+        }
+    }
+
+    @Test
+    void historyKeepsTheMostRecentRuns() {
+        TileMetrics.enable();
+        TileMetrics.clear();
+        final Random random = new Random(163);
+        final TiledMatrixMultiplier multiplier = new TiledForkJoinMatrixMultiplier(TileConfig.square(8));
+        for (int run = 1; run <= TileMetrics.HISTORY + 3; run++) {
+            multiplier.multiply(Matrices.random(random, run, 4), Matrices.random(random, 4, 5));
+        }
+        final List<MetricsSnapshot> recent = TileMetrics.recent();
+        assertEquals(TileMetrics.HISTORY, recent.size());
+        assertEquals(4, recent.get(0).rows());
+        assertEquals(TileMetrics.HISTORY + 3, recent.get(recent.size() - 1).rows());
+        assertEquals(recent.get(recent.size() - 1), TileMetrics.last());
+    }
+
+    @Test
+    void snapshotSummariesFollowFromTheRecordedTimes() {
+        final MetricsSnapshot snapshot = new MetricsSnapshot("m", 100, 100, 100, 2_000_000,
+            new long[]{10, 40, 20, 30}, List.of(
+                new MetricsSnapshot.WorkerMetrics("a", 3, 90, 1_000),
+                new MetricsSnapshot.WorkerMetrics("b", 1, 30, 24)), 5);
+        assertEquals(4, snapshot.tileCount());
+        assertEquals(1.0, snapshot.gflops(), 1e-9);
+        // The busier worker did 90 of 120 ns, against an average of 60
+        assertEquals(1.5, snapshot.imbalance(), 1e-9);
+        assertEquals(1_024, snapshot.allocatedBytes());
+        assertEquals(20, snapshot.tileNanosPercentile(50));
+        assertEquals(40, snapshot.tileNanosPercentile(100));
+
+        final MetricsSnapshot unmeasured = new MetricsSnapshot("m", 1, 1, 1, 1, new long[]{1},
+            List.of(new MetricsSnapshot.WorkerMetrics("a", 1, 1, -1)), 0);
+        assertEquals(-1, unmeasured.allocatedBytes());
+    }
+}
@@ -0,0 +1,103 @@
+package com.wif3011.service;
+
+import com.wif3011.framework.Matrices;
+import com.wif3011.framework.TiledForkJoinMatrixMultiplier;
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatrixServiceTest {
+    @Test
+    void pipelinedJobsMatchNaiveProduct() throws IOException {
+        final Random random = new Random(61);
+        try (MatrixService service = new MatrixService().start(0);
+             MatrixServiceClient client = new MatrixServiceClient(service.port())) {
+            // Small jobs that go out as micro-batches, then one run on its own
+            final List<IntMatrix> expected = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                final IntMatrix matrixA = Matrices.strided(random, 5 + i, 9);
+                final IntMatrix matrixB = Matrices.strided(random, 9, 13 - i % 4);
+                expected.add(Matrices.naive(matrixA, matrixB));
+                assertEquals(i, client.send(matrixA, matrixB, 0));
+            }
+            final IntMatrix[] results = new IntMatrix[expected.size()];
+            for (int i = 0; i < expected.size(); i++) {
+                final MatrixServiceClient.Answer answer = client.receive();
+                assertEquals(JobStatus.OK, answer.reply().status(), answer.reply().message());
+                results[answer.id()] = answer.reply().result();
+            }
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), results[i], "job " + i);
+            }
+
+            final IntMatrix matrixA = Matrices.random(random, 150, 97);
+            final IntMatrix matrixB = Matrices.random(random, 97, 140);
+            assertEquals(Matrices.naive(matrixA, matrixB), client.multiply(matrixA, matrixB));
+        }
+    }
+
+    @Test
+    void invalidAndOversizedJobsAreAnsweredWithoutLosingSync() throws IOException {
+        final Random random = new Random(62);
+        try (MatrixService service = new MatrixService(new TiledForkJoinMatrixMultiplier(), 16, 8, 0,
+                100_000, 1_000_000).start(0);
+             MatrixServiceClient client = new MatrixServiceClient(service.port())) {
+            assertEquals(JobStatus.FAILED,
+                client.call(Matrices.random(random, 4, 5), Matrices.random(random, 6, 4), 0).status());
+            // 3 × 100² ints is 120,000 bytes
+            assertEquals(JobStatus.REJECTED,
+                client.call(Matrices.random(random, 100, 100), Matrices.random(random, 100, 100), 0).status());
+
+            final IntMatrix matrixA = Matrices.random(random, 30, 40);
+            final IntMatrix matrixB = Matrices.random(random, 40, 20);
+            assertEquals(Matrices.naive(matrixA, matrixB), client.multiply(matrixA, matrixB));
+            assertEquals(1, client.stats().rejected());
+        }
+    }
+
+    @Test
+    void unreadResultsCountAgainstTheByteLimit() throws IOException {
+        final Random random = new Random(63);
+        final IntMatrix matrix = Matrices.random(random, 256, 256);
+        // Each job is 768 KB in flight, so fewer than three fit once the socket buffers are full
+        try (MatrixService service = new MatrixService(new TiledForkJoinMatrixMultiplier(), 16, 8, 0,
+                1L << 20, 2L << 20).start(0);
+             MatrixServiceClient observer = new MatrixServiceClient(service.port())) {
+            try (MatrixServiceClient stalled = new MatrixServiceClient(service.port())) {
+                // One job at a time, each computed before the next is sent, but no reply is ever read
+                for (int job = 0; job < 200 && observer.stats().rejected() == 0; job++) {
+                    stalled.send(matrix, matrix, 0);
+                    waitUntilAnswered(observer, job + 1);
+                }
+                assertTrue(observer.stats().rejected() > 0, "results nobody reads were never counted");
+            }
+            // Once the stalled client is gone its results are dropped and the budget is free again
+            final long deadline = System.nanoTime() + 10_000_000_000L;
+            MatrixServiceClient.Reply reply;
+            do {
+                reply = observer.call(matrix, matrix, 0);
+            } while (reply.status() == JobStatus.REJECTED && System.nanoTime() < deadline);
+            assertEquals(JobStatus.OK, reply.status(), reply.message());
+        }
+    }
+
+    /**
+     * Polls until {@code jobs} jobs have been completed or turned away.
+     */
+    private static void waitUntilAnswered(MatrixServiceClient observer, long jobs) throws IOException {
+        while (true) {
+            final ServiceStats stats = observer.stats();
+            if (stats.completed() + stats.rejected() >= jobs) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.wif3011.tuning;
+
+import com.wif3011.framework.Multipliers;
+import com.wif3011.framework.TileConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScalingStudyTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void weakSizeGrowsWithTheCubeRootOfTheWorkers() {
+        assertEquals(256, ScalingStudy.weakSize(256, 1));
+        assertEquals(512, ScalingStudy.weakSize(256, 8));
+        // 256·∛2 ≈ 322.5, rounded to a multiple of 16
+        assertEquals(320, ScalingStudy.weakSize(256, 2));
+        assertEquals(16, ScalingStudy.weakSize(3, 4));
+    }
+
+    @Test
+    void intensityCountsPanelTrafficPerTile() {
+        // 2·64³ operations over 4 bytes · (2·64² of A + 2·64² of B + 64² of C)
+        assertEquals(6.4, ScalingStudy.intensity(64, new TileConfig(32, 32, 1)), 1e-9);
+        // Larger tiles reread the panels fewer times
+        assertTrue(ScalingStudy.intensity(512, new TileConfig(128, 128, 1))
+            > ScalingStudy.intensity(512, new TileConfig(32, 32, 1)));
+    }
+
+    @Test
+    void sweepMeasuresSerialImplementationsOnOneWorkerOnly() {
+        final ScalingStudy study = new ScalingStudy(List.of("seq", "forkjoin"), new int[]{32}, new int[]{1, 2},
+            Set.of(ScalingStudy.Mode.STRONG, ScalingStudy.Mode.WEAK), 1, new TuningProfile());
+        final List<ScalingResult> progress = new ArrayList<>();
+        final List<ScalingResult> results = study.run(progress::add);
+        assertEquals(results, progress);
+
+        final List<String> keys = results.stream().map(ScalingResult::key).toList();
+        assertEquals(List.of("seq,STRONG,32,1", "seq,WEAK,32,1", "forkjoin,STRONG,32,1", "forkjoin,STRONG,32,2",
+            "forkjoin,WEAK,32,1", "forkjoin,WEAK,48,2"), keys);
+        for (ScalingResult result : results) {
+            assertTrue(result.nanos() > 0, result.toString());
+            assertTrue(result.bandwidth() > 0, result.toString());
+            assertEquals(-1, result.baselineNanos());
+            if (result.workers() == 1) {
+                assertEquals(1.0, result.speedup(), 1e-9);
+                assertEquals(1.0, result.efficiency(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void baselineRoundTripsAndFlagsSlowerPoints() throws IOException {
+        final List<ScalingResult> earlier = List.of(
+            result("forkjoin", 256, 1, 10_000_000), result("forkjoin", 256, 2, 6_000_000),
+            result("thread", 256, 1, 12_345_000));
+        final Path path = directory.resolve("nested").resolve("scaling.csv");
+        ScalingStudy.writeCsv(earlier, path);
+        final Map<String, Long> baseline = ScalingStudy.readBaseline(path);
+        assertEquals(Map.of("forkjoin,STRONG,256,1", 10_000_000L, "forkjoin,STRONG,256,2", 6_000_000L,
+            "thread,STRONG,256,1", 12_345_000L), baseline);
+
+        // 5% slower, 20% slower, and a point the baseline does not have
+        final List<ScalingResult> compared = ScalingStudy.compare(List.of(
+            result("forkjoin", 256, 1, 10_500_000), result("forkjoin", 256, 2, 7_200_000),
+            result("forkjoin", 256, 4, 4_000_000)), baseline, ScalingStudy.DEFAULT_TOLERANCE);
+        assertEquals(10_000_000L, compared.get(0).baselineNanos());
+        assertFalse(compared.get(0).regression());
+        assertEquals(6_000_000L, compared.get(1).baselineNanos());
+        assertTrue(compared.get(1).regression());
+        assertTrue(compared.get(1).toCsv().endsWith(",0.006000,true"), compared.get(1).toCsv());
+        assertEquals(-1, compared.get(2).baselineNanos());
+        assertFalse(compared.get(2).regression());
+    }
+
+    @Test
+    void foreignOrMalformedBaselinesAreNotUsed() throws IOException {
+        final Path foreign = directory.resolve("foreign.csv");
+        Files.writeString(foreign, "# machine=elsewhere\n" + ScalingResult.CSV_HEADER + "\n"
+            + result("forkjoin", 256, 1, 1_000).toCsv() + "\n");
+        assertEquals(Map.of(), ScalingStudy.readBaseline(foreign));
+
+        final String machine = "# machine=" + TuningProfile.currentMachine() + "\n";
+        final Path malformed = directory.resolve("malformed.csv");
+        Files.writeString(malformed, machine + ScalingResult.CSV_HEADER + "\nforkjoin,SIDEWAYS,256,1,0.1\n");
+        assertThrows(IOException.class, () -> ScalingStudy.readBaseline(malformed));
+        final Path headerless = directory.resolve("headerless.csv");
+        Files.writeString(headerless, machine + "implementation,size\n");
+        assertThrows(IOException.class, () -> ScalingStudy.readBaseline(headerless));
+    }
+
+    @Test
+    void invalidSweepsAreRejected() {
+        final TuningProfile profile = new TuningProfile();
+        final Set<ScalingStudy.Mode> strong = Set.of(ScalingStudy.Mode.STRONG);
+        assertThrows(IllegalArgumentException.class,
+            () -> new ScalingStudy(List.of("bogus"), new int[]{64}, new int[]{1}, strong, 1, profile));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ScalingStudy(List.of("seq"), new int[]{64}, new int[]{2, 1}, strong, 1, profile));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ScalingStudy(List.of("seq"), new int[]{0}, new int[]{1}, strong, 1, profile));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ScalingStudy(List.of("seq"), new int[]{64}, new int[]{1}, Set.of(), 1, profile));
+    }
+
+    @Test
+    void onlySequentialIgnoresTheThreadCount() {
+        assertFalse(Multipliers.usesThreadCount("seq"));
+        assertFalse(Multipliers.usesThreadCount(Multipliers.VERIFIED_PREFIX + "seq"));
+        assertTrue(Multipliers.usesThreadCount("forkjoin"));
+        assertTrue(Multipliers.usesThreadCount(Multipliers.VERIFIED_PREFIX + "narrow"));
+    }
+
+    private static ScalingResult result(String implementation, int size, int workers, long nanos) {
+        return new ScalingResult(implementation, ScalingStudy.Mode.STRONG, size, workers, nanos, 1, 1, 10, 1e10, -1,
+            false);
+    }
+}
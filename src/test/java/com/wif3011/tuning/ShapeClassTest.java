@@ -0,0 +1,37 @@
+package com.wif3011.tuning;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ShapeClassTest {
+    @Test
+    void smallWinsOverEveryAspect() {
+        assertEquals(ShapeClass.SMALL, ShapeClass.of(1, 1, 1));
+        assertEquals(ShapeClass.SMALL, ShapeClass.of(128, 2, 128));
+        assertEquals(ShapeClass.SMALL, ShapeClass.of(1, 128, 1));
+        assertEquals(ShapeClass.SQUARE, ShapeClass.of(129, 129, 129));
+    }
+
+    @Test
+    void lopsidedShapesLeaveSquareAtTheAspectRatio() {
+        assertEquals(ShapeClass.SQUARE, ShapeClass.of(1000, 300, 251));
+        assertEquals(ShapeClass.TALL, ShapeClass.of(1000, 300, 250));
+        assertEquals(ShapeClass.WIDE, ShapeClass.of(250, 300, 1000));
+        assertEquals(ShapeClass.DEEP, ShapeClass.of(300, 4000, 1000));
+        assertEquals(ShapeClass.SQUARE, ShapeClass.of(300, 3999, 1000));
+    }
+
+    @Test
+    void deepTakesPrecedenceOverTallAndWide() {
+        // Both tall and deep: the shared dimension is what the tiles cannot cover
+        assertEquals(ShapeClass.DEEP, ShapeClass.of(200, 10_000, 2));
+        assertEquals(ShapeClass.DEEP, ShapeClass.of(2, 10_000, 200));
+    }
+
+    @Test
+    void hugeDimensionsDoNotOverflow() {
+        assertEquals(ShapeClass.TALL, ShapeClass.of(Integer.MAX_VALUE, 1000, 1000));
+        assertEquals(ShapeClass.SQUARE, ShapeClass.of(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,90 @@
+package com.wif3011.tuning;
+
+import com.wif3011.framework.Matrices;
+import com.wif3011.framework.MatrixMultiplier;
+import com.wif3011.framework.TileConfig;
+import com.wif3011.framework.TiledForkJoinMatrixMultiplier;
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TuningProfileTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void savedProfileLoadsBackOnTheSameMachine() throws IOException {
+        final TuningProfile profile = new TuningProfile();
+        profile.put("forkjoin", ShapeClass.SQUARE, new TileConfig(128, 64, 2));
+        profile.put("forkjoin", ShapeClass.DEEP, new TileConfig(32, 256, 0));
+        profile.put("thread", ShapeClass.SQUARE, new TileConfig(64, 64, 1));
+        final Path path = directory.resolve("nested").resolve("profile.properties");
+        profile.save(path);
+
+        final TuningProfile loaded = TuningProfile.load(path);
+        assertEquals(TuningProfile.currentMachine(), loaded.getMachine());
+        assertEquals(Optional.of(new TileConfig(128, 64, 2)), loaded.get("forkjoin", ShapeClass.SQUARE));
+        assertEquals(Optional.of(new TileConfig(32, 256, 0)), loaded.get("forkjoin", ShapeClass.DEEP));
+        assertEquals(Optional.of(new TileConfig(64, 64, 1)), loaded.get("thread", ShapeClass.SQUARE));
+        assertEquals(Optional.empty(), loaded.get("thread", ShapeClass.DEEP));
+        // Looked up by shape, falling back to the default for classes nobody tuned
+        assertEquals(new TileConfig(128, 64, 2), loaded.configFor("forkjoin", 600, 500, 700));
+        assertEquals(TileConfig.DEFAULT, loaded.configFor("forkjoin", 2000, 100, 100));
+    }
+
+    @Test
+    void profileFromAnotherMachineOrNowhereLoadsEmpty() throws IOException {
+        final Path path = directory.resolve("profile.properties");
+        Files.write(path, List.of("machine=SomeOS/sparc/256cpu", "forkjoin.SQUARE=128,64,2"));
+        final TuningProfile foreign = TuningProfile.load(path);
+        assertTrue(foreign.isEmpty());
+        assertEquals(TuningProfile.currentMachine(), foreign.getMachine());
+
+        assertTrue(TuningProfile.load(directory.resolve("missing.properties")).isEmpty());
+    }
+
+    @Test
+    void malformedEntryIsRejected() throws IOException {
+        final Path path = directory.resolve("profile.properties");
+        Files.write(path, List.of("machine=" + TuningProfile.currentMachine(),
+            "forkjoin.SQUARE=128,64"));
+        assertThrows(IllegalArgumentException.class, () -> TuningProfile.load(path));
+    }
+
+    @Test
+    void tunedConfigIsCalibratedOnceAndMatchesNaiveProduct() {
+        final TileAutotuner autotuner = new TileAutotuner(new int[]{16, 32}, new int[]{1, 2}, 1);
+        final TuningProfile profile = new TuningProfile();
+        final AtomicInteger built = new AtomicInteger();
+        final Function<TileConfig, MatrixMultiplier> factory = config -> {
+            built.incrementAndGet();
+            return new TiledForkJoinMatrixMultiplier(config);
+        };
+
+        final TileConfig tuned = autotuner.tune(profile, "forkjoin", factory, 200, 90, 150);
+        assertTrue(built.get() > 0);
+        assertEquals(Optional.of(tuned), profile.get("forkjoin", ShapeClass.SQUARE));
+        // A second shape of the same class is served from the profile without timing anything
+        built.set(0);
+        assertEquals(tuned, autotuner.tune(profile, "forkjoin", factory, 300, 170, 250));
+        assertEquals(0, built.get());
+
+        final Random random = new Random(27);
+        final IntMatrix matrixA = Matrices.random(random, 200, 90);
+        final IntMatrix matrixB = Matrices.random(random, 90, 150);
+        assertEquals(Matrices.naive(matrixA, matrixB), factory.apply(tuned).multiply(matrixA, matrixB));
+    }
+}
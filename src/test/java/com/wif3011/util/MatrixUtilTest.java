@@ -0,0 +1,51 @@
+package com.wif3011.util;
+
+import com.wif3011.framework.Matrices;
+import com.wif3011.framework.TileConfig;
+import com.wif3011.framework.TiledForkJoinMatrixMultiplier;
+import com.wif3011.framework.TiledMatrixMultiplier;
+import com.wif3011.matrix.IntMatrix;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MatrixUtilTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void savedMatrixLoadsBackEqual() throws IOException {
+        final Random random = new Random(112);
+        final IntMatrix matrix = Matrices.strided(random, 77, 53);
+        final Path path = directory.resolve("m.mat");
+        MatrixUtil.save(matrix, path);
+        assertEquals(matrix, MatrixUtil.load(path));
+
+        // Saving again replaces the file rather than appending to it
+        final IntMatrix smaller = Matrices.random(random, 3, 4);
+        MatrixUtil.save(smaller, path);
+        assertEquals(smaller, MatrixUtil.load(path));
+    }
+
+    @Test
+    void streamedTilesFormTheNaiveProduct() throws IOException {
+        final Random random = new Random(113);
+        final IntMatrix matrixA = Matrices.strided(random, 90, 41);
+        final IntMatrix matrixB = Matrices.strided(random, 41, 75);
+        final Path path = directory.resolve("product.mat");
+        final TiledMatrixMultiplier multiplier = new TiledForkJoinMatrixMultiplier(new TileConfig(16, 24, 3));
+        final IntMatrix inMemory;
+        try (StreamingMatrixWriter writer = StreamingMatrixWriter.create(path, 90, 75)) {
+            inMemory = multiplier.multiply(matrixA, matrixB, writer);
+            assertEquals(90L * 75, writer.writtenElements());
+        }
+        final IntMatrix expected = Matrices.naive(matrixA, matrixB);
+        assertEquals(expected, inMemory);
+        assertEquals(expected, MatrixUtil.load(path));
+    }
+}